@@ -11,13 +11,15 @@ import java.io.*;
 
 public class AsciiCP extends CP implements RuntimeConstants
 {
+	String val;
+
 	/**
 	 * @param s
 	 *            Name of the ascii constant pool entry
 	 */
 	public AsciiCP(String s)
 	{
-		uniq = s.intern();
+		val = s;
 	}
 
 	void resolve(ClassEnv e)
@@ -25,14 +27,24 @@ public class AsciiCP extends CP implements RuntimeConstants
 		return;
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof AsciiCP && ((AsciiCP) o).val.equals(val);
+	}
+
+	public int hashCode()
+	{
+		return val.hashCode();
+	}
+
 	public String toString()
 	{
-		return "AsciiCP: " + uniq;
+		return "AsciiCP: " + val;
 	}
 
 	void write(ClassEnv e, DataOutputStream out) throws IOException
 	{
 		out.writeByte(CONSTANT_UTF8);
-		out.writeUTF(uniq);
+		out.writeUTF(val);
 	}
 }
@@ -23,15 +23,14 @@ package jas;
 
 import java.io.*;
 
+//
+// Entries are compared with equals() and hashCode(), which each kind of entry
+// defines from its contents, so that only one of the entries for the same
+// constant is written to the class.
+//
+
 public abstract class CP
 {
-	String uniq;
-
-	String getUniq()
-	{
-		return uniq;
-	}
-
 	abstract void resolve(ClassEnv e);
 
 	abstract void write(ClassEnv e, DataOutputStream out) throws IOException, jasError;
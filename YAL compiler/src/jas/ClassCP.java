@@ -19,10 +19,19 @@ public class ClassCP extends CP implements RuntimeConstants
 	 */
 	public ClassCP(String name)
 	{
-		uniq = ("CLASS: #$%^#$" + name).intern();
 		this.name = new AsciiCP(name);
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof ClassCP && ((ClassCP) o).name.equals(name);
+	}
+
+	public int hashCode()
+	{
+		return CONSTANT_CLASS * 31 + name.hashCode();
+	}
+
 	void resolve(ClassEnv e)
 	{
 		e.addCPItem(name);
@@ -2,9 +2,8 @@
 package jas;
 
 import java.io.*;
-import java.util.Hashtable;
-import java.util.Enumeration;
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * This is the place where all information about the class to be created
@@ -20,10 +19,13 @@ public class ClassEnv implements RuntimeConstants
 	short version_lo, version_hi;
 	CP this_class, super_class;
 	short class_access;
-	Hashtable cpe, cpe_index;
-	Vector interfaces;
-	Vector vars;
-	Vector methods;
+	CP cpe[]; // the constant pool entries, in the order they were added
+	int cpe_index[]; // and the index of each of them in the pool
+	int cpe_count, cpe_size; // number of entries, and of pool slots used
+	int cpe_table[]; // open hash table of entries, as position in cpe + 1
+	ArrayList interfaces;
+	ArrayList vars;
+	ArrayList methods;
 	SourceAttr source;
 	SignatureAttr signature;
 	SourceDebugExtensionAttr debug;
@@ -31,7 +33,9 @@ public class ClassEnv implements RuntimeConstants
 	DeprecatedAttr depr;
 	InnerClassesAttr innerclasses;
 	AnnotationAttr annVis, annInvis;
-	Vector generic;
+	ArrayList generic;
+	CP stackmap_attr; // shared by the StackMaps of all methods
+	boolean stackmap_java6;
 
 	public ClassEnv()
 	{
@@ -40,13 +44,16 @@ public class ClassEnv implements RuntimeConstants
 		version_lo = (short) JAVA_MINOR_VERSION;
 		version_hi = (short) JAVA_VERSION;
 		// Initialize bags
-		cpe = new Hashtable();
-		cpe_index = null;
-		interfaces = new Vector();
-		vars = new Vector();
-		methods = new Vector();
+		cpe = new CP[64];
+		cpe_index = new int[64];
+		cpe_count = 0;
+		cpe_size = 1;
+		cpe_table = new int[128];
+		interfaces = new ArrayList();
+		vars = new ArrayList();
+		methods = new ArrayList();
 		annVis = annInvis = null;
-		generic = new Vector();
+		generic = new ArrayList();
 	}
 
 	/**
@@ -94,7 +101,7 @@ public class ClassEnv implements RuntimeConstants
 	public void addInterface(CP ifc)
 	{
 		addCPItem(ifc);
-		interfaces.addElement(ifc);
+		interfaces.add(ifc);
 	}
 
 	/**
@@ -109,14 +116,14 @@ public class ClassEnv implements RuntimeConstants
 	{
 		for (int i = 0; i < ilist.length; i++)
 		{
-			interfaces.addElement(ilist[i]);
+			interfaces.add(ilist[i]);
 			addCPItem(ilist[i]);
 		}
 	}
 
 	public void addField(Var v)
 	{
-		vars.addElement(v);
+		vars.add(v);
 		v.resolve(this);
 	}
 
@@ -133,26 +140,10 @@ public class ClassEnv implements RuntimeConstants
 		out.writeShort(version_lo);
 		out.writeShort(version_hi);
 
-		// cpe items
-		int curidx = 1;
-		// make up indices for entries
-		cpe_index = new Hashtable();
-		for (Enumeration e = cpe.elements(); e.hasMoreElements();)
-		{
-			CP tmp = (CP) (e.nextElement());
-			cpe_index.put(tmp.getUniq(), new Integer(curidx));
-			curidx++;
-			if ((tmp instanceof LongCP) || (tmp instanceof DoubleCP))
-				curidx++;
-		}
-		out.writeShort((short) curidx);
-
-		// Now write out all the entries
-		for (Enumeration e = cpe.elements(); e.hasMoreElements();)
-		{
-			CP now = (CP) (e.nextElement());
-			now.write(this, out);
-		}
+		// cpe items (their indices were made up as they were added)
+		out.writeShort((short) cpe_size);
+		for (int i = 0; i < cpe_count; i++)
+			cpe[i].write(this, out);
 
 		// Class hierarchy/access
 		out.writeShort(class_access);
@@ -160,24 +151,24 @@ public class ClassEnv implements RuntimeConstants
 		out.writeShort(getCPIndex(super_class));
 		// interfaces
 		out.writeShort(interfaces.size());
-		for (Enumeration e = interfaces.elements(); e.hasMoreElements();)
+		for (int i = 0; i < interfaces.size(); i++)
 		{
-			CP c = (CP) (e.nextElement());
+			CP c = (CP) interfaces.get(i);
 			out.writeShort(getCPIndex(c));
 		}
 		// variables
 		out.writeShort(vars.size());
-		for (Enumeration e = vars.elements(); e.hasMoreElements();)
+		for (int i = 0; i < vars.size(); i++)
 		{
-			Var v = (Var) (e.nextElement());
+			Var v = (Var) vars.get(i);
 			v.write(this, out);
 		}
 
 		// methods
 		out.writeShort(methods.size());
-		for (Enumeration e = methods.elements(); e.hasMoreElements();)
+		for (int i = 0; i < methods.size(); i++)
 		{
-			Method m = (Method) (e.nextElement());
+			Method m = (Method) methods.get(i);
 			m.write(this, out);
 		}
 		// additional attributes
@@ -249,9 +240,9 @@ public class ClassEnv implements RuntimeConstants
 		{
 			annInvis.write(this, out);
 		}
-		for (Enumeration gen = generic.elements(); gen.hasMoreElements();)
+		for (int i = 0; i < generic.size(); i++)
 		{
-			GenericAttr gattr = (GenericAttr) gen.nextElement();
+			GenericAttr gattr = (GenericAttr) generic.get(i);
 			gattr.write(this, out);
 		}
 		out.flush();
@@ -261,6 +252,7 @@ public class ClassEnv implements RuntimeConstants
 	 * This is the method to add CPE items to a class. CPE items for a class are
 	 * "uniquefied". Ie, if you add a CPE items whose contents already exist in the
 	 * class, only one entry is finally written out when the class is written.
+	 * Entries are written in the order they were first added.
 	 *
 	 * @param cp
 	 *            Item to be added to the class
@@ -268,17 +260,49 @@ public class ClassEnv implements RuntimeConstants
 
 	public void addCPItem(CP cp)
 	{
-		String uniq = cp.getUniq();
-		CP intern;
+		int mask = cpe_table.length - 1;
+		int slot = findCPSlot(cp);
+		if (cpe_table[slot] != 0)
+			return;
+
+		// add it
+		if (cpe_count == cpe.length)
+		{
+			cpe = Arrays.copyOf(cpe, cpe_count * 2);
+			cpe_index = Arrays.copyOf(cpe_index, cpe_count * 2);
+		}
+		cpe[cpe_count] = cp;
+		cpe_index[cpe_count] = cpe_size;
+		cpe_table[slot] = ++cpe_count;
+		cpe_size += (cp instanceof LongCP) || (cp instanceof DoubleCP) ? 2 : 1;
+		if (cpe_count * 2 > mask)
+			rehashCP();
+
+		// resolve it so it adds anything
+		// which it depends on
+		cp.resolve(this);
+	}
 
-		if ((intern = (CP) (cpe.get(uniq))) == null)
+	// returns the slot of the hash table that holds cp, or the free slot where it
+	// goes if it has not been added
+	private int findCPSlot(CP cp)
+	{
+		int mask = cpe_table.length - 1;
+		int h = cp.hashCode();
+		int slot = (h ^ (h >>> 16)) & mask;
+		for (int pos; (pos = cpe_table[slot]) != 0; slot = (slot + 1) & mask)
 		{
-			// add it
-			cpe.put(uniq, cp);
-			// resolve it so it adds anything
-			// which it depends on
-			cp.resolve(this);
+			if (cpe[pos - 1].equals(cp))
+				break;
 		}
+		return slot;
+	}
+
+	private void rehashCP()
+	{
+		cpe_table = new int[cpe_table.length * 2];
+		for (int i = 0; i < cpe_count; i++)
+			cpe_table[findCPSlot(cpe[i])] = i + 1;
 	}
 
 	/**
@@ -365,7 +389,7 @@ public class ClassEnv implements RuntimeConstants
 	 */
 	public void addGenericAttr(GenericAttr g)
 	{
-		generic.addElement(g);
+		generic.add(g);
 		g.resolve(this);
 	}
 
@@ -415,18 +439,15 @@ public class ClassEnv implements RuntimeConstants
 	public void addMethod(Method m)
 	{
 		m.resolve(this);
-		methods.addElement(m);
+		methods.add(m);
 	}
 
 	short getCPIndex(CP cp) throws jasError
 	{
-		if (cpe_index == null)
-			throw new jasError("Internal error: CPE index has not been generated");
-
-		Integer idx = (Integer) (cpe_index.get(cp.getUniq()));
-		if (idx == null)
+		int pos = cpe_table[findCPSlot(cp)];
+		if (pos == 0)
 			throw new jasError("Item " + cp + " not in the class");
-		return ((short) (idx.intValue()));
+		return ((short) cpe_index[pos - 1]);
 	}
 
 	/**
@@ -16,14 +16,16 @@ public class CodeAttr
 	static final CP attr = new AsciiCP("Code");
 	short stack_size, num_locals;
 	int code_size;
-	Vector insns;
-	Hashtable insn_pc;
+	ArrayList insns;
+	int insn_pc[]; // pc of each insn, by ordinal, as far as it is known
+	int insn_count; // number of insns whose pc is known
+	HashMap labels; // last planted Label of each id, for other Labels with that id
 	Catchtable ctb;
 	LineTableAttr ltab;
 	LocalVarTableAttr lvar;
 	LocalVarTypeTableAttr lvtyp;
 	StackMap stackmap;
-	Vector generic;
+	ArrayList generic;
 
 	/**
 	 * Create a new bag. Add instructions with the addInsn() method, set the catch
@@ -39,8 +41,8 @@ public class CodeAttr
 		this.stack_size = 1;
 		this.num_locals = 1;
 		this.ctb = null;
-		this.insns = new Vector();
-		generic = new Vector();
+		this.insns = new ArrayList();
+		generic = new ArrayList();
 	}
 
 	/**
@@ -94,7 +96,7 @@ public class CodeAttr
 	 */
 	public void addGenericAttr(GenericAttr g)
 	{
-		generic.addElement(g);
+		generic.add(g);
 	}
 
 	/**
@@ -104,7 +106,7 @@ public class CodeAttr
 	 */
 	public void addInsn(Insn insn)
 	{
-		insns.addElement(insn);
+		insns.add(insn);
 	}
 
 	public void setStackSize(short stack_size)
@@ -124,9 +126,9 @@ public class CodeAttr
 		// that any CP's referenced by them
 		// also get added.
 		e.addCPItem(attr);
-		for (Enumeration en = insns.elements(); en.hasMoreElements();)
+		for (int n = 0; n < insns.size(); n++)
 		{
-			Insn i = (Insn) (en.nextElement());
+			Insn i = (Insn) insns.get(n);
 			i.resolve(e);
 		}
 		if (ctb != null)
@@ -139,9 +141,9 @@ public class CodeAttr
 			lvtyp.resolve(e);
 		if (stackmap != null)
 			stackmap.resolve(e);
-		for (Enumeration gen = generic.elements(); gen.hasMoreElements();)
+		for (int n = 0; n < generic.size(); n++)
 		{
-			GenericAttr gattr = (GenericAttr) gen.nextElement();
+			GenericAttr gattr = (GenericAttr) generic.get(n);
 			gattr.resolve(e);
 		}
 	}
@@ -150,37 +152,63 @@ public class CodeAttr
 	{
 		if (insn_pc == null)
 			throw new jasError("Internal error, insn_pc has not been initialized");
-		Integer tmp;
-		if (i instanceof Label)
+		int n = i.ordinal;
+		if (n < 0 || n >= insn_count || insns.get(n) != i)
 		{
-			tmp = (Integer) (insn_pc.get(((Label) i).id));
-		} else
-		{
-			tmp = (Integer) (insn_pc.get(i));
+			// a Label stands for the one planted with the same id
+			Label planted = (i instanceof Label) ? (Label) labels.get(((Label) i).id) : null;
+			if (planted == null)
+				throw new jasError(i + " has not been added to the code");
+			n = planted.ordinal;
 		}
-		if (tmp == null)
-			throw new jasError(i + " has not been added to the code");
-		return tmp.intValue();
+		return insn_pc[n];
 	}
 
-	void write(ClassEnv e, DataOutputStream out) throws IOException, jasError
+	// resolves all labels, and returns the size of the code
+	private int computePcs(ClassEnv e) throws jasError
 	{
-		// First, resolve all labels and
-		// compute total size
 		int code_size = 0;
-		insn_pc = new Hashtable();
-		for (Enumeration en = insns.elements(); en.hasMoreElements();)
+		insn_pc = new int[insns.size()];
+		insn_count = 0;
+		labels = new HashMap();
+		for (int n = 0; n < insns.size(); n++)
 		{
-			Insn now = (Insn) (en.nextElement());
+			Insn now = (Insn) insns.get(n);
 			if (now instanceof Label)
-			{
-				insn_pc.put(((Label) now).id, new Integer(code_size));
-			} else
-			{
-				insn_pc.put(now, new Integer(code_size));
-			}
+				labels.put(((Label) now).id, now);
+			now.ordinal = n;
+			insn_pc[n] = code_size;
+			insn_count = n + 1;
 			code_size += now.size(e, this);
 		}
+		return code_size;
+	}
+
+	// makes far the branches to labels out of the range of a short offset, and
+	// returns whether there were any. Making a branch far moves the code after
+	// it, so this is repeated until all branches are in range: since branches
+	// only ever become far, the code grows no more than it must. Conditional
+	// branches are not made far in methods with a StackMap, which would need a
+	// frame for the code after the goto_w.
+	private boolean relaxBranches() throws jasError
+	{
+		boolean relaxed = false;
+		for (int n = 0; n < insns.size(); n++)
+		{
+			InsnOperand operand = ((Insn) insns.get(n)).operand;
+			if (operand != null && operand.relax(this, stackmap == null))
+				relaxed = true;
+		}
+		return relaxed;
+	}
+
+	void write(ClassEnv e, DataOutputStream out) throws IOException, jasError
+	{
+		// First, resolve all labels and
+		// compute total size
+		int code_size = computePcs(e);
+		while (relaxBranches())
+			code_size = computePcs(e);
 		int total_size = code_size;
 		if (ctb != null)
 			total_size += ctb.size();
@@ -192,9 +220,9 @@ public class CodeAttr
 			total_size += lvtyp.size();
 		if (stackmap != null)
 			total_size += stackmap.size(e, this);
-		for (Enumeration gen = generic.elements(); gen.hasMoreElements();)
+		for (int n = 0; n < generic.size(); n++)
 		{
-			GenericAttr gattr = (GenericAttr) (gen.nextElement());
+			GenericAttr gattr = (GenericAttr) generic.get(n);
 			total_size += gattr.size();
 		}
 
@@ -206,9 +234,9 @@ public class CodeAttr
 		out.writeShort(stack_size);
 		out.writeShort(num_locals);
 		out.writeInt(code_size);
-		for (Enumeration en = insns.elements(); en.hasMoreElements();)
+		for (int n = 0; n < insns.size(); n++)
 		{
-			Insn now = (Insn) (en.nextElement());
+			Insn now = (Insn) insns.get(n);
 			now.write(e, this, out);
 		}
 		if (ctb != null)
@@ -245,9 +273,9 @@ public class CodeAttr
 		{
 			stackmap.write(e, this, out);
 		}
-		for (Enumeration gen = generic.elements(); gen.hasMoreElements();)
+		for (int n = 0; n < generic.size(); n++)
 		{
-			GenericAttr gattr = (GenericAttr) gen.nextElement();
+			GenericAttr gattr = (GenericAttr) generic.get(n);
 			gattr.write(e, out);
 		}
 	}
@@ -19,10 +19,19 @@ public class DoubleCP extends CP implements RuntimeConstants
 	 */
 	public DoubleCP(double n)
 	{
-		uniq = ("Double: @#$" + n).intern();
 		val = n;
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof DoubleCP && Double.doubleToLongBits(((DoubleCP) o).val) == Double.doubleToLongBits(val);
+	}
+
+	public int hashCode()
+	{
+		return CONSTANT_DOUBLE * 31 + Long.hashCode(Double.doubleToLongBits(val));
+	}
+
 	void resolve(ClassEnv e)
 	{
 		return;
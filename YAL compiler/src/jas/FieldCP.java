@@ -31,11 +31,20 @@ public class FieldCP extends CP implements RuntimeConstants
 
 	public FieldCP(String clazz, String name, String sig)
 	{
-		uniq = (clazz + "&%$#&" + name + "*()#$" + sig).intern();
 		this.clazz = new ClassCP(clazz);
 		this.nt = new NameTypeCP(name, sig);
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof FieldCP && ((FieldCP) o).clazz.equals(clazz) && ((FieldCP) o).nt.equals(nt);
+	}
+
+	public int hashCode()
+	{
+		return (CONSTANT_FIELD * 31 + clazz.hashCode()) * 31 + nt.hashCode();
+	}
+
 	void resolve(ClassEnv e)
 	{
 		e.addCPItem(clazz);
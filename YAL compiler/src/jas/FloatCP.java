@@ -19,10 +19,19 @@ public class FloatCP extends CP implements RuntimeConstants
 	 */
 	public FloatCP(float n)
 	{
-		uniq = ("Float: @#$" + n).intern();
 		val = n;
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof FloatCP && Float.floatToIntBits(((FloatCP) o).val) == Float.floatToIntBits(val);
+	}
+
+	public int hashCode()
+	{
+		return CONSTANT_FLOAT * 31 + Float.floatToIntBits(val);
+	}
+
 	void resolve(ClassEnv e)
 	{
 		return;
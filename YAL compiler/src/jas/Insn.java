@@ -16,6 +16,7 @@ public class Insn implements RuntimeConstants
 {
 	int opc;
 	InsnOperand operand;
+	int ordinal = -1; // position in the code it was last written in (see CodeAttr.getPc)
 
 	// private constructor, for the
 	// "strange" opcodes
@@ -261,10 +262,12 @@ public class Insn implements RuntimeConstants
 	void write(ClassEnv e, CodeAttr ce, DataOutputStream out) throws IOException, jasError
 	{
 		if (operand != null)
+		{
 			operand.writePrefix(e, ce, out);
-		out.writeByte((byte) opc);
-		if (operand != null)
+			out.writeByte((byte) operand.opcode(opc));
 			operand.write(e, ce, out);
+		} else
+			out.writeByte((byte) opc);
 	}
 
 	int size(ClassEnv e, CodeAttr ce) throws jasError
@@ -18,14 +18,33 @@ abstract class InsnOperand
 	{
 		return;
 	}
+
+	// the opcode written for the Insn of this operand, which is opc unless the
+	// operand needs another form of the instruction
+	int opcode(int opc)
+	{
+		return opc;
+	}
+
+	// makes the operand take its longer form if it does not fit in the short one,
+	// and returns whether it did. Only branches have a longer form, and conditional
+	// ones are made longer only when relaxConditional is set.
+	boolean relax(CodeAttr code, boolean relaxConditional) throws jasError
+	{
+		return false;
+	}
 }
 
-// Used to implement targets of Insns
-class LabelOperand extends InsnOperand
+// Used to implement targets of Insns.
+// A branch whose target is out of the range of a short offset is made far by
+// CodeAttr: goto and jsr are written as goto_w and jsr_w, and a conditional
+// branch is written as the inverted branch over a goto_w to the target.
+class LabelOperand extends InsnOperand implements RuntimeConstants
 {
 	Label target;
 	Insn source;
 	boolean wide;
+	boolean far;
 	int ref;
 
 	LabelOperand(Label l, Insn source, int line)
@@ -48,6 +67,8 @@ class LabelOperand extends InsnOperand
 	{
 		if (wide)
 			return 4;
+		else if (far)
+			return isConditional() ? 7 : 4;
 		else
 			return 2;
 	}
@@ -57,11 +78,54 @@ class LabelOperand extends InsnOperand
 		return;
 	}
 
+	int opcode(int opc)
+	{
+		if (!far)
+			return opc;
+		if (opc == opc_goto)
+			return opc_goto_w;
+		if (opc == opc_jsr)
+			return opc_jsr_w;
+		if (opc == opc_ifnull || opc == opc_ifnonnull)
+			return opc ^ 1;
+		return ((opc - opc_ifeq) ^ 1) + opc_ifeq; // the ifs come in pairs of opposites
+	}
+
+	boolean isConditional()
+	{
+		return source.opc != opc_goto && source.opc != opc_jsr;
+	}
+
+	boolean relax(CodeAttr ce, boolean relaxConditional) throws jasError
+	{
+		if (wide || far || (!relaxConditional && isConditional()) || inRange(ce))
+			return false;
+		far = true;
+		return true;
+	}
+
+	// can the offset to the target be written as a short
+	boolean inRange(CodeAttr ce) throws jasError
+	{
+		int offset = ce.getPc(target) - ce.getPc(source);
+		return offset <= 32767 && offset >= -32768;
+	}
+
 	void write(ClassEnv e, CodeAttr ce, DataOutputStream out) throws IOException, jasError
 	{
 		if (wide)
 		{
 			target.writeWideOffset(ce, source, out);
+		} else if (far)
+		{
+			if (isConditional())
+			{
+				// skip the goto_w (3 + 5 bytes) when the branch is not taken
+				out.writeShort(8);
+				out.writeByte(opc_goto_w);
+				out.writeInt(ce.getPc(target) - (ce.getPc(source) + 3));
+			} else
+				target.writeWideOffset(ce, source, out);
 		} else
 		{
 			int offset = ce.getPc(target);
@@ -364,7 +428,7 @@ class IincOperand extends InsnOperand implements RuntimeConstants
 	{
 		this.vindex = vindex;
 		this.constt = constt;
-		this.Wide = (Wide || vindex > 255 || constt > 127 || constt < 127);
+		this.Wide = (Wide || vindex > 255 || constt > 127 || constt < -128);
 	}
 
 	int size(ClassEnv ce, CodeAttr code)
@@ -19,10 +19,19 @@ public class IntegerCP extends CP implements RuntimeConstants
 	 */
 	public IntegerCP(int n)
 	{
-		uniq = ("Integer: @#$" + n).intern();
 		val = n;
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof IntegerCP && ((IntegerCP) o).val == val;
+	}
+
+	public int hashCode()
+	{
+		return CONSTANT_INTEGER * 31 + val;
+	}
+
 	void resolve(ClassEnv e)
 	{
 		return;
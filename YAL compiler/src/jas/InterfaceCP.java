@@ -24,11 +24,20 @@ public class InterfaceCP extends CP implements RuntimeConstants
 	 */
 	public InterfaceCP(String cname, String varname, String sig)
 	{
-		uniq = (cname + "&%$#&" + varname + "*()#$" + sig).intern();
 		clazz = new ClassCP(cname);
 		nt = new NameTypeCP(varname, sig);
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof InterfaceCP && ((InterfaceCP) o).clazz.equals(clazz) && ((InterfaceCP) o).nt.equals(nt);
+	}
+
+	public int hashCode()
+	{
+		return (CONSTANT_INTERFACEMETHOD * 31 + clazz.hashCode()) * 31 + nt.hashCode();
+	}
+
 	void resolve(ClassEnv e)
 	{
 		e.addCPItem(clazz);
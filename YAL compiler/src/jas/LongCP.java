@@ -19,10 +19,19 @@ public class LongCP extends CP implements RuntimeConstants
 	 */
 	public LongCP(long n)
 	{
-		uniq = ("Long: @#$" + n).intern();
 		val = n;
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof LongCP && ((LongCP) o).val == val;
+	}
+
+	public int hashCode()
+	{
+		return CONSTANT_LONG * 31 + Long.hashCode(val);
+	}
+
 	void resolve(ClassEnv e)
 	{
 		return;
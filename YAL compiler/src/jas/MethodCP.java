@@ -24,11 +24,20 @@ public class MethodCP extends CP implements RuntimeConstants
 	 */
 	public MethodCP(String cname, String varname, String sig)
 	{
-		uniq = cname + "&%$91&" + varname + "*(012$" + sig;
 		clazz = new ClassCP(cname);
 		nt = new NameTypeCP(varname, sig);
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof MethodCP && ((MethodCP) o).clazz.equals(clazz) && ((MethodCP) o).nt.equals(nt);
+	}
+
+	public int hashCode()
+	{
+		return (CONSTANT_METHOD * 31 + clazz.hashCode()) * 31 + nt.hashCode();
+	}
+
 	void resolve(ClassEnv e)
 	{
 		e.addCPItem(clazz);
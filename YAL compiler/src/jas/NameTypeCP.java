@@ -23,11 +23,20 @@ public class NameTypeCP extends CP implements RuntimeConstants
 	 */
 	public NameTypeCP(String name, String sig)
 	{
-		uniq = ("NT : @#$%" + name + "SD#$" + sig).intern();
 		this.name = new AsciiCP(name);
 		this.sig = new AsciiCP(sig);
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof NameTypeCP && ((NameTypeCP) o).name.equals(name) && ((NameTypeCP) o).sig.equals(sig);
+	}
+
+	public int hashCode()
+	{
+		return (CONSTANT_NAMEANDTYPE * 31 + name.hashCode()) * 31 + sig.hashCode();
+	}
+
 	void resolve(ClassEnv e)
 	{
 		e.addCPItem(name);
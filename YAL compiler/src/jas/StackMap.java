@@ -16,17 +16,13 @@ public class StackMap
 {
 	static private final int JDK_SMF_MIN = 50;
 
-	static CP attr = null;
-	static boolean java6 = false;
+	// the name of the attribute and its format are chosen once per class, and
+	// kept in its ClassEnv so that classes may be assembled concurrently
+	CP attr;
+	boolean java6;
 
 	protected Vector frames;
 
-	public static void reinit()
-	{
-		attr = null;
-		java6 = false;
-	}
-
 	protected StackMap(CP attr)
 	{
 		this.attr = attr;
@@ -35,12 +31,13 @@ public class StackMap
 
 	public StackMap(ClassEnv e)
 	{
-		if (attr == null)
+		if (e.stackmap_attr == null)
 		{
-			if (e.version_hi >= JDK_SMF_MIN)
-				java6 = true;
-			attr = new AsciiCP(java6 ? "StackMapTable" : "StackMap");
+			e.stackmap_java6 = e.version_hi >= JDK_SMF_MIN;
+			e.stackmap_attr = new AsciiCP(e.stackmap_java6 ? "StackMapTable" : "StackMap");
 		}
+		attr = e.stackmap_attr;
+		java6 = e.stackmap_java6;
 		frames = new Vector();
 	}
 
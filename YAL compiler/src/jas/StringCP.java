@@ -19,10 +19,19 @@ public class StringCP extends CP implements RuntimeConstants
 	 */
 	public StringCP(String s)
 	{
-		uniq = ("String: @#$" + s).intern();
 		val = new AsciiCP(s);
 	}
 
+	public boolean equals(Object o)
+	{
+		return o instanceof StringCP && ((StringCP) o).val.equals(val);
+	}
+
+	public int hashCode()
+	{
+		return CONSTANT_STRING * 31 + val.hashCode();
+	}
+
 	void resolve(ClassEnv e)
 	{
 		e.addCPItem(val);
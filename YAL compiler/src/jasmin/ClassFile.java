@@ -92,10 +92,11 @@ public class ClassFile
 
 		errors++;
 
-		// Print out filename/linenumber/message
-		System.err.print(filename + ":");
+		// Print out filename/linenumber/message. The message is printed at once, so
+		// that messages of files assembled concurrently are not mixed.
+		StringBuilder out = new StringBuilder(filename).append(':');
 		if (scanner == null)
-			System.err.println(" " + msg + ".");
+			out.append(" " + msg + ".");
 		else
 		{
 			String dia_line;
@@ -103,19 +104,19 @@ public class ClassFile
 
 			if (BadIntVal && scanner.char_num >= 0)
 			{
-				dia_line = scanner.int_line;
+				dia_line = scanner.int_line();
 				dia_linnum = scanner.int_line_num;
 				dia_charpos = scanner.int_char_num;
 			} else
 			{
-				dia_line = scanner.line.toString();
+				dia_line = scanner.line();
 				dia_linnum = scanner.line_num;
 				dia_charpos = scanner.char_num;
 			}
-			System.err.println(dia_linnum + ": " + msg + ".");
+			out.append(dia_linnum + ": " + msg + ".");
 			if (scanner.char_num >= 0)
 			{
-				System.err.println(dia_line);
+				out.append(System.lineSeparator()).append(dia_line).append(System.lineSeparator());
 
 				// Print out where on the line the scanner got to
 				int i;
@@ -123,15 +124,16 @@ public class ClassFile
 				{
 					if (dia_line.charAt(i) == '\t')
 					{
-						System.err.print("\t");
+						out.append('\t');
 					} else
 					{
-						System.err.print(" ");
+						out.append(' ');
 					}
 				}
-				System.err.println("^");
+				out.append('^');
 			}
 		}
+		System.err.println(out);
 	}
 
 	//
@@ -0,0 +1,163 @@
+package jasmin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java_cup.runtime.token;
+
+//
+// KeywordTable is a perfect hash table of the reserved words and instruction
+// names of Jasmin, built when the class is initialized. The scanner looks up a
+// token straight from its buffer, so no String is created for keywords, and
+// each lookup compares at most one keyword. The table is never changed after
+// the class is initialized, so it may be shared by concurrent assemblies.
+//
+// The table uses hash and displace: the hash of a keyword selects a bucket,
+// and the displacement of the bucket, chosen so that the keywords of the
+// bucket do not collide with the ones already placed, selects the slot.
+//
+
+abstract class KeywordTable
+{
+	private static final int GOLDEN = 0x9E3779B9;
+
+	private static final int buckets_mask;
+	private static final int slots_mask;
+	private static final int displacements[];
+	private static final char names[][];
+	private static final String strings[];
+	private static final int terminals[];
+
+	//
+	// returns the slot of a keyword, or -1 if the characters are not a keyword
+	//
+	static int lookup(char chars[], int len)
+	{
+		int h = hash(chars, len);
+		int slot = mix(h + displacements[mix(h) & buckets_mask] * GOLDEN) & slots_mask;
+		char name[] = names[slot];
+		if (name == null || name.length != len)
+			return -1;
+		for (int i = 0; i < len; i++)
+		{
+			if (name[i] != chars[i])
+				return -1;
+		}
+		return slot;
+	}
+
+	//
+	// returns the terminal number of the keyword in a slot, which is sym.Insn
+	// for the names of instructions
+	//
+	static int terminal(int slot)
+	{
+		return terminals[slot];
+	}
+
+	//
+	// returns the keyword in a slot. It is the same String as the key of the
+	// InsnInfo table, so looking it up there only compares references.
+	//
+	static String string(int slot)
+	{
+		return strings[slot];
+	}
+
+	private static int hash(char chars[], int len)
+	{
+		int h = len;
+		for (int i = 0; i < len; i++)
+			h = 31 * h + chars[i];
+		return h;
+	}
+
+	// finalization of MurmurHash3, so that every bit of the hash changes the slot
+	private static int mix(int h)
+	{
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	//
+	// builds the table from ReservedWords and InsnInfo. A reserved word that is
+	// also an instruction (e.g. tableswitch) is scanned as the reserved word.
+	//
+	static
+	{
+		ArrayList<String> keywords = new ArrayList<>(ReservedWords.words());
+		for (String name : InsnInfo.names())
+		{
+			if (!ReservedWords.contains(name))
+				keywords.add(name);
+		}
+
+		int num_buckets = Integer.highestOneBit(Math.max(keywords.size() / 2, 1)) * 2;
+		int num_slots = num_buckets * 4;
+		buckets_mask = num_buckets - 1;
+		slots_mask = num_slots - 1;
+
+		ArrayList<ArrayList<char[]>> buckets = new ArrayList<>();
+		for (int b = 0; b < num_buckets; b++)
+			buckets.add(new ArrayList<>());
+		for (String keyword : keywords)
+		{
+			char chars[] = keyword.toCharArray();
+			buckets.get(mix(hash(chars, chars.length)) & buckets_mask).add(chars);
+		}
+
+		// the largest buckets are placed first, while most slots are free
+		Integer order[] = new Integer[num_buckets];
+		for (int b = 0; b < num_buckets; b++)
+			order[b] = b;
+		Arrays.sort(order, (b1, b2) -> buckets.get(b2).size() - buckets.get(b1).size());
+
+		displacements = new int[num_buckets];
+		names = new char[num_slots][];
+		int bucket_slots[] = new int[num_slots];
+		for (int b : order)
+		{
+			ArrayList<char[]> bucket = buckets.get(b);
+			if (bucket.isEmpty())
+				break;
+
+			for (int d = 0;; d++)
+			{
+				// only keywords with the same hash can collide for every displacement
+				if (d == num_slots * 16)
+					throw new IllegalStateException("keyword table cannot be built");
+
+				int placed = 0;
+				for (char chars[] : bucket)
+				{
+					int slot = mix(hash(chars, chars.length) + d * GOLDEN) & slots_mask;
+					if (names[slot] != null)
+						break;
+					names[slot] = chars;
+					bucket_slots[placed++] = slot;
+				}
+				if (placed == bucket.size())
+				{
+					displacements[b] = d;
+					break;
+				}
+				for (int i = 0; i < placed; i++)
+					names[bucket_slots[i]] = null;
+			}
+		}
+
+		strings = new String[num_slots];
+		terminals = new int[num_slots];
+		for (int slot = 0; slot < num_slots; slot++)
+		{
+			if (names[slot] == null)
+				continue;
+			strings[slot] = new String(names[slot]).intern();
+			token tok = ReservedWords.get(strings[slot]);
+			terminals[slot] = tok == null ? sym.Insn : tok.sym;
+		}
+	}
+}
@@ -7,8 +7,13 @@
 package jasmin;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import jas.jasError;
-import jas.StackMap;
 
 /**
  * Main is the main entry point for Jasmin - it supplies the main() method, as
@@ -32,11 +37,18 @@ public class Main
 	/* Autogenerate linenumbers */
 	private boolean generate_linenum = false;
 
+	/* Number of files assembled concurrently */
+	private int threads = 1;
+
+	/* Number of files that had errors */
+	private int failed_files = 0;
+
 	/* Commandline syntax (help) */
-	private static final String help1 = "usage: jasmin [-d <outpath>] [-g] [-e <encoding>] <file> [<file> ...]\n";
+	private static final String help1 = "usage: jasmin [-d <outpath>] [-g] [-e <encoding>] [-j <threads>] <file> [<file> ...]\n";
 	private static final String help2 = "           where   -g - autogenerate linenumbers\n"
 			+ "                   -e - codepage for inputfile encoding\n"
 			+ "                   -d - path for generated classfiles\n"
+			+ "                   -j - number of files assembled concurrently\n"
 			+ "                file  - sourcefile (wildcards are allowed)\n";
 	private static final String help3 = "   or: jasmin -version\n" + "   or: jasmin -help";
 
@@ -58,9 +70,23 @@ public class Main
 	 *            is the name of the file containing the Jasmin source code.
 	 */
 	public final void assemble(String fname)
+	{
+		if (!assembleFile(fname))
+			failed_files++;
+	}
+
+	/**
+	 * Assembles a single file. It only uses state of its own, so several files may
+	 * be assembled concurrently.
+	 * 
+	 * @param fname
+	 *            is the name of the file containing the Jasmin source code.
+	 * @return true if the class file was generated, false if the file had errors
+	 */
+	private boolean assembleFile(String fname)
 	{
 		File out_file = null;
-		FileOutputStream outp = null;
+		boolean writing = false;
 		File file = new File(fname);
 		ClassFile classFile = new ClassFile();
 		String iocause = fname + ": file not found";
@@ -84,7 +110,7 @@ public class Main
 			if (classFile.errorCount() > 0)
 			{
 				System.err.println(fname + ": Found " + classFile.errorCount() + " errors");
-				return;
+				return false;
 			}
 
 			String class_path[] = (ScannerUtils.splitClassField(classFile.getClassName()));
@@ -125,10 +151,13 @@ public class Main
 				}
 			}
 
-			outp = new FileOutputStream(out_file);
+			// the class is written to memory and then to the file at once, as ClassEnv
+			// writes it a few bytes at a time
+			ByteArrayOutputStream outp = new ByteArrayOutputStream();
 			classFile.write(outp);
-			outp.close();
-			outp = null; // as marker
+			writing = true;
+			Files.write(out_file.toPath(), outp.toByteArray());
+			writing = false;
 			System.out.println("Generated: " + out_file.getPath());
 
 		} catch (java.io.FileNotFoundException e)
@@ -147,17 +176,102 @@ public class Main
 		if (classFile.errorCount() > 0)
 		{
 			System.err.println(fname + ": Found " + classFile.errorCount() + " errors");
-			if (outp != null)
+			if (writing)
+				out_file.delete();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Assembles Jasmin source code to the bytes of its class file in memory,
+	 * without reading or writing any file.
+	 * 
+	 * @param fname
+	 *            is the name the source code is reported with.
+	 * @param inp
+	 *            is the reader of the source code.
+	 * @return the bytes of the class file, or null if the source code had errors
+	 */
+	public final byte[] assemble(String fname, Reader inp)
+	{
+		ClassFile classFile = new ClassFile();
+		byte bytes[] = null;
+		try
+		{
+			classFile.readJasmin(inp, fname, generate_linenum);
+			if (classFile.errorCount() == 0)
 			{
-				try
-				{
-					outp.close();
-					out_file.delete();
-				} catch (Exception e)
-				{
-				}
+				ByteArrayOutputStream outp = new ByteArrayOutputStream();
+				classFile.write(outp);
+				bytes = outp.toByteArray();
 			}
+		} catch (jasError e)
+		{
+			classFile.report_error("JAS Error: " + e.getMessage(), e.numTag);
+		} catch (Exception e)
+		{
+			if (DEBUG)
+				e.printStackTrace();
+			classFile.report_error(fname + ": exception - <" + e.getClass().getName() + "> " + e.getMessage() + ".");
 		}
+		if (classFile.errorCount() > 0)
+		{
+			System.err.println(fname + ": Found " + classFile.errorCount() + " errors");
+			failed_files++;
+			return null;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Assembles files concurrently, each one in a thread of a pool with the given
+	 * number of threads
+	 * 
+	 * @param files
+	 *            names of the files
+	 * @param num_files
+	 *            number of files to assemble
+	 */
+	private void assembleConcurrently(String files[], int num_files)
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, num_files));
+		ArrayList<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < num_files; i++)
+		{
+			String fname = files[i];
+			results.add(executor.submit(() -> assembleFile(fname)));
+		}
+		executor.shutdown();
+
+		for (int i = 0; i < num_files; i++)
+		{
+			try
+			{
+				if (!results.get(i).get())
+					failed_files++;
+			} catch (ExecutionException e)
+			{
+				System.err.println(files[i] + ": exception - <" + e.getCause().getClass().getName() + "> "
+						+ e.getCause().getMessage() + ".");
+				failed_files++;
+			} catch (InterruptedException e)
+			{
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+				failed_files += num_files - i;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of files assembled by run() that had errors, and so did
+	 * not generate a class file
+	 */
+	public int getFailedFiles()
+	{
+		return failed_files;
 	}
 
 	public static void main(String args[])
@@ -203,6 +317,22 @@ public class Main
 					duplicate_option("-d");
 				else
 					dest_path = args[i];
+			} else if (args[i].equals("-j"))
+			{
+				if (++i >= args.length)
+					unarg_option("-j");
+				try
+				{
+					threads = Integer.parseInt(args[i]);
+				} catch (NumberFormatException e)
+				{
+					threads = 0;
+				}
+				if (threads < 1)
+				{
+					System.err.println("Invalid command line: option -j requires a positive number");
+					System.exit(-1);
+				}
 			} else if (args[i].equals("-e"))
 			{
 				if (++i >= args.length)
@@ -217,10 +347,12 @@ public class Main
 			}
 		}
 
-		for (i = 0; i < num_files; i++)
+		if (threads > 1 && num_files > 1)
+			assembleConcurrently(files, num_files);
+		else
 		{
-			StackMap.reinit();
-			assemble(files[i]);
+			for (i = 0; i < num_files; i++)
+				assemble(files[i]);
 		}
 	}
 };
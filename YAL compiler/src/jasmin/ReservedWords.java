@@ -6,16 +6,23 @@
 
 package jasmin;
 
-import java.util.Hashtable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java_cup.runtime.*;
 
 abstract class ReservedWords
 {
-	private static Hashtable reserved_words;
+	// maps reserved word -> terminal number. The table is never changed after the
+	// class is initialized, so it may be shared by concurrent assemblies.
+	private static final Map<String, Integer> reserved_words;
 
+	// returns a new token each time, as the parser records its state in the token
 	public static token get(String name)
 	{
-		return (token) reserved_words.get(name);
+		Integer sym_num = reserved_words.get(name);
+		return sym_num == null ? null : new token(sym_num);
 	}
 
 	public static boolean contains(String name)
@@ -23,82 +30,90 @@ abstract class ReservedWords
 		return reserved_words.get(name) != null;
 	}
 
+	// returns all reserved words, used to build the KeywordTable
+	static Set<String> words()
+	{
+		return reserved_words.keySet();
+	}
+
 	//
 	// scanner initializer - sets up reserved_words table
 	//
 	static
 	{
-		reserved_words = new Hashtable();
+		Map<String, Integer> words = new HashMap<>();
 
 		// Jasmin directives
-		reserved_words.put(".annotation", new token(sym.DANNOTATION));
-		reserved_words.put(".attribute", new token(sym.DATTRIBUTE));
-		reserved_words.put(".bytecode", new token(sym.DBYTECODE));
-		reserved_words.put(".catch", new token(sym.DCATCH));
-		reserved_words.put(".class", new token(sym.DCLASS));
-		reserved_words.put(".deprecated", new token(sym.DDEPRECATED));
-		reserved_words.put(".end", new token(sym.DEND));
-		reserved_words.put(".field", new token(sym.DFIELD));
-		reserved_words.put(".implements", new token(sym.DIMPLEMENTS));
-		reserved_words.put(".inner", new token(sym.DINNER));
-		reserved_words.put(".interface", new token(sym.DINTERFACE));
-		reserved_words.put(".limit", new token(sym.DLIMIT));
-		reserved_words.put(".line", new token(sym.DLINE));
-		reserved_words.put(".method", new token(sym.DMETHOD));
-		reserved_words.put(".set", new token(sym.DSET));
-		reserved_words.put(".source", new token(sym.DSOURCE));
-		reserved_words.put(".super", new token(sym.DSUPER));
-		reserved_words.put(".throws", new token(sym.DTHROWS));
-		reserved_words.put(".var", new token(sym.DVAR));
-		reserved_words.put(".debug", new token(sym.DDEBUG));
-		reserved_words.put(".enclosing", new token(sym.DENCLOSING));
-		reserved_words.put(".signature", new token(sym.DSIGNATURE));
-		reserved_words.put(".stack", new token(sym.DSTACK));
+		words.put(".annotation", sym.DANNOTATION);
+		words.put(".attribute", sym.DATTRIBUTE);
+		words.put(".bytecode", sym.DBYTECODE);
+		words.put(".catch", sym.DCATCH);
+		words.put(".class", sym.DCLASS);
+		words.put(".deprecated", sym.DDEPRECATED);
+		words.put(".end", sym.DEND);
+		words.put(".field", sym.DFIELD);
+		words.put(".implements", sym.DIMPLEMENTS);
+		words.put(".inner", sym.DINNER);
+		words.put(".interface", sym.DINTERFACE);
+		words.put(".limit", sym.DLIMIT);
+		words.put(".line", sym.DLINE);
+		words.put(".method", sym.DMETHOD);
+		words.put(".set", sym.DSET);
+		words.put(".source", sym.DSOURCE);
+		words.put(".super", sym.DSUPER);
+		words.put(".throws", sym.DTHROWS);
+		words.put(".var", sym.DVAR);
+		words.put(".debug", sym.DDEBUG);
+		words.put(".enclosing", sym.DENCLOSING);
+		words.put(".signature", sym.DSIGNATURE);
+		words.put(".stack", sym.DSTACK);
 
 		// reserved_words used in Jasmin directives
-		reserved_words.put("field", new token(sym.FIELD));
-		reserved_words.put("from", new token(sym.FROM));
-		reserved_words.put("method", new token(sym.METHOD));
-		reserved_words.put("to", new token(sym.TO));
-		reserved_words.put("is", new token(sym.IS));
-		reserved_words.put("using", new token(sym.USING));
-		reserved_words.put("signature", new token(sym.SIGNATURE));
-		reserved_words.put("stack", new token(sym.STACK));
-		reserved_words.put("offset", new token(sym.OFFSET));
-		reserved_words.put("locals", new token(sym.LOCALS));
-		reserved_words.put("use", new token(sym.USE));
-		reserved_words.put("inner", new token(sym.INNER));
-		reserved_words.put("outer", new token(sym.OUTER));
-		reserved_words.put("class", new token(sym.CLASS));
-		reserved_words.put("visible", new token(sym.VISIBLE));
-		reserved_words.put("invisible", new token(sym.INVISIBLE));
-		reserved_words.put("visibleparam", new token(sym.VISIBLEPARAM));
-		reserved_words.put("invisibleparam", new token(sym.INVISIBLEPARAM));
+		words.put("field", sym.FIELD);
+		words.put("from", sym.FROM);
+		words.put("method", sym.METHOD);
+		words.put("to", sym.TO);
+		words.put("is", sym.IS);
+		words.put("using", sym.USING);
+		words.put("signature", sym.SIGNATURE);
+		words.put("stack", sym.STACK);
+		words.put("offset", sym.OFFSET);
+		words.put("locals", sym.LOCALS);
+		words.put("use", sym.USE);
+		words.put("inner", sym.INNER);
+		words.put("outer", sym.OUTER);
+		words.put("class", sym.CLASS);
+		words.put("visible", sym.VISIBLE);
+		words.put("invisible", sym.INVISIBLE);
+		words.put("visibleparam", sym.VISIBLEPARAM);
+		words.put("invisibleparam", sym.INVISIBLEPARAM);
 
 		// Special-case instructions
-		reserved_words.put("tableswitch", new token(sym.TABLESWITCH));
-		reserved_words.put("lookupswitch", new token(sym.LOOKUPSWITCH));
-		reserved_words.put("default", new token(sym.DEFAULT));
+		words.put("tableswitch", sym.TABLESWITCH);
+		words.put("lookupswitch", sym.LOOKUPSWITCH);
+		words.put("default", sym.DEFAULT);
 
 		// Access flags
-		reserved_words.put("public", new token(sym.PUBLIC));
-		reserved_words.put("private", new token(sym.PRIVATE));
-		reserved_words.put("protected", new token(sym.PROTECTED));
-		reserved_words.put("static", new token(sym.STATIC));
-		reserved_words.put("final", new token(sym.FINAL));
-		reserved_words.put("synchronized", new token(sym.SYNCHRONIZED));
-		reserved_words.put("volatile", new token(sym.VOLATILE));
-		reserved_words.put("transient", new token(sym.TRANSIENT));
-		reserved_words.put("native", new token(sym.NATIVE));
-		reserved_words.put("interface", new token(sym.INTERFACE));
-		reserved_words.put("abstract", new token(sym.ABSTRACT));
+		words.put("public", sym.PUBLIC);
+		words.put("private", sym.PRIVATE);
+		words.put("protected", sym.PROTECTED);
+		words.put("static", sym.STATIC);
+		words.put("final", sym.FINAL);
+		words.put("synchronized", sym.SYNCHRONIZED);
+		words.put("volatile", sym.VOLATILE);
+		words.put("transient", sym.TRANSIENT);
+		words.put("native", sym.NATIVE);
+		words.put("interface", sym.INTERFACE);
+		words.put("abstract", sym.ABSTRACT);
+
+		words.put("annotation", sym.ANNOTATION);
+		words.put("enum", sym.ENUM);
+		words.put("bridge", sym.BRIDGE);
+		words.put("varargs", sym.VARARGS);
+		words.put("fpstrict", sym.STRICT);
+		words.put("synthetic", sym.SYNTHETIC);
 
-		reserved_words.put("annotation", new token(sym.ANNOTATION));
-		reserved_words.put("enum", new token(sym.ENUM));
-		reserved_words.put("bridge", new token(sym.BRIDGE));
-		reserved_words.put("varargs", new token(sym.VARARGS));
-		reserved_words.put("fpstrict", new token(sym.STRICT));
-		reserved_words.put("synthetic", new token(sym.SYNTHETIC));
+		reserved_words = Collections.unmodifiableMap(words);
 	}
 }
 
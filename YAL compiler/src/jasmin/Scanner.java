@@ -17,30 +17,27 @@ import java.io.Reader;
 
 class Scanner
 {
-	Reader inp;
+	// the whole source, read at once, and the index of the character that
+	// follows next_char
+	private char buf[];
+	private int buf_len, buf_pos;
 
 	// single lookahead character
 	int next_char;
 
-	// temporary buffer
+	// temporary buffer, per scanner so that files may be scanned concurrently
 	char chars[];
-	static private int chars_size = 512;
-
-	// Whitespace characters
-	static final String WHITESPACE = " \n\t\r";
-
-	// Separator characters
-	static final String SEPARATORS = WHITESPACE + ":=";
+	private int chars_size = 512;
 
 	/*
 	 * // Character can be present in signature static final String SIGCHARS =
 	 * ";:()[/.^*+-<>@";
 	 */
 
-	// used for error reporting to print out where an error is on the line
+	// used for error reporting to print out where an error is on the line. The
+	// lines are kept as the index of their first character in buf.
 	public int line_num, token_line_num, char_num, int_char_num, int_line_num;
-	public StringBuffer line;
-	public String int_line;
+	private int line_start, int_line_start;
 
 	// used by the .set directive to define new variables.
 	public Hashtable dict = new Hashtable();
@@ -50,7 +47,16 @@ class Scanner
 	//
 	protected static boolean whitespace(int c)
 	{
-		return (WHITESPACE.indexOf(c) != -1);
+		switch (c)
+		{
+		case ' ':
+		case '\n':
+		case '\t':
+		case '\r':
+			return true;
+		default:
+			return false;
+		}
 	}
 
 	//
@@ -58,15 +64,43 @@ class Scanner
 	//
 	protected static boolean separator(int c)
 	{
-		return (c == -1 || SEPARATORS.indexOf(c) != -1);
+		switch (c)
+		{
+		case -1:
+		case ' ':
+		case '\n':
+		case '\t':
+		case '\r':
+		case ':':
+		case '=':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	//
+	// returns the current line, up to the last character read
+	//
+	public String line()
+	{
+		return new String(buf, line_start, Math.max(char_num, 0));
+	}
+
+	//
+	// returns the line of the last integer token, up to its end
+	//
+	public String int_line()
+	{
+		return new String(buf, int_line_start, Math.max(int_char_num, 0));
 	}
 
 	//
 	// Advanced the input by one character
 	//
-	protected void advance() throws java.io.IOException
+	protected void advance()
 	{
-		next_char = inp.read();
+		next_char = buf_pos < buf_len ? buf[buf_pos++] : -1;
 		switch (next_char)
 		{
 		case -1: // EOF
@@ -82,11 +116,10 @@ class Scanner
 			char_num = 0;
 			break;
 		default:
-			line.append((char) next_char);
 			char_num++;
 			return;
 		}
-		line.setLength(0);
+		line_start = buf_pos;
 	}
 
 	//
@@ -94,10 +127,17 @@ class Scanner
 	//
 	public Scanner(Reader i) throws java.io.IOException, jasError
 	{
-		inp = i;
+		buf = new char[8192];
+		int n;
+		while ((n = i.read(buf, buf_len, buf.length - buf_len)) != -1)
+		{
+			buf_len += n;
+			if (buf_len == buf.length)
+				buf = Arrays.copyOf(buf, buf.length * 2);
+		}
+
 		line_num = 1;
 		char_num = 0;
-		line = new StringBuffer();
 		chars = new char[chars_size];
 		next_char = 0; // no start comment
 		skip_empty_lines();
@@ -105,6 +145,30 @@ class Scanner
 			throw new jasError("empty source file");
 	}
 
+	private static final long NOT_SMALL = Long.MIN_VALUE;
+
+	//
+	// converts the token in chars to an int if it is a decimal number of at most
+	// 9 digits, which ScannerUtils.convertNumber would also convert to an int, so
+	// that no String is created for it. Returns NOT_SMALL for other tokens.
+	//
+	private long small_decimal(int len)
+	{
+		int i = chars[0] == '-' ? 1 : 0;
+		if (len == i || len - i > 9)
+			return NOT_SMALL;
+
+		long value = 0;
+		for (; i < len; i++)
+		{
+			char c = chars[i];
+			if (c < '0' || c > '9')
+				return NOT_SMALL;
+			value = value * 10 + (c - '0');
+		}
+		return chars[0] == '-' ? -value : value;
+	}
+
 	private void chars_expand()
 	{
 		char temp[] = new char[chars_size * 2];
@@ -113,7 +177,7 @@ class Scanner
 		chars = temp;
 	}
 
-	private void skip_empty_lines() throws java.io.IOException
+	private void skip_empty_lines()
 	{
 		for (;;)
 		{
@@ -135,7 +199,7 @@ class Scanner
 		}
 	}
 
-	private char uniEscape() throws java.io.IOException, jasError
+	private char uniEscape() throws jasError
 	{
 		int res = 0;
 		for (int i = 0; i < 4; i++)
@@ -152,7 +216,7 @@ class Scanner
 		return (char) res;
 	}
 
-	private char nameEscape() throws java.io.IOException, jasError
+	private char nameEscape() throws jasError
 	{
 		advance();
 		if (next_char != 'u')
@@ -215,17 +279,19 @@ class Scanner
 					advance();
 				} while (!separator(next_char));
 
-				String str = new String(chars, 0, pos);
-				token tok;
-
 				// This catches directives like ".method"
-				if ((tok = ReservedWords.get(str)) != null)
-					return tok;
+				int keyword = KeywordTable.lookup(chars, pos);
+				if (keyword != -1 && KeywordTable.terminal(keyword) != sym.Insn)
+					return new token(KeywordTable.terminal(keyword));
 
 				Number num;
+				long small = small_decimal(pos);
 				try
 				{
-					num = ScannerUtils.convertNumber(str);
+					if (small != NOT_SMALL)
+						num = Integer.valueOf((int) small);
+					else
+						num = ScannerUtils.convertNumber(new String(chars, 0, pos));
 				} catch (NumberFormatException e)
 				{
 					if (chars[0] != '.')
@@ -235,7 +301,7 @@ class Scanner
 
 				if (num instanceof Integer)
 				{
-					int_line = line.toString();
+					int_line_start = line_start;
 					int_line_num = token_line_num;
 					int_char_num = char_num;
 					return new int_token(sym.Int, num.intValue());
@@ -407,21 +473,24 @@ class Scanner
 						chars_expand();
 					advance();
 				} while (!separator(next_char));
-				// convert the byte array into a String
-				String str = new String(chars, 0, pos);
-
 				if (!only_name)
 				{
-					token tok;
-
-					// Jasmin keyword or directive ?
-					if ((tok = ReservedWords.get(str)) != null)
-						return tok;
+					// Jasmin keyword, directive or JVM instruction ?
+					int keyword = KeywordTable.lookup(chars, pos);
+					if (keyword != -1)
+					{
+						int terminal = KeywordTable.terminal(keyword);
+						if (terminal == sym.Insn)
+							return new str_token(sym.Insn, KeywordTable.string(keyword));
+						return new token(terminal);
+					}
+				}
 
-					// its a JVM instruction ?
-					if (InsnInfo.contains(str))
-						return new str_token(sym.Insn, str);
+				// convert the char array into a String
+				String str = new String(chars, 0, pos);
 
+				if (!only_name)
+				{
 					if (str.charAt(0) == '$')
 					{
 						String s = str.substring(1);
@@ -53,378 +53,235 @@ public class parser extends java_cup.runtime.lr_parser
 		return _production_table;
 	}
 
-	/** parse action table */
-	protected static final short[][] _action_table = { /* 0 */{ 3, -11, 11, -11, 15, -11, 16, 4, -1, 0 },
-			/* 1 */{ 0, -119, 5, -119, 8, -119, 23, 134, -1, 0 }, /* 2 */{ 0, 133, -1, 0 }, /* 3 */{ 70, 131, -1, 0 },
-			/* 4 */{ 3, -14, 11, 6, 15, -14, -1, 0 }, /* 5 */{ 66, 127, 67, 128, -1, 0 }, /* 6 */{ 3, 9, 15, 8, -1, 0 },
-			/* 7 */{ 43, -18, 44, -18, 45, -18, 46, -18, 47, -18, 48, -18, 49, -18, 50, -18, 51, -18, 52, -18, 53, -18,
-					54, -18, 55, -18, 56, -18, 57, -18, 58, -18, 59, -18, 67, -18, -1, 0 },
-			/* 8 */{ 43, -18, 44, -18, 45, -18, 46, -18, 47, -18, 48, -18, 49, -18, 50, -18, 51, -18, 52, -18, 53, -18,
-					54, -18, 55, -18, 56, -18, 57, -18, 58, -18, 59, -18, 67, -18, -1, 0 },
-			/* 9 */{ 10, 12, -1, 0 },
-			/* 10 */{ 0, -43, 5, -43, 8, -43, 14, 17, 17, -43, 18, -43, 19, -43, 21, -43, 22, -43, 23, -43, 24, -43, -1,
-					0 },
-			/* 11 */{ 67, 13, -1, 0 }, /* 12 */{ 27, -17, 37, -17, 64, -17, -1, 0 }, /* 13 */{ 64, 15, -1, 0 },
-			/* 14 */{ 0, -41, 5, -41, 8, -41, 14, -41, 17, -41, 18, -41, 19, -41, 21, -41, 22, -41, 23, -41, 24, -41,
-					-1, 0 },
-			/* 15 */{ 0, -45, 5, -45, 8, -45, 14, -45, 17, -45, 18, -45, 19, -45, 21, -45, 22, -45, 23, -45, 24, -45,
-					-1, 0 },
-			/* 16 */{ 67, 13, -1, 0 },
-			/* 17 */{ 0, -5, 5, -5, 8, -5, 17, -5, 18, -5, 19, 22, 21, -5, 22, -5, 23, -5, 24, -5, -1, 0 },
-			/* 18 */{ 0, -42, 5, -42, 8, -42, 14, 17, 17, -42, 18, -42, 19, -42, 21, -42, 22, -42, 23, -42, 24, -42, -1,
-					0 },
-			/* 19 */{ 0, -44, 5, -44, 8, -44, 14, -44, 17, -44, 18, -44, 19, -44, 21, -44, 22, -44, 23, -44, 24, -44,
-					-1, 0 },
-			/* 20 */{ 0, -87, 5, -87, 8, -87, 17, -87, 18, 26, 21, -87, 22, -87, 23, -87, 24, -87, -1, 0 },
-			/* 21 */{ 66, 23, -1, 0 }, /* 22 */{ 64, -6, -1, 0 }, /* 23 */{ 64, 25, -1, 0 },
-			/* 24 */{ 0, -4, 5, -4, 8, -4, 17, -4, 18, -4, 21, -4, 22, -4, 23, -4, 24, -4, -1, 0 },
-			/* 25 */{ 28, 94, -1, 0 }, /* 26 */{ 0, -8, 5, -8, 8, -8, 17, -8, 21, -8, 22, 28, 23, -8, 24, -8, -1, 0 },
-			/* 27 */{ 64, -9, -1, 0 }, /* 28 */{ 0, -48, 5, -48, 8, -48, 17, -48, 21, -48, 23, -48, 24, 34, -1, 0 },
-			/* 29 */{ 0, -50, 5, -50, 8, -50, 17, -50, 21, -50, 23, -50, 24, -50, -1, 0 },
-			/* 30 */{ 0, -47, 5, -47, 8, -47, 17, -47, 21, -47, 23, -47, 24, 34, -1, 0 },
-			/* 31 */{ 4, -62, 67, 60, -1, 0 }, /* 32 */{ 0, -89, 5, -89, 8, -89, 17, -89, 21, 43, 23, -89, -1, 0 },
-			/* 33 */{ 38, 36, 39, 35, -1, 0 }, /* 34 */{ 67, 13, -1, 0 }, /* 35 */{ 67, 13, -1, 0 },
-			/* 36 */{ 4, -54, 67, -54, -1, 0 }, /* 37 */{ 64, 39, -1, 0 }, /* 38 */{ 4, -55, 67, -55, -1, 0 },
-			/* 39 */{ 64, 41, -1, 0 }, /* 40 */{ 4, -56, 67, -56, -1, 0 },
-			/* 41 */{ 0, -91, 5, -91, 8, -91, 17, -91, 21, -91, 23, -91, -1, 0 }, /* 42 */{ 67, 54, -1, 0 },
-			/* 43 */{ 0, -82, 5, -82, 8, -82, 17, 47, 23, -82, -1, 0 },
-			/* 44 */{ 0, -88, 5, -88, 8, -88, 17, -88, 21, 43, 23, -88, -1, 0 },
-			/* 45 */{ 0, -90, 5, -90, 8, -90, 17, -90, 21, -90, 23, -90, -1, 0 }, /* 46 */{ 66, 52, -1, 0 },
-			/* 47 */{ 0, -81, 5, -81, 8, -81, 17, 47, 23, -81, -1, 0 },
-			/* 48 */{ 0, -84, 5, -84, 8, -84, 17, -84, 23, -84, -1, 0 }, /* 49 */{ 0, -3, 5, -3, 8, -3, 23, -3, -1, 0 },
-			/* 50 */{ 0, -83, 5, -83, 8, -83, 17, -83, 23, -83, -1, 0 }, /* 51 */{ 64, 53, -1, 0 },
-			/* 52 */{ 0, -85, 5, -85, 8, -85, 17, -85, 23, -85, -1, 0 }, /* 53 */{ 66, 57, -1, 0 },
-			/* 54 */{ 64, 56, -1, 0 }, /* 55 */{ 0, -92, 5, -92, 8, -92, 17, -92, 21, -92, 23, -92, -1, 0 },
-			/* 56 */{ 64, -93, -1, 0 }, /* 57 */{ 4, -61, 67, 60, -1, 0 }, /* 58 */{ 63, 70, -1, 0 },
-			/* 59 */{ 67, 68, -1, 0 }, /* 60 */{ 4, -64, 67, -64, -1, 0 }, /* 61 */{ 4, 65, -1, 0 },
-			/* 62 */{ 0, -51, 5, -51, 8, -51, 17, -51, 21, -51, 23, -51, 24, -51, -1, 0 }, /* 63 */{ 64, 67, -1, 0 },
-			/* 64 */{ 54, 66, -1, 0 }, /* 65 */{ 64, -53, -1, 0 },
-			/* 66 */{ 0, -52, 4, -52, 5, -52, 8, -52, 17, -52, 19, -52, 21, -52, 22, -52, 23, -52, 24, -52, 67, -52, -1,
-					0 },
-			/* 67 */{ 63, -66, 67, 69, -1, 0 }, /* 68 */{ 63, -67, -1, 0 },
-			/* 69 */{ 24, 77, 66, 78, 67, 73, 69, 76, 70, 74, -1, 0 },
-			/* 70 */{ 64, 88, 66, 78, 67, 73, 69, 76, 70, 74, -1, 0 }, /* 71 */{ 4, -65, 67, -65, -1, 0 },
-			/* 72 */{ 64, -116, 66, -116, 67, -116, 69, -116, 70, -116, -1, 0 },
-			/* 73 */{ 64, -114, 66, -114, 67, -114, 69, -114, 70, -114, -1, 0 },
-			/* 74 */{ 4, -75, 24, -75, 67, -75, -1, 0 },
-			/* 75 */{ 64, -113, 66, -113, 67, -113, 69, -113, 70, -113, -1, 0 }, /* 76 */{ 64, 84, -1, 0 },
-			/* 77 */{ 64, -115, 66, -115, 67, -115, 69, -115, 70, -115, -1, 0 },
-			/* 78 */{ 4, -70, 24, 77, 67, -70, -1, 0 }, /* 79 */{ 64, -72, 66, -72, 67, -72, 69, -72, 70, -72, -1, 0 },
-			/* 80 */{ 64, -117, 66, -117, 67, -117, 69, -117, 70, -117, -1, 0 },
-			/* 81 */{ 64, -73, 66, -73, 67, -73, 69, -73, 70, -73, -1, 0 }, /* 82 */{ 4, -74, 24, -74, 67, -74, -1, 0 },
-			/* 83 */{ 4, -77, 67, -77, -1, 0 }, /* 84 */{ 4, -62, 67, 60, -1, 0 }, /* 85 */{ 4, 65, -1, 0 },
-			/* 86 */{ 4, -76, 24, -76, 67, -76, -1, 0 }, /* 87 */{ 4, -69, 67, -69, -1, 0 },
-			/* 88 */{ 64, -71, 66, -71, 67, -71, 69, -71, 70, -71, -1, 0 }, /* 89 */{ 4, -63, 67, -63, -1, 0 },
-			/* 90 */{ 0, -49, 5, -49, 8, -49, 17, -49, 21, -49, 23, -49, 24, -49, -1, 0 }, /* 91 */{ 64, 93, -1, 0 },
-			/* 92 */{ 0, -7, 5, -7, 8, -7, 17, -7, 21, -7, 23, -7, 24, -7, -1, 0 }, /* 93 */{ 67, 95, -1, 0 },
-			/* 94 */{ 64, 96, -1, 0 },
-			/* 95 */{ 0, -86, 5, -86, 8, -86, 17, -86, 21, -86, 22, -86, 23, -86, 24, -86, -1, 0 },
-			/* 96 */{ 64, 98, -1, 0 },
-			/* 97 */{ 0, -46, 5, -46, 8, -46, 14, -46, 17, -46, 18, -46, 19, -46, 21, -46, 22, -46, 23, -46, 24, -46,
-					-1, 0 },
-			/* 98 */{ 67, 13, -1, 0 },
-			/* 99 */{ 36, -21, 37, -21, 43, 117, 44, 113, 45, 115, 46, 105, 47, 103, 48, 111, 49, 107, 50, 109, 51, 118,
-					52, 112, 53, 108, 54, 106, 55, 114, 56, 104, 57, 116, 58, 110, 59, 102, 64, -21, 67, -21, -1, 0 },
-			/* 100 */{ 36, -20, 37, -20, 43, 117, 44, 113, 45, 115, 46, 105, 47, 103, 48, 111, 49, 107, 50, 109, 51,
-					118, 52, 112, 53, 108, 54, 106, 55, 114, 56, 104, 57, 116, 58, 110, 59, 102, 64, -20, 67, -20, -1,
-					0 },
-			/* 101 */{ 36, -40, 37, -40, 43, -40, 44, -40, 45, -40, 46, -40, 47, -40, 48, -40, 49, -40, 50, -40, 51,
-					-40, 52, -40, 53, -40, 54, -40, 55, -40, 56, -40, 57, -40, 58, -40, 59, -40, 64, -40, 67, -40, -1,
-					0 },
-			/* 102 */{ 36, -25, 37, -25, 43, -25, 44, -25, 45, -25, 46, -25, 47, -25, 48, -25, 49, -25, 50, -25, 51,
-					-25, 52, -25, 53, -25, 54, -25, 55, -25, 56, -25, 57, -25, 58, -25, 59, -25, 64, -25, 67, -25, -1,
-					0 },
-			/* 103 */{ 36, -37, 37, -37, 43, -37, 44, -37, 45, -37, 46, -37, 47, -37, 48, -37, 49, -37, 50, -37, 51,
-					-37, 52, -37, 53, -37, 54, -37, 55, -37, 56, -37, 57, -37, 58, -37, 59, -37, 64, -37, 67, -37, -1,
-					0 },
-			/* 104 */{ 36, -32, 37, -32, 43, -32, 44, -32, 45, -32, 46, -32, 47, -32, 48, -32, 49, -32, 50, -32, 51,
-					-32, 52, -32, 53, -32, 54, -32, 55, -32, 56, -32, 57, -32, 58, -32, 59, -32, 64, -32, 67, -32, -1,
-					0 },
-			/* 105 */{ 36, -35, 37, -35, 43, -35, 44, -35, 45, -35, 46, -35, 47, -35, 48, -35, 49, -35, 50, -35, 51,
-					-35, 52, -35, 53, -35, 54, -35, 55, -35, 56, -35, 57, -35, 58, -35, 59, -35, 64, -35, 67, -35, -1,
-					0 },
-			/* 106 */{ 36, -24, 37, -24, 43, -24, 44, -24, 45, -24, 46, -24, 47, -24, 48, -24, 49, -24, 50, -24, 51,
-					-24, 52, -24, 53, -24, 54, -24, 55, -24, 56, -24, 57, -24, 58, -24, 59, -24, 64, -24, 67, -24, -1,
-					0 },
-			/* 107 */{ 36, -30, 37, -30, 43, -30, 44, -30, 45, -30, 46, -30, 47, -30, 48, -30, 49, -30, 50, -30, 51,
-					-30, 52, -30, 53, -30, 54, -30, 55, -30, 56, -30, 57, -30, 58, -30, 59, -30, 64, -30, 67, -30, -1,
-					0 },
-			/* 108 */{ 36, -27, 37, -27, 43, -27, 44, -27, 45, -27, 46, -27, 47, -27, 48, -27, 49, -27, 50, -27, 51,
-					-27, 52, -27, 53, -27, 54, -27, 55, -27, 56, -27, 57, -27, 58, -27, 59, -27, 64, -27, 67, -27, -1,
-					0 },
-			/* 109 */{ 36, -39, 37, -39, 43, -39, 44, -39, 45, -39, 46, -39, 47, -39, 48, -39, 49, -39, 50, -39, 51,
-					-39, 52, -39, 53, -39, 54, -39, 55, -39, 56, -39, 57, -39, 58, -39, 59, -39, 64, -39, 67, -39, -1,
-					0 },
-			/* 110 */{ 36, -26, 37, -26, 43, -26, 44, -26, 45, -26, 46, -26, 47, -26, 48, -26, 49, -26, 50, -26, 51,
-					-26, 52, -26, 53, -26, 54, -26, 55, -26, 56, -26, 57, -26, 58, -26, 59, -26, 64, -26, 67, -26, -1,
-					0 },
-			/* 111 */{ 36, -31, 37, -31, 43, -31, 44, -31, 45, -31, 46, -31, 47, -31, 48, -31, 49, -31, 50, -31, 51,
-					-31, 52, -31, 53, -31, 54, -31, 55, -31, 56, -31, 57, -31, 58, -31, 59, -31, 64, -31, 67, -31, -1,
-					0 },
-			/* 112 */{ 36, -28, 37, -28, 43, -28, 44, -28, 45, -28, 46, -28, 47, -28, 48, -28, 49, -28, 50, -28, 51,
-					-28, 52, -28, 53, -28, 54, -28, 55, -28, 56, -28, 57, -28, 58, -28, 59, -28, 64, -28, 67, -28, -1,
-					0 },
-			/* 113 */{ 36, -36, 37, -36, 43, -36, 44, -36, 45, -36, 46, -36, 47, -36, 48, -36, 49, -36, 50, -36, 51,
-					-36, 52, -36, 53, -36, 54, -36, 55, -36, 56, -36, 57, -36, 58, -36, 59, -36, 64, -36, 67, -36, -1,
-					0 },
-			/* 114 */{ 36, -33, 37, -33, 43, -33, 44, -33, 45, -33, 46, -33, 47, -33, 48, -33, 49, -33, 50, -33, 51,
-					-33, 52, -33, 53, -33, 54, -33, 55, -33, 56, -33, 57, -33, 58, -33, 59, -33, 64, -33, 67, -33, -1,
-					0 },
-			/* 115 */{ 36, -38, 37, -38, 43, -38, 44, -38, 45, -38, 46, -38, 47, -38, 48, -38, 49, -38, 50, -38, 51,
-					-38, 52, -38, 53, -38, 54, -38, 55, -38, 56, -38, 57, -38, 58, -38, 59, -38, 64, -38, 67, -38, -1,
-					0 },
-			/* 116 */{ 36, -34, 37, -34, 43, -34, 44, -34, 45, -34, 46, -34, 47, -34, 48, -34, 49, -34, 50, -34, 51,
-					-34, 52, -34, 53, -34, 54, -34, 55, -34, 56, -34, 57, -34, 58, -34, 59, -34, 64, -34, 67, -34, -1,
-					0 },
-			/* 117 */{
-					36, -29, 37, -29, 43, -29, 44, -29, 45, -29, 46, -29, 47, -29, 48, -29, 49, -29, 50, -29, 51, -29,
-					52, -29, 53, -29, 54, -29, 55, -29, 56, -29, 57, -29, 58, -29, 59, -29, 64, -29, 67, -29, -1, 0 },
-			/* 118 */{ 36, -19, 37, -19, 64, -19, 67, -19, -1, 0 },
-			/* 119 */{ 36, -23, 37, -23, 43, -23, 44, -23, 45, -23, 46, -23, 47, -23, 48, -23, 49, -23, 50, -23, 51,
-					-23, 52, -23, 53, -23, 54, -23, 55, -23, 56, -23, 57, -23, 58, -23, 59, -23, 64, -23, 67, -23, -1,
-					0 },
-			/* 120 */{ 36, -22, 37, -22, 43, -22, 44, -22, 45, -22, 46, -22, 47, -22, 48, -22, 49, -22, 50, -22, 51,
-					-22, 52, -22, 53, -22, 54, -22, 55, -22, 56, -22, 57, -22, 58, -22, 59, -22, 64, -22, 67, -22, -1,
-					0 },
-			/* 121 */{ 64, 123, -1, 0 }, /* 122 */{ 10, -15, -1, 0 }, /* 123 */{ 67, 13, -1, 0 },
-			/* 124 */{ 64, 126, -1, 0 }, /* 125 */{ 10, -16, -1, 0 }, /* 126 */{ 64, 130, -1, 0 },
-			/* 127 */{ 64, 129, -1, 0 }, /* 128 */{ 3, -13, 15, -13, -1, 0 }, /* 129 */{ 3, -12, 15, -12, -1, 0 },
-			/* 130 */{ 64, 132, -1, 0 }, /* 131 */{ 3, -10, 11, -10, 15, -10, -1, 0 }, /* 132 */{ 0, -2, -1, 0 },
-			/* 133 */{ 34, 371, 45, 370, -1, 0 }, /* 134 */{ 0, -121, 5, -121, 8, -121, 23, -121, -1, 0 },
-			/* 135 */{ 0, -95, 5, 141, 8, -95, -1, 0 }, /* 136 */{ 0, -118, 5, -118, 8, -118, 23, 134, -1, 0 },
-			/* 137 */{ 0, -120, 5, -120, 8, -120, 23, -120, -1, 0 }, /* 138 */{ 0, -131, 8, 179, -1, 0 },
-			/* 139 */{ 0, -97, 5, -97, 8, -97, -1, 0 },
-			/* 140 */{ 43, -18, 44, -18, 45, -18, 46, -18, 47, -18, 48, -18, 49, -18, 50, -18, 51, -18, 52, -18, 53,
-					-18, 54, -18, 55, -18, 56, -18, 57, -18, 58, -18, 59, -18, 67, -18, -1, 0 },
-			/* 141 */{ 0, -94, 5, 141, 8, -94, -1, 0 }, /* 142 */{ 0, -96, 5, -96, 8, -96, -1, 0 },
-			/* 143 */{ 67, 167, -1, 0 }, /* 144 */{ 4, -106, 19, 151, 21, 147, 22, 146, 24, 152, -1, 0 },
-			/* 145 */{ 64, -9, -1, 0 }, /* 146 */{ 67, 54, -1, 0 },
-			/* 147 */{ 4, -105, 19, 151, 21, 147, 22, 146, 24, 152, -1, 0 },
-			/* 148 */{ 4, -108, 19, -108, 21, -108, 22, -108, 24, -108, -1, 0 }, /* 149 */{ 4, 158, -1, 0 },
-			/* 150 */{ 66, 23, -1, 0 }, /* 151 */{ 38, 36, 39, 35, -1, 0 }, /* 152 */{ 4, -62, 67, 60, -1, 0 },
-			/* 153 */{ 4, 65, -1, 0 }, /* 154 */{ 4, -112, 19, -112, 21, -112, 22, -112, 24, -112, -1, 0 },
-			/* 155 */{ 64, 157, -1, 0 }, /* 156 */{ 4, -109, 19, -109, 21, -109, 22, -109, 24, -109, -1, 0 },
-			/* 157 */{ 33, 160, -1, 0 }, /* 158 */{ 0, -100, 5, -100, 8, -100, -1, 0 }, /* 159 */{ 64, 161, -1, 0 },
-			/* 160 */{ 0, -104, 5, -104, 8, -104, -1, 0 },
-			/* 161 */{ 4, -107, 19, -107, 21, -107, 22, -107, 24, -107, -1, 0 }, /* 162 */{ 64, 164, -1, 0 },
-			/* 163 */{ 4, -110, 19, -110, 21, -110, 22, -110, 24, -110, -1, 0 }, /* 164 */{ 64, 166, -1, 0 },
-			/* 165 */{ 4, -111, 19, -111, 21, -111, 22, -111, 24, -111, -1, 0 }, /* 166 */{ 67, 168, -1, 0 },
-			/* 167 */{ 29, 171, 63, 169, 64, -102, -1, 0 }, /* 168 */{ 66, 78, 69, 76, 70, 74, -1, 0 },
-			/* 169 */{ 64, 175, -1, 0 }, /* 170 */{ 66, 172, -1, 0 }, /* 171 */{ 63, 169, 64, -102, -1, 0 },
-			/* 172 */{ 64, 174, -1, 0 }, /* 173 */{ 0, -98, 5, -98, 8, -98, -1, 0 },
-			/* 174 */{ 0, -99, 4, -103, 5, -99, 8, -99, 19, -103, 21, -103, 22, -103, 24, -103, -1, 0 },
-			/* 175 */{ 64, -101, -1, 0 }, /* 176 */{ 0, -1, -1, 0 }, /* 177 */{ 0, -133, 8, -133, -1, 0 },
-			/* 178 */{ 43, -18, 44, -18, 45, -18, 46, -18, 47, -18, 48, -18, 49, -18, 50, -18, 51, -18, 52, -18, 53,
-					-18, 54, -18, 55, -18, 56, -18, 57, -18, 58, -18, 59, -18, 67, -18, -1, 0 },
-			/* 179 */{ 1, -140, 2, -140, 4, 185, 6, -140, 7, -140, 9, -140, 12, -140, 13, -140, 19, -140, 20, -140, 21,
-					-140, 22, -140, 24, -140, 60, -140, 61, -140, 64, -140, 67, -140, 68, -140, 69, -140, -1, 0 },
-			/* 180 */{ 0, -130, 8, 179, -1, 0 }, /* 181 */{ 0, -132, 8, -132, -1, 0 },
-			/* 182 */{ 1, -140, 2, -140, 4, 185, 6, -140, 7, -140, 9, -140, 12, -140, 13, -140, 19, -140, 20, -140, 21,
-					-140, 22, -140, 24, -140, 60, -140, 61, -140, 64, -140, 67, -140, 68, -140, 69, -140, -1, 0 },
-			/* 183 */{ 1, 205, 2, 198, 6, 193, 7, 207, 9, 206, 12, 212, 13, 192, 19, 194, 20, 203, 21, 190, 22, 210, 24,
-					195, 60, 204, 61, 202, 64, -146, 67, 191, 68, 201, 69, 196, -1, 0 },
-			/* 184 */{ 28, 188, -1, 0 },
-			/* 185 */{ 1, -139, 2, -139, 4, -139, 6, -139, 7, -139, 9, -139, 12, -139, 13, -139, 19, -139, 20, -139, 21,
-					-139, 22, -139, 24, -139, 60, -139, 61, -139, 64, -139, 67, -139, 68, -139, 69, -139, -1, 0 },
-			/* 186 */{ 0, -135, 8, -135, -1, 0 }, /* 187 */{ 64, 189, -1, 0 }, /* 188 */{ 0, -137, 8, -137, -1, 0 },
-			/* 189 */{ 67, 54, -1, 0 }, /* 190 */{ 65, 363, -1, 0 }, /* 191 */{ 69, 349, -1, 0 },
-			/* 192 */{ 30, 342, 32, 344, 67, 343, -1, 0 }, /* 193 */{ 66, 23, -1, 0 },
-			/* 194 */{ 38, 316, 39, 314, 40, 319, 41, 318, 62, 313, -1, 0 }, /* 195 */{ 65, 311, -1, 0 },
-			/* 196 */{ 64, -145, -1, 0 }, /* 197 */{ 67, 13, -1, 0 }, /* 198 */{ 64, -143, -1, 0 },
-			/* 199 */{ 64, 297, -1, 0 }, /* 200 */{ 64, -196, 66, 289, 67, 290, 69, 292, 70, 293, 71, 291, -1, 0 },
-			/* 201 */{ 69, 273, -1, 0 }, /* 202 */{ 42, 241, 64, 238, -1, 0 }, /* 203 */{ 64, 221, -1, 0 },
-			/* 204 */{ 64, -144, -1, 0 }, /* 205 */{ 67, 219, -1, 0 }, /* 206 */{ 69, 217, -1, 0 },
-			/* 207 */{ 64, -142, -1, 0 }, /* 208 */{ 64, -194, -1, 0 }, /* 209 */{ 64, -9, -1, 0 },
-			/* 210 */{ 64, -195, -1, 0 }, /* 211 */{ 67, 13, -1, 0 }, /* 212 */{ 64, -190, -1, 0 },
-			/* 213 */{ 64, -152, -1, 0 }, /* 214 */{ 64, -157, -1, 0 }, /* 215 */{ 64, -151, -1, 0 },
-			/* 216 */{ 64, -189, -1, 0 }, /* 217 */{ 64, -154, -1, 0 },
-			/* 218 */{ 66, 78, 67, 73, 69, 76, 70, 74, -1, 0 }, /* 219 */{ 64, -193, -1, 0 },
-			/* 220 */{ 69, -208, -1, 0 }, /* 221 */{ 69, 226, -1, 0 }, /* 222 */{ 64, -205, -1, 0 },
-			/* 223 */{ 62, -210, 69, -210, -1, 0 }, /* 224 */{ 62, 233, 69, 226, -1, 0 }, /* 225 */{ 65, 227, -1, 0 },
-			/* 226 */{ 67, 228, 69, 229, -1, 0 }, /* 227 */{ 64, 231, -1, 0 }, /* 228 */{ 64, 230, -1, 0 },
-			/* 229 */{ 62, -212, 69, -212, -1, 0 }, /* 230 */{ 62, -211, 69, -211, -1, 0 },
-			/* 231 */{ 64, -207, -1, 0 }, /* 232 */{ 65, 235, -1, 0 }, /* 233 */{ 62, -209, 69, -209, -1, 0 },
-			/* 234 */{ 67, 236, 69, 237, -1, 0 }, /* 235 */{ 64, -213, -1, 0 }, /* 236 */{ 64, -214, -1, 0 },
-			/* 237 */{ 4, -166, 30, -166, 31, -166, 32, -166, -1, 0 },
-			/* 238 */{ 4, -170, 30, -170, 31, 246, 32, -170, -1, 0 }, /* 239 */{ 64, -160, -1, 0 },
-			/* 240 */{ 32, -165, 69, 244, -1, 0 }, /* 241 */{ 32, 267, -1, 0 },
-			/* 242 */{ 4, -170, 30, -170, 31, 246, 32, -170, -1, 0 }, /* 243 */{ 32, -164, -1, 0 },
-			/* 244 */{ 4, 264, -1, 0 }, /* 245 */{ 67, 260, 69, 261, -1, 0 },
-			/* 246 */{ 4, -172, 30, -172, 32, -172, -1, 0 }, /* 247 */{ 4, -167, 30, 249, 32, 252, -1, 0 },
-			/* 248 */{ 67, 257, -1, 0 }, /* 249 */{ 4, -171, 30, -171, 32, -171, -1, 0 }, /* 250 */{ 64, 256, -1, 0 },
-			/* 251 */{ 67, 253, -1, 0 }, /* 252 */{ 64, -174, 67, 254, 69, 255, -1, 0 }, /* 253 */{ 64, -175, -1, 0 },
-			/* 254 */{ 64, -176, -1, 0 }, /* 255 */{ 4, -173, 30, -173, 32, -173, -1, 0 },
-			/* 256 */{ 64, -177, 67, 258, 69, 259, -1, 0 }, /* 257 */{ 64, -178, -1, 0 }, /* 258 */{ 64, -179, -1, 0 },
-			/* 259 */{ 64, 263, -1, 0 }, /* 260 */{ 64, 262, -1, 0 }, /* 261 */{ 4, -168, 30, -168, 32, -168, -1, 0 },
-			/* 262 */{ 4, -169, 30, -169, 32, -169, -1, 0 }, /* 263 */{ 30, 266, -1, 0 }, /* 264 */{ 64, -162, -1, 0 },
-			/* 265 */{ 64, -180, -1, 0 }, /* 266 */{ 64, 268, -1, 0 },
-			/* 267 */{ 4, -163, 30, -163, 31, -163, 32, -163, -1, 0 }, /* 268 */{ 4, 264, -1, 0 },
-			/* 269 */{ 64, -161, -1, 0 }, /* 270 */{ 67, 277, 69, 280, -1, 0 }, /* 271 */{ 64, -206, -1, 0 },
-			/* 272 */{ 64, 274, 69, 275, -1, 0 }, /* 273 */{ 67, -216, 69, -216, -1, 0 }, /* 274 */{ 64, 276, -1, 0 },
-			/* 275 */{ 67, -217, 69, -217, -1, 0 }, /* 276 */{ 64, 288, -1, 0 },
-			/* 277 */{ 62, 282, 67, 277, 69, 280, -1, 0 }, /* 278 */{ 62, -219, 67, -219, 69, -219, -1, 0 },
-			/* 279 */{ 64, 281, -1, 0 }, /* 280 */{ 62, -221, 67, -221, 69, -221, -1, 0 }, /* 281 */{ 65, 285, -1, 0 },
-			/* 282 */{ 62, -218, 67, -218, 69, -218, -1, 0 }, /* 283 */{ 64, -215, -1, 0 },
-			/* 284 */{ 67, 286, 69, 287, -1, 0 }, /* 285 */{ 64, -222, -1, 0 }, /* 286 */{ 64, -223, -1, 0 },
-			/* 287 */{ 62, -220, 67, -220, 69, -220, -1, 0 }, /* 288 */{ 64, -203, -1, 0 },
-			/* 289 */{ 64, -200, 67, 295, 69, 296, -1, 0 }, /* 290 */{ 64, -204, -1, 0 },
-			/* 291 */{ 64, -198, 69, 294, -1, 0 }, /* 292 */{ 64, -199, -1, 0 }, /* 293 */{ 64, -197, -1, 0 },
-			/* 294 */{ 64, -202, -1, 0 }, /* 295 */{ 64, -201, -1, 0 },
-			/* 296 */{ 1, -141, 2, -141, 4, -141, 6, -141, 7, -141, 9, -141, 12, -141, 13, -141, 19, -141, 20, -141, 21,
-					-141, 22, -141, 24, -141, 60, -141, 61, -141, 64, -141, 67, -141, 68, -141, 69, -141, -1, 0 },
-			/* 297 */{ 64, -153, -1, 0 }, /* 298 */{ 27, 300, -1, 0 }, /* 299 */{ 67, 301, 69, 302, -1, 0 },
-			/* 300 */{ 35, 307, -1, 0 }, /* 301 */{ 35, 303, -1, 0 }, /* 302 */{ 69, 304, -1, 0 },
-			/* 303 */{ 25, 305, -1, 0 }, /* 304 */{ 69, 306, -1, 0 }, /* 305 */{ 64, -192, -1, 0 },
-			/* 306 */{ 67, 308, -1, 0 }, /* 307 */{ 25, 309, -1, 0 }, /* 308 */{ 67, 310, -1, 0 },
-			/* 309 */{ 64, -191, -1, 0 }, /* 310 */{ 60, 204, 61, 202, 68, 201, -1, 0 }, /* 311 */{ 64, -148, -1, 0 },
-			/* 312 */{ 64, 339, -1, 0 }, /* 313 */{ 67, 13, -1, 0 }, /* 314 */{ 4, -62, 67, 60, -1, 0 },
-			/* 315 */{ 67, 13, -1, 0 }, /* 316 */{ 67, 326, -1, 0 }, /* 317 */{ 69, 323, -1, 0 },
-			/* 318 */{ 69, 320, -1, 0 }, /* 319 */{ 67, 13, -1, 0 }, /* 320 */{ 64, 322, -1, 0 },
-			/* 321 */{ 4, -59, 67, -59, -1, 0 }, /* 322 */{ 67, 13, -1, 0 }, /* 323 */{ 64, 325, -1, 0 },
-			/* 324 */{ 4, -60, 67, -60, -1, 0 }, /* 325 */{ 63, -79, 67, 332, -1, 0 }, /* 326 */{ 4, 65, -1, 0 },
-			/* 327 */{ 63, 329, -1, 0 }, /* 328 */{ 24, 77, 66, 78, 67, 73, 69, 76, 70, 74, -1, 0 },
-			/* 329 */{ 4, -78, -1, 0 }, /* 330 */{ 64, -159, -1, 0 }, /* 331 */{ 63, -80, -1, 0 },
-			/* 332 */{ 64, 334, -1, 0 }, /* 333 */{ 4, -57, 67, -57, -1, 0 }, /* 334 */{ 4, 65, -1, 0 },
-			/* 335 */{ 64, -158, -1, 0 }, /* 336 */{ 64, 338, -1, 0 }, /* 337 */{ 4, -58, 67, -58, -1, 0 },
-			/* 338 */{ 67, -68, -1, 0 }, /* 339 */{ 64, -155, -1, 0 }, /* 340 */{ 64, -150, -1, 0 },
-			/* 341 */{ 69, 347, -1, 0 }, /* 342 */{ 69, 346, -1, 0 }, /* 343 */{ 69, 345, -1, 0 },
-			/* 344 */{ 64, -186, -1, 0 }, /* 345 */{ 64, -188, -1, 0 }, /* 346 */{ 64, -187, -1, 0 },
-			/* 347 */{ 64, -149, -1, 0 }, /* 348 */{ 26, 350, -1, 0 }, /* 349 */{ 67, 351, -1, 0 },
-			/* 350 */{ 67, 352, -1, 0 }, /* 351 */{ 27, -185, 29, 353, 64, -185, -1, 0 }, /* 352 */{ 66, 362, -1, 0 },
-			/* 353 */{ 27, 355, 64, -182, -1, 0 }, /* 354 */{ 67, 356, 69, 357, -1, 0 }, /* 355 */{ 35, 360, -1, 0 },
-			/* 356 */{ 35, 358, -1, 0 }, /* 357 */{ 69, 359, -1, 0 }, /* 358 */{ 64, -183, -1, 0 },
-			/* 359 */{ 67, 361, -1, 0 }, /* 360 */{ 64, -181, -1, 0 }, /* 361 */{ 27, -184, 64, -184, -1, 0 },
-			/* 362 */{ 64, -147, -1, 0 }, /* 363 */{ 64, -156, -1, 0 },
-			/* 364 */{ 1, -138, 2, -138, 4, -138, 6, -138, 7, -138, 9, -138, 12, -138, 13, -138, 19, -138, 20, -138, 21,
-					-138, 22, -138, 24, -138, 60, -138, 61, -138, 64, -138, 67, -138, 68, -138, 69, -138, -1, 0 },
-			/* 365 */{ 0, -134, 8, -134, -1, 0 }, /* 366 */{ 67, 368, -1, 0 }, /* 367 */{ 64, 369, -1, 0 },
-			/* 368 */{ 1, -136, 2, -136, 4, -136, 6, -136, 7, -136, 9, -136, 12, -136, 13, -136, 19, -136, 20, -136, 21,
-					-136, 22, -136, 24, -136, 60, -136, 61, -136, 64, -136, 67, -136, 68, -136, 69, -136, -1, 0 },
-			/* 369 */{ 36, -18, 37, -18, 43, -18, 44, -18, 45, -18, 46, -18, 47, -18, 48, -18, 49, -18, 50, -18, 51,
-					-18, 52, -18, 53, -18, 54, -18, 55, -18, 56, -18, 57, -18, 58, -18, 59, -18, 64, -18, 67, -18, -1,
-					0 },
-			/* 370 */{ 36, -18, 37, -18, 43, -18, 44, -18, 45, -18, 46, -18, 47, -18, 48, -18, 49, -18, 50, -18, 51,
-					-18, 52, -18, 53, -18, 54, -18, 55, -18, 56, -18, 57, -18, 58, -18, 59, -18, 64, -18, 67, -18, -1,
-					0 },
-			/* 371 */{ 36, -125, 37, -125, 64, -125, 67, 374, -1, 0 }, /* 372 */{ 36, 375, 37, -127, 64, -127, -1, 0 },
-			/* 373 */{ 36, -124, 37, -124, 64, -124, -1, 0 }, /* 374 */{ 67, 13, -1, 0 },
-			/* 375 */{ 37, 377, 64, -129, -1, 0 }, /* 376 */{ 67, 13, -1, 0 }, /* 377 */{ 64, 379, -1, 0 },
-			/* 378 */{ 0, -122, 5, -122, 8, -122, 23, -122, -1, 0 }, /* 379 */{ 64, -128, -1, 0 },
-			/* 380 */{ 37, -126, 64, -126, -1, 0 }, /* 381 */{ 36, -125, 37, -125, 64, -125, 67, 374, -1, 0 },
-			/* 382 */{ 36, 375, 37, -127, 64, -127, -1, 0 }, /* 383 */{ 37, 377, 64, -129, -1, 0 },
-			/* 384 */{ 64, 386, -1, 0 }, /* 385 */{ 0, -123, 5, -123, 8, -123, 23, -123, -1, 0 }, };
+	/** parse action table, in row displacement form */
+	protected static final java_cup.runtime.displacement_table _action_table = new java_cup.runtime.displacement_table(
+			new int[] { 609, 1080, 3, 21, 657, 99, 1, 846, 871, 10, 0, 49, 1077, 96, 666, 759, 118, 1074, 852, 998,
+			1094, 122, 146, 149, 1105, 32, 1125, 171, 1145, 1155, 1165, 559, 1205, 27, 174, 193, 615, 202, 801, 221,
+			868, 1215, 224, 1255, 1225, 1235, 244, 1259, 1269, 1326, 1279, 252, 1280, 272, 277, 1245, 296, 993, 303,
+			318, 1023, 23, 1175, 327, 356, 352, 1034, 693, 375, 674, 685, 1033, 778, 842, 619, 867, 377, 892, 675, 941,
+			959, 966, 701, 1039, 1041, 456, 712, 1117, 997, 1120, 1185, 402, 1195, 418, 427, 1135, 446, 1054, 448, 0,
+			25, 50, 75, 100, 125, 150, 175, 200, 225, 250, 275, 300, 325, 350, 375, 400, 425, 450, 628, 475, 500, 452,
+			525, 474, 496, 556, 521, 524, 10, 1117, 526, 750, 591, 593, 1337, 30, 1339, 1343, 1, 636, 896, 729, 798,
+			565, 1065, 585, 614, 1115, 1285, 692, 641, 152, 1127, 706, 1289, 667, 1295, 742, 822, 725, 853, 1301, 749,
+			1308, 754, 1314, 757, 931, 1225, 765, 769, 152, 785, 877, 7, 801, 867, 2, 921, 609, 667, 792, 633, 980, 856,
+			702, 846, 843, 1257, 843, 867, 927, 742, 947, 1, 949, 967, 998, 1006, 1019, 592, 1069, 99, 1153, 1160, 1164,
+			1172, 1187, 1211, 1251, 1257, 1287, 1301, 1320, 1321, 1325, 1326, 1327, 581, 1328, 1324, 1325, 1331, 1082,
+			1092, 1331, 171, 1333, 1334, 1102, 1105, 1335, 1335, 1135, 196, 1337, 1338, 2, 687, 1339, 977, 1372, 780,
+			1373, 1402, 221, 1020, 1077, 1340, 1197, 1344, 1343, 21, 1347, 1348, 1207, 46, 1349, 1350, 1351, 1352, 1217,
+			1337, 1387, 1354, 1355, 1356, 953, 1417, 1358, 246, 1359, 271, 296, 1360, 321, 1361, 1290, 1301, 1362, 1309,
+			1362, 1313, 1364, 346, 1365, 1366, 1319, 1367, 71, 1368, 371, 1369, 1370, 1371, 1372, 726, 1373, 1411, 396,
+			1404, 1405, 1372, 1417, 1374, 1380, 1378, 1421, 1380, 1384, 652, 1385, 1386, 1384, 1177, 1385, 1386, 1385,
+			1386, 1389, 1393, 1187, 1391, 1395, 1257, 1320, 1456, 1398, 767, 1458, 1399, 1401, 1401, 1279, 1462, 1403,
+			1404, 1286, 1402, 1406, 1407, 1403, 1404, 1405, 1411, 1412, 1413, 1414, 1453, 1413, 1414, 1345, 1416, 1150,
+			421, 1448, 1449, 1416, 1422, 1420, 1424, 1313, 1425, 1426, 795, 1273, 1424, 1428, 819, 525, 550, 721, 954,
+			1234, 1426, 476, 1427, 1431, 1350, 1432, 501, 814, 1264, 1170, 1433, 1356 },
+			new short[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new short[] { 10, 138, 177, 2, 6, 10, 237, 174, 10, 138, 177, 174, 174, 128, 10, 174, 6, 10, 10, 10, 9, 10,
+			10, 10, 10, 128, 174, 61, 174, 174, 135, 174, 237, 237, 237, 135, 99, 99, 135, 194, 194, 194, 194, 99, 99,
+			99, 99, 99, 99, 99, 99, 99, 99, 99, 99, 99, 99, 99, 99, 99, 25, 100, 100, 194, 99, 33, 33, 99, 100, 100,
+			100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 252, 101, 101, 252, 100, 252, 3,
+			100, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 101, 256, 102, 102,
+			256, 101, 256, 11, 101, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102, 102,
+			289, 103, 103, 289, 102, 289, 202, 102, 103, 103, 103, 103, 103, 103, 103, 103, 103, 103, 103, 103, 103,
+			103, 103, 103, 103, 13, 104, 104, 202, 103, 5, 5, 103, 104, 104, 104, 104, 104, 104, 104, 104, 104, 104,
+			104, 104, 104, 104, 104, 104, 104, 16, 105, 105, 21, 104, 151, 151, 104, 105, 105, 105, 105, 105, 105, 105,
+			105, 105, 105, 105, 105, 105, 105, 105, 105, 105, 22, 106, 106, 23, 105, 171, 171, 105, 106, 106, 106, 106,
+			106, 106, 106, 106, 106, 106, 106, 106, 106, 106, 106, 106, 106, 27, 107, 107, 226, 106, 226, 34, 106, 107,
+			107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 107, 35, 108, 108, 234, 107, 234,
+			37, 107, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 108, 39, 109, 109,
+			245, 108, 245, 42, 108, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109, 109,
+			46, 110, 110, 270, 109, 270, 51, 109, 110, 110, 110, 110, 110, 110, 110, 110, 110, 110, 110, 110, 110, 110,
+			110, 110, 110, 272, 111, 111, 53, 110, 272, 54, 110, 111, 111, 111, 111, 111, 111, 111, 111, 111, 111, 111,
+			111, 111, 111, 111, 111, 111, 56, 112, 112, 273, 111, 273, 58, 111, 112, 112, 112, 112, 112, 112, 112, 112,
+			112, 112, 112, 112, 112, 112, 112, 112, 112, 59, 113, 113, 275, 112, 275, 63, 112, 113, 113, 113, 113, 113,
+			113, 113, 113, 113, 113, 113, 113, 113, 113, 113, 113, 113, 64, 114, 114, 284, 113, 284, 65, 113, 114, 114,
+			114, 114, 114, 114, 114, 114, 114, 114, 114, 114, 114, 114, 114, 114, 114, 291, 115, 115, 68, 114, 291, 76,
+			114, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 115, 85, 116, 116, 299,
+			115, 299, 91, 115, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 116, 93,
+			117, 117, 354, 116, 354, 94, 116, 117, 117, 117, 117, 117, 117, 117, 117, 117, 117, 117, 117, 117, 117, 117,
+			117, 117, 96, 119, 119, 375, 117, 98, 121, 117, 119, 119, 119, 119, 119, 119, 119, 119, 119, 119, 119, 119,
+			119, 119, 119, 119, 119, 122, 120, 120, 380, 119, 375, 123, 119, 120, 120, 120, 120, 120, 120, 120, 120,
+			120, 120, 120, 120, 120, 120, 120, 120, 120, 124, 369, 369, 31, 120, 380, 125, 120, 369, 369, 369, 369, 369,
+			369, 369, 369, 369, 369, 369, 369, 369, 369, 369, 369, 369, 126, 370, 370, 127, 369, 130, 132, 369, 370,
+			370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 370, 179, 179, 0, 179, 370, 179,
+			179, 370, 179, 36, 0, 179, 179, 74, 0, 0, 31, 133, 179, 179, 179, 179, 143, 179, 182, 182, 139, 182, 133,
+			182, 182, 139, 182, 74, 139, 182, 182, 218, 218, 145, 218, 218, 182, 182, 182, 182, 200, 182, 200, 200, 4,
+			200, 200, 200, 118, 118, 14, 180, 4, 179, 179, 14, 4, 179, 14, 180, 179, 179, 179, 78, 14, 146, 36, 14, 14,
+			14, 74, 14, 14, 14, 14, 238, 118, 182, 182, 118, 149, 182, 69, 78, 182, 182, 182, 185, 185, 82, 185, 150,
+			185, 185, 153, 185, 310, 310, 185, 185, 86, 238, 238, 238, 310, 185, 185, 185, 185, 82, 185, 296, 296, 141,
+			296, 155, 296, 296, 141, 296, 86, 141, 296, 296, 69, 69, 78, 69, 69, 296, 296, 296, 296, 70, 296, 70, 70,
+			131, 70, 70, 67, 371, 371, 15, 67, 131, 185, 185, 15, 131, 185, 15, 82, 185, 185, 185, 192, 15, 192, 157,
+			15, 15, 15, 86, 15, 15, 15, 15, 242, 371, 296, 296, 371, 159, 296, 328, 181, 296, 296, 296, 364, 364, 142,
+			364, 181, 364, 364, 142, 364, 38, 142, 364, 364, 192, 242, 242, 242, 162, 364, 364, 364, 364, 164, 364, 368,
+			368, 158, 368, 166, 368, 368, 158, 368, 169, 158, 368, 368, 328, 328, 170, 328, 328, 368, 368, 368, 368, 72,
+			368, 72, 72, 186, 72, 72, 172, 381, 381, 18, 160, 186, 364, 364, 18, 160, 364, 18, 160, 364, 364, 364, 175,
+			18, 176, 38, 18, 18, 18, 40, 18, 18, 18, 18, 173, 381, 368, 368, 381, 173, 368, 184, 173, 368, 368, 368, 7,
+			7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 73, 187, 73, 73, 189, 73, 73, 7, 8, 8, 8, 8, 8, 8, 8, 8, 8,
+			8, 8, 8, 8, 8, 8, 8, 8, 75, 190, 75, 75, 40, 75, 75, 8, 140, 140, 140, 140, 140, 140, 140, 140, 140, 140,
+			140, 140, 140, 140, 140, 140, 140, 77, 267, 77, 77, 167, 77, 77, 140, 178, 178, 178, 178, 178, 178, 178,
+			178, 178, 178, 178, 178, 178, 178, 178, 178, 178, 183, 183, 267, 267, 267, 183, 183, 178, 183, 372, 372,
+			183, 183, 167, 167, 191, 57, 19, 183, 183, 183, 183, 19, 183, 79, 19, 79, 79, 240, 79, 79, 19, 193, 195, 19,
+			19, 19, 372, 19, 19, 19, 19, 80, 246, 80, 80, 60, 80, 80, 81, 196, 81, 81, 66, 81, 81, 71, 66, 66, 183, 183,
+			66, 83, 183, 84, 240, 183, 183, 183, 246, 66, 246, 66, 97, 66, 66, 66, 66, 97, 57, 88, 97, 88, 88, 197, 88,
+			88, 97, 144, 198, 97, 97, 97, 17, 97, 97, 97, 97, 17, 1, 247, 17, 199, 144, 1, 144, 144, 1, 144, 60, 17, 17,
+			17, 20, 17, 17, 17, 17, 20, 71, 66, 20, 1, 12, 24, 83, 247, 84, 247, 24, 20, 20, 24, 12, 20, 20, 20, 20,
+			147, 129, 87, 24, 24, 89, 26, 24, 24, 24, 24, 26, 152, 129, 26, 147, 95, 147, 147, 201, 147, 95, 12, 26, 95,
+			223, 28, 26, 26, 26, 26, 28, 223, 95, 28, 224, 29, 95, 95, 95, 95, 29, 224, 28, 29, 229, 30, 28, 230, 28,
+			28, 30, 229, 29, 30, 230, 62, 29, 353, 29, 29, 62, 314, 30, 62, 87, 90, 30, 89, 30, 30, 90, 321, 62, 90,
+			152, 92, 62, 233, 62, 62, 92, 249, 90, 92, 233, 32, 90, 383, 90, 90, 32, 255, 92, 32, 353, 41, 92, 203, 92,
+			92, 41, 261, 32, 41, 204, 44, 32, 249, 32, 249, 44, 205, 41, 44, 383, 45, 41, 255, 41, 255, 45, 206, 44, 45,
+			314, 55, 44, 261, 44, 261, 55, 207, 45, 55, 321, 43, 45, 188, 45, 47, 43, 324, 55, 43, 47, 188, 55, 47, 55,
+			48, 373, 373, 43, 365, 48, 208, 47, 48, 43, 50, 52, 365, 47, 333, 50, 52, 48, 50, 52, 148, 337, 168, 48,
+			154, 168, 168, 50, 52, 373, 156, 382, 382, 50, 52, 148, 161, 148, 148, 154, 148, 154, 154, 163, 154, 156,
+			209, 156, 156, 165, 156, 161, 210, 161, 161, 324, 161, 49, 163, 382, 163, 163, 49, 163, 165, 49, 165, 165,
+			134, 165, 136, 361, 262, 134, 137, 136, 134, 333, 136, 137, 49, 378, 137, 277, 337, 211, 378, 385, 277, 378,
+			277, 134, 385, 136, 278, 385, 212, 137, 262, 278, 262, 278, 280, 351, 378, 351, 282, 280, 361, 280, 385,
+			282, 287, 282, 325, 213, 214, 287, 325, 287, 215, 216, 217, 219, 220, 221, 222, 225, 227, 228, 231, 232,
+			235, 236, 239, 241, 243, 244, 248, 250, 351, 251, 253, 254, 257, 258, 259, 260, 263, 264, 265, 266, 268,
+			269, 271, 274, 276, 279, 281, 283, 285, 286, 288, 290, 292, 293, 294, 295, 297, 298, 300, 301, 302, 303,
+			304, 305, 306, 307, 308, 309, 311, 312, 313, 315, 316, 317, 318, 319, 320, 322, 323, 326, 327, 329, 330,
+			331, 332, 334, 335, 336, 338, 339, 340, 341, 342, 343, 344, 345, 346, 347, 348, 349, 350, 352, 355, 356,
+			357, 358, 359, 360, 362, 363, 366, 367, 374, 376, 377, 379, 384 },
+			new short[] { -43, -131, -133, 133, 9, -43, -166, -99, -43, 179, -133, -103, -99, -13, 17, -99, 8, -43, -43,
+			-43, 12, -43, -43, -43, -43, -13, -103, 65, -103, -103, -95, -103, -166, -166, -166, 141, -21, -21, -95,
+			316, 314, 319, 318, 117, 113, 115, 105, 103, 111, 107, 109, 118, 112, 108, 106, 114, 104, 116, 110, 102, 94,
+			-20, -20, 313, -21, 36, 35, -21, 117, 113, 115, 105, 103, 111, 107, 109, 118, 112, 108, 106, 114, 104, 116,
+			110, 102, -174, -40, -40, 254, -20, 255, 131, -20, -40, -40, -40, -40, -40, -40, -40, -40, -40, -40, -40,
+			-40, -40, -40, -40, -40, -40, -177, -25, -25, 258, -40, 259, 13, -40, -25, -25, -25, -25, -25, -25, -25,
+			-25, -25, -25, -25, -25, -25, -25, -25, -25, -25, -200, -37, -37, 295, -25, 296, 241, -25, -37, -37, -37,
+			-37, -37, -37, -37, -37, -37, -37, -37, -37, -37, -37, -37, -37, -37, 15, -32, -32, 238, -37, 127, 128, -37,
+			-32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, -32, 13, -35, -35, 23, -32,
+			36, 35, -32, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -35, -6, -24,
+			-24, 25, -35, 169, -102, -35, -24, -24, -24, -24, -24, -24, -24, -24, -24, -24, -24, -24, -24, -24, -24,
+			-24, -24, -9, -30, -30, 228, -24, 229, 13, -24, -30, -30, -30, -30, -30, -30, -30, -30, -30, -30, -30, -30,
+			-30, -30, -30, -30, -30, 13, -27, -27, 236, -30, 237, 39, -30, -27, -27, -27, -27, -27, -27, -27, -27, -27,
+			-27, -27, -27, -27, -27, -27, -27, -27, 41, -39, -39, 260, -27, 261, 54, -27, -39, -39, -39, -39, -39, -39,
+			-39, -39, -39, -39, -39, -39, -39, -39, -39, -39, -39, 52, -26, -26, 277, -39, 280, 53, -39, -26, -26, -26,
+			-26, -26, -26, -26, -26, -26, -26, -26, -26, -26, -26, -26, -26, -26, 274, -31, -31, 57, -26, 275, 56, -26,
+			-31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -31, -93, -28, -28, -216,
+			-31, -216, 70, -31, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, -28, 68,
+			-36, -36, -217, -28, -217, 67, -28, -36, -36, -36, -36, -36, -36, -36, -36, -36, -36, -36, -36, -36, -36,
+			-36, -36, -36, 66, -33, -33, 286, -36, 287, -53, -36, -33, -33, -33, -33, -33, -33, -33, -33, -33, -33, -33,
+			-33, -33, -33, -33, -33, -33, -198, -38, -38, -67, -33, 294, 84, -33, -38, -38, -38, -38, -38, -38, -38,
+			-38, -38, -38, -38, -38, -38, -38, -38, -38, -38, 65, -34, -34, 301, -38, 302, 93, -38, -34, -34, -34, -34,
+			-34, -34, -34, -34, -34, -34, -34, -34, -34, -34, -34, -34, -34, 95, -29, -29, 356, -34, 357, 96, -34, -29,
+			-29, -29, -29, -29, -29, -29, -29, -29, -29, -29, -29, -29, -29, -29, -29, -29, 98, -23, -23, 377, -29, 13,
+			123, -29, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -23, -15, -22,
+			-22, -126, -23, -129, 13, -23, -22, -22, -22, -22, -22, -22, -22, -22, -22, -22, -22, -22, -22, -22, -22,
+			-22, -22, 126, -18, -18, -62, -22, -126, -16, -22, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18,
+			-18, -18, -18, -18, -18, -18, 130, -18, -18, 129, -18, 132, -2, -18, -18, -18, -18, -18, -18, -18, -18, -18,
+			-18, -18, -18, -18, -18, -18, -18, -18, -18, -140, -140, -11, 185, -18, -140, -140, -18, -140, -54, -11,
+			-140, -140, -75, -11, 4, 60, 371, -140, -140, -140, -140, 167, -140, -140, -140, -97, 185, 370, -140, -140,
+			-97, -140, -75, -97, -140, -140, 78, 73, -9, 76, 74, -140, -140, -140, -140, -196, -140, 289, 290, -14, 292,
+			293, 291, -19, -19, -41, -130, 6, -140, -140, -41, -14, -140, -41, 179, -140, -140, -140, -70, -41, 54, -54,
+			-41, -41, -41, -75, -41, -41, -41, -41, -170, -19, -140, -140, -19, 158, -140, 77, 77, -140, -140, -140,
+			-139, -139, -74, -139, 23, -139, -139, 65, -139, 204, 202, -139, -139, -76, -170, 246, -170, 201, -139,
+			-139, -139, -139, -74, -139, -141, -141, -94, -141, 157, -141, -141, 141, -141, -76, -94, -141, -141, 78,
+			73, -70, 76, 74, -141, -141, -141, -141, 88, -141, 78, 73, -10, 76, 74, -66, -125, -125, -45, 69, -10, -139,
+			-139, -45, -10, -139, -45, -74, -139, -139, -139, 342, -45, 344, 160, -45, -45, -45, -76, -45, -45, -45,
+			-45, -170, -125, -141, -141, 374, 161, -141, 77, -132, -141, -141, -141, -138, -138, -96, -138, -132, -138,
+			-138, -96, -138, -55, -96, -138, -138, 343, -170, 246, -170, 164, -138, -138, -138, -138, 166, -138, -136,
+			-136, -100, -136, 168, -136, -136, -100, -136, 175, -100, -136, -136, 78, 73, 172, 76, 74, -136, -136, -136,
+			-136, -116, -136, -116, -116, -135, -116, -116, 174, -125, -125, -42, -104, -135, -138, -138, -42, -104,
+			-138, -42, -104, -138, -138, -138, -101, 17, -1, -55, -42, -42, -42, -56, -42, -42, -42, -42, -98, -125,
+			-136, -136, 374, -98, -136, 188, -98, -136, -136, -136, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18,
+			-18, -18, -18, -18, -18, -18, -18, -114, 189, -114, -114, 54, -114, -114, -18, -18, -18, -18, -18, -18, -18,
+			-18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -113, 363, -113, -113, -56, -113, -113, -18, -18,
+			-18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -115, -163, -115, -115, 171,
+			-115, -115, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, -18, 205,
+			198, -163, -163, -163, 193, 207, -18, 206, 375, -127, 212, 192, 169, -102, 349, -61, -44, 194, 203, 190,
+			210, -44, 195, -72, -44, -72, -72, -165, -72, -72, -44, 23, 311, -44, -44, -44, -127, -44, -44, -44, -44,
+			-117, -172, -117, -117, -64, -117, -117, -73, -145, -73, -73, -52, -73, -73, -65, -52, -52, 204, 202, -52,
+			-77, -146, -62, 244, 191, 201, 196, -172, -52, -172, -52, -46, -52, -52, -52, -52, -46, 60, -71, -46, -71,
+			-71, 13, -71, -71, -46, -106, -143, -46, -46, -46, -5, -46, -46, -46, -46, -5, -119, -167, -5, 297, 151,
+			-119, 147, 146, -119, 152, -64, -5, -5, 22, -87, -5, -5, -5, -5, -87, -65, -52, -87, 134, -17, -4, -77, 249,
+			60, 252, -4, -87, 26, -4, -17, -87, -87, -87, -87, -105, -12, -69, -4, -4, -63, -8, -4, -4, -4, -4, -8, -62,
+			-12, -8, 151, -86, 147, 146, 273, 152, -86, -17, -8, -86, -210, -48, -8, 28, -8, -8, -48, -210, -86, -48,
+			233, -50, -86, -86, -86, -86, -50, 226, -48, -50, -212, -47, -48, -211, -48, 34, -47, -212, -50, -47, -211,
+			-51, -50, 355, -50, -50, -51, -62, -47, -51, -69, -49, -47, -63, -47, 34, -49, -59, -51, -49, 60, -7, -51,
+			-209, -51, -51, -7, -171, -49, -7, -209, -89, -49, 377, -49, -49, -89, -173, -7, -89, -182, -91, -7, 221,
+			-7, -7, -91, -168, -89, -91, -144, -88, 43, -171, -89, -171, -88, 219, -91, -88, -129, -90, -91, -173, -91,
+			-173, -90, 217, -88, -90, 60, -92, 43, -168, -88, -168, -92, -142, -90, -92, -59, -82, -90, -137, -90, -81,
+			-82, -60, -92, -82, -81, -137, -92, -81, -92, -84, -124, -124, 47, -134, -84, -194, 47, -84, -82, -83, -85,
+			-134, -81, -57, -83, -85, -84, -83, -85, -108, -58, 78, -84, -112, 76, 74, -83, -85, -124, -109, 375, -127,
+			-83, -85, -108, -107, -108, -108, -112, -108, -112, -112, -110, -112, -109, -9, -109, -109, -111, -109,
+			-107, -195, -107, -107, -60, -107, -3, -110, -127, -110, -110, -3, -110, -111, -3, -111, -111, -121, -111,
+			-118, -184, -169, -121, -120, -118, -121, -57, -118, -120, -3, -122, -120, 282, -58, 13, -122, -123, 277,
+			-122, 280, -121, -123, 134, -219, -123, -190, -120, -169, -219, -169, -219, -221, -185, -122, 353, -218,
+			-221, -184, -221, -123, -218, -220, -218, -79, -152, -157, -220, 332, -220, -151, -189, -154, -193, -208,
+			226, -205, 227, 231, 230, -207, 235, -213, -214, -160, 267, -164, 264, 257, 256, -185, 253, -175, -176,
+			-178, -179, 263, 262, 266, -162, -180, 268, 264, -161, -206, 276, 288, 281, 285, -215, -222, -223, -203,
+			-204, -199, -197, -202, -201, -153, 300, 307, 303, 304, 305, 306, -192, 308, 309, 310, -191, -148, 339, 13,
+			13, 326, 323, 320, 13, 322, 13, 325, 65, 329, -78, -159, -80, 334, 65, -158, 338, -68, -155, -150, 347, 346,
+			345, -186, -188, -187, -149, 350, 351, 352, 362, 360, 358, 359, -183, 361, -181, -147, -156, 368, 369, 13,
+			13, 379, -128, 386 });
 
 	/** access to parse action table */
-	public short[][] action_table()
+	public java_cup.runtime.displacement_table action_direct_table()
 	{
 		return _action_table;
 	}
 
-	/** reduce_goto table */
-	protected static final short[][] _reduce_table = { /* 0 */{ 25, 2, 51, 4, 56, 1, -1, -1 },
-			/* 1 */{ 70, 135, 71, 136, 72, 134, -1, -1 }, /* 2 */{ -1, -1 }, /* 3 */{ -1, -1 },
-			/* 4 */{ 38, 6, -1, -1 }, /* 5 */{ -1, -1 }, /* 6 */{ 13, 9, -1, -1 }, /* 7 */{ 104, 123, 105, 99, -1, -1 },
-			/* 8 */{ 104, 98, 105, 99, -1, -1 }, /* 9 */{ 42, 10, -1, -1 }, /* 10 */{ 22, 17, 23, 18, 24, 15, -1, -1 },
-			/* 11 */{ 1, 13, -1, -1 }, /* 12 */{ -1, -1 }, /* 13 */{ -1, -1 }, /* 14 */{ -1, -1 }, /* 15 */{ -1, -1 },
-			/* 16 */{ 1, 96, -1, -1 }, /* 17 */{ 54, 20, -1, -1 }, /* 18 */{ 24, 19, -1, -1 }, /* 19 */{ -1, -1 },
-			/* 20 */{ 53, 26, -1, -1 }, /* 21 */{ 55, 23, -1, -1 }, /* 22 */{ -1, -1 }, /* 23 */{ -1, -1 },
-			/* 24 */{ -1, -1 }, /* 25 */{ -1, -1 }, /* 26 */{ 59, 28, -1, -1 }, /* 27 */{ 60, 91, -1, -1 },
-			/* 28 */{ 73, 32, 74, 30, 75, 29, 77, 31, -1, -1 }, /* 29 */{ -1, -1 }, /* 30 */{ 75, 90, 77, 31, -1, -1 },
-			/* 31 */{ 80, 61, 81, 57, 82, 60, 88, 58, -1, -1 }, /* 32 */{ 61, 43, 62, 44, 63, 41, -1, -1 },
-			/* 33 */{ 78, 36, -1, -1 }, /* 34 */{ 1, 39, -1, -1 }, /* 35 */{ 1, 37, -1, -1 }, /* 36 */{ -1, -1 },
-			/* 37 */{ -1, -1 }, /* 38 */{ -1, -1 }, /* 39 */{ -1, -1 }, /* 40 */{ -1, -1 }, /* 41 */{ -1, -1 },
-			/* 42 */{ 64, 54, -1, -1 }, /* 43 */{ 52, 49, 57, 47, 58, 48, -1, -1 }, /* 44 */{ 63, 45, -1, -1 },
-			/* 45 */{ -1, -1 }, /* 46 */{ -1, -1 }, /* 47 */{ 58, 50, -1, -1 }, /* 48 */{ -1, -1 }, /* 49 */{ -1, -1 },
-			/* 50 */{ -1, -1 }, /* 51 */{ -1, -1 }, /* 52 */{ -1, -1 }, /* 53 */{ -1, -1 }, /* 54 */{ -1, -1 },
-			/* 55 */{ -1, -1 }, /* 56 */{ -1, -1 }, /* 57 */{ 82, 89, 88, 58, -1, -1 }, /* 58 */{ -1, -1 },
-			/* 59 */{ -1, -1 }, /* 60 */{ -1, -1 }, /* 61 */{ 76, 63, 90, 62, -1, -1 }, /* 62 */{ -1, -1 },
-			/* 63 */{ -1, -1 }, /* 64 */{ -1, -1 }, /* 65 */{ -1, -1 }, /* 66 */{ -1, -1 }, /* 67 */{ -1, -1 },
-			/* 68 */{ -1, -1 }, /* 69 */{ 7, 80, 8, 81, 85, 70, 86, 79, 91, 74, 92, 78, 93, 71, -1, -1 },
-			/* 70 */{ 7, 80, 8, 81, 86, 88, -1, -1 }, /* 71 */{ -1, -1 }, /* 72 */{ -1, -1 }, /* 73 */{ -1, -1 },
-			/* 74 */{ -1, -1 }, /* 75 */{ -1, -1 }, /* 76 */{ 89, 84, -1, -1 }, /* 77 */{ -1, -1 },
-			/* 78 */{ 91, 82, -1, -1 }, /* 79 */{ -1, -1 }, /* 80 */{ -1, -1 }, /* 81 */{ -1, -1 }, /* 82 */{ -1, -1 },
-			/* 83 */{ -1, -1 }, /* 84 */{ 80, 85, 81, 57, 82, 60, 88, 58, -1, -1 }, /* 85 */{ 76, 63, 90, 86, -1, -1 },
-			/* 86 */{ -1, -1 }, /* 87 */{ -1, -1 }, /* 88 */{ -1, -1 }, /* 89 */{ -1, -1 }, /* 90 */{ -1, -1 },
-			/* 91 */{ -1, -1 }, /* 92 */{ -1, -1 }, /* 93 */{ -1, -1 }, /* 94 */{ -1, -1 }, /* 95 */{ -1, -1 },
-			/* 96 */{ -1, -1 }, /* 97 */{ -1, -1 }, /* 98 */{ 1, 121, -1, -1 },
-			/* 99 */{ 9, 119, 10, 100, 11, 118, -1, -1 }, /* 100 */{ 9, 120, -1, -1 }, /* 101 */{ -1, -1 },
-			/* 102 */{ -1, -1 }, /* 103 */{ -1, -1 }, /* 104 */{ -1, -1 }, /* 105 */{ -1, -1 }, /* 106 */{ -1, -1 },
-			/* 107 */{ -1, -1 }, /* 108 */{ -1, -1 }, /* 109 */{ -1, -1 }, /* 110 */{ -1, -1 }, /* 111 */{ -1, -1 },
-			/* 112 */{ -1, -1 }, /* 113 */{ -1, -1 }, /* 114 */{ -1, -1 }, /* 115 */{ -1, -1 }, /* 116 */{ -1, -1 },
-			/* 117 */{ -1, -1 }, /* 118 */{ -1, -1 }, /* 119 */{ -1, -1 }, /* 120 */{ -1, -1 }, /* 121 */{ -1, -1 },
-			/* 122 */{ -1, -1 }, /* 123 */{ 1, 124, -1, -1 }, /* 124 */{ -1, -1 }, /* 125 */{ -1, -1 },
-			/* 126 */{ -1, -1 }, /* 127 */{ -1, -1 }, /* 128 */{ -1, -1 }, /* 129 */{ -1, -1 }, /* 130 */{ -1, -1 },
-			/* 131 */{ -1, -1 }, /* 132 */{ -1, -1 }, /* 133 */{ -1, -1 }, /* 134 */{ -1, -1 },
-			/* 135 */{ 18, 141, 19, 139, 20, 138, -1, -1 }, /* 136 */{ 72, 137, -1, -1 }, /* 137 */{ -1, -1 },
-			/* 138 */{ 15, 179, 33, 180, 34, 177, 35, 176, -1, -1 }, /* 139 */{ -1, -1 },
-			/* 140 */{ 65, 144, 104, 143, 105, 99, -1, -1 }, /* 141 */{ 19, 142, -1, -1 }, /* 142 */{ -1, -1 },
-			/* 143 */{ -1, -1 }, /* 144 */{ 67, 149, 68, 147, 69, 148, -1, -1 }, /* 145 */{ 60, 164, -1, -1 },
-			/* 146 */{ 64, 162, -1, -1 }, /* 147 */{ 69, 161, -1, -1 }, /* 148 */{ -1, -1 },
-			/* 149 */{ 66, 158, -1, -1 }, /* 150 */{ 55, 155, -1, -1 }, /* 151 */{ 78, 152, -1, -1 },
-			/* 152 */{ 80, 153, 81, 57, 82, 60, 88, 58, -1, -1 }, /* 153 */{ 76, 63, 90, 154, -1, -1 },
-			/* 154 */{ -1, -1 }, /* 155 */{ -1, -1 }, /* 156 */{ -1, -1 }, /* 157 */{ -1, -1 }, /* 158 */{ -1, -1 },
-			/* 159 */{ -1, -1 }, /* 160 */{ -1, -1 }, /* 161 */{ -1, -1 }, /* 162 */{ -1, -1 }, /* 163 */{ -1, -1 },
-			/* 164 */{ -1, -1 }, /* 165 */{ -1, -1 }, /* 166 */{ -1, -1 }, /* 167 */{ 6, 169, -1, -1 },
-			/* 168 */{ 7, 175, -1, -1 }, /* 169 */{ -1, -1 }, /* 170 */{ -1, -1 }, /* 171 */{ 6, 172, -1, -1 },
-			/* 172 */{ -1, -1 }, /* 173 */{ -1, -1 }, /* 174 */{ -1, -1 }, /* 175 */{ -1, -1 }, /* 176 */{ -1, -1 },
-			/* 177 */{ -1, -1 }, /* 178 */{ 104, 366, 105, 99, -1, -1 },
-			/* 179 */{ 17, 186, 39, 185, 40, 182, 106, 183, -1, -1 }, /* 180 */{ 15, 179, 34, 181, -1, -1 },
-			/* 181 */{ -1, -1 }, /* 182 */{ 17, 365, 39, 364, 106, 183, -1, -1 },
-			/* 183 */{ 14, 210, 16, 198, 21, 207, 26, 196, 37, 208, 41, 199, -1, -1 }, /* 184 */{ -1, -1 },
-			/* 185 */{ -1, -1 }, /* 186 */{ -1, -1 }, /* 187 */{ -1, -1 }, /* 188 */{ -1, -1 },
-			/* 189 */{ 64, 363, -1, -1 }, /* 190 */{ -1, -1 }, /* 191 */{ 50, 347, -1, -1 },
-			/* 192 */{ 27, 340, -1, -1 }, /* 193 */{ 55, 339, -1, -1 }, /* 194 */{ 79, 314, 83, 316, -1, -1 },
-			/* 195 */{ -1, -1 }, /* 196 */{ -1, -1 }, /* 197 */{ 1, 298, 12, 297, -1, -1 }, /* 198 */{ -1, -1 },
-			/* 199 */{ -1, -1 }, /* 200 */{ -1, -1 }, /* 201 */{ 43, 271, 44, 270, -1, -1 },
-			/* 202 */{ 94, 238, 101, 239, -1, -1 }, /* 203 */{ 28, 222, 29, 221, -1, -1 }, /* 204 */{ -1, -1 },
-			/* 205 */{ 36, 217, -1, -1 }, /* 206 */{ 45, 215, -1, -1 }, /* 207 */{ -1, -1 }, /* 208 */{ -1, -1 },
-			/* 209 */{ 60, 214, -1, -1 }, /* 210 */{ -1, -1 }, /* 211 */{ 1, 212, 49, 213, -1, -1 },
-			/* 212 */{ -1, -1 }, /* 213 */{ -1, -1 }, /* 214 */{ -1, -1 }, /* 215 */{ -1, -1 }, /* 216 */{ -1, -1 },
-			/* 217 */{ -1, -1 }, /* 218 */{ 7, 80, 8, 219, -1, -1 }, /* 219 */{ -1, -1 }, /* 220 */{ -1, -1 },
-			/* 221 */{ 31, 223, 32, 224, -1, -1 }, /* 222 */{ -1, -1 }, /* 223 */{ -1, -1 },
-			/* 224 */{ 30, 231, 31, 233, -1, -1 }, /* 225 */{ -1, -1 }, /* 226 */{ -1, -1 }, /* 227 */{ -1, -1 },
-			/* 228 */{ -1, -1 }, /* 229 */{ -1, -1 }, /* 230 */{ -1, -1 }, /* 231 */{ -1, -1 }, /* 232 */{ -1, -1 },
-			/* 233 */{ -1, -1 }, /* 234 */{ -1, -1 }, /* 235 */{ -1, -1 }, /* 236 */{ -1, -1 }, /* 237 */{ -1, -1 },
-			/* 238 */{ 95, 268, 97, 246, -1, -1 }, /* 239 */{ -1, -1 }, /* 240 */{ 102, 242, 103, 241, -1, -1 },
-			/* 241 */{ -1, -1 }, /* 242 */{ 95, 244, 97, 246, -1, -1 }, /* 243 */{ -1, -1 },
-			/* 244 */{ 96, 264, -1, -1 }, /* 245 */{ -1, -1 }, /* 246 */{ 98, 247, -1, -1 },
-			/* 247 */{ 99, 249, 100, 250, -1, -1 }, /* 248 */{ -1, -1 }, /* 249 */{ -1, -1 }, /* 250 */{ -1, -1 },
-			/* 251 */{ -1, -1 }, /* 252 */{ -1, -1 }, /* 253 */{ -1, -1 }, /* 254 */{ -1, -1 }, /* 255 */{ -1, -1 },
-			/* 256 */{ -1, -1 }, /* 257 */{ -1, -1 }, /* 258 */{ -1, -1 }, /* 259 */{ -1, -1 }, /* 260 */{ -1, -1 },
-			/* 261 */{ -1, -1 }, /* 262 */{ -1, -1 }, /* 263 */{ -1, -1 }, /* 264 */{ -1, -1 }, /* 265 */{ -1, -1 },
-			/* 266 */{ -1, -1 }, /* 267 */{ -1, -1 }, /* 268 */{ 96, 269, -1, -1 }, /* 269 */{ -1, -1 },
-			/* 270 */{ 47, 278, 48, 277, -1, -1 }, /* 271 */{ -1, -1 }, /* 272 */{ -1, -1 }, /* 273 */{ -1, -1 },
-			/* 274 */{ -1, -1 }, /* 275 */{ -1, -1 }, /* 276 */{ -1, -1 }, /* 277 */{ 46, 283, 47, 282, -1, -1 },
-			/* 278 */{ -1, -1 }, /* 279 */{ -1, -1 }, /* 280 */{ -1, -1 }, /* 281 */{ -1, -1 }, /* 282 */{ -1, -1 },
-			/* 283 */{ -1, -1 }, /* 284 */{ -1, -1 }, /* 285 */{ -1, -1 }, /* 286 */{ -1, -1 }, /* 287 */{ -1, -1 },
-			/* 288 */{ -1, -1 }, /* 289 */{ -1, -1 }, /* 290 */{ -1, -1 }, /* 291 */{ -1, -1 }, /* 292 */{ -1, -1 },
-			/* 293 */{ -1, -1 }, /* 294 */{ -1, -1 }, /* 295 */{ -1, -1 }, /* 296 */{ -1, -1 }, /* 297 */{ -1, -1 },
-			/* 298 */{ -1, -1 }, /* 299 */{ -1, -1 }, /* 300 */{ -1, -1 }, /* 301 */{ -1, -1 }, /* 302 */{ -1, -1 },
-			/* 303 */{ -1, -1 }, /* 304 */{ -1, -1 }, /* 305 */{ -1, -1 }, /* 306 */{ -1, -1 }, /* 307 */{ -1, -1 },
-			/* 308 */{ -1, -1 }, /* 309 */{ -1, -1 }, /* 310 */{ 14, 210, 21, 311, 37, 208, -1, -1 },
-			/* 311 */{ -1, -1 }, /* 312 */{ -1, -1 }, /* 313 */{ 1, 336, -1, -1 },
-			/* 314 */{ 80, 334, 81, 57, 82, 60, 88, 58, -1, -1 }, /* 315 */{ 1, 332, -1, -1 },
-			/* 316 */{ 84, 326, 87, 327, -1, -1 }, /* 317 */{ -1, -1 }, /* 318 */{ -1, -1 },
-			/* 319 */{ 1, 320, -1, -1 }, /* 320 */{ -1, -1 }, /* 321 */{ -1, -1 }, /* 322 */{ 1, 323, -1, -1 },
-			/* 323 */{ -1, -1 }, /* 324 */{ -1, -1 }, /* 325 */{ -1, -1 }, /* 326 */{ 76, 330, -1, -1 },
-			/* 327 */{ -1, -1 }, /* 328 */{ 7, 80, 8, 81, 85, 70, 86, 79, 91, 74, 92, 78, 93, 329, -1, -1 },
-			/* 329 */{ -1, -1 }, /* 330 */{ -1, -1 }, /* 331 */{ -1, -1 }, /* 332 */{ -1, -1 }, /* 333 */{ -1, -1 },
-			/* 334 */{ 76, 335, -1, -1 }, /* 335 */{ -1, -1 }, /* 336 */{ -1, -1 }, /* 337 */{ -1, -1 },
-			/* 338 */{ -1, -1 }, /* 339 */{ -1, -1 }, /* 340 */{ -1, -1 }, /* 341 */{ -1, -1 }, /* 342 */{ -1, -1 },
-			/* 343 */{ -1, -1 }, /* 344 */{ -1, -1 }, /* 345 */{ -1, -1 }, /* 346 */{ -1, -1 }, /* 347 */{ -1, -1 },
-			/* 348 */{ -1, -1 }, /* 349 */{ -1, -1 }, /* 350 */{ -1, -1 }, /* 351 */{ 5, 353, -1, -1 },
-			/* 352 */{ -1, -1 }, /* 353 */{ -1, -1 }, /* 354 */{ -1, -1 }, /* 355 */{ -1, -1 }, /* 356 */{ -1, -1 },
-			/* 357 */{ -1, -1 }, /* 358 */{ -1, -1 }, /* 359 */{ -1, -1 }, /* 360 */{ -1, -1 }, /* 361 */{ -1, -1 },
-			/* 362 */{ -1, -1 }, /* 363 */{ -1, -1 }, /* 364 */{ -1, -1 }, /* 365 */{ -1, -1 }, /* 366 */{ -1, -1 },
-			/* 367 */{ -1, -1 }, /* 368 */{ -1, -1 }, /* 369 */{ 104, 381, 105, 99, -1, -1 },
-			/* 370 */{ 104, 371, 105, 99, -1, -1 }, /* 371 */{ 2, 372, -1, -1 }, /* 372 */{ 3, 375, -1, -1 },
-			/* 373 */{ -1, -1 }, /* 374 */{ 1, 380, -1, -1 }, /* 375 */{ 4, 377, -1, -1 }, /* 376 */{ 1, 379, -1, -1 },
-			/* 377 */{ -1, -1 }, /* 378 */{ -1, -1 }, /* 379 */{ -1, -1 }, /* 380 */{ -1, -1 },
-			/* 381 */{ 2, 382, -1, -1 }, /* 382 */{ 3, 383, -1, -1 }, /* 383 */{ 4, 384, -1, -1 }, /* 384 */{ -1, -1 },
-			/* 385 */{ -1, -1 }, };
+	/** reduce_goto table, in row displacement form */
+	protected static final java_cup.runtime.displacement_table _reduce_table = new java_cup.runtime.displacement_table(
+			new int[] { 0, 0, 0, 0, 4, 0, 0, 8, 14, 7, 0, 2, 0, 0, 0, 0, 3, 1, 42, 0, 26, 26, 0, 0, 0, 0, 28, 73, 0, 0,
+			3, 2, 0, 62, 4, 5, 0, 0, 0, 0, 0, 0, 90, 0, 92, 0, 0, 98, 0, 0, 0, 0, 0, 0, 0, 0, 0, 32, 0, 0, 0, 45, 0, 0,
+			0, 0, 0, 0, 0, 0, 21, 0, 0, 0, 0, 0, 68, 0, 67, 0, 0, 0, 0, 0, 17, 46, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			8, 9, 150, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 159, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 12, 89, 0, 0, 0, 11, 143, 0, 0, 0, 103, 100, 96, 0, 100, 112, 90, 20, 47, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 163, 163, 0, 0, 165, 0, 0, 0, 0, 0, 0, 20, 0, 12, 0, 21, 0, 0, 0, 0, 0, 0, 108, 0, 123, 147,
+			120, 47, 0, 0, 0, 0, 0, 0, 1, 37, 19, 0, 140, 132, 0, 0, 118, 0, 1, 0, 0, 0, 0, 0, 0, 46, 0, 0, 33, 0, 0,
+			73, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 37, 0, 26, 0, 44, 0, 83, 0, 82, 43, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 85, 0, 97, 0, 0, 0, 0, 0, 0, 100, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 22, 0, 0, 181, 29, 182, 64, 0, 0, 183, 0, 0, 184, 0, 0,
+			0, 110, 0, 3, 0, 0, 0, 0, 0, 111, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 183, 0, 0, 0, 0, 0, 0, 0,
+			0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 45, 48, 187, 187, 0, 190, 188, 192, 0, 0, 0, 0, 192, 192, 192, 0, 0 },
+			new short[] { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 },
+			new short[] { -1, 197, 211, 11, 16, 34, 35, 69, 69, 98, 328, 328, 197, 6, 183, 138, 183, 179, 99, 99, 99,
+			183, 10, 10, 10, 0, 183, 180, 70, 70, 135, 135, 135, 138, 138, 138, 310, 183, 182, 179, 179, 183, 4, 310,
+			201, 201, 180, 203, 203, 9, 211, 0, 43, 218, 218, 17, 0, 43, 43, 310, 182, 32, 32, 32, 221, 221, 18, 144,
+			144, 144, 1, 1, 1, 28, 28, 28, 140, 28, 30, 20, 30, 21, 31, 31, 31, 69, 69, 26, 328, 328, 31, 69, 69, 69,
+			328, 328, 328, 84, 84, 84, 152, 152, 152, 224, 224, 84, 179, 70, 152, 314, 314, 314, 7, 7, 57, 140, 140,
+			314, 8, 8, 57, 61, 85, 153, 178, 178, 194, 182, 240, 240, 194, 202, 238, 27, 238, 61, 85, 153, 202, 242, 33,
+			242, 247, 247, 270, 270, 277, 277, 316, 369, 369, 316, 370, 370, 42, 44, 47, 76, 78, 100, 123, 136, 141,
+			145, 146, 147, 149, 150, 151, 167, 168, 171, 189, 191, 192, 193, 205, 206, 209, 244, 246, 268, 313, 315,
+			319, 322, 326, 334, 351, 371, 372, 374, 375, 376, 381, 382, 383 },
+			new short[] { 0, 298, 212, 13, 96, 39, 37, 80, 81, 121, 80, 81, 297, 9, 210, 179, 198, 186, 119, 100, 118,
+			207, 17, 18, 15, 2, 196, 179, 80, 81, 141, 139, 138, 180, 177, 176, 210, 208, 365, 185, 182, 199, 6, 311,
+			271, 270, 181, 222, 221, 10, 213, 4, 49, 80, 219, 20, 1, 47, 48, 208, 364, 43, 44, 41, 223, 224, 19, 149,
+			147, 148, 135, 136, 134, 32, 30, 29, 144, 31, 90, 26, 31, 23, 61, 57, 60, 70, 79, 28, 70, 79, 58, 74, 78,
+			71, 74, 78, 329, 85, 57, 60, 153, 57, 60, 231, 233, 58, 183, 88, 58, 334, 57, 60, 123, 99, 89, 143, 99, 58,
+			98, 99, 58, 63, 63, 63, 366, 99, 314, 183, 242, 241, 316, 238, 268, 91, 246, 62, 86, 154, 239, 244, 36, 246,
+			249, 250, 278, 277, 283, 282, 326, 381, 99, 327, 371, 99, 54, 45, 50, 84, 82, 120, 124, 137, 142, 164, 162,
+			161, 158, 155, 152, 169, 175, 172, 363, 347, 340, 339, 217, 215, 214, 264, 247, 269, 336, 332, 320, 323,
+			330, 335, 353, 372, 375, 380, 377, 379, 382, 383, 384 });
 
 	/** access to reduce_goto table */
-	public short[][] reduce_table()
+	public java_cup.runtime.displacement_table reduce_direct_table()
 	{
 		return _reduce_table;
 	}
@@ -439,8 +296,8 @@ public class parser extends java_cup.runtime.lr_parser
 	}
 
 	/** invoke a user supplied parse action */
-	public java_cup.runtime.symbol do_action(int act_num, java_cup.runtime.lr_parser parser, java.util.Stack stack,
-			int top) throws java.lang.Exception
+	public java_cup.runtime.symbol do_action(int act_num, java_cup.runtime.lr_parser parser,
+			java_cup.runtime.symbol_stack stack, int top) throws java.lang.Exception
 	{
 		/* call code in generated class */
 		return action_obj.CUP$do_action(act_num, parser, stack, top);
@@ -528,7 +385,7 @@ class CUP$actions
 
 	/** Method with the actual generated action code. */
 	public final java_cup.runtime.symbol CUP$do_action(int CUP$act_num, java_cup.runtime.lr_parser CUP$parser,
-			java.util.Stack CUP$stack, int CUP$top) throws java.lang.Exception
+			java_cup.runtime.symbol_stack CUP$stack, int CUP$top) throws java.lang.Exception
 	{
 		/* object for return from actions */
 		java_cup.runtime.symbol CUP$result;
@@ -33,6 +33,8 @@ import java.io.*;
  * <dd>number of conflicts expected/allowed [default 0]
  * <dt>-compact_red
  * <dd>compact tables by defaulting to most frequent reduce
+ * <dt>-direct_tables
+ * <dd>emit tables in row displacement form, indexed in constant time
  * <dt>-nowarn
  * <dd>don't warn about useless productions, etc.
  * <dt>-nosummary
@@ -91,6 +93,11 @@ public class Main
 	 * action
 	 */
 	protected static boolean opt_compact_red = false;
+	/**
+	 * User option -- do we emit the action and reduce-goto tables in row
+	 * displacement form, so that the parser indexes them instead of searching
+	 */
+	protected static boolean opt_direct_tables = false;
 	/**
 	 * User option -- should we include non terminal symbol numbers in the symbol
 	 * constant class.
@@ -242,6 +249,7 @@ public class Main
 				+ "    -nonterms      put non terminals in symbol constant class\n"
 				+ "    -expect #      number of conflicts expected/allowed [default 0]\n"
 				+ "    -compact_red   compact tables by defaulting to most frequent reduce\n"
+				+ "    -direct_tables emit tables in row displacement form, indexed in constant time\n"
 				+ "    -nowarn        don't warn about useless productions, etc.\n"
 				+ "    -nosummary     don't print the usual summary of parse states, etc.\n"
 				+ "    -progress      print messages to indicate progress of the system\n"
@@ -338,6 +346,8 @@ public class Main
 					usage("-out argument must be a valid existing path");
 			} else if (argv[i].equals("-compact_red"))
 				opt_compact_red = true;
+			else if (argv[i].equals("-direct_tables"))
+				opt_direct_tables = true;
 			else if (argv[i].equals("-nosummary"))
 				no_summary = true;
 			else if (argv[i].equals("-nowarn"))
@@ -624,7 +634,7 @@ public class Main
 	{
 		emit.symbols(symbol_class_file, include_non_terms);
 		emit.parser(parser_class_file, action_table, reduce_table, start_state.index(), emit.start_production,
-				opt_compact_red);
+				opt_compact_red, opt_direct_tables);
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
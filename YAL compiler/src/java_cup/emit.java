@@ -340,7 +340,7 @@ public class emit
 		out.println("  public final java_cup.runtime.symbol " + pre("do_action") + "(");
 		out.println("    int                        " + pre("act_num,"));
 		out.println("    java_cup.runtime.lr_parser " + pre("parser,"));
-		out.println("    java.util.Stack            " + pre("stack,"));
+		out.println("    java_cup.runtime.symbol_stack " + pre("stack,"));
 		out.println("    int                        " + pre("top)"));
 		out.println("    throws java.lang.Exception");
 		out.println("    {");
@@ -484,25 +484,27 @@ public class emit
 	 *            the internal representation of the action table.
 	 * @param compact_reduces
 	 *            do we use the most frequent reduce as default?
+	 * @param direct_tables
+	 *            do we emit the table in row displacement form?
 	 */
-	protected static void do_action_table(PrintStream out, parse_action_table act_tab, boolean compact_reduces)
-			throws internal_error
+	protected static void do_action_table(PrintStream out, parse_action_table act_tab, boolean compact_reduces,
+			boolean direct_tables) throws internal_error
 	{
 		parse_action_row row;
 		parse_action act;
 		int red;
+		short rows[][] = new short[act_tab.num_states()][];
+		short entries[] = new short[2 * parse_action_row.size() + 2];
+		int num_entries;
 
 		long start_time = System.currentTimeMillis();
 
-		out.println();
-		out.println("  /** parse action table */");
-		out.println("  protected static final short[][] _action_table = {");
-
 		/* do each state (row) of the action table */
 		for (int i = 0; i < act_tab.num_states(); i++)
 		{
 			/* get the row */
 			row = act_tab.under_state[i];
+			num_entries = 0;
 
 			/* determine the default for the row */
 			if (compact_reduces)
@@ -510,8 +512,6 @@ public class emit
 			else
 				row.default_reduce = -1;
 
-			out.print("    /*" + i + "*/{");
-
 			/* do each column */
 			for (int j = 0; j < row.size(); j++)
 			{
@@ -526,7 +526,8 @@ public class emit
 					/* shifts get positive entries of state number + 1 */
 					if (act.kind() == parse_action.SHIFT)
 					{
-						out.print(j + "," + (((shift_action) act).shift_to().index() + 1) + ",");
+						entries[num_entries++] = (short) j;
+						entries[num_entries++] = (short) (((shift_action) act).shift_to().index() + 1);
 					}
 
 					/* reduce actions get negated entries of production# + 1 */
@@ -535,7 +536,10 @@ public class emit
 						/* if its the default entry let it get defaulted out */
 						red = ((reduce_action) act).reduce_with().index();
 						if (red != row.default_reduce)
-							out.print(j + "," + (-(red + 1)) + ",");
+						{
+							entries[num_entries++] = (short) j;
+							entries[num_entries++] = (short) (-(red + 1));
+						}
 					}
 
 					/* shouldn't be anything else */
@@ -545,19 +549,37 @@ public class emit
 			}
 
 			/* finish off the row with a default entry */
+			entries[num_entries++] = -1;
 			if (row.default_reduce != -1)
-				out.println("-1," + (-(row.default_reduce + 1)) + "},");
+				entries[num_entries++] = (short) (-(row.default_reduce + 1));
 			else
-				out.println("-1,0},");
-		}
+				entries[num_entries++] = 0;
 
-		/* finish off the init of the table */
-		out.println("  };");
+			rows[i] = java.util.Arrays.copyOf(entries, num_entries);
+		}
 
-		/* do the public accessor method */
 		out.println();
-		out.println("  /** access to parse action table */");
-		out.println("  public short[][] action_table() {return _action_table;}");
+		if (direct_tables)
+		{
+			out.println("  /** parse action table, in row displacement form */");
+			emit_direct_table(out, "_action_table", rows);
+
+			/* do the public accessor method */
+			out.println();
+			out.println("  /** access to parse action table */");
+			out.println("  public java_cup.runtime.displacement_table action_direct_table() "
+					+ "{return _action_table;}");
+		}
+		else
+		{
+			out.println("  /** parse action table */");
+			emit_pair_table(out, "_action_table", rows);
+
+			/* do the public accessor method */
+			out.println();
+			out.println("  /** access to parse action table */");
+			out.println("  public short[][] action_table() {return _action_table;}");
+		}
 
 		action_table_time = System.currentTimeMillis() - start_time;
 	}
@@ -571,22 +593,22 @@ public class emit
 	 *            stream to produce output on.
 	 * @param red_tab
 	 *            the internal representation of the reduce-goto table.
+	 * @param direct_tables
+	 *            do we emit the table in row displacement form?
 	 */
-	protected static void do_reduce_table(PrintStream out, parse_reduce_table red_tab)
+	protected static void do_reduce_table(PrintStream out, parse_reduce_table red_tab, boolean direct_tables)
 	{
 		lalr_state goto_st;
-		parse_action act;
+		short rows[][] = new short[red_tab.num_states()][];
+		short entries[] = new short[2 * parse_reduce_row.size() + 2];
+		int num_entries;
 
 		long start_time = System.currentTimeMillis();
 
-		out.println();
-		out.println("  /** reduce_goto table */");
-		out.println("  protected static final short[][] _reduce_table = {");
-
 		/* do each row of the reduce-goto table */
 		for (int i = 0; i < red_tab.num_states(); i++)
 		{
-			out.print("    /*" + i + "*/{");
+			num_entries = 0;
 
 			/* do each entry in the row */
 			for (int j = 0; j < red_tab.under_state[i].size(); j++)
@@ -598,21 +620,40 @@ public class emit
 				if (goto_st != null)
 				{
 					/* make entries for the index and the value */
-					out.print(j + "," + goto_st.index() + ",");
+					entries[num_entries++] = (short) j;
+					entries[num_entries++] = (short) goto_st.index();
 				}
 			}
 
 			/* end row with default value */
-			out.println("-1,-1},");
-		}
+			entries[num_entries++] = -1;
+			entries[num_entries++] = -1;
 
-		/* finish off the init of the table */
-		out.println("  };");
+			rows[i] = java.util.Arrays.copyOf(entries, num_entries);
+		}
 
-		/* do the public accessor method */
 		out.println();
-		out.println("  /** access to reduce_goto table */");
-		out.println("  public short[][] reduce_table() {return _reduce_table;}");
+		if (direct_tables)
+		{
+			out.println("  /** reduce_goto table, in row displacement form */");
+			emit_direct_table(out, "_reduce_table", rows);
+
+			/* do the public accessor method */
+			out.println();
+			out.println("  /** access to reduce_goto table */");
+			out.println("  public java_cup.runtime.displacement_table reduce_direct_table() "
+					+ "{return _reduce_table;}");
+		}
+		else
+		{
+			out.println("  /** reduce_goto table */");
+			emit_pair_table(out, "_reduce_table", rows);
+
+			/* do the public accessor method */
+			out.println();
+			out.println("  /** access to reduce_goto table */");
+			out.println("  public short[][] reduce_table() {return _reduce_table;}");
+		}
 		out.println();
 
 		goto_table_time = System.currentTimeMillis() - start_time;
@@ -620,6 +661,147 @@ public class emit
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
+	/**
+	 * Emit the declaration and init of a table with one row of (symbol, entry)
+	 * pairs per state, each ending with -1 and the default entry.
+	 * 
+	 * @param out
+	 *            stream to produce output on.
+	 * @param name
+	 *            name of the table.
+	 * @param rows
+	 *            the rows of the table.
+	 */
+	protected static void emit_pair_table(PrintStream out, String name, short rows[][])
+	{
+		out.println("  protected static final short[][] " + name + " = {");
+
+		/* build each row as a whole, rather than printing each entry */
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < rows.length; i++)
+		{
+			line.setLength(0);
+			line.append("    /*").append(i).append("*/{");
+			for (int j = 0; j < rows[i].length - 1; j++)
+				line.append(rows[i][j]).append(',');
+			line.append(rows[i][rows[i].length - 1]).append("},");
+			out.println(line);
+		}
+
+		/* finish off the init of the table */
+		out.println("  };");
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * Emit the declaration and init of a table in row displacement form (see
+	 * java_cup.runtime.displacement_table). The rows are overlaid first fit, the
+	 * rows with the most entries first, while the check array is still sparse.
+	 * 
+	 * @param out
+	 *            stream to produce output on.
+	 * @param name
+	 *            name of the table.
+	 * @param rows
+	 *            the rows of the table, as (symbol, entry) pairs ending with -1
+	 *            and the default entry.
+	 */
+	protected static void emit_direct_table(PrintStream out, String name, short rows[][])
+	{
+		int base[] = new int[rows.length];
+		short defaults[] = new short[rows.length];
+		short check[] = new short[64];
+		short value[] = new short[64];
+		int length = 0;
+
+		java.util.Arrays.fill(check, (short) -1);
+
+		/* order the states by the size of their rows, largest first */
+		Integer order[] = new Integer[rows.length];
+		for (int i = 0; i < rows.length; i++)
+			order[i] = i;
+		java.util.Arrays.sort(order, (s1, s2) -> rows[s2].length - rows[s1].length);
+
+		for (int s : order)
+		{
+			short row[] = rows[s];
+			defaults[s] = row[row.length - 1];
+
+			/* a state with no entries of its own never matches the check */
+			if (row.length == 2)
+				continue;
+
+			/* find the first base where all the entries of the row are free */
+			int b;
+			for (b = 0;; b++)
+			{
+				int j;
+				for (j = 0; j < row.length - 2; j += 2)
+				{
+					int index = b + row[j];
+					if (index < length && check[index] != -1)
+						break;
+				}
+				if (j == row.length - 2)
+					break;
+			}
+
+			/* place the row there */
+			base[s] = b;
+			for (int j = 0; j < row.length - 2; j += 2)
+			{
+				int index = b + row[j];
+				if (index >= check.length)
+				{
+					int old_length = check.length;
+					check = java.util.Arrays.copyOf(check, Math.max(2 * old_length, index + 1));
+					value = java.util.Arrays.copyOf(value, check.length);
+					java.util.Arrays.fill(check, old_length, check.length, (short) -1);
+				}
+				check[index] = (short) s;
+				value[index] = row[j + 1];
+				length = Math.max(length, index + 1);
+			}
+		}
+
+		out.println("  protected static final java_cup.runtime.displacement_table " + name + " =");
+		out.println("    new java_cup.runtime.displacement_table(");
+		out.print("      new int[] {");
+		for (int i = 0; i < base.length; i++)
+			emit_table_entry(out, i, base[i], base.length);
+		out.println("},");
+		out.print("      new short[] {");
+		for (int i = 0; i < defaults.length; i++)
+			emit_table_entry(out, i, defaults[i], defaults.length);
+		out.println("},");
+		out.print("      new short[] {");
+		for (int i = 0; i < length; i++)
+			emit_table_entry(out, i, check[i], length);
+		out.println("},");
+		out.print("      new short[] {");
+		for (int i = 0; i < length; i++)
+			emit_table_entry(out, i, value[i], length);
+		out.println("});");
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Emit one entry of an array initializer, 20 entries per line. */
+	protected static void emit_table_entry(PrintStream out, int i, int entry, int length)
+	{
+		if (i % 20 == 0)
+		{
+			out.println();
+			out.print("        ");
+		}
+		out.print(entry);
+		if (i < length - 1)
+			out.print(",");
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/**
 	 * Emit the parser subclass with embedded tables.
 	 * 
@@ -635,9 +817,13 @@ public class emit
 	 *            start production of the grammar.
 	 * @param compact_reduces
 	 *            do we use most frequent reduce as default?
+	 * @param direct_tables
+	 *            do we emit the action and reduce-goto tables in row
+	 *            displacement form?
 	 */
 	public static void parser(PrintStream out, parse_action_table action_table, parse_reduce_table reduce_table,
-			int start_st, production start_prod, boolean compact_reduces) throws internal_error
+			int start_st, production start_prod, boolean compact_reduces, boolean direct_tables)
+			throws internal_error
 	{
 		long start_time = System.currentTimeMillis();
 
@@ -665,8 +851,8 @@ public class emit
 
 		/* emit the various tables */
 		emit_production_table(out);
-		do_action_table(out, action_table, compact_reduces);
-		do_reduce_table(out, reduce_table);
+		do_action_table(out, action_table, compact_reduces, direct_tables);
+		do_reduce_table(out, reduce_table, direct_tables);
 
 		/* instance of the action encapsulation class */
 		out.println("  /** instance of action encapsulation class */");
@@ -686,7 +872,7 @@ public class emit
 		out.println("  public java_cup.runtime.symbol do_action(");
 		out.println("    int                        act_num,");
 		out.println("    java_cup.runtime.lr_parser parser,");
-		out.println("    java.util.Stack            stack,");
+		out.println("    java_cup.runtime.symbol_stack stack,");
 		out.println("    int                        top)");
 		out.println("    throws java.lang.Exception");
 		out.println("  {");
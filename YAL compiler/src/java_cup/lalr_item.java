@@ -1,6 +1,6 @@
 package java_cup;
 
-import java.util.Stack;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 /**
@@ -28,7 +28,8 @@ import java.util.Enumeration;
  * are maintained from each item to the set of items that would need to be
  * updated if symbols are added to its lookahead set. During "lookahead
  * propagation", we add symbols to various lookahead sets and propagate these
- * changes across these dependency links as needed.
+ * changes across these dependency links as needed (see
+ * lalr_state.propagate_all_lookaheads()).
  * 
  * @see java_cup.lalr_item_set
  * @see java_cup.lalr_state
@@ -56,8 +57,6 @@ public class lalr_item extends lr_item_core
 	{
 		super(prod, pos);
 		_lookahead = look;
-		_propagate_items = new Stack();
-		needs_propagation = true;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -103,70 +102,57 @@ public class lalr_item extends lr_item_core
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
-	/** Links to items that the lookahead needs to be propagated to. */
-	protected Stack _propagate_items;
+	/**
+	 * Links to items that the lookahead needs to be propagated to (allocated with
+	 * the first link, since many items have none).
+	 */
+	protected lalr_item _propagate_items[] = null;
+
+	/** Number of links to items that the lookahead needs to be propagated to. */
+	protected int _num_propagate = 0;
+
+	/** Number of links to items that the lookahead needs to be propagated to. */
+	public int num_propagate()
+	{
+		return _num_propagate;
+	}
+
+	/** Item that the lookahead needs to be propagated to, by link number. */
+	public lalr_item propagate_item(int i)
+	{
+		return _propagate_items[i];
+	}
 
-	/** Links to items that the lookahead needs to be propagated to */
-	public Stack propagate_items()
+	/** Change the item a link goes to. */
+	public void set_propagate_item(int i, lalr_item prop_to)
 	{
-		return _propagate_items;
+		_propagate_items[i] = prop_to;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
 	/**
-	 * Flag to indicate that this item needs to propagate its lookahead (whether it
-	 * has changed or not).
+	 * Number of the item during lookahead propagation, or -1 if it has not been
+	 * reached yet.
 	 */
-	protected boolean needs_propagation;
+	protected int _propagate_index = -1;
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
 	/** Add a new item to the set of items we propagate to. */
 	public void add_propagate(lalr_item prop_to)
 	{
-		_propagate_items.push(prop_to);
-		needs_propagation = true;
+		if (_propagate_items == null)
+			_propagate_items = new lalr_item[4];
+		else if (_num_propagate == _propagate_items.length)
+			_propagate_items = Arrays.copyOf(_propagate_items, _num_propagate * 2);
+		_propagate_items[_num_propagate++] = prop_to;
 	}
 
 	/*-----------------------------------------------------------*/
 	/*--- General Methods ---------------------------------------*/
 	/*-----------------------------------------------------------*/
 
-	/**
-	 * Propagate incoming lookaheads through this item to others need to be changed.
-	 * 
-	 * @params incoming symbols to potentially be added to lookahead of this item.
-	 */
-	public void propagate_lookaheads(terminal_set incoming) throws internal_error
-	{
-		boolean change = false;
-
-		/* if we don't need to propagate, then bail out now */
-		if (!needs_propagation && (incoming == null || incoming.empty()))
-			return;
-
-		/* if we have null incoming, treat as an empty set */
-		if (incoming != null)
-		{
-			/* add the incoming to the lookahead of this item */
-			change = lookahead().add(incoming);
-		}
-
-		/* if we changed or need it anyway, propagate across our links */
-		if (change || needs_propagation)
-		{
-			/* don't need to propagate again */
-			needs_propagation = false;
-
-			/* propagate our lookahead into each item we are linked to */
-			for (int i = 0; i < propagate_items().size(); i++)
-				((lalr_item) propagate_items().elementAt(i)).propagate_lookaheads(lookahead());
-		}
-	}
-
-	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
-
 	/**
 	 * Produce the new lalr_item that results from shifting the dot one position to
 	 * the right.
@@ -198,49 +184,20 @@ public class lalr_item extends lr_item_core
 	public terminal_set calc_lookahead(terminal_set lookahead_after) throws internal_error
 	{
 		terminal_set result;
-		int pos;
-		production_part part;
-		symbol sym;
 
 		/* sanity check */
 		if (dot_at_end())
 			throw new internal_error("Attempt to calculate a lookahead set with a completed item");
 
-		/* start with an empty result */
-		result = new terminal_set();
-
-		/* consider all nullable symbols after the one to the right of the dot */
-		for (pos = dot_pos() + 1; pos < the_production().rhs_length(); pos++)
-		{
-			part = the_production().rhs(pos);
-
-			/* consider what kind of production part it is -- skip actions */
-			if (!part.is_action())
-			{
-				sym = ((symbol_part) part).the_symbol();
-
-				/* if its a terminal add it in and we are done */
-				if (!sym.is_non_term())
-				{
-					result.add((terminal) sym);
-					return result;
-				} else
-				{
-					/* otherwise add in first set of the non terminal */
-					result.add(((non_terminal) sym).first_set());
-
-					/* if its nullable we continue adding, if not, we are done */
-					if (!((non_terminal) sym).nullable())
-						return result;
-				}
-			}
-		}
+		/* start with the first set of the symbols after the one to the right of the dot */
+		result = new terminal_set(the_production().first_after_dot(dot_pos()));
 
 		/*
-		 * if we get here everything past the dot was nullable we add in the lookahead
-		 * for after the production and we are done
+		 * if everything past the dot is nullable we add in the lookahead for after
+		 * the production and we are done
 		 */
-		result.add(lookahead_after);
+		if (the_production().nullable_after_dot(dot_pos()))
+			result.add(lookahead_after);
 		return result;
 	}
 
@@ -256,9 +213,6 @@ public class lalr_item extends lr_item_core
 	 */
 	public boolean lookahead_visible() throws internal_error
 	{
-		production_part part;
-		symbol sym;
-
 		/*
 		 * if the dot is at the end, we have a problem, but the cleanest thing to do is
 		 * just return true.
@@ -266,28 +220,8 @@ public class lalr_item extends lr_item_core
 		if (dot_at_end())
 			return true;
 
-		/* walk down the rhs and bail if we get a non-nullable symbol */
-		for (int pos = dot_pos() + 1; pos < the_production().rhs_length(); pos++)
-		{
-			part = the_production().rhs(pos);
-
-			/* skip actions */
-			if (!part.is_action())
-			{
-				sym = ((symbol_part) part).the_symbol();
-
-				/* if its a terminal we fail */
-				if (!sym.is_non_term())
-					return false;
-
-				/* if its not nullable we fail */
-				if (!((non_terminal) sym).nullable())
-					return false;
-			}
-		}
-
-		/* if we get here its all nullable */
-		return true;
+		/* otherwise it is whether the rest of the rhs is all nullable */
+		return the_production().nullable_after_dot(dot_pos());
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -351,10 +285,8 @@ public class lalr_item extends lr_item_core
 
 		// additional output for debugging:
 		// result += " -> ";
-		// for (int i = 0; i<propagate_items().size(); i++)
-		// result += propagate_items().elementAt(i).hashCode() + " ";
-		//
-		// if (needs_propagation) result += " NP";
+		// for (int i = 0; i<num_propagate(); i++)
+		// result += propagate_item(i).hashCode() + " ";
 
 		return result;
 	}
@@ -1,8 +1,8 @@
 
 package java_cup;
 
-import java.util.Hashtable;
 import java.util.Enumeration;
+import java.util.NoSuchElementException;
 
 /**
  * This class represents a set of LALR items. For purposes of building these
@@ -13,6 +13,16 @@ import java.util.Enumeration;
  * This class provides fairly conventional set oriented operations (union,
  * sub/super-set tests, etc.), as well as an LALR "closure" operation (see
  * compute_closure()).
+ * <p>
+ *
+ * The items are kept in a chained hash table of their own, which is enumerated
+ * in the same order as the java.util.Hashtable it replaces: buckets from the
+ * last to the first, and each chain from its most recent entry, with the same
+ * capacities and rehashing. The order in which states are built, and hence
+ * their numbers in the generated tables, follow this order, so keeping it means
+ * that a grammar always gives the same parser. Unlike Hashtable, the table
+ * remembers the last non empty bucket, so taking out the first item does not
+ * search the table each time (see get_one()).
  *
  * @see java_cup.lalr_item
  * @see java_cup.lalr_state
@@ -43,23 +53,90 @@ public class lalr_item_set
 	public lalr_item_set(lalr_item_set other) throws internal_error
 	{
 		not_null(other);
-		_all = (Hashtable) other._all.clone();
+
+		/* copy each chain in order, as Hashtable.clone() does */
+		_table = new entry[other._table.length];
+		for (int i = 0; i < _table.length; i++)
+		{
+			entry last = null;
+			for (entry e = other._table[i]; e != null; e = e.next)
+			{
+				entry copy = new entry(e.hash, e.item, null);
+				if (last == null)
+					_table[i] = copy;
+				else
+					last.next = copy;
+				last = copy;
+			}
+		}
+		_count = other._count;
+		_threshold = other._threshold;
+		_top = other._top;
 	}
 
 	/*-----------------------------------------------------------*/
 	/*--- (Access to) Instance Variables ------------------------*/
 	/*-----------------------------------------------------------*/
 
+	/** An entry of the hash table, in the chain of its bucket. */
+	protected static class entry
+	{
+		entry(int hash, lalr_item item, entry next)
+		{
+			this.hash = hash;
+			this.item = item;
+			this.next = next;
+		}
+
+		final int hash;
+		final lalr_item item;
+		entry next;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/**
-	 * A hash table to implement the set. We store the items using themselves as
-	 * keys.
+	 * The buckets of the hash table implementing the set, each a chain of entries
+	 * with the most recent first. The initial capacity, load factor and growth are
+	 * those of java.util.Hashtable.
 	 */
-	protected Hashtable _all = new Hashtable(11);
+	protected entry _table[] = new entry[11];
+
+	/** Number of items in the set. */
+	protected int _count = 0;
+
+	/** Size of the set beyond which the table is rehashed. */
+	protected int _threshold = (int) (11 * 0.75f);
+
+	/** Index above which all the buckets are empty. */
+	protected int _top = -1;
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
 	/** Access to all elements of the set. */
 	public Enumeration all()
 	{
-		return _all.elements();
+		return new Enumeration()
+		{
+			int index = _top + 1;
+			entry next = null;
+
+			public boolean hasMoreElements()
+			{
+				while (next == null && index > 0)
+					next = _table[--index];
+				return next != null;
+			}
+
+			public Object nextElement()
+			{
+				if (!hasMoreElements())
+					throw new NoSuchElementException("lalr_item_set enumeration");
+				lalr_item result = next.item;
+				next = next.next;
+				return result;
+			}
+		};
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -72,7 +149,7 @@ public class lalr_item_set
 	/** Size of the set */
 	public int size()
 	{
-		return _all.size();
+		return _count;
 	}
 
 	/*-----------------------------------------------------------*/
@@ -87,7 +164,7 @@ public class lalr_item_set
 	 */
 	public boolean contains(lalr_item itm)
 	{
-		return _all.containsKey(itm);
+		return find(itm) != null;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -100,7 +177,36 @@ public class lalr_item_set
 	 */
 	public lalr_item find(lalr_item itm)
 	{
-		return (lalr_item) _all.get(itm);
+		int hash = itm.hashCode();
+
+		for (entry e = _table[(hash & 0x7FFFFFFF) % _table.length]; e != null; e = e.next)
+			if (e.hash == hash && e.item.core_equals(itm))
+				return e.item;
+
+		return null;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * Return the item in the set with a given production and dot position (or null
+	 * if not found).
+	 * 
+	 * @param prod
+	 *            the production of the item we are looking for.
+	 * @param pos
+	 *            the position of the dot in the item we are looking for.
+	 */
+	public lalr_item find(production prod, int pos)
+	{
+		int hash = lr_item_core.core_hashCode(prod, pos);
+		int core = prod.core_index(pos);
+
+		for (entry e = _table[(hash & 0x7FFFFFFF) % _table.length]; e != null; e = e.next)
+			if (e.item.core_index() == core)
+				return e.item;
+
+		return null;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -154,7 +260,7 @@ public class lalr_item_set
 		not_null(itm);
 
 		/* see if an item with a matching core is already there */
-		other = (lalr_item) _all.get(itm);
+		other = find(itm);
 
 		/* if so, merge this lookahead into the original and leave it */
 		if (other != null)
@@ -168,13 +274,50 @@ public class lalr_item_set
 			/* invalidate cached hashcode */
 			hashcode_cache = null;
 
-			_all.put(itm, itm);
+			/* grow the table first if needed, then add at the head of the chain */
+			if (_count >= _threshold)
+				rehash();
+			int hash = itm.hashCode();
+			int index = (hash & 0x7FFFFFFF) % _table.length;
+			_table[index] = new entry(hash, itm, _table[index]);
+			_count++;
+			if (index > _top)
+				_top = index;
 			return itm;
 		}
 	};
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
+	/**
+	 * Grow the table to twice its capacity plus one, moving the entries the way
+	 * java.util.Hashtable.rehash() does (so chains end up in the same order).
+	 */
+	protected void rehash()
+	{
+		entry old_table[] = _table;
+		int capacity = old_table.length * 2 + 1;
+
+		_table = new entry[capacity];
+		_threshold = (int) (capacity * 0.75f);
+		_top = -1;
+		for (int i = old_table.length; i-- > 0;)
+		{
+			for (entry old = old_table[i]; old != null;)
+			{
+				entry e = old;
+				old = old.next;
+				int index = (e.hash & 0x7FFFFFFF) % capacity;
+				e.next = _table[index];
+				_table[index] = e;
+				if (index > _top)
+					_top = index;
+			}
+		}
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/**
 	 * Remove a single item if it is in the set.
 	 * 
@@ -189,7 +332,20 @@ public class lalr_item_set
 		hashcode_cache = null;
 
 		/* remove it from hash table implementing set */
-		_all.remove(itm);
+		int hash = itm.hashCode();
+		int index = (hash & 0x7FFFFFFF) % _table.length;
+		for (entry e = _table[index], prev = null; e != null; prev = e, e = e.next)
+		{
+			if (e.hash == hash && e.item.core_equals(itm))
+			{
+				if (prev == null)
+					_table[index] = e.next;
+				else
+					prev.next = e.next;
+				_count--;
+				return;
+			}
+		}
 	};
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -228,20 +384,27 @@ public class lalr_item_set
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
-	/** Remove and return one item from the set (done in hash order). */
+	/**
+	 * Remove and return one item from the set (done in hash order, that is the
+	 * first item all() would return).
+	 */
 	public lalr_item get_one() throws internal_error
 	{
-		Enumeration the_set;
-		lalr_item result;
+		entry first;
 
-		the_set = all();
-		if (the_set.hasMoreElements())
-		{
-			result = (lalr_item) the_set.nextElement();
-			remove(result);
-			return result;
-		} else
+		/* skip the buckets emptied since the last call */
+		while (_top >= 0 && _table[_top] == null)
+			_top--;
+		if (_top < 0)
 			return null;
+
+		/* invalidate cached hashcode */
+		hashcode_cache = null;
+
+		first = _table[_top];
+		_table[_top] = first.next;
+		_count--;
+		return first.item;
 	}
 
 	/*-----------------------------------------------------------*/
@@ -311,8 +474,8 @@ public class lalr_item_set
 			nt = itm.dot_before_nt();
 			if (nt != null)
 			{
-				/* create the lookahead set based on first after dot */
-				new_lookaheads = itm.calc_lookahead(itm.lookahead());
+				/* the lookahead set is only built when a new item needs it */
+				new_lookaheads = null;
 
 				/* are we going to need to propagate our lookahead to new item */
 				need_prop = itm.lookahead_visible();
@@ -322,11 +485,23 @@ public class lalr_item_set
 				{
 					prod = (production) p.nextElement();
 
-					/* create new item with dot at start and that lookahead */
-					new_itm = new lalr_item(prod, new_lookaheads);
-
-					/* add/merge item into the set */
-					add_itm = add(new_itm);
+					/* merge first after dot into an item already in the set */
+					add_itm = find(prod, 0);
+					if (add_itm != null)
+					{
+						add_itm.lookahead().add(itm.the_production().first_after_dot(itm.dot_pos()));
+						if (need_prop)
+							add_itm.lookahead().add(itm.lookahead());
+						new_itm = null;
+					}
+					/* or create new item with dot at start and that lookahead */
+					else
+					{
+						if (new_lookaheads == null)
+							new_lookaheads = itm.calc_lookahead(itm.lookahead());
+						new_itm = new lalr_item(prod, new_lookaheads);
+						add_itm = add(new_itm);
+					}
 
 					/* if propagation is needed link to that item */
 					if (need_prop)
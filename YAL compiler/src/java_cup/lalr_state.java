@@ -1,6 +1,9 @@
 
 package java_cup;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Enumeration;
 import java.util.Stack;
@@ -112,9 +115,39 @@ public class lalr_state
 	/**
 	 * Hash table to find states by their kernels (i.e, the original, unclosed, set
 	 * of items -- which uniquely define the state). This table stores state objects
-	 * using (a copy of) their kernel item sets as keys.
+	 * using the cores of their kernel items as keys, since the lookaheads of the
+	 * items do not tell states apart.
 	 */
-	protected static Hashtable _all_kernels = new Hashtable();
+	protected static HashMap<kernel_key, lalr_state> _all_kernels = new HashMap<>();
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * The numbers of the cores of the items of a kernel, sorted, so that a kernel
+	 * is looked up without building its items (see lr_item_core.core_index()).
+	 */
+	protected static class kernel_key
+	{
+		kernel_key(int cores[])
+		{
+			Arrays.sort(cores);
+			this.cores = cores;
+			this.hash = Arrays.hashCode(cores);
+		}
+
+		final int cores[];
+		final int hash;
+
+		public boolean equals(Object other)
+		{
+			return other instanceof kernel_key && Arrays.equals(cores, ((kernel_key) other).cores);
+		}
+
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
@@ -230,14 +263,180 @@ public class lalr_state
 	 * propagate link set up for it. This allows additions to the lookahead of one
 	 * item to be included in other items that it was used to directly or indirectly
 	 * create.
+	 * <p>
+	 *
+	 * The complete lookahead of an item is thus the lookahead it was created with,
+	 * together with the complete lookaheads of all the items linked to it. As in
+	 * the digraph algorithm of DeRemer and Pennello (Efficient Computation of
+	 * LALR(1) Look-Ahead Sets, TOPLAS 4(4), 1982), the items are first traversed
+	 * depth first along the links, collapsing each cycle of links (whose items all
+	 * end up with the same lookahead) into one component. The lookaheads are then
+	 * completed one component at a time, from the components no link goes into
+	 * onwards, so that each link is followed once instead of every time the
+	 * lookahead at its start changes.
 	 */
 	protected static void propagate_all_lookaheads() throws internal_error
 	{
-		/* iterate across all states */
+		lalr_item items[], itm, to_itm;
+		int num_items, n, x, y, c;
+		int reached[], num_reached, low[], path[], path_link[], path_size;
+		int cycle[], cycle_size;
+		int component[], members[], first_member[], num_members, num_components;
+		terminal_set complete[], set;
+
+		/* number the items of all states, and the items they are linked to */
+		items = new lalr_item[1024];
+		num_items = 0;
 		for (Enumeration st = all(); st.hasMoreElements();)
 		{
-			/* propagate lookaheads out of that state */
-			((lalr_state) st.nextElement()).propagate_lookaheads();
+			for (Enumeration i = ((lalr_state) st.nextElement()).items().all(); i.hasMoreElements();)
+			{
+				itm = (lalr_item) i.nextElement();
+				if (num_items == items.length)
+					items = Arrays.copyOf(items, num_items * 2);
+				itm._propagate_index = num_items;
+				items[num_items++] = itm;
+			}
+		}
+		for (n = 0; n < num_items; n++)
+		{
+			for (int l = 0; l < items[n].num_propagate(); l++)
+			{
+				to_itm = items[n].propagate_item(l);
+				if (to_itm._propagate_index == -1)
+				{
+					if (num_items == items.length)
+						items = Arrays.copyOf(items, num_items * 2);
+					to_itm._propagate_index = num_items;
+					items[num_items++] = to_itm;
+				}
+			}
+		}
+
+		/*
+		 * find the cycles of links (Tarjan's algorithm). reached[x] counts the items
+		 * reached before x, low[x] is the lowest such count of an item on the cycle
+		 * stack that x is known to reach, and component[x] is -2 until x is reached
+		 * and -1 until the component of x is complete. The traversal keeps its own
+		 * stack (path), since it can go as deep as there are items. Components are
+		 * completed after all the components they link to, and their items are
+		 * listed in that order in members.
+		 */
+		reached = new int[num_items];
+		num_reached = 0;
+		low = new int[num_items];
+		component = new int[num_items];
+		Arrays.fill(component, -2);
+		path = new int[num_items];
+		path_link = new int[num_items];
+		cycle = new int[num_items];
+		cycle_size = 0;
+		members = new int[num_items];
+		first_member = new int[num_items + 1];
+		num_members = 0;
+		num_components = 0;
+		for (n = 0; n < num_items; n++)
+		{
+			if (component[n] != -2)
+				continue;
+
+			/* enter the first item */
+			path_size = 0;
+			reached[n] = low[n] = num_reached++;
+			component[n] = -1;
+			cycle[cycle_size++] = n;
+			path[path_size] = n;
+			path_link[path_size++] = 0;
+
+			while (path_size > 0)
+			{
+				x = path[path_size - 1];
+
+				/* follow the next link out of x */
+				if (path_link[path_size - 1] < items[x].num_propagate())
+				{
+					y = items[x].propagate_item(path_link[path_size - 1]++)._propagate_index;
+					if (component[y] == -2)
+					{
+						/* enter y */
+						reached[y] = low[y] = num_reached++;
+						component[y] = -1;
+						cycle[cycle_size++] = y;
+						path[path_size] = y;
+						path_link[path_size++] = 0;
+					} else if (component[y] == -1 && reached[y] < low[x])
+						low[x] = reached[y];
+					continue;
+				}
+
+				/* all links out of x are done: if x starts a cycle, it is a component */
+				if (low[x] == reached[x])
+				{
+					do
+					{
+						y = cycle[--cycle_size];
+						component[y] = num_components;
+						members[num_members++] = y;
+					} while (y != x);
+					first_member[++num_components] = num_members;
+				}
+
+				/* back to the item x was reached from */
+				path_size--;
+				if (path_size > 0 && low[x] < low[path[path_size - 1]])
+					low[path[path_size - 1]] = low[x];
+			}
+		}
+
+		/*
+		 * complete the lookaheads of the components, the ones linked from first. Most
+		 * components are a single item, whose lookahead set is completed in place. The
+		 * items that share a lookahead set are the items of the productions of one non
+		 * terminal closed in the same state, which are linked from the same items and
+		 * so end up with the same lookahead, so adding to the set early does no harm.
+		 * Larger components are collected in a set of their own first.
+		 */
+		complete = new terminal_set[num_components];
+		for (c = num_components - 1; c >= 0; c--)
+		{
+			/* start from the lookaheads of the items of the component */
+			if (first_member[c + 1] - first_member[c] == 1)
+				set = items[members[first_member[c]]].lookahead();
+			else
+			{
+				set = complete[c];
+				if (set == null)
+					set = complete[c] = new terminal_set();
+				for (int m = first_member[c]; m < first_member[c + 1]; m++)
+					set.add(items[members[m]].lookahead());
+			}
+
+			/* pass it on across the links leaving the component */
+			for (int m = first_member[c]; m < first_member[c + 1]; m++)
+			{
+				itm = items[members[m]];
+				for (int l = 0; l < itm.num_propagate(); l++)
+				{
+					y = component[itm.propagate_item(l)._propagate_index];
+					if (y == c)
+						continue;
+					if (first_member[y + 1] - first_member[y] == 1)
+						items[members[first_member[y]]].lookahead().add(set);
+					else if (complete[y] == null)
+						complete[y] = new terminal_set(set);
+					else
+						complete[y].add(set);
+				}
+			}
+		}
+
+		/* store the lookaheads of the larger components, and forget the numbering */
+		for (n = 0; n < num_items; n++)
+		{
+			set = complete[component[n]];
+			if (set != null)
+				items[n].lookahead().add(set);
+			items[n]._propagate_index = -1;
 		}
 	}
 
@@ -314,14 +513,14 @@ public class lalr_state
 		lalr_state start_state;
 		lalr_item_set start_items;
 		lalr_item_set new_items;
-		lalr_item_set linked_items;
-		lalr_item_set kernel;
-		Stack work_stack = new Stack();
+		Stack<lalr_state> work_stack = new Stack<>();
 		lalr_state st, new_st;
 		symbol_set outgoing;
-		lalr_item itm, new_itm, existing, fix_itm;
-		symbol sym, sym2;
-		Enumeration i, s, fix;
+		HashMap<symbol, ArrayList<lalr_item>> shifting;
+		ArrayList<lalr_item> shift_items;
+		lalr_item itm, existing;
+		symbol sym;
+		int cores[];
 
 		/* sanity check */
 		if (start_prod == null)
@@ -333,9 +532,6 @@ public class lalr_state
 		itm.lookahead().add(terminal.EOF);
 		start_items.add(itm);
 
-		/* create copy the item set to form the kernel */
-		kernel = new lalr_item_set(start_items);
-
 		/* create the closure from that item set */
 		start_items.compute_closure();
 
@@ -343,65 +539,66 @@ public class lalr_state
 		start_state = new lalr_state(start_items);
 		work_stack.push(start_state);
 
-		/* enter the state using the kernel as the key */
-		_all_kernels.put(kernel, start_state);
+		/* enter the state using the core of that item as the kernel */
+		_all_kernels.put(new kernel_key(new int[] { itm.core_index() }), start_state);
 
 		/* continue looking at new states until we have no more work to do */
 		while (!work_stack.empty())
 		{
 			/* remove a state from the work set */
-			st = (lalr_state) work_stack.pop();
+			st = work_stack.pop();
 
-			/* gather up all the symbols that appear before dots */
+			/*
+			 * gather up all the symbols that appear before dots, and for each of them the
+			 * items it appears in (in the order of the item set)
+			 */
 			outgoing = new symbol_set();
-			for (i = st.items().all(); i.hasMoreElements();)
+			shifting = new HashMap<>();
+			for (Enumeration<?> i = st.items().all(); i.hasMoreElements();)
 			{
 				itm = (lalr_item) i.nextElement();
 
 				/* add the symbol before the dot (if any) to our collection */
 				sym = itm.symbol_after_dot();
 				if (sym != null)
+				{
 					outgoing.add(sym);
+					shift_items = shifting.get(sym);
+					if (shift_items == null)
+					{
+						shift_items = new ArrayList<>();
+						shifting.put(sym, shift_items);
+					}
+					shift_items.add(itm);
+				}
 			}
 
 			/* now create a transition out for each individual symbol */
-			for (s = outgoing.all(); s.hasMoreElements();)
+			for (Enumeration<?> s = outgoing.all(); s.hasMoreElements();)
 			{
 				sym = (symbol) s.nextElement();
-
-				/* will be keeping the set of items with propagate links */
-				linked_items = new lalr_item_set();
+				shift_items = shifting.get(sym);
 
 				/*
-				 * gather up shifted versions of all the items that have this symbol before the
-				 * dot
+				 * the kernel of the state reached is made of the cores of those items with
+				 * the dot shifted past the symbol, which are numbered right after theirs
 				 */
-				new_items = new lalr_item_set();
-				for (i = st.items().all(); i.hasMoreElements();)
-				{
-					itm = (lalr_item) i.nextElement();
-
-					/* if this is the symbol we are working on now, add to set */
-					sym2 = itm.symbol_after_dot();
-					if (sym.equals(sym2))
-					{
-						/* add to the kernel of the new state */
-						new_items.add(itm.shift());
-
-						/* remember that itm has propagate link to it */
-						linked_items.add(itm);
-					}
-				}
-
-				/* use new items as state kernel */
-				kernel = new lalr_item_set(new_items);
+				cores = new int[shift_items.size()];
+				for (int n = 0; n < cores.length; n++)
+					cores[n] = shift_items.get(n).core_index() + 1;
 
 				/* have we seen this one already? */
-				new_st = (lalr_state) _all_kernels.get(kernel);
+				kernel_key key = new kernel_key(cores);
+				new_st = _all_kernels.get(key);
 
-				/* if we haven't, build a new state out of the item set */
+				/* if we haven't, build a new state out of the shifted items */
 				if (new_st == null)
 				{
+					/* gather up shifted versions of the items, each linked from its item */
+					new_items = new lalr_item_set();
+					for (int n = 0; n < shift_items.size(); n++)
+						new_items.add(shift_items.get(n).shift());
+
 					/* compute closure of the kernel for the full item set */
 					new_items.compute_closure();
 
@@ -412,29 +609,27 @@ public class lalr_state
 					work_stack.push(new_st);
 
 					/* put it in our kernel table */
-					_all_kernels.put(kernel, new_st);
+					_all_kernels.put(key, new_st);
 				}
-				/* otherwise relink propagation to items in existing state */
+				/* otherwise link propagation to items in existing state */
 				else
 				{
-					/* walk through the items that have links to the new state */
-					for (fix = linked_items.all(); fix.hasMoreElements();)
+					for (int n = 0; n < shift_items.size(); n++)
 					{
-						fix_itm = (lalr_item) fix.nextElement();
-
-						/* look at each propagate link out of that item */
-						for (int l = 0; l < fix_itm.propagate_items().size(); l++)
+						itm = shift_items.get(n);
+
+						/*
+						 * the item propagates to its shifted version in that state, and, as CUP
+						 * always did, its other propagate links are moved to the items with the
+						 * same cores in that state, if there are any
+						 */
+						for (int l = 0; l < itm.num_propagate(); l++)
 						{
-							/* pull out item linked to in the new state */
-							new_itm = (lalr_item) fix_itm.propagate_items().elementAt(l);
-
-							/* find corresponding item in the existing state */
-							existing = new_st.items().find(new_itm);
-
-							/* fix up the item so it points to the existing set */
+							existing = new_st.items().find(itm.propagate_item(l));
 							if (existing != null)
-								fix_itm.propagate_items().setElementAt(existing, l);
+								itm.set_propagate_item(l, existing);
 						}
+						itm.add_propagate(new_st.items().find(itm.the_production(), itm.dot_pos() + 1));
 					}
 				}
 
@@ -453,19 +648,6 @@ public class lalr_state
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
-	/**
-	 * Propagate lookahead sets out of this state. This recursively propagates to
-	 * all items that have propagation links from some item in this state.
-	 */
-	protected void propagate_lookaheads() throws internal_error
-	{
-		/* recursively propagate out from each item in the state */
-		for (Enumeration itm = items().all(); itm.hasMoreElements();)
-			((lalr_item) itm.nextElement()).propagate_lookaheads(null);
-	}
-
-	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
-
 	/**
 	 * Fill in the parse table entries for this state. There are two parse tables
 	 * that encode the viable prefix recognition machine, an action table and a
@@ -514,12 +696,8 @@ public class lalr_state
 				act = new reduce_action(itm.the_production());
 
 				/* consider each lookahead symbol */
-				for (int t = 0; t < terminal.number(); t++)
+				for (int t = itm.lookahead().next_member(0); t >= 0; t = itm.lookahead().next_member(t + 1))
 				{
-					/* skip over the ones not in the lookahead */
-					if (!itm.lookahead().contains(t))
-						continue;
-
 					/* if we don't already have an action put this one in */
 					if (our_act_row.under_term[t].kind() == parse_action.ERROR)
 					{
@@ -55,7 +55,10 @@ public class lr_item_core
 		_dot_pos = pos;
 
 		/* compute and cache hash code now */
-		_core_hash_cache = 13 * _the_production.hashCode() + pos;
+		_core_hash_cache = core_hashCode(_the_production, pos);
+
+		/* and the number of the core */
+		_core_index = _the_production.core_index(pos);
 
 		/* cache the symbol after the dot */
 		if (_dot_pos < _the_production.rhs_length())
@@ -116,6 +119,23 @@ public class lr_item_core
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
+	/**
+	 * Number of the core, the same for all items with this production and dot
+	 * position, and different for all others (see production.core_index()).
+	 */
+	protected int _core_index;
+
+	/**
+	 * Number of the core, the same for all items with this production and dot
+	 * position, and different for all others (see production.core_index()).
+	 */
+	public int core_index()
+	{
+		return _core_index;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/** Cache of symbol after the dot. */
 	protected symbol _symbol_after_dot = null;
 
@@ -181,7 +201,7 @@ public class lr_item_core
 	 */
 	public boolean core_equals(lr_item_core other)
 	{
-		return other != null && _the_production.equals(other._the_production) && _dot_pos == other._dot_pos;
+		return other != null && _core_index == other._core_index;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -213,6 +233,17 @@ public class lr_item_core
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
+	/**
+	 * Hash code of the core with a given production and dot position (so that a
+	 * set can look for a core without building it).
+	 */
+	public static int core_hashCode(production prod, int pos)
+	{
+		return 13 * prod.hashCode() + pos;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/** Hash code for the item. */
 	public int hashCode()
 	{
@@ -153,8 +153,8 @@ public class parser extends java_cup.runtime.lr_parser
 	}
 
 	/** invoke a user supplied parse action */
-	public java_cup.runtime.symbol do_action(int act_num, java_cup.runtime.lr_parser parser, java.util.Stack stack,
-			int top) throws java.lang.Exception
+	public java_cup.runtime.symbol do_action(int act_num, java_cup.runtime.lr_parser parser,
+			java_cup.runtime.symbol_stack stack, int top) throws java.lang.Exception
 	{
 		/* call code in generated class */
 		return action_obj.CUP$do_action(act_num, parser, stack, top);
@@ -287,7 +287,7 @@ class CUP$actions
 
 	/** Method with the actual generated action code. */
 	public final java_cup.runtime.symbol CUP$do_action(int CUP$act_num, java_cup.runtime.lr_parser CUP$parser,
-			java.util.Stack CUP$stack, int CUP$top) throws java.lang.Exception
+			java_cup.runtime.symbol_stack CUP$stack, int CUP$top) throws java.lang.Exception
 	{
 		/* object for return from actions */
 		java_cup.runtime.symbol CUP$result;
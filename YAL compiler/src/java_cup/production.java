@@ -1,6 +1,7 @@
 
 package java_cup;
 
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.Enumeration;
 
@@ -122,6 +123,10 @@ public class production
 		/* assign an index */
 		_index = next_index++;
 
+		/* number the item cores of each dot position */
+		_first_core = next_core;
+		next_core += _rhs_length + 1;
+
 		/* put us in the global collection of productions */
 		_all.put(new Integer(_index), this);
 
@@ -163,6 +168,9 @@ public class production
 	/** Static counter for assigning unique index numbers. */
 	protected static int next_index;
 
+	/** Static counter for numbering the item cores of all productions. */
+	protected static int next_core;
+
 	/*-----------------------------------------------------------*/
 	/*--- (Access to) Instance Variables ------------------------*/
 	/*-----------------------------------------------------------*/
@@ -231,6 +239,113 @@ public class production
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
+	/**
+	 * Number of the item core with the dot at the start of this production. The
+	 * cores of a production are numbered consecutively, one per dot position, so
+	 * every core of the grammar has a number of its own.
+	 */
+	protected int _first_core;
+
+	/**
+	 * Number of the item core of this production with the dot at a given position.
+	 * 
+	 * @param pos
+	 *            the position of the dot.
+	 */
+	public int core_index(int pos)
+	{
+		return _first_core + pos;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * For each position of the dot, the first set of the part of the right hand
+	 * side after the symbol following the dot (null until computed, which needs
+	 * the first sets of the non terminals).
+	 */
+	protected terminal_set _first_after_dot[];
+
+	/**
+	 * For each position of the dot, whether the part of the right hand side after
+	 * the symbol following the dot is nullable.
+	 */
+	protected boolean _nullable_after_dot[];
+
+	/**
+	 * The first set of the part of the right hand side after the symbol following
+	 * the dot at a given position. The set is shared, so it must not be changed.
+	 * 
+	 * @param pos
+	 *            the position of the dot.
+	 */
+	public terminal_set first_after_dot(int pos) throws internal_error
+	{
+		if (_first_after_dot == null)
+			compute_after_dot();
+		return _first_after_dot[pos];
+	}
+
+	/**
+	 * Is the part of the right hand side after the symbol following the dot at a
+	 * given position nullable?
+	 * 
+	 * @param pos
+	 *            the position of the dot.
+	 */
+	public boolean nullable_after_dot(int pos) throws internal_error
+	{
+		if (_first_after_dot == null)
+			compute_after_dot();
+		return _nullable_after_dot[pos];
+	}
+
+	/**
+	 * Compute the first sets and nullability of the parts of the right hand side
+	 * after each position, from the end backwards.
+	 */
+	protected void compute_after_dot() throws internal_error
+	{
+		terminal_set first[] = new terminal_set[_rhs_length + 2];
+		boolean nullable[] = new boolean[_rhs_length + 2];
+		production_part part;
+		symbol sym;
+
+		/* first[i] and nullable[i] describe the parts from i on */
+		first[_rhs_length] = first[_rhs_length + 1] = new terminal_set();
+		nullable[_rhs_length] = nullable[_rhs_length + 1] = true;
+		for (int pos = _rhs_length - 1; pos >= 0; pos--)
+		{
+			part = rhs(pos);
+			if (part.is_action())
+			{
+				first[pos] = first[pos + 1];
+				nullable[pos] = nullable[pos + 1];
+				continue;
+			}
+
+			sym = ((symbol_part) part).the_symbol();
+			if (!sym.is_non_term())
+			{
+				first[pos] = new terminal_set();
+				first[pos].add((terminal) sym);
+				nullable[pos] = false;
+			} else
+			{
+				first[pos] = new terminal_set(((non_terminal) sym).first_set());
+				if (((non_terminal) sym).nullable())
+					first[pos].add(first[pos + 1]);
+				nullable[pos] = ((non_terminal) sym).nullable() && nullable[pos + 1];
+			}
+		}
+
+		/* the dot at pos is followed by a symbol, so what comes after starts at pos + 1 */
+		_first_after_dot = Arrays.copyOfRange(first, 1, _rhs_length + 2);
+		_nullable_after_dot = Arrays.copyOfRange(nullable, 1, _rhs_length + 2);
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/** Count of number of reductions using this production. */
 	protected int _num_reductions = 0;
 
@@ -0,0 +1,78 @@
+
+package java_cup.runtime;
+
+/**
+ * This class represents a parse table (the action table or the reduce-goto
+ * table) in row displacement form, so that an entry is found in constant time
+ * rather than searched for in its row. The rows of all states are overlaid in
+ * the check and value arrays: the entry of a state for a symbol is at index
+ * base[state] + symbol, and it belongs to that state only if check holds the
+ * number of the state there. Otherwise the state has no entry of its own for
+ * the symbol and the default entry of the state applies.
+ *
+ * Tables in this form are built by the parser generator when the -direct_tables
+ * option is given (see java_cup.emit).
+ *
+ * @see java_cup.runtime.lr_parser#get_action
+ * @see java_cup.runtime.lr_parser#get_reduce
+ */
+public class displacement_table
+{
+	/*-----------------------------------------------------------*/
+	/*--- Constructor(s) ----------------------------------------*/
+	/*-----------------------------------------------------------*/
+
+	/** Full constructor. */
+	public displacement_table(int base[], short defaults[], short check[], short value[])
+	{
+		this.base = base;
+		this.defaults = defaults;
+		this.check = check;
+		this.value = value;
+	}
+
+	/*-----------------------------------------------------------*/
+	/*--- (Access to) Instance Variables ------------------------*/
+	/*-----------------------------------------------------------*/
+
+	/** Index of the (virtual) start of the row of each state. */
+	protected final int base[];
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Entry of each state for the symbols it has no entry of its own for. */
+	protected final short defaults[];
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** State that owns each entry, or -1 for unused entries. */
+	protected final short check[];
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** The entries of all states. */
+	protected final short value[];
+
+	/*-----------------------------------------------------------*/
+	/*--- General Methods ---------------------------------------*/
+	/*-----------------------------------------------------------*/
+
+	/**
+	 * Fetch the entry of a state for a symbol.
+	 *
+	 * @param state
+	 *            the state index of the entry being accessed.
+	 * @param sym
+	 *            the symbol index of the entry being accessed.
+	 */
+	public final short get(int state, int sym)
+	{
+		int index = base[state] + sym;
+		if (index < check.length && check[index] == state)
+			return value[index];
+		return defaults[state];
+	}
+
+	/*-----------------------------------------------------------*/
+
+};
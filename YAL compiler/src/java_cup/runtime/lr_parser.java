@@ -1,8 +1,6 @@
 
 package java_cup.runtime;
 
-import java.util.Stack;
-
 /**
  * This class implements a skeleton table driven LR parser. In general, LR
  * parsers are a form of bottom up shift-reduce parsers. Shift-reduce parsers
@@ -53,6 +51,9 @@ import java.util.Stack;
  * <dd>Provides a reference to the parse action table.
  * <dt>short[][] reduce_table()
  * <dd>Provides a reference to the reduce-goto table.
+ * <dt>displacement_table action_direct_table(), reduce_direct_table()
+ * <dd>Provide the same two tables in row displacement form instead, for parsers
+ * generated with the -direct_tables option.
  * <dt>int start_state()
  * <dd>Indicates the index of the start state.
  * <dt>int start_production()
@@ -169,9 +170,15 @@ public abstract class lr_parser
 	 * greater than the state shifted to). Reduces are encoded as negative values
 	 * (one less than the production reduced by). Error entries are denoted by zero.
 	 * 
+	 * Parsers whose tables were generated in row displacement form supply
+	 * action_direct_table() instead, and return null here.
+	 * 
 	 * @see java_cup.runtime.lr_parser#get_action
 	 */
-	public abstract short[][] action_table();
+	public short[][] action_table()
+	{
+		return null;
+	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
@@ -186,9 +193,43 @@ public abstract class lr_parser
 	 * that state and the LHS of the reducing production to indicate where to
 	 * "shift" to.
 	 *
+	 * Parsers whose tables were generated in row displacement form supply
+	 * reduce_direct_table() instead, and return null here.
+	 *
 	 * @see java_cup.runtime.lr_parser#get_reduce
 	 */
-	public abstract short[][] reduce_table();
+	public short[][] reduce_table()
+	{
+		return null;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * The action table in row displacement form, whose entries are found in
+	 * constant time (supplied by generated subclasses built with the -direct_tables
+	 * option, null otherwise). When present it is used instead of action_table().
+	 *
+	 * @see java_cup.runtime.displacement_table
+	 */
+	public displacement_table action_direct_table()
+	{
+		return null;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * The reduce-goto table in row displacement form (supplied by generated
+	 * subclasses built with the -direct_tables option, null otherwise). When
+	 * present it is used instead of reduce_table().
+	 *
+	 * @see java_cup.runtime.displacement_table
+	 */
+	public displacement_table reduce_direct_table()
+	{
+		return null;
+	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
@@ -247,7 +288,7 @@ public abstract class lr_parser
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
 	/** The parse stack itself. */
-	protected Stack stack = new Stack();
+	protected symbol_stack stack = new symbol_stack();
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
@@ -264,6 +305,16 @@ public abstract class lr_parser
 	/** Direct reference to the reduce-goto table. */
 	protected short[][] reduce_tab;
 
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Direct reference to the action table in row displacement form, if any. */
+	protected displacement_table action_direct;
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Direct reference to the reduce-goto table in row displacement form, if any. */
+	protected displacement_table reduce_direct;
+
 	/*-----------------------------------------------------------*/
 	/*--- General Methods ---------------------------------------*/
 	/*-----------------------------------------------------------*/
@@ -282,7 +333,8 @@ public abstract class lr_parser
 	 * @param top
 	 *            the index of the top element of the parse stack.
 	 */
-	public abstract symbol do_action(int act_num, lr_parser parser, Stack stack, int top) throws java.lang.Exception;
+	public abstract symbol do_action(int act_num, lr_parser parser, symbol_stack stack, int top)
+			throws java.lang.Exception;
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
@@ -396,7 +448,8 @@ public abstract class lr_parser
 	 * list of index, value pairs are given (as sequential entries in the table),
 	 * and the list is terminated by a default entry (denoted with a symbol index of
 	 * -1). To find the proper entry in a row we do a linear or binary search
-	 * (depending on the size of the row).
+	 * (depending on the size of the row). If the parser has the table in row
+	 * displacement form, the entry is taken from it directly instead.
 	 *
 	 * @param state
 	 *            the state index of the action being accessed.
@@ -407,7 +460,13 @@ public abstract class lr_parser
 	{
 		short tag;
 		int first, last, probe;
-		short[] row = action_tab[state];
+		short[] row;
+
+		/* direct lookup if we have the table in row displacement form */
+		if (action_direct != null)
+			return action_direct.get(state, sym);
+
+		row = action_tab[state];
 
 		/* linear search if we are < 10 entries */
 		if (row.length < 20)
@@ -455,7 +514,9 @@ public abstract class lr_parser
 	 * one per state (rows are indexed directly by state number). Within each row, a
 	 * list of index, value pairs are given (as sequential entries in the table),
 	 * and the list is terminated by a default entry (denoted with a symbol index of
-	 * -1). To find the proper entry in a row we do a linear search.
+	 * -1). To find the proper entry in a row we do a linear search. If the parser
+	 * has the table in row displacement form, the entry is taken from it directly
+	 * instead.
 	 *
 	 * @param state
 	 *            the state index of the entry being accessed.
@@ -465,7 +526,13 @@ public abstract class lr_parser
 	protected final short get_reduce(int state, int sym)
 	{
 		short tag;
-		short[] row = reduce_tab[state];
+		short[] row;
+
+		/* direct lookup if we have the table in row displacement form */
+		if (reduce_direct != null)
+			return reduce_direct.get(state, sym);
+
+		row = reduce_tab[state];
 
 		/* if we have a null row we go with the default */
 		if (row == null)
@@ -510,6 +577,8 @@ public abstract class lr_parser
 		production_tab = production_table();
 		action_tab = action_table();
 		reduce_tab = reduce_table();
+		action_direct = action_direct_table();
+		reduce_direct = reduce_direct_table();
 
 		/* initialize the action encapsulation object */
 		init_actions();
@@ -530,7 +599,7 @@ public abstract class lr_parser
 			/* current state is always on the top of the stack */
 
 			/* look up action out of the current state with the current input */
-			act = get_action(((symbol) stack.peek()).parse_state, cur_token.sym);
+			act = get_action(stack.peek().parse_state, cur_token.sym);
 
 			/* decode the action -- > 0 encodes shift */
 			if (act > 0)
@@ -561,7 +630,7 @@ public abstract class lr_parser
 				}
 
 				/* look up the state to go to from the one popped back to */
-				act = get_reduce(((symbol) stack.peek()).parse_state, lhs_sym_num);
+				act = get_reduce(stack.peek().parse_state, lhs_sym_num);
 
 				/* shift to that state */
 				lhs_sym.parse_state = act;
@@ -617,8 +686,8 @@ public abstract class lr_parser
 		/* dump the stack */
 		for (int i = 0; i < stack.size(); i++)
 		{
-			debug_message("Symbol: " + ((symbol) stack.elementAt(i)).sym + " State: "
-					+ ((symbol) stack.elementAt(i)).parse_state);
+			debug_message("Symbol: " + stack.elementAt(i).sym + " State: "
+					+ stack.elementAt(i).parse_state);
 		}
 		debug_message("==========================================");
 	}
@@ -676,6 +745,8 @@ public abstract class lr_parser
 		production_tab = production_table();
 		action_tab = action_table();
 		reduce_tab = reduce_table();
+		action_direct = action_direct_table();
+		reduce_direct = reduce_direct_table();
 
 		debug_message("# Initializing parser");
 
@@ -700,7 +771,7 @@ public abstract class lr_parser
 			/* current state is always on the top of the stack */
 
 			/* look up action out of the current state with the current input */
-			act = get_action(((symbol) stack.peek()).parse_state, cur_token.sym);
+			act = get_action(stack.peek().parse_state, cur_token.sym);
 
 			/* decode the action -- > 0 encodes shift */
 			if (act > 0)
@@ -735,7 +806,7 @@ public abstract class lr_parser
 				}
 
 				/* look up the state to go to from the one popped back to */
-				act = get_reduce(((symbol) stack.peek()).parse_state, lhs_sym_num);
+				act = get_reduce(stack.peek().parse_state, lhs_sym_num);
 
 				/* shift to that state */
 				lhs_sym.parse_state = act;
@@ -853,7 +924,7 @@ public abstract class lr_parser
 	protected boolean shift_under_error()
 	{
 		/* is there a shift under error symbol */
-		return get_action(((symbol) stack.peek()).parse_state, error_sym()) > 0;
+		return get_action(stack.peek().parse_state, error_sym()) > 0;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -879,7 +950,7 @@ public abstract class lr_parser
 		{
 			/* pop the stack */
 			if (debug)
-				debug_message("# Pop stack by one, state was # " + ((symbol) stack.peek()).parse_state);
+				debug_message("# Pop stack by one, state was # " + stack.peek().parse_state);
 			stack.pop();
 			tos--;
 
@@ -893,10 +964,10 @@ public abstract class lr_parser
 		}
 
 		/* state on top of the stack can shift under error, find the shift */
-		act = get_action(((symbol) stack.peek()).parse_state, error_sym());
+		act = get_action(stack.peek().parse_state, error_sym());
 		if (debug)
 		{
-			debug_message("# Recover state found (#" + ((symbol) stack.peek()).parse_state + ")");
+			debug_message("# Recover state found (#" + stack.peek().parse_state + ")");
 			debug_message("# Shifting on error to state #" + (act - 1));
 		}
 
@@ -1086,7 +1157,7 @@ public abstract class lr_parser
 		{
 			debug_message("# Reparsing saved input with actions");
 			debug_message("# Current token is #" + cur_err_token().sym);
-			debug_message("# Current state is #" + ((symbol) stack.peek()).parse_state);
+			debug_message("# Current state is #" + stack.peek().parse_state);
 		}
 
 		/* continue until we accept or have read all lookahead input */
@@ -1095,7 +1166,7 @@ public abstract class lr_parser
 			/* current state is always on the top of the stack */
 
 			/* look up action out of the current state with the current input */
-			act = get_action(((symbol) stack.peek()).parse_state, cur_err_token().sym);
+			act = get_action(stack.peek().parse_state, cur_err_token().sym);
 
 			/* decode the action -- > 0 encodes shift */
 			if (act > 0)
@@ -1144,7 +1215,7 @@ public abstract class lr_parser
 				}
 
 				/* look up the state to go to from the one popped back to */
-				act = get_reduce(((symbol) stack.peek()).parse_state, lhs_sym_num);
+				act = get_reduce(stack.peek().parse_state, lhs_sym_num);
 
 				/* shift to that state */
 				lhs_sym.parse_state = act;
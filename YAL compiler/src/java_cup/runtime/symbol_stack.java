@@ -0,0 +1,99 @@
+
+package java_cup.runtime;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * This class implements the parse stack of symbols. It has the methods of
+ * java.util.Stack used by the parser and by generated action code, but it is
+ * backed by a plain array and is not synchronized, since each parse stack is
+ * only used by the parser that owns it.
+ *
+ * @see java_cup.runtime.lr_parser
+ * @see java_cup.runtime.virtual_parse_stack
+ */
+public class symbol_stack
+{
+	/*-----------------------------------------------------------*/
+	/*--- (Access to) Instance Variables ------------------------*/
+	/*-----------------------------------------------------------*/
+
+	/** The symbols on the stack, from the bottom up. */
+	protected symbol elements[] = new symbol[64];
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** The number of symbols on the stack. */
+	protected int size = 0;
+
+	/*-----------------------------------------------------------*/
+	/*--- General Methods ---------------------------------------*/
+	/*-----------------------------------------------------------*/
+
+	/** Push a symbol onto the stack, and return it. */
+	public final symbol push(symbol sym)
+	{
+		if (size == elements.length)
+			elements = Arrays.copyOf(elements, size * 2);
+		elements[size++] = sym;
+		return sym;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Pop the symbol on the top of the stack, and return it. */
+	public final symbol pop()
+	{
+		if (size == 0)
+			throw new EmptyStackException();
+
+		symbol sym = elements[--size];
+		elements[size] = null;
+		return sym;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Return the symbol on the top of the stack (without popping it). */
+	public final symbol peek()
+	{
+		if (size == 0)
+			throw new EmptyStackException();
+
+		return elements[size - 1];
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Indicate whether the stack is empty. */
+	public final boolean empty()
+	{
+		return size == 0;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** Return the number of symbols on the stack. */
+	public final int size()
+	{
+		return size;
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/**
+	 * Return the symbol at the given index, counted from the bottom of the stack
+	 * (this is how generated action code reaches the right hand side symbols).
+	 */
+	public final symbol elementAt(int index)
+	{
+		if (index >= size)
+			throw new ArrayIndexOutOfBoundsException(index + " >= " + size);
+
+		return elements[index];
+	}
+
+	/*-----------------------------------------------------------*/
+
+};
@@ -1,7 +1,7 @@
 
 package java_cup.runtime;
 
-import java.util.Stack;
+import java.util.Arrays;
 
 /**
  * This class implements a temporary or "virtual" parse stack that replaces the
@@ -26,7 +26,7 @@ public class virtual_parse_stack
 	/*-----------------------------------------------------------*/
 
 	/** Constructor to build a virtual stack out of a real stack. */
-	public virtual_parse_stack(Stack shadowing_stack) throws java.lang.Exception
+	public virtual_parse_stack(symbol_stack shadowing_stack) throws java.lang.Exception
 	{
 		/* sanity check */
 		if (shadowing_stack == null)
@@ -34,7 +34,8 @@ public class virtual_parse_stack
 
 		/* set up our internals */
 		real_stack = shadowing_stack;
-		vstack = new Stack();
+		vstack = new int[16];
+		vsize = 0;
 		real_next = 0;
 
 		/* get one element onto the virtual portion of the stack */
@@ -49,7 +50,7 @@ public class virtual_parse_stack
 	 * The real stack that we shadow. This is accessed when we move off the bottom
 	 * of the virtual portion of the stack, but is always left unmodified.
 	 */
-	protected Stack real_stack;
+	protected symbol_stack real_stack;
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
@@ -63,13 +64,18 @@ public class virtual_parse_stack
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
 	/**
-	 * The virtual top portion of the stack. This stack contains Integer objects
-	 * with state numbers. This stack shadows the top portion of the real stack
+	 * The virtual top portion of the stack. This array contains the state numbers
+	 * from the bottom up. This stack shadows the top portion of the real stack
 	 * within the area that has been modified (via operations on the virtual stack).
 	 * When this portion of the stack becomes empty we transfer elements from the
 	 * underlying stack onto this stack.
 	 */
-	protected Stack vstack;
+	protected int vstack[];
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
+	/** The number of state numbers in the virtual portion of the stack. */
+	protected int vsize;
 
 	/*-----------------------------------------------------------*/
 	/*--- General Methods ---------------------------------------*/
@@ -88,13 +94,13 @@ public class virtual_parse_stack
 			return;
 
 		/* get a copy of the first symbol we have not transfered */
-		stack_sym = (symbol) real_stack.elementAt(real_stack.size() - 1 - real_next);
+		stack_sym = real_stack.elementAt(real_stack.size() - 1 - real_next);
 
 		/* record the transfer */
 		real_next++;
 
 		/* put the state number from the symbol onto the virtual stack */
-		vstack.push(new Integer(stack_sym.parse_state));
+		push(stack_sym.parse_state);
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -106,7 +112,7 @@ public class virtual_parse_stack
 		 * if vstack is empty then we were unable to transfer onto it and the whole
 		 * thing is empty.
 		 */
-		return vstack.empty();
+		return vsize == 0;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -114,10 +120,10 @@ public class virtual_parse_stack
 	/** Return value on the top of the stack (without popping it). */
 	public int top() throws java.lang.Exception
 	{
-		if (vstack.empty())
+		if (vsize == 0)
 			throw new Exception("Internal parser error: top() called on empty virtual stack");
 
-		return ((Integer) vstack.peek()).intValue();
+		return vstack[vsize - 1];
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -125,14 +131,14 @@ public class virtual_parse_stack
 	/** Pop the stack. */
 	public void pop() throws java.lang.Exception
 	{
-		if (vstack.empty())
+		if (vsize == 0)
 			throw new Exception("Internal parser error: pop from empty virtual stack");
 
 		/* pop it */
-		vstack.pop();
+		vsize--;
 
 		/* if we are now empty transfer an element (if there is one) */
-		if (vstack.empty())
+		if (vsize == 0)
 			get_from_real();
 	}
 
@@ -141,7 +147,9 @@ public class virtual_parse_stack
 	/** Push a state number onto the stack. */
 	public void push(int state_num)
 	{
-		vstack.push(new Integer(state_num));
+		if (vsize == vstack.length)
+			vstack = Arrays.copyOf(vstack, vsize * 2);
+		vstack[vsize++] = state_num;
 	}
 
 	/*-----------------------------------------------------------*/
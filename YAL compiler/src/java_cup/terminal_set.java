@@ -73,7 +73,7 @@ public class terminal_set
 	/** Determine if the set is empty. */
 	public boolean empty()
 	{
-		return equals(EMPTY);
+		return _elements.isEmpty();
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -105,6 +105,20 @@ public class terminal_set
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
 
+	/**
+	 * Find the first terminal of the set at or after a given index.
+	 * 
+	 * @param indx
+	 *            the index to start looking from.
+	 * @return the index of that terminal, or -1 if there is none.
+	 */
+	public int next_member(int indx)
+	{
+		return _elements.nextSetBit(indx);
+	}
+
+	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
+
 	/**
 	 * Determine if this set is an (improper) subset of another.
 	 * 
@@ -115,14 +129,12 @@ public class terminal_set
 	{
 		not_null(other);
 
-		/* make a copy of the other set */
-		BitSet copy_other = (BitSet) other._elements.clone();
-
-		/* and or in */
-		copy_other.or(_elements);
+		/* look for one of our elements that the other set is missing */
+		for (int t = _elements.nextSetBit(0); t >= 0; t = _elements.nextSetBit(t + 1))
+			if (!other._elements.get(t))
+				return false;
 
-		/* if it hasn't changed, we were a subset */
-		return copy_other.equals(other._elements);
+		return true;
 	}
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -189,16 +201,16 @@ public class terminal_set
 	 */
 	public boolean add(terminal_set other) throws internal_error
 	{
-		not_null(other);
+		int old_size;
 
-		/* make a copy */
-		BitSet copy = (BitSet) _elements.clone();
+		not_null(other);
 
 		/* or in the other set */
+		old_size = _elements.cardinality();
 		_elements.or(other._elements);
 
-		/* changed if we are not the same as the copy */
-		return !_elements.equals(copy);
+		/* changed if we gained elements */
+		return _elements.cardinality() != old_size;
 	};
 
 	/* . . . . . . . . . . . . . . . . . . . . . . . . . . . . . . */
@@ -0,0 +1,577 @@
+package yal2jvm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of compilations, shared by compiler processes. Each entry holds
+ * the files written by the compilation of a module, and is named by a hash of the
+ * source, of the options that change the output and of the compiler itself. Entries
+ * are written to a temporary file and renamed, so processes never read a partial
+ * entry. When the cache grows over its maximum size, the least recently used
+ * entries are deleted. The cache also keeps the instructions of single functions,
+ * for the function cache of the back end.
+ */
+public class CompilationCache
+{
+	private static final String ENTRY_SUFFIX = ".entry";
+	private static final String FUNCTION_SUFFIX = ".function";
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+	private static final String STATISTICS_FILE = "statistics";
+	private static final int STATISTICS = 4;
+	private static final long TEMPORARY_FILE_MAX_AGE = 60 * 60 * 1000;
+	private static final Pattern MODULE_FILE_NAME = Pattern.compile("[$A-Za-z_][$A-Za-z_0-9]*\\.(class|j)");
+	private static byte[] compilerHash;
+
+	private Path directory;
+	private long maxSize;
+
+	/**
+	 * CompilationCache constructor
+	 *
+	 * @param directory
+	 *            directory of the cache, created if it does not exist
+	 * @param maxSize
+	 *            maximum size of the entries, in bytes
+	 * @throws IOException
+	 *             if the directory cannot be created
+	 */
+	public CompilationCache(Path directory, long maxSize) throws IOException
+	{
+		this.directory = directory;
+		this.maxSize = maxSize;
+		Files.createDirectories(directory);
+	}
+
+	/**
+	 * Returns the key of the compilation of a source with the given options
+	 *
+	 * @param source
+	 *            contents of the .yal file
+	 * @param options
+	 *            description of the options that change the files written
+	 * @return hexadecimal hash identifying the compilation
+	 * @throws IOException
+	 *             if the classes of the compiler cannot be read
+	 */
+	public static String getKey(byte[] source, String options) throws IOException
+	{
+		MessageDigest digest = newDigest();
+		digest.update(getCompilerHash());
+		digest.update(options.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(source);
+
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest())
+			key.append(String.format("%02x", b));
+		return key.toString();
+	}
+
+	/**
+	 * Writes the files of a cached compilation in the current directory, and marks
+	 * the entry as recently used. The hit or miss is added to the statistics.
+	 *
+	 * @param key
+	 *            key of the compilation
+	 * @return names of the files written, or null if the compilation is not cached
+	 * @throws IOException
+	 *             if the entry cannot be read, names a file other than the .class
+	 *             or .j file of a module, or the files cannot be written
+	 */
+	public ArrayList<String> restore(String key) throws IOException
+	{
+		Path entry = directory.resolve(key + ENTRY_SUFFIX);
+		byte[] contents;
+		try
+		{
+			contents = Files.readAllBytes(entry);
+		} catch (NoSuchFileException e)
+		{
+			updateStatistics(new long[] { 0, 1, 0, 0 });
+			return null;
+		}
+
+		// the names are checked before any file is written, so an entry that was
+		// not written by store cannot write outside the current directory
+		ArrayList<String> names = new ArrayList<>();
+		ArrayList<byte[]> files = new ArrayList<>();
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(contents));
+		int numberOfFiles = input.readInt();
+		for (int i = 0; i < numberOfFiles; i++)
+		{
+			String name = input.readUTF();
+			if (!isModuleFileName(name) || (i > 0 && !getModule(name).equals(getModule(names.get(0)))))
+				throw new IOException("entry " + entry.getFileName() + " has an invalid file name: " + name);
+			byte[] file = new byte[input.readInt()];
+			input.readFully(file);
+			names.add(name);
+			files.add(file);
+		}
+
+		for (int i = 0; i < names.size(); i++)
+			Files.write(Paths.get(names.get(i)), files.get(i));
+
+		touch(entry);
+		updateStatistics(new long[] { 1, 0, 0, 0 });
+		return names;
+	}
+
+	/**
+	 * Checks if a name is the name of a file that a compilation writes, that is, a
+	 * module name followed by .class or .j, without any directory
+	 *
+	 * @param name
+	 *            name of the file
+	 * @return true if it is the .class or .j file of a module, false otherwise
+	 */
+	private static boolean isModuleFileName(String name)
+	{
+		return MODULE_FILE_NAME.matcher(name).matches();
+	}
+
+	/**
+	 * Returns the module of a file written by a compilation
+	 *
+	 * @param name
+	 *            name of the .class or .j file
+	 * @return name of the module
+	 */
+	private static String getModule(String name)
+	{
+		return name.substring(0, name.lastIndexOf('.'));
+	}
+
+	/**
+	 * Adds the files written by a compilation to the cache, and evicts the least
+	 * recently used entries if the cache became too large
+	 *
+	 * @param key
+	 *            key of the compilation
+	 * @param names
+	 *            names of the files, in the current directory
+	 * @throws IOException
+	 *             if the files cannot be read or the entry cannot be written
+	 */
+	public void store(String key, ArrayList<String> names) throws IOException
+	{
+		ByteArrayOutputStream contents = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(contents);
+		output.writeInt(names.size());
+		for (String name : names)
+		{
+			byte[] file = Files.readAllBytes(Paths.get(name));
+			output.writeUTF(name);
+			output.writeInt(file.length);
+			output.write(file);
+		}
+		output.close();
+		write(key + ENTRY_SUFFIX, contents.toByteArray());
+
+		evict();
+	}
+
+	/**
+	 * Returns the instructions of a function kept in the cache, and marks the entry
+	 * as recently used
+	 *
+	 * @param key
+	 *            key of the function
+	 * @return instructions of the function, or null if the function is not cached
+	 * @throws IOException
+	 *             if the entry cannot be read
+	 */
+	public ArrayList<String> restoreFunction(String key) throws IOException
+	{
+		Path entry = directory.resolve(key + FUNCTION_SUFFIX);
+		byte[] contents;
+		try
+		{
+			contents = Files.readAllBytes(entry);
+		} catch (NoSuchFileException e)
+		{
+			return null;
+		}
+
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(contents));
+		int numberOfInstructions = input.readInt();
+		ArrayList<String> instructions = new ArrayList<>(numberOfInstructions);
+		for (int i = 0; i < numberOfInstructions; i++)
+			instructions.add(input.readUTF());
+
+		touch(entry);
+		return instructions;
+	}
+
+	/**
+	 * Adds the instructions of functions to the cache, and the hits and misses of
+	 * their lookups to the statistics. The least recently used entries are evicted
+	 * once, after all functions are written.
+	 *
+	 * @param functions
+	 *            instructions of each function, by key
+	 * @param hits
+	 *            number of functions found in the cache
+	 * @param misses
+	 *            number of functions not found in the cache
+	 * @throws IOException
+	 *             if the entries cannot be written
+	 */
+	public void storeFunctions(HashMap<String, ArrayList<String>> functions, long hits, long misses)
+			throws IOException
+	{
+		for (Map.Entry<String, ArrayList<String>> function : functions.entrySet())
+		{
+			ByteArrayOutputStream contents = new ByteArrayOutputStream();
+			DataOutputStream output = new DataOutputStream(contents);
+			output.writeInt(function.getValue().size());
+			for (String instruction : function.getValue())
+				output.writeUTF(instruction);
+			output.close();
+			write(function.getKey() + FUNCTION_SUFFIX, contents.toByteArray());
+		}
+
+		if (hits != 0 || misses != 0)
+			updateStatistics(new long[] { 0, 0, hits, misses });
+		if (!functions.isEmpty())
+			evict();
+	}
+
+	/**
+	 * Returns the statistics of the cache, summed over all processes that used it
+	 *
+	 * @return description of the hits, misses and size of the cache
+	 * @throws IOException
+	 *             if the cache cannot be read
+	 */
+	public String getStatistics() throws IOException
+	{
+		long[] statistics = updateStatistics(new long[STATISTICS]);
+		ArrayList<Path> entries = listEntries();
+		long size = 0;
+		for (Path entry : entries)
+			size += sizeOf(entry);
+
+		return "Compilation cache " + directory + ": " + describeLookups(statistics[0], statistics[1])
+				+ ", functions: " + describeLookups(statistics[2], statistics[3]) + ", " + entries.size()
+				+ " entries, " + size / 1024 + " KB of " + maxSize / 1024 + " KB";
+	}
+
+	/**
+	 * Describes the hits and misses of the lookups of modules or functions
+	 *
+	 * @param hits
+	 *            number of hits
+	 * @param misses
+	 *            number of misses
+	 * @return description of the hits and misses
+	 */
+	private static String describeLookups(long hits, long misses)
+	{
+		long lookups = hits + misses;
+		return hits + " hits, " + misses + " misses (" + (lookups == 0 ? 0 : hits * 100 / lookups) + "% hits)";
+	}
+
+	/**
+	 * Writes an entry of the cache. It is written to a temporary file and renamed,
+	 * so other processes never read a partial entry. The temporary file is created
+	 * as other files are, with the permissions the umask gives, since
+	 * Files.createTempFile would make the entries readable by their owner only, and
+	 * a cache directory shared by several accounts could not be reused by them.
+	 *
+	 * @param name
+	 *            name of the entry
+	 * @param contents
+	 *            contents of the entry
+	 * @throws IOException
+	 *             if the entry cannot be written
+	 */
+	private void write(String name, byte[] contents) throws IOException
+	{
+		Path temporary;
+		while (true)
+		{
+			temporary = directory.resolve(
+					name + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + TEMPORARY_SUFFIX);
+			try
+			{
+				Files.write(temporary, contents, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+				break;
+			} catch (FileAlreadyExistsException e)
+			{
+				// the name was taken by another process, another one is tried
+			}
+		}
+		try
+		{
+			Files.move(temporary, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} finally
+		{
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Marks an entry as recently used
+	 *
+	 * @param entry
+	 *            path of the entry
+	 * @throws IOException
+	 *             if the time of the entry cannot be changed
+	 */
+	private static void touch(Path entry) throws IOException
+	{
+		try
+		{
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (NoSuchFileException e)
+		{
+			// evicted by another process after being read
+		} catch (AccessDeniedException e)
+		{
+			// written by another account, only its owner can change its time
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries until the cache is not larger than
+	 * its maximum size. Temporary files left by processes that stopped while
+	 * writing an entry are deleted too.
+	 *
+	 * @throws IOException
+	 *             if the directory cannot be read
+	 */
+	private void evict() throws IOException
+	{
+		long now = System.currentTimeMillis();
+		try (DirectoryStream<Path> temporaries = Files.newDirectoryStream(directory, "*" + TEMPORARY_SUFFIX))
+		{
+			for (Path temporary : temporaries)
+			{
+				if (now - lastModified(temporary) > TEMPORARY_FILE_MAX_AGE)
+					Files.deleteIfExists(temporary);
+			}
+		}
+
+		// the times and sizes are read once, as other processes may change them
+		ArrayList<Path> paths = listEntries();
+		long[][] entries = new long[paths.size()][];
+		long size = 0;
+		for (int i = 0; i < entries.length; i++)
+		{
+			entries[i] = new long[] { lastModified(paths.get(i)), sizeOf(paths.get(i)), i };
+			size += entries[i][1];
+		}
+		if (size <= maxSize)
+			return;
+
+		Arrays.sort(entries, Comparator.comparingLong(entry -> entry[0]));
+		for (int i = 0; i < entries.length && size > maxSize; i++)
+		{
+			size -= entries[i][1];
+			Files.deleteIfExists(paths.get((int) entries[i][2]));
+		}
+	}
+
+	/**
+	 * Adds hits and misses to the statistics of the cache. The statistics file is
+	 * locked while it is updated, so that concurrent processes do not lose updates.
+	 *
+	 * @param counts
+	 *            number of module hits, module misses, function hits and function
+	 *            misses to add
+	 * @return total numbers of hits and misses, after the update
+	 * @throws IOException
+	 *             if the statistics file cannot be updated
+	 */
+	private long[] updateStatistics(long[] counts) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(directory.resolve(STATISTICS_FILE), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			FileLock lock = channel.lock();
+			try
+			{
+				ByteBuffer buffer = ByteBuffer.allocate(STATISTICS * Long.BYTES);
+				int read = 0;
+				while (buffer.hasRemaining())
+				{
+					int bytes = channel.read(buffer, read);
+					if (bytes <= 0)
+						break;
+					read += bytes;
+				}
+
+				long[] statistics = new long[STATISTICS];
+				boolean changed = false;
+				for (int i = 0; i < STATISTICS; i++)
+				{
+					if ((i + 1) * Long.BYTES <= read)
+						statistics[i] = buffer.getLong(i * Long.BYTES);
+					statistics[i] += counts[i];
+					changed |= counts[i] != 0;
+				}
+
+				if (changed)
+				{
+					buffer.clear();
+					for (long statistic : statistics)
+						buffer.putLong(statistic);
+					buffer.flip();
+					while (buffer.hasRemaining())
+						channel.write(buffer, buffer.position());
+				}
+
+				return statistics;
+			} finally
+			{
+				lock.release();
+			}
+		}
+	}
+
+	/**
+	 * Lists the entries of the cache, of modules and of functions
+	 *
+	 * @return paths of the entries
+	 * @throws IOException
+	 *             if the directory cannot be read
+	 */
+	private ArrayList<Path> listEntries() throws IOException
+	{
+		ArrayList<Path> entries = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+				"*{" + ENTRY_SUFFIX + "," + FUNCTION_SUFFIX + "}"))
+		{
+			for (Path entry : stream)
+				entries.add(entry);
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Returns the size of a file, or 0 if another process deleted it
+	 *
+	 * @param file
+	 *            path of the file
+	 * @return size in bytes
+	 */
+	private static long sizeOf(Path file)
+	{
+		try
+		{
+			return Files.size(file);
+		} catch (IOException e)
+		{
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the time a file was last modified, or 0 if another process deleted it
+	 *
+	 * @param file
+	 *            path of the file
+	 * @return time in milliseconds
+	 */
+	private static long lastModified(Path file)
+	{
+		try
+		{
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e)
+		{
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns a hash of the classes of the compiler, so that the entries of other
+	 * versions of the compiler are not used. The classes are read from the jar, or
+	 * from the directory, the compiler was loaded from.
+	 *
+	 * @return hash of the compiler
+	 * @throws IOException
+	 *             if the classes cannot be read
+	 */
+	private static synchronized byte[] getCompilerHash() throws IOException
+	{
+		if (compilerHash != null)
+			return compilerHash;
+
+		Path location;
+		try
+		{
+			location = Paths.get(Yal2jvm.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		} catch (URISyntaxException e)
+		{
+			throw new IOException(e);
+		}
+
+		MessageDigest digest = newDigest();
+		if (Files.isDirectory(location))
+		{
+			ArrayList<Path> files;
+			try (Stream<Path> stream = Files.walk(location))
+			{
+				files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toCollection(ArrayList::new));
+			}
+			for (Path file : files)
+			{
+				digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(Files.readAllBytes(file));
+			}
+		} else
+			digest.update(Files.readAllBytes(location));
+
+		compilerHash = digest.digest();
+		return compilerHash;
+	}
+
+	/**
+	 * Creates the message digest used for the keys
+	 *
+	 * @return SHA-256 message digest
+	 */
+	private static MessageDigest newDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
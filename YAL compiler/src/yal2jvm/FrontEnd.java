@@ -0,0 +1,448 @@
+package yal2jvm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+import yal2jvm.ast.*;
+import yal2jvm.semantic_analysis.ModuleAnalysis;
+import yal2jvm.utils.InternalCompilerError;
+
+/**
+ * Lexical, syntactic and semantic analysis of a module that may be compiled again
+ * after being edited. When an edit is inside the declaration of a single function,
+ * only that function is parsed again and its subtree replaces the old one, and the
+ * other functions keep the results of their semantic analysis unless the header of
+ * the edited function changed. Any other edit parses and analyses the whole module.
+ * In stream mode the tree only keeps the declarations and the function headers,
+ * and each function is parsed again and analysed when the back end asks for it, so
+ * no more than one function body is kept in memory.
+ */
+public class FrontEnd
+{
+	private static final int SUFFIX_BLOCK = 4096;
+	private static YalParser parser;
+
+	private ExecutorService pool;
+	private byte[] source;
+	private SimpleNode ast;
+	private ArrayList<FunctionDeclaration> functions;
+	private ModuleAnalysis analysis;
+	private boolean headersOnly;
+	private int nextFunction;
+
+	/**
+	 * FrontEnd constructor
+	 *
+	 * @param pool
+	 *            pool of the threads that analyse the functions, or null to analyse
+	 *            them one after another
+	 */
+	public FrontEnd(ExecutorService pool)
+	{
+		this.pool = pool;
+	}
+
+	/**
+	 * Parses a version of the module, reusing the tree of the previous version when
+	 * only one function declaration changed.
+	 *
+	 * @param source
+	 *            contents of the .yal file
+	 * @return root node of the ast, or null if syntax errors were found
+	 */
+	public SimpleNode parse(byte[] source)
+	{
+		if (functions != null && !headersOnly && reparseFunction(source))
+		{
+			this.source = source;
+			return ast;
+		}
+
+		this.source = source;
+		this.ast = null;
+		this.functions = null;
+		this.analysis = null;
+		this.headersOnly = false;
+		this.ast = parseModule(source);
+		if (ast != null)
+			this.functions = findFunctionDeclarations();
+		return ast;
+	}
+
+	/**
+	 * Parses the module for stream mode. The whole module is parsed, so all its
+	 * syntax errors are found, but the statements of each function are dropped as
+	 * soon as the function is parsed, and the tree keeps only the declarations and
+	 * the function headers.
+	 *
+	 * @param source
+	 *            contents of the .yal file
+	 * @return root node of the ast, or null if syntax errors were found
+	 */
+	public SimpleNode parseHeaders(byte[] source)
+	{
+		this.source = source;
+		this.ast = null;
+		this.functions = null;
+		this.analysis = null;
+		this.headersOnly = true;
+		YalParser.headersOnly = true;
+		try
+		{
+			this.ast = parseModule(source);
+		} finally
+		{
+			YalParser.headersOnly = false;
+		}
+		if (ast != null)
+		{
+			this.functions = findFunctionDeclarations();
+			if (functions == null)
+			{
+				System.out.println("Error: fatal error during parsing stage\n");
+				this.ast = null;
+			}
+		}
+		return ast;
+	}
+
+	/**
+	 * Does the semantic analysis of the globals and of the function headers of the
+	 * module parsed by parseHeaders. The functions are analysed by loadFunction and
+	 * finishAnalysis, which prints the messages found.
+	 *
+	 * @return true if no errors were found, false otherwise
+	 */
+	public boolean analyseHeaders()
+	{
+		analysis = new ModuleAnalysis(ast);
+		analysis.parseHeaders();
+		nextFunction = 0;
+		return !ModuleAnalysis.hasErrors;
+	}
+
+	/**
+	 * Parses again the whole declaration of a function of the module parsed by
+	 * parseHeaders, and analyses it. The functions must be loaded in the order of
+	 * the source.
+	 *
+	 * @param header
+	 *            node of the function in the ast
+	 * @return the whole declaration of the function, or null if semantic errors
+	 *         were found in it or in the functions before it
+	 */
+	public ASTFUNCTION loadFunction(ASTFUNCTION header)
+	{
+		while (functions.get(nextFunction).function != header)
+			analyseFunction(nextFunction++);
+
+		SimpleNode function = analyseFunction(nextFunction++);
+		return ModuleAnalysis.hasErrors ? null : (ASTFUNCTION) function;
+	}
+
+	/**
+	 * Analyses the functions that were not loaded, and prints the messages found by
+	 * the semantic analysis of the module parsed by parseHeaders
+	 *
+	 * @return true if no errors were found, false otherwise
+	 */
+	public boolean finishAnalysis()
+	{
+		while (nextFunction < functions.size())
+			analyseFunction(nextFunction++);
+		analysis.printDiagnostics();
+		return !ModuleAnalysis.hasErrors;
+	}
+
+	/**
+	 * Parses again the whole declaration of a function of the module parsed by
+	 * parseHeaders, which had no syntax errors then, and analyses its statements
+	 *
+	 * @param index
+	 *            index of the function declaration
+	 * @return node of the whole declaration of the function
+	 */
+	private SimpleNode analyseFunction(int index)
+	{
+		FunctionDeclaration declaration = functions.get(index);
+		reInitParser(new YalLexer(source, declaration.begin, declaration.end, declaration.line));
+		SimpleNode function;
+		YalParser.reparsing = true;
+		try
+		{
+			function = YalParser.FunctionDeclaration();
+		} catch (ParseException e)
+		{
+			throw new InternalCompilerError("function at line " + declaration.line + " could not be parsed again");
+		} finally
+		{
+			YalParser.reparsing = false;
+		}
+		function.jjtSetParent(ast);
+
+		analysis.analyseFunction(declaration.function, function);
+		return function;
+	}
+
+	/**
+	 * Does the semantic analysis of the module last parsed, reusing the results of
+	 * the previous analysis for the functions that were not parsed again
+	 *
+	 * @return true if no errors were found, false otherwise
+	 */
+	public boolean analyse()
+	{
+		ModuleAnalysis moduleAnalysis = new ModuleAnalysis(ast);
+		moduleAnalysis.setPool(this.pool);
+		if (analysis != null)
+			moduleAnalysis.reuse(analysis);
+		moduleAnalysis.parse();
+		analysis = moduleAnalysis;
+
+		return !ModuleAnalysis.hasErrors;
+	}
+
+	/**
+	 * Parses the whole module, printing the syntax errors found
+	 *
+	 * @param source
+	 *            contents of the .yal file
+	 * @return root node of the ast, or null if syntax errors were found
+	 */
+	private static SimpleNode parseModule(byte[] source)
+	{
+		reInitParser(new YalLexer(source));
+		YalParser.errorCounter = new ErrorCounter();
+		SimpleNode root = null;
+		try
+		{
+			root = YalParser.Module();
+
+			int noErrors = YalParser.errorCounter.getNoErrors();
+			if (noErrors > 0)
+			{
+				if (noErrors >= ErrorCounter.MAX_ERRORS)
+					System.err.println("At least " + ErrorCounter.MAX_ERRORS + " errors found!");
+				else
+					System.err.println(noErrors + " errors found!");
+
+				return null;
+			}
+		} catch (ParseException e)
+		{
+			if (YalParser.errorCounter.reachedMaxErrors())
+				System.err.println("At least " + ErrorCounter.MAX_ERRORS + " errors found!");
+			else
+				System.out.println("Error: fatal error during parsing stage\n");
+			return null;
+		}
+
+		return root;
+	}
+
+	/**
+	 * Parses again the function declaration that contains all the bytes that differ
+	 * between the previous version of the module and the new one, and replaces its
+	 * subtree. The nodes of the following functions are moved by the number of lines
+	 * added or removed.
+	 *
+	 * @param newSource
+	 *            contents of the .yal file
+	 * @return true if the ast is up to date, false if the whole module must be parsed
+	 */
+	private boolean reparseFunction(byte[] newSource)
+	{
+		int editBegin = Arrays.mismatch(source, newSource);
+		if (editBegin == -1)
+			return true;
+
+		// the common suffix is compared in blocks, which Arrays.mismatch compares
+		// much faster than a loop over single bytes
+		int maxSuffix = Math.min(source.length, newSource.length) - editBegin;
+		int suffix = 0;
+		while (suffix < maxSuffix)
+		{
+			int block = Math.min(SUFFIX_BLOCK, maxSuffix - suffix);
+			if (Arrays.mismatch(source, source.length - suffix - block, source.length - suffix, newSource,
+					newSource.length - suffix - block, newSource.length - suffix) != -1)
+				break;
+			suffix += block;
+		}
+		while (suffix < maxSuffix
+				&& source[source.length - 1 - suffix] == newSource[newSource.length - 1 - suffix])
+			suffix++;
+		int editEnd = source.length - suffix;
+
+		int index = findFunctionDeclaration(editBegin);
+		if (index == -1 || editEnd > functions.get(index).end)
+			return false;
+
+		FunctionDeclaration declaration = functions.get(index);
+		int shift = newSource.length - source.length;
+		int newEnd = declaration.end + shift;
+		YalLexer lexer = new YalLexer(newSource, declaration.begin, newEnd, declaration.line);
+		reInitParser(lexer);
+		SimpleNode function;
+		YalParser.reparsing = true;
+		try
+		{
+			function = YalParser.FunctionDeclaration();
+		} catch (ParseException | TokenMgrError e)
+		{
+			return false;
+		} finally
+		{
+			YalParser.reparsing = false;
+		}
+
+		int lineShift = YalLexer.countLines(newSource, declaration.begin, newEnd)
+				- YalLexer.countLines(source, declaration.begin, declaration.end);
+		ast.jjtAddChild(function, declaration.childIndex);
+		function.jjtSetParent(ast);
+		declaration.function = function;
+		declaration.end = newEnd;
+		for (int i = index + 1; i < functions.size(); i++)
+		{
+			FunctionDeclaration following = functions.get(i);
+			following.begin += shift;
+			following.end += shift;
+			if (lineShift != 0)
+			{
+				following.line += lineShift;
+				shiftLines(following.function, lineShift);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the index of the last function declaration that starts at or before
+	 * the given index of the source
+	 *
+	 * @param offset
+	 *            index of the source
+	 * @return index of the function declaration, or -1 if none contains the offset
+	 */
+	private int findFunctionDeclaration(int offset)
+	{
+		int low = 0;
+		int high = functions.size() - 1;
+		int found = -1;
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+			if (functions.get(middle).begin <= offset)
+			{
+				found = middle;
+				low = middle + 1;
+			} else
+				high = middle - 1;
+		}
+
+		if (found == -1 || offset >= functions.get(found).end)
+			return -1;
+		return found;
+	}
+
+	/**
+	 * Finds where each function declaration of the module starts and ends in the
+	 * source, from the keyword function to its closing brace
+	 *
+	 * @return function declarations in the order of the source, or null if they do
+	 *         not match the functions of the ast
+	 */
+	private ArrayList<FunctionDeclaration> findFunctionDeclarations()
+	{
+		ArrayList<Integer> childIndexes = new ArrayList<>();
+		for (int i = 0; i < ast.jjtGetNumChildren(); i++)
+		{
+			if (ast.jjtGetChild(i).getId() == YalParserTreeConstants.JJTFUNCTION)
+				childIndexes.add(i);
+		}
+
+		ArrayList<FunctionDeclaration> declarations = new ArrayList<>();
+		YalLexer lexer = new YalLexer(source);
+		int depth = 0;
+		int begin = -1;
+		for (Token token = lexer.getNextToken(); token.kind != YalParserConstants.EOF; token = lexer.getNextToken())
+		{
+			if (token.kind == YalParserConstants.FUNCTION && depth == 1)
+				begin = lexer.getOffset() - token.image.length();
+			else if (token.kind == YalParserConstants.LCHAVETA)
+				depth++;
+			else if (token.kind == YalParserConstants.RCHAVETA)
+			{
+				depth--;
+				if (depth == 1 && begin != -1)
+				{
+					int number = declarations.size();
+					if (number == childIndexes.size())
+						return null;
+
+					int childIndex = childIndexes.get(number);
+					SimpleNode function = (SimpleNode) ast.jjtGetChild(childIndex);
+					declarations.add(new FunctionDeclaration(begin, function.getBeginLine(), lexer.getOffset(),
+							childIndex, function));
+					begin = -1;
+				}
+			}
+		}
+
+		return declarations.size() == childIndexes.size() ? declarations : null;
+	}
+
+	/**
+	 * Adds a number of lines to the line of a node and of all its descendants
+	 *
+	 * @param node
+	 *            root of the subtree
+	 * @param lineShift
+	 *            number of lines to add
+	 */
+	private static void shiftLines(SimpleNode node, int lineShift)
+	{
+		node.setBeginLine(node.getBeginLine() + lineShift);
+		for (int i = 0; i < node.jjtGetNumChildren(); i++)
+			shiftLines((SimpleNode) node.jjtGetChild(i), lineShift);
+	}
+
+	/**
+	 * Makes the parser read the tokens of the given lexer. The parser is static, so
+	 * it is only created once.
+	 *
+	 * @param lexer
+	 *            lexer of the source to parse
+	 */
+	private static void reInitParser(YalLexer lexer)
+	{
+		if (parser == null)
+			parser = new YalParser(lexer);
+		else
+			parser.ReInit(lexer);
+	}
+
+	/**
+	 * Function declaration of the module, with the bytes of the source it spans. The
+	 * span starts at the keyword function, or before it if comments or white space
+	 * were added at its start.
+	 */
+	private static class FunctionDeclaration
+	{
+		private int begin;
+		private int line;
+		private int end;
+		private final int childIndex;
+		private SimpleNode function;
+
+		private FunctionDeclaration(int begin, int line, int end, int childIndex, SimpleNode function)
+		{
+			this.begin = begin;
+			this.line = line;
+			this.end = end;
+			this.childIndex = childIndex;
+			this.function = function;
+		}
+	}
+}
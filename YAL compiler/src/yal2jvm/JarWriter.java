@@ -0,0 +1,274 @@
+package yal2jvm;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import yal2jvm.utils.Utils;
+
+/**
+ * Writes the classes of compiled modules to a JAR file, from memory. The entries
+ * are deflated in parallel, and written in the ZIP format with the manifest first
+ * and the classes sorted by name, all with the same fixed time, so the same
+ * classes always give the same bytes. JarOutputStream deflates each entry as it is
+ * written, in the writing thread, so the entries are written here instead.
+ */
+public class JarWriter
+{
+	private static final String MANIFEST = "META-INF/MANIFEST.MF";
+	private static final byte[] MANIFEST_CONTENTS = "Manifest-Version: 1.0\r\nCreated-By: yal2jvm\r\n\r\n"
+			.getBytes(StandardCharsets.UTF_8);
+	private static final int LOCAL_HEADER = 0x04034b50;
+	private static final int CENTRAL_HEADER = 0x02014b50;
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+	private static final int VERSION = 20;
+	private static final int UTF8_NAMES = 0x800;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	private static final int DOS_TIME = 0; // 00:00:00
+	private static final int DOS_DATE = (0 << 9) | (1 << 5) | 1; // 1980-01-01
+	private static final int MAX_ENTRIES = 0xffff;
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private TreeMap<String, byte[]> entries = new TreeMap<>();
+	private int threads;
+
+	/**
+	 * JarWriter constructor
+	 *
+	 * @param threads
+	 *            number of threads that deflate the entries
+	 */
+	public JarWriter(int threads)
+	{
+		this.threads = threads;
+	}
+
+	/**
+	 * Adds a class to the JAR
+	 *
+	 * @param className
+	 *            name of the class, with / between packages
+	 * @param bytes
+	 *            bytes of the class file
+	 * @return false if a class with the same name was added before, and was
+	 *         replaced, true otherwise
+	 */
+	public synchronized boolean addClass(String className, byte[] bytes)
+	{
+		return entries.put(className + ".class", bytes) == null;
+	}
+
+	/**
+	 * Writes the JAR file. It is written to a temporary file first and then
+	 * renamed, so a JAR of a previous compilation is replaced only by a whole one.
+	 *
+	 * @param file
+	 *            path of the JAR file
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public synchronized void write(Path file) throws IOException
+	{
+		if (entries.size() + 1 > MAX_ENTRIES)
+			throw new IOException("too many classes for a JAR file: " + entries.size());
+
+		ArrayList<String> names = new ArrayList<>();
+		ArrayList<byte[]> contents = new ArrayList<>();
+		names.add(MANIFEST);
+		contents.add(MANIFEST_CONTENTS);
+		for (Map.Entry<String, byte[]> entry : entries.entrySet())
+		{
+			names.add(entry.getKey());
+			contents.add(entry.getValue());
+		}
+
+		ArrayList<Callable<byte[]>> tasks = new ArrayList<>();
+		for (byte[] content : contents)
+			tasks.add(() -> deflate(content));
+		ArrayList<byte[]> deflated;
+		ExecutorService pool = threads > 1 && contents.size() > 1
+				? Executors.newFixedThreadPool(Math.min(threads, contents.size()))
+				: null;
+		try
+		{
+			deflated = Utils.invokeAll(pool, tasks);
+		} finally
+		{
+			if (pool != null)
+				pool.shutdown();
+		}
+
+		Path absoluteFile = file.toAbsolutePath();
+		Path temporaryFile = absoluteFile.resolveSibling(absoluteFile.getFileName() + TEMPORARY_SUFFIX);
+		try
+		{
+			try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile)))
+			{
+				writeEntries(output, names, contents, deflated);
+			}
+			Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING);
+		} finally
+		{
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Deflates the contents of an entry
+	 *
+	 * @param content
+	 *            contents of the entry
+	 * @return the deflated contents, or null if deflating does not make them
+	 *         smaller and they are stored as they are
+	 */
+	private static byte[] deflate(byte[] content)
+	{
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try
+		{
+			deflater.setInput(content);
+			deflater.finish();
+			byte[] buffer = new byte[content.length + 64];
+			int length = 0;
+			while (!deflater.finished())
+			{
+				if (length == buffer.length)
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				length += deflater.deflate(buffer, length, buffer.length - length);
+			}
+			return length < content.length ? Arrays.copyOf(buffer, length) : null;
+		} finally
+		{
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Writes the entries, each with its local header, followed by the central
+	 * directory
+	 *
+	 * @param output
+	 *            stream of the JAR file
+	 * @param names
+	 *            name of each entry
+	 * @param contents
+	 *            contents of each entry
+	 * @param deflated
+	 *            deflated contents of each entry, null for the stored ones
+	 * @throws IOException
+	 *             if the entries could not be written
+	 */
+	private static void writeEntries(OutputStream output, ArrayList<String> names, ArrayList<byte[]> contents,
+			ArrayList<byte[]> deflated) throws IOException
+	{
+		ByteArrayOutputStream centralDirectoryBytes = new ByteArrayOutputStream();
+		DataOutputStream centralDirectory = new DataOutputStream(centralDirectoryBytes);
+		DataOutputStream out = new DataOutputStream(output);
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < names.size(); i++)
+		{
+			byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+			byte[] content = contents.get(i);
+			byte[] data = deflated.get(i) == null ? content : deflated.get(i);
+			int method = deflated.get(i) == null ? STORED : DEFLATED;
+			crc.reset();
+			crc.update(content);
+			int offset = out.size();
+
+			writeInt(out, LOCAL_HEADER);
+			writeHeader(out, method, (int) crc.getValue(), data.length, content.length, name.length);
+			out.write(name);
+			out.write(data);
+
+			writeInt(centralDirectory, CENTRAL_HEADER);
+			writeShort(centralDirectory, VERSION); // made by
+			writeHeader(centralDirectory, method, (int) crc.getValue(), data.length, content.length, name.length);
+			writeShort(centralDirectory, 0); // comment length
+			writeShort(centralDirectory, 0); // disk number
+			writeShort(centralDirectory, 0); // internal attributes
+			writeInt(centralDirectory, 0); // external attributes
+			writeInt(centralDirectory, offset);
+			centralDirectory.write(name);
+		}
+
+		int centralDirectoryOffset = out.size();
+		centralDirectoryBytes.writeTo(out);
+		writeInt(out, END_OF_CENTRAL_DIRECTORY);
+		writeShort(out, 0); // disk number
+		writeShort(out, 0); // disk of the central directory
+		writeShort(out, names.size());
+		writeShort(out, names.size());
+		writeInt(out, centralDirectoryBytes.size());
+		writeInt(out, centralDirectoryOffset);
+		writeShort(out, 0); // comment length
+		out.flush();
+	}
+
+	/**
+	 * Writes the fields the local header and the central directory header of an
+	 * entry have in common, from the version needed to the extra field length
+	 *
+	 * @param out
+	 *            stream to write to
+	 * @param method
+	 *            compression method
+	 * @param crc
+	 *            CRC-32 of the contents
+	 * @param compressedSize
+	 *            size of the data written
+	 * @param size
+	 *            size of the contents
+	 * @param nameLength
+	 *            length of the name, in bytes
+	 * @throws IOException
+	 *             if the fields could not be written
+	 */
+	private static void writeHeader(DataOutputStream out, int method, int crc, int compressedSize, int size,
+			int nameLength) throws IOException
+	{
+		writeShort(out, VERSION); // needed to extract
+		writeShort(out, UTF8_NAMES);
+		writeShort(out, method);
+		writeShort(out, DOS_TIME);
+		writeShort(out, DOS_DATE);
+		writeInt(out, crc);
+		writeInt(out, compressedSize);
+		writeInt(out, size);
+		writeShort(out, nameLength);
+		writeShort(out, 0); // extra field length
+	}
+
+	/**
+	 * Writes a short in little endian, as the ZIP format has them
+	 */
+	private static void writeShort(DataOutputStream out, int value) throws IOException
+	{
+		out.write(value & 0xff);
+		out.write((value >>> 8) & 0xff);
+	}
+
+	/**
+	 * Writes an int in little endian, as the ZIP format has them
+	 */
+	private static void writeInt(DataOutputStream out, int value) throws IOException
+	{
+		writeShort(out, value & 0xffff);
+		writeShort(out, value >>> 16);
+	}
+}
@@ -1,5 +1,7 @@
 package yal2jvm;
 
+import java.io.Reader;
+
 import jasmin.Main;
 
 /**
@@ -15,4 +17,27 @@ public class Jasmin
 	{
 		Main.main(args);
 	}
+
+	/**
+	 * invoke jasmin on a single file
+	 * @param fileName name of the .j file
+	 * @return true if the .class file was generated, false if the file had errors
+	 */
+	public static boolean assemble(String fileName)
+	{
+		Main main = new Main();
+		main.run(new String[] { fileName });
+		return main.getFailedFiles() == 0;
+	}
+
+	/**
+	 * invoke jasmin on source code in memory
+	 * @param fileName name the source code is reported with
+	 * @param source reader of the jvm code
+	 * @return the bytes of the class file, or null if the code had errors
+	 */
+	public static byte[] assemble(String fileName, Reader source)
+	{
+		return new Main().assemble(fileName, source);
+	}
 }
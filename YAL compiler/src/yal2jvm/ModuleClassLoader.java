@@ -0,0 +1,104 @@
+package yal2jvm;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+
+/**
+ * Defines the classes of compiled modules from memory, in the JVM of the
+ * compiler, so they can be run without writing their class files. The modules
+ * compiled are found before any other class, so an old class file of a module
+ * on the class path does not hide the new one. The other classes are found on
+ * the class path of the compiler and then on the CWD, where the modules that
+ * were not compiled and libraries such as io are, as when the classes are run
+ * with java -cp .
+ */
+public class ModuleClassLoader extends URLClassLoader
+{
+	private HashMap<String, byte[]> classes = new HashMap<>();
+
+	/**
+	 * ModuleClassLoader constructor
+	 */
+	public ModuleClassLoader()
+	{
+		super(new URL[] { getCurrentDirectory() }, ModuleClassLoader.class.getClassLoader());
+	}
+
+	/**
+	 * Gets the URL of the CWD, to find classes on it
+	 *
+	 * @return URL of the CWD
+	 */
+	private static URL getCurrentDirectory()
+	{
+		try
+		{
+			return new File(".").toURI().toURL();
+		} catch (MalformedURLException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Adds a class to the ones defined from memory
+	 *
+	 * @param className
+	 *            name of the class
+	 * @param bytes
+	 *            bytes of the class file
+	 * @return false if a class with the same name was added before, and was
+	 *         replaced, true otherwise
+	 */
+	public synchronized boolean addClass(String className, byte[] bytes)
+	{
+		return classes.put(className, bytes) == null;
+	}
+
+	/**
+	 * Runs the main function of a module, and waits for it to return
+	 *
+	 * @param moduleName
+	 *            name of the module
+	 * @throws ReflectiveOperationException
+	 *             if the module or its main function could not be found
+	 * @throws InvocationTargetException
+	 *             if the main function threw an exception, which is its cause
+	 */
+	public void runMain(String moduleName) throws ReflectiveOperationException
+	{
+		Class<?> module = Class.forName(moduleName, true, this);
+		module.getMethod("main", String[].class).invoke(null, (Object) new String[0]);
+	}
+
+	/**
+	 * Loads a class, defining it from memory if it is one of the modules compiled,
+	 * or finding it as usual otherwise
+	 */
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+	{
+		synchronized (getClassLoadingLock(name))
+		{
+			byte[] bytes;
+			synchronized (this)
+			{
+				bytes = classes.get(name);
+			}
+			if (bytes == null)
+				return super.loadClass(name, resolve);
+
+			Class<?> loaded = findLoadedClass(name);
+			if (loaded == null)
+				loaded = defineClass(name, bytes, 0, bytes.length);
+			if (resolve)
+				resolveClass(loaded);
+			return loaded;
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package yal2jvm;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import yal2jvm.ast.TokenMgrError;
+
+/**
+ * Watches a directory and compiles its .yal files again whenever they change,
+ * without starting a new compiler for each change. Each file keeps its own
+ * compiler, so an edit inside one function only parses and analyses that function
+ * again, and all files share the function cache. Events that arrive close
+ * together, as editors usually write a file more than once when saving it, are
+ * coalesced into a single compilation of each file.
+ */
+public class Watcher
+{
+	private static final long DEBOUNCE_MILLIS = 30;
+
+	private Path directory;
+	private Yal2jvm options;
+	private HashMap<Path, Yal2jvm> compilers = new HashMap<>();
+
+	/**
+	 * Watcher constructor
+	 *
+	 * @param directory
+	 *            directory of the .yal files
+	 * @param options
+	 *            compiler with the options used to compile every file
+	 */
+	public Watcher(Path directory, Yal2jvm options)
+	{
+		this.directory = directory;
+		this.options = options;
+	}
+
+	/**
+	 * Compiles all .yal files of the directory, and then each file that is created
+	 * or changed, until the directory is deleted or the compiler is stopped. The
+	 * compiler does not read other modules, so no other file is compiled again
+	 * when a file changes.
+	 *
+	 * @throws IOException
+	 *             if the directory cannot be watched
+	 */
+	public void watch() throws IOException
+	{
+		WatchService service = FileSystems.getDefault().newWatchService();
+		directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+		for (Path file : listYalFiles())
+			compile(file);
+		System.out.println("Watching " + directory + " for changes to .yal files\n");
+
+		while (true)
+		{
+			WatchKey key;
+			try
+			{
+				key = service.take();
+			} catch (InterruptedException e)
+			{
+				return;
+			}
+
+			TreeSet<Path> changedFiles = new TreeSet<>();
+			while (key != null)
+			{
+				for (WatchEvent<?> event : key.pollEvents())
+				{
+					if (event.kind() == OVERFLOW)
+					{
+						changedFiles.addAll(listYalFiles());
+						continue;
+					}
+
+					Path file = directory.resolve((Path) event.context());
+					if (isYalFile(file))
+						changedFiles.add(file);
+				}
+
+				if (!key.reset())
+				{
+					System.out.println("Error: directory " + directory + " can no longer be watched.\n");
+					return;
+				}
+
+				try
+				{
+					key = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e)
+				{
+					return;
+				}
+			}
+
+			// editors may replace a file by deleting it, so only the files that do not
+			// exist after the changes were deleted
+			for (Path file : changedFiles)
+			{
+				if (Files.isRegularFile(file))
+					compile(file);
+				else
+					compilers.remove(file);
+			}
+		}
+	}
+
+	/**
+	 * Compiles a file with its own compiler, created on its first compilation, and
+	 * prints how long the compilation took
+	 *
+	 * @param file
+	 *            path of the .yal file
+	 */
+	private void compile(Path file)
+	{
+		Yal2jvm compiler = compilers.computeIfAbsent(file, path -> options.forFile(path.toString()));
+		long start = System.nanoTime();
+		int errorCode;
+		try
+		{
+			errorCode = compiler.compile();
+		} catch (TokenMgrError e)
+		{
+			System.out.println(e.getMessage());
+			errorCode = -2;
+		} catch (RuntimeException e)
+		{
+			// a bug in the compiler must not stop watching the other files, and the
+			// next change of this file is compiled from scratch
+			System.out.println("Error: internal error in " + file.getFileName() + ": " + e + "\n");
+			compilers.remove(file);
+			errorCode = -1;
+		}
+		long millis = (System.nanoTime() - start) / 1000000;
+
+		if (errorCode == 0)
+			System.out.println("Compiled " + file.getFileName() + " in " + millis + " ms\n");
+		else
+			System.out.println("Failed to compile " + file.getFileName() + " (error code " + errorCode + ")\n");
+	}
+
+	/**
+	 * Lists the .yal files of the directory
+	 *
+	 * @return paths of the files, sorted
+	 * @throws IOException
+	 *             if the directory cannot be read
+	 */
+	private TreeSet<Path> listYalFiles() throws IOException
+	{
+		TreeSet<Path> files = new TreeSet<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory))
+		{
+			for (Path file : stream)
+			{
+				if (isYalFile(file) && Files.isRegularFile(file))
+					files.add(file);
+			}
+		}
+
+		return files;
+	}
+
+	/**
+	 * Checks if a path names a .yal file
+	 *
+	 * @param file
+	 *            path of the file
+	 * @return true if the name ends with .yal, false otherwise
+	 */
+	private static boolean isYalFile(Path file)
+	{
+		return file.getFileName().toString().toLowerCase().endsWith(".yal");
+	}
+}
@@ -1,16 +1,30 @@
 package yal2jvm;
 
 import java.io.BufferedWriter;
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
-import yal2jvm.ast.*;
+import yal2jvm.ast.SimpleNode;
+import yal2jvm.hlir.FunctionCache;
 import yal2jvm.hlir.HLIR;
-import yal2jvm.semantic_analysis.ModuleAnalysis;
+import yal2jvm.utils.InternalCompilerError;
 import yal2jvm.utils.Utils;
 
 /**
@@ -19,15 +33,31 @@ import yal2jvm.utils.Utils;
  */
 public class Yal2jvm
 {
-	private static final int MAX_LOCAL_VARS = 255;
+	private static final int MAX_LOCAL_VARS = 65535;
+	private static final int DEFAULT_CACHE_SIZE = 256;
 	public static boolean VERBOSE = false;
 	public static String moduleName;
 
 	private int localVars;
 	private boolean optimize;
 	private boolean keepJFile;
+	private boolean reportRegisters;
+	private boolean allocateRegisters;
+	private int threads;
+	private ExecutorService pool;
+	private boolean stream;
 	private String inputFile;
+	private FrontEnd frontEnd;
 	private SimpleNode ast;
+	private CompilationCache cache;
+	private FunctionCache functionCache;
+	private boolean printCacheStatistics;
+	private String cacheKey;
+	private JarWriter jar;
+	private String jarFile;
+	private CharArrayWriter jasminCode;
+	private ModuleClassLoader loader;
+	private String compiledModule;
 
 	/**
 	 * Constructor for the class Yal2jvm, receives as parameters all the possible
@@ -39,19 +69,53 @@ public class Yal2jvm
 	 *            boolean indicating if it is to apply optimizations or not
 	 * @param keepJFile
 	 *            boolean indicating if it is to keep .j generated file
+	 * @param reportRegisters
+	 *            boolean indicating if it is to report the minimum number of locals of
+	 *            each function
+	 * @param allocateRegisters
+	 *            boolean indicating if it is to do liveness analysis and register
+	 *            allocation, or just give one local to each variable
+	 * @param threads
+	 *            number of threads used to analyse and process the functions
+	 * @param stream
+	 *            boolean indicating if the backend processes and writes one function
+	 *            at a time
 	 * @param verbose
 	 *            boolean indicating if it is to show program logs and compiler steps
 	 *            information
 	 * @param inputFile
 	 *            path to the file to be compiled
 	 */
-	public Yal2jvm(int localVars, boolean optimize, boolean keepJFile, boolean verbose, String inputFile)
+	public Yal2jvm(int localVars, boolean optimize, boolean keepJFile, boolean reportRegisters,
+			boolean allocateRegisters, int threads, boolean stream, boolean verbose, String inputFile)
+	{
+		this(localVars, optimize, keepJFile, reportRegisters, allocateRegisters, threads, stream, verbose, inputFile,
+				threads > 1 && !verbose ? new ForkJoinPool(threads) : null);
+	}
+
+	/**
+	 * Constructor for a compiler that shares the thread pool of another one. With a
+	 * single thread, or with verbose output, there is no pool and the functions are
+	 * processed one after another.
+	 *
+	 * @param pool
+	 *            pool of the threads that process the functions, or null
+	 */
+	private Yal2jvm(int localVars, boolean optimize, boolean keepJFile, boolean reportRegisters,
+			boolean allocateRegisters, int threads, boolean stream, boolean verbose, String inputFile,
+			ExecutorService pool)
 	{
 		this.localVars = localVars;
 		this.optimize = optimize;
 		this.keepJFile = keepJFile;
+		this.reportRegisters = reportRegisters;
+		this.allocateRegisters = allocateRegisters;
+		this.threads = threads;
+		this.pool = pool;
+		this.stream = stream;
 		Yal2jvm.VERBOSE = verbose;
 		this.inputFile = inputFile;
+		this.frontEnd = new FrontEnd(pool);
 	}
 
 	/**
@@ -67,99 +131,346 @@ public class Yal2jvm
 		boolean optimize = false;
 		boolean keepJFile = false;
 		boolean verbose = false;
+		boolean reportRegisters = false;
+		boolean allocateRegisters = true;
 		int localVars = MAX_LOCAL_VARS;
+		int threads = 1;
+		boolean stream = false;
 		boolean validInput = true;
 
+		String cacheDirectory = null;
+		int cacheSize = DEFAULT_CACHE_SIZE;
+		boolean printCacheStatistics = false;
+		String watchDirectory = null;
+		String jarFile = null;
+		boolean run = false;
+		ArrayList<String> inputFiles = new ArrayList<>();
+
 		if (args.length == 0)
 			validInput = false;
 
-		if (Utils.stringArrayContains(args, "-o") != -1)
-			optimize = true;
-
-		if (Utils.stringArrayContains(args, "-S") != -1)
-			keepJFile = true;
-
-		if (Utils.stringArrayContains(args, "-v") != -1)
-			verbose = true;
-
 		if (Utils.stringArrayContains(args, "-help") != -1)
 		{
 			printUsage();
 			System.exit(-1);
 		}
 
-		String regexForNumberBetween0And255 = "\\b(1?[0-9]{1,2}|2[0-4][0-9]|25[0-5])\\b";
-		int registersValueIndex = Utils.stringArrayMatches(args, "-r=" + regexForNumberBetween0And255);
-		if (registersValueIndex != -1)
+		// the arguments are parsed without regex expressions, whose patterns would be
+		// compiled at every start of the compiler
+		for (String arg : args)
 		{
-			String localVarsString = args[registersValueIndex].split("=")[1];
-			localVars = Integer.parseInt(localVarsString);
-			if (localVars == 0)
-				localVars = MAX_LOCAL_VARS;
+			int value;
+			if (arg.equals("-o"))
+				optimize = true;
+			else if (arg.equals("-S"))
+				keepJFile = true;
+			else if (arg.equals("-O0"))
+				allocateRegisters = false;
+			else if (arg.equals("-stream"))
+				stream = true;
+			else if (arg.equals("-v"))
+				verbose = true;
+			else if (arg.equals("-r=auto"))
+				reportRegisters = true;
+			else if ((value = Utils.getNumberOption(arg, "-r=", 5)) != -1 && value <= MAX_LOCAL_VARS)
+				localVars = value == 0 ? MAX_LOCAL_VARS : value;
+			else if ((value = Utils.getNumberOption(arg, "-j=", 4)) != -1)
+				threads = value == 0 ? Runtime.getRuntime().availableProcessors() : value;
+			else if ((value = Utils.getNumberOption(arg, "-cache-size=", 6)) != -1)
+				cacheSize = value;
+			else if (arg.equals("-cache-stats"))
+				printCacheStatistics = true;
+			else if (arg.startsWith("-cache=") && arg.length() > "-cache=".length())
+				cacheDirectory = arg.substring("-cache=".length());
+			else if (arg.startsWith("-watch=") && arg.length() > "-watch=".length())
+				watchDirectory = arg.substring("-watch=".length());
+			else if (arg.startsWith("-jar=") && arg.length() > "-jar=".length())
+				jarFile = arg.substring("-jar=".length());
+			else if (arg.equals("-run"))
+				run = true;
+			else
+			{
+				inputFiles.add(arg);
+				if (!arg.toLowerCase().endsWith(".yal"))
+					validInput = false;
+			}
 		}
+		if (!inputFiles.isEmpty())
+			inputFile = inputFiles.get(0);
 
-		String regexForFlag = "-r=" + regexForNumberBetween0And255 + "|-o|-S|-v";
-		int inputFileIndex;
-		if ((inputFileIndex = Utils.stringArrayNotMatches(args, regexForFlag)) != -1)
-			inputFile = args[inputFileIndex];
-
-		if (inputFile != null && validInput)
-			validInput = inputFile.toLowerCase().endsWith(".yal");
+		if (watchDirectory != null && (inputFile != null || jarFile != null || run))
+			validInput = false;
 
-		if (!validInput || inputFile == null)
+		if (!validInput || (inputFile == null && watchDirectory == null))
 		{
 			System.out.println("\nInsufficient or incorrect arguments for the Yal2jvm compiler");
 			printUsage();
 			System.exit(-5);
 		} else
 		{
-			Yal2jvm instance = new Yal2jvm(localVars, optimize, keepJFile, verbose, inputFile);
-			instance.run();
+			Yal2jvm instance = new Yal2jvm(localVars, optimize, keepJFile, reportRegisters, allocateRegisters,
+					threads, stream, verbose, inputFile);
+			if (cacheDirectory != null)
+				instance.setCache(cacheDirectory, cacheSize, printCacheStatistics);
+			if (jarFile != null)
+				instance.setJar(jarFile);
+			if (run)
+				instance.setRun();
+			if (watchDirectory != null)
+				instance.watch(watchDirectory);
+			else
+				instance.run(inputFiles);
+		}
+	}
+
+	/**
+	 * Makes the compiler keep its compilations in a cache, and write them from the
+	 * cache instead of compiling when the same file is compiled again with the same
+	 * options. The instructions of each function are kept too, so the functions
+	 * that did not change are not compiled again when the module changes. If the
+	 * cache cannot be created the file is compiled without it.
+	 *
+	 * @param directory
+	 *            directory of the cache
+	 * @param maxSize
+	 *            maximum size of the cache, in megabytes
+	 * @param printStatistics
+	 *            boolean indicating if it is to print the statistics of the cache
+	 */
+	public void setCache(String directory, int maxSize, boolean printStatistics)
+	{
+		try
+		{
+			this.cache = new CompilationCache(Paths.get(directory), maxSize * 1024L * 1024L);
+			this.printCacheStatistics = printStatistics;
+			if (!reportRegisters)
+				this.functionCache = new FunctionCache(cache, getFunctionOptions());
+		} catch (IOException e)
+		{
+			System.out.println("Warning: compilation cache " + directory + " could not be created.\n");
+		}
+	}
+
+	/**
+	 * Makes the compiler write the classes of the modules it compiles to a JAR
+	 * file, with no .j or .class files written on the way, unless the .j files are
+	 * kept. The compilations of the cache are not used, as they are files, but the
+	 * functions of the cache are.
+	 *
+	 * @param jarFile
+	 *            path of the JAR file
+	 */
+	public void setJar(String jarFile)
+	{
+		this.jar = new JarWriter(threads);
+		this.jarFile = jarFile;
+	}
+
+	/**
+	 * Makes the compiler define the classes of the modules it compiles in its own
+	 * JVM, with no .j or .class files written on the way, unless the .j files are
+	 * kept, and run the main function of the first module after compiling all of
+	 * them. The compilations of the cache are not used, as they are files, but the
+	 * functions of the cache are.
+	 */
+	public void setRun()
+	{
+		this.loader = new ModuleClassLoader();
+	}
+
+	/**
+	 * Compiles the .yal files of a directory, and compiles each of them again
+	 * whenever it changes, until the compiler is stopped. The functions compiled are
+	 * kept in memory, besides the cache if there is one, so the functions that did
+	 * not change are not compiled again. It terminates the compiler with error code
+	 * -4 if the directory cannot be watched.
+	 *
+	 * @param directory
+	 *            directory of the .yal files
+	 */
+	public void watch(String directory)
+	{
+		if (functionCache == null && !reportRegisters)
+			functionCache = new FunctionCache(null, getFunctionOptions());
+
+		try
+		{
+			new Watcher(Paths.get(directory), this).watch();
+		} catch (IOException e)
+		{
+			System.out.println("Error: directory " + directory + " could not be watched.\n");
+			System.exit(-4);
 		}
 	}
 
+	/**
+	 * Creates a compiler for another file, with the same options and caches as
+	 * this one
+	 *
+	 * @param inputFile
+	 *            path to the file to be compiled
+	 * @return the compiler of the file
+	 */
+	Yal2jvm forFile(String inputFile)
+	{
+		Yal2jvm compiler = new Yal2jvm(localVars, optimize, keepJFile, reportRegisters, allocateRegisters, threads,
+				stream, VERBOSE, inputFile, pool);
+		compiler.cache = this.cache;
+		compiler.functionCache = this.functionCache;
+		compiler.printCacheStatistics = this.printCacheStatistics;
+		compiler.jar = this.jar;
+		compiler.jarFile = this.jarFile;
+		compiler.loader = this.loader;
+		return compiler;
+	}
+
 	/**
 	 * This method runs all the necessary steps to compile the file, converting Yal code
-	 * into JVM bytecode
+	 * into JVM bytecode, and terminates the compiler with the error code of the
+	 * compilation
 	 *
 	 */
 	public void run()
 	{
-		if (VERBOSE)
-			runWithLogging();
+		ArrayList<String> inputFiles = new ArrayList<>();
+		inputFiles.add(inputFile);
+		run(inputFiles);
+	}
+
+	/**
+	 * This method compiles each of the files, with the same options and caches as
+	 * this compiler, writes the JAR file if one was requested, and runs the first
+	 * module if it was requested. It stops at the first file that fails, without
+	 * writing the JAR file, and terminates the compiler with its error code, with
+	 * error code -4 if the JAR file could not be written or no module was defined
+	 * to run, or with the error code of the run.
+	 *
+	 * @param inputFiles
+	 *            paths to the files to be compiled
+	 */
+	public void run(List<String> inputFiles)
+	{
+		int errorCode = 0;
+		for (int i = 0; i < inputFiles.size() && errorCode == 0; i++)
+		{
+			Yal2jvm compiler = inputFiles.get(i).equals(inputFile) ? this : forFile(inputFiles.get(i));
+			errorCode = compiler.compile();
+		}
 
-		FileInputStream inputStream = getFileStream();
+		if (errorCode == 0 && jar != null)
+			errorCode = writeJar() ? 0 : -4;
+		if (errorCode == 0 && loader != null)
+			errorCode = compiledModule != null ? runModule(compiledModule) : -4;
+		System.exit(errorCode);
+	}
 
-		syntacticAnalysis(inputStream);
-		semanticAnalysis();
+	/**
+	 * This method runs all the necessary steps to compile the file, converting Yal code
+	 * into JVM bytecode. The compiler is not terminated, so the same instance can
+	 * compile the file again after it changes, reusing the results of the previous
+	 * compilation.
+	 *
+	 * @return 0 if the file was compiled, otherwise the error code of the stage that
+	 *         failed, or -1 if the compiler found an internal error
+	 */
+	public int compile()
+	{
+		try
+		{
+			return VERBOSE ? compileWithLogging() : compileStages();
+		} catch (InternalCompilerError e)
+		{
+			System.out.println("Error: internal error: " + e.getMessage() + "\n");
+			return -1;
+		}
+	}
+
+	/**
+	 * This method runs all the necessary steps to compile the file, converting Yal code
+	 * into JVM bytecode
+	 *
+	 * @return 0 if the file was compiled, otherwise the error code of the stage that
+	 *         failed
+	 */
+	private int compileStages()
+	{
+		byte[] source = readSource();
+		if (source == null)
+			return -4;
+		if (restoreFromCache(source))
+			return 0;
+
+		if (!syntacticAnalysis(source))
+			return -2;
+		if (!semanticAnalysis())
+			return -3;
 
 		HLIR hlir = createHLIR();
-		registerAllocation(hlir);
-		String moduleName = instructionSelection(hlir);
+		String moduleName = hlir.getModuleName();
+		int errorCode;
+		if (this.stream)
+			errorCode = streamCompilation(hlir);
+		else
+		{
+			errorCode = registerAllocation(hlir);
+			if (errorCode == 0)
+				errorCode = instructionSelection(hlir);
+		}
+		if (errorCode != 0)
+			return errorCode;
 
-		compileToBytecode(moduleName + ".j");
+		if (!compileToBytecode(moduleName))
+			return -4;
+		storeInCache(moduleName);
 
-		System.exit(0);
+		return 0;
 	}
 
 	/**
 	 * This method runs all the necessary steps to compile the file, converting Yal code
-	 * into JVM bytecode. Same as the run() method, but it outputs logging info about the compilation process.
+	 * into JVM bytecode. Same as the compile() method, but it outputs logging info about the compilation process.
+	 *
+	 * @return 0 if the file was compiled, otherwise the error code of the stage that
+	 *         failed
 	 */
-	private void runWithLogging()
+	private int compileWithLogging()
 	{
 		log("-----------------------------------------------------------------");
 		log("Starting compilation of Yal file " + inputFile + " with the following options:");
 		log("Max number of regs: " + localVars);
 		log("Optimizations:      " + optimize);
 		log("Keep Jasmin file:   " + keepJFile);
-		log("Verbose output:     " + VERBOSE + "\n");
+		log("Report registers:   " + reportRegisters);
+		log("Register alloc.:    " + allocateRegisters);
+		log("Function threads:   " + threads);
+		log("Stream functions:   " + stream);
+		log("Verbose output:     " + VERBOSE);
+		log("Compilation cache:  " + (cache != null));
+		log("JAR file:           " + (jar != null ? jarFile : "none"));
+		log("Run in memory:      " + (loader != null) + "\n");
 
-		FileInputStream inputStream = getFileStream();
+		byte[] source = readSource();
+		if (source == null)
+			return -4;
 		log("-----------------------------------------------------------------");
 
+		if (cache != null && jar == null && loader == null)
+		{
+			log("Looking up the compilation in the cache");
+			if (restoreFromCache(source))
+			{
+				log("Found the compilation in the cache, skipping all stages");
+				log("-----------------------------------------------------------------");
+				return 0;
+			}
+			log("Compilation not found in the cache");
+
+			log("-----------------------------------------------------------------");
+		}
+
 		log("Initiating lexical and syntactic analysis\n");
-		syntacticAnalysis(inputStream);
+		if (!syntacticAnalysis(source))
+			return -2;
 
 		log("AST generated by syntactic analysis:\n");
 		if (VERBOSE)
@@ -172,9 +483,10 @@ public class Yal2jvm
 
 		log("-----------------------------------------------------------------");
 
-		log("Initiating semantic analysis");
-		semanticAnalysis();
-		log("Completed semantic analysis");
+		log("Initiating semantic analysis" + (this.stream ? " of the declarations and function headers" : ""));
+		if (!semanticAnalysis())
+			return -3;
+		log("Completed semantic analysis" + (this.stream ? " of the declarations and function headers" : ""));
 
 		log("-----------------------------------------------------------------");
 
@@ -184,84 +496,122 @@ public class Yal2jvm
 
 		log("-----------------------------------------------------------------");
 
-		log("Initiating register allocation");
-		registerAllocation(hlir);
-		log("Completed register allocation");
+		String moduleName = hlir.getModuleName();
+		int errorCode;
+		if (this.stream)
+		{
+			log("Initiating semantic analysis, register allocation and instruction selection, one function at a time");
+			errorCode = streamCompilation(hlir);
+			if (errorCode != 0)
+				return errorCode;
+			log("Completed semantic analysis, register allocation and instruction selection, one function at a time");
+		} else
+		{
+			log("Initiating register allocation");
+			errorCode = registerAllocation(hlir);
+			if (errorCode != 0)
+				return errorCode;
+			log("Completed register allocation");
 
-		log("-----------------------------------------------------------------");
+			log("-----------------------------------------------------------------");
 
-		log("Initiating instruction selection" + (this.optimize ? " with HLIR optimizations" : ""));
-		String moduleName = instructionSelection(hlir);
-		log("Completed instruction selection" + (this.optimize ? " with HLIR optimizations" : ""));
+			log("Initiating instruction selection" + (this.optimize ? " with HLIR optimizations" : ""));
+			errorCode = instructionSelection(hlir);
+			if (errorCode != 0)
+				return errorCode;
+			log("Completed instruction selection" + (this.optimize ? " with HLIR optimizations" : ""));
+		}
 
 		log("-----------------------------------------------------------------");
 
 		log("Initiating compilation of instructions into JVM bytecode");
-		compileToBytecode(moduleName + ".j");
+		if (!compileToBytecode(moduleName))
+			return -4;
 		log("Completed compilation of instructions into JVM bytecode");
 
 		log("-----------------------------------------------------------------");
 
-		System.exit(0);
+		if (cache != null)
+		{
+			log("Storing the compilation in the cache");
+			storeInCache(moduleName);
+			log("Stored the compilation in the cache");
+
+			log("-----------------------------------------------------------------");
+		}
+
+		return 0;
 	}
 
 	/**
-	 * This method does syntactic Analysis and creates AST, using createAst method
-	 * It terminates the compiler with error code -2 if errors found.
+	 * This method does syntactic Analysis and creates AST, using the front end. In
+	 * stream mode the AST keeps only the declarations and the function headers.
 	 * 
-	 * @param inputStream
-	 *            FileInputStream object to the file .yal to be analysed
+	 * @param source
+	 *            contents of the file .yal to be analysed
+	 * @return true if no errors were found, false otherwise
 	 */
-	private void syntacticAnalysis(FileInputStream inputStream)
+	private boolean syntacticAnalysis(byte[] source)
 	{
-		ast = createAst(inputStream);
-		if (ast == null)
-			System.exit(-2);
+		ast = this.stream ? frontEnd.parseHeaders(source) : frontEnd.parse(source);
+		return ast != null;
 	}
 
 	/**
-	 * This method does semantic Analysis. It terminates the compiler with error
-	 * code -3 if errors found.
+	 * This method does semantic Analysis. In stream mode only the declarations and
+	 * the function headers are analysed, and the functions are analysed by
+	 * streamCompilation, unless errors were found.
+	 * 
+	 * @return true if no errors were found, false otherwise
 	 */
-	private void semanticAnalysis()
+	private boolean semanticAnalysis()
 	{
-		ModuleAnalysis moduleAnalysis = new ModuleAnalysis(ast);
-		moduleAnalysis.parse();
-		if (ModuleAnalysis.hasErrors)
-			System.exit(-3);
+		if (!this.stream)
+			return frontEnd.analyse();
+
+		if (frontEnd.analyseHeaders())
+			return true;
+		frontEnd.finishAnalysis();
+		return false;
 	}
 
 	/**
 	 * This method creates HLIR (High level intermediate representation), using the
-	 * ast produced by syntactic analysis It terminates the compiler with error code
-	 * -2 if errors found.
+	 * ast produced by syntactic analysis
 	 * 
 	 * @return the created HLIR, object from class HLIR
 	 */
 	private HLIR createHLIR()
 	{
-		HLIR hlir = new HLIR(ast);
+		HLIR hlir = new HLIR(ast, this.stream, this.functionCache);
 		if (VERBOSE)
 			hlir.dumpIR();
 
 		if (this.optimize)
 			hlir.setOptimize();
+		hlir.setPool(this.pool);
 		return hlir;
 	}
 
 	/**
 	 * This method does register allocation using data flow analysis and graph
-	 * coloring It terminates the compiler with error code -6 if errors found.
+	 * coloring. If requested, it also reports the minimum number of locals of each
+	 * function. With -O0 both are skipped and each variable gets its own local.
 	 * 
 	 * @param hlir
 	 *            HLIR (High level intermediate representation)
+	 * @return 0 if the registers were allocated, error code -6 otherwise
 	 */
-	private void registerAllocation(HLIR hlir)
+	private int registerAllocation(HLIR hlir)
 	{
+		if (!this.allocateRegisters)
+			return hlir.assignOneRegisterPerVariable(this.localVars) ? 0 : -6;
+
 		hlir.dataflowAnalysis();
+		if (this.reportRegisters)
+			hlir.reportMinimumRegisters();
 		boolean allocated = hlir.allocateRegisters(this.localVars);
-		if (!allocated)
-			System.exit(-6);
+		return allocated ? 0 : -6;
 	}
 
 	/**
@@ -272,14 +622,81 @@ public class Yal2jvm
 	 * @param hlir
 	 *            HLIR (High level intermediate representation) from which the jvm
 	 *            code will be generated
-	 * @return module name of the compiled file
+	 * @return 0 if the jasmin file was written, error code -4 otherwise
 	 */
-	private String instructionSelection(HLIR hlir)
+	private int instructionSelection(HLIR hlir)
 	{
-		ArrayList<String> instructions = hlir.selectInstructions();
+		ArrayList<String> instructions = hlir.selectInstructions(this.localVars, this.allocateRegisters);
 		String moduleName = hlir.getModuleName();
-		saveToJasminFile(instructions, moduleName);
-		return moduleName;
+		return saveToJasminFile(instructions, moduleName) ? 0 : -4;
+	}
+
+	/**
+	 * This method does the parsing and semantic analysis of the statements,
+	 * register allocation and instruction selection one function at a time,
+	 * writing the instructions of each function to the jasmin (.j) file as soon as
+	 * they are selected. The stream stops at the first function with semantic
+	 * errors, and the functions after it are only analysed.
+	 * 
+	 * @param hlir
+	 *            HLIR (High level intermediate representation) created in stream
+	 *            mode
+	 * @return 0 if the jasmin file was written, error code -3 if semantic errors
+	 *         were found, -6 if the registers could not be allocated, or -4 if the
+	 *         file could not be written
+	 */
+	private int streamCompilation(HLIR hlir)
+	{
+		String fileName = hlir.getModuleName() + ".j";
+		boolean allocated;
+		try
+		{
+			Writer file = openJasminFile(hlir.getModuleName());
+			try
+			{
+				allocated = hlir.streamInstructions(frontEnd::loadFunction, this.localVars, this.allocateRegisters,
+						this.reportRegisters, instructions -> {
+							try
+							{
+								writeInstructions(file, instructions);
+							} catch (IOException e)
+							{
+								throw new UncheckedIOException(e);
+							}
+						});
+			} catch (UncheckedIOException e)
+			{
+				throw e.getCause();
+			} finally
+			{
+				file.close();
+			}
+		} catch (IOException e)
+		{
+			e.printStackTrace();
+			new File(fileName).delete();
+			frontEnd.finishAnalysis();
+			return -4;
+		} catch (InternalCompilerError e)
+		{
+			new File(fileName).delete();
+			frontEnd.finishAnalysis();
+			throw e;
+		}
+
+		if (!frontEnd.finishAnalysis())
+		{
+			new File(fileName).delete();
+			return -3;
+		}
+		if (this.reportRegisters)
+			hlir.reportStreamedMinimumRegisters();
+		if (!allocated)
+		{
+			new File(fileName).delete();
+			return -6;
+		}
+		return 0;
 	}
 
 	/**
@@ -288,113 +705,359 @@ public class Yal2jvm
 	 */
 	private static void printUsage()
 	{
-		System.out.println("\nUsage:\tjava -jar yal2jvm.jar [-r=<0..255>] [-o] [-S] [-v] [-help] <input_file.yal>\n");
-		System.out.println("\t-r=<0..255>       number of JVM local vars per function (default 255)  (optional)");
+		System.out.println("\nUsage:\tjava -jar yal2jvm.jar [-r=<0..65535>|-r=auto] [-o] [-O0] [-j=<N>] [-stream] [-S] [-v] [-cache=<dir>] [-cache-size=<MB>] [-cache-stats] [-watch=<dir>] [-jar=<file>] [-run] [-help] <input_file.yal> [<input_file.yal> ...]\n");
+		System.out.println("\t-r=<0..65535>     number of JVM local vars per function (default 65535)(optional)");
+		System.out.println("\t-r=auto           report the minimum -r of each function and module    (optional)");
 		System.out.println("\t-o                run three additional code optimizations              (optional)");
+		System.out.println("\t-O0               skip register allocation, one local per variable     (optional)");
+		System.out.println("\t-j=<N>            threads per function stage, 0 for one per processor (default 1) (optional)");
+		System.out.println("\t-stream           parse, analyse and compile one function at a time   (optional)");
 		System.out.println("\t-S                keep the intermediate Jasmin file (.j) on the CWD    (optional)");
 		System.out.println("\t-v                allow verbose output of all compilation stages       (optional)");
+		System.out.println("\t-cache=<dir>      reuse the compilations and functions in a cache dir  (optional)");
+		System.out.println("\t-cache-size=<MB>  maximum size of the cache (default 256)              (optional)");
+		System.out.println("\t-cache-stats      print the hits and misses of the cache               (optional)");
+		System.out.println("\t-watch=<dir>      compile the .yal files of a dir again when they change (optional)");
+		System.out.println("\t-jar=<file>       write the classes to a JAR file instead of .class files (optional)");
+		System.out.println("\t-run              run the first module in memory instead of writing .class files (optional)");
 		System.out.println("\t-help             prints this help and ignores all other options       (optional)");
-		System.out.println("\t<input_file>.yal  path to the .yal file to compile                     (mandatory)");
+		System.out.println("\t<input_file>.yal  path to the .yal files to compile         (mandatory without -watch)");
 	}
 
 	/**
-	 * This method creates the FileInputStream object to the file to compile
+	 * This method reads the contents of the file to compile
 	 * 
-	 * @return FileInputStream object to the input file
+	 * @return contents of the input file, or null if it could not be read
 	 */
-	private FileInputStream getFileStream()
+	private byte[] readSource()
 	{
-		FileInputStream inputStream = null;
+		byte[] source = null;
 		try
 		{
-			inputStream = new FileInputStream(inputFile);
-		} catch (FileNotFoundException e)
+			source = Files.readAllBytes(Paths.get(inputFile));
+		} catch (NoSuchFileException e)
 		{
 			System.out.println("Error: file " + inputFile + " not found.\n");
-			System.exit(-4);
+		} catch (IOException e)
+		{
+			System.out.println("Error: file " + inputFile + " could not be read.\n");
 		}
-		return inputStream;
+		return source;
 	}
 
 	/**
-	 * This method executes the syntatic analysis using YalParser, creating the AST.
-	 * It prints some errors according to syntactic analysis results.
+	 * This method saves the instructions of jvm code generated by the compiler in a
+	 * file with name = moduleName.j, in the CWD
 	 * 
-	 * @param inputStream
-	 *            FileInputStream object of the file to be read and compiled
-	 * @return root node of the ast. The all AST.
+	 * @param instructions
+	 *            instructions of jvm code generated by the compiler
+	 * @param moduleName
+	 *            name of the module that was compiled
+	 * @return true if the file was written, false otherwise
 	 */
-	private SimpleNode createAst(FileInputStream inputStream)
+	private boolean saveToJasminFile(ArrayList<String> instructions, String moduleName)
 	{
-		new YalParser(inputStream);
-		SimpleNode root = null;
 		try
 		{
-			root = YalParser.Module();
-
-			int noErrors = YalParser.errorCounter.getNoErrors();
-			if (noErrors > 0)
-			{
-				if (noErrors >= 10)
-					System.err.println("At least 10 errors found!");
-				else
-					System.err.println(noErrors + " errors found!");
-
-				return null;
-			}
-		} catch (ParseException e)
+			Writer file = openJasminFile(moduleName);
+			writeInstructions(file, instructions);
+			file.close();
+		} catch (IOException e)
 		{
-			System.out.println("Error: fatal error during parsing stage\n");
-			System.exit(-2);
+			e.printStackTrace();
+			return false;
 		}
+		return true;
+	}
+
+	/**
+	 * This method opens the jasmin (.j) file of a module for writing. When the
+	 * classes are written to a JAR file or run, the jasmin code is kept in memory
+	 * instead.
+	 * 
+	 * @param moduleName
+	 *            name of the module that is compiled
+	 * @return writer of the jasmin code
+	 * @throws IOException
+	 *             if the file could not be opened
+	 */
+	private Writer openJasminFile(String moduleName) throws IOException
+	{
+		if (jar == null && loader == null)
+			return new BufferedWriter(new FileWriter(moduleName + ".j"));
 
-		return root;
+		jasminCode = new CharArrayWriter(1 << 16);
+		return jasminCode;
 	}
 
 	/**
-	 * This method saves the instructions of jvm code generated by the compiler in a
-	 * file with name = moduleName.j, in the CWD
+	 * This method writes instructions of jvm code to the jasmin (.j) file, one per
+	 * line
 	 * 
+	 * @param file
+	 *            writer of the jasmin file
 	 * @param instructions
 	 *            instructions of jvm code generated by the compiler
+	 * @throws IOException
+	 *             if the instructions could not be written
+	 */
+	private void writeInstructions(Writer file, ArrayList<String> instructions) throws IOException
+	{
+		for (int i = 0; i < instructions.size(); i++)
+		{
+			file.write(instructions.get(i));
+			file.write("\n");
+		}
+	}
+
+	/**
+	 * This method compile the jasmin code into byte code.
+	 * 
 	 * @param moduleName
-	 *            name of the module that was compiled
+	 *            name of the module whose jasmin file is compiled.
+	 * @return true if the class file was generated, false if jasmin found errors
 	 */
-	private void saveToJasminFile(ArrayList<String> instructions, String moduleName)
+	private boolean compileToBytecode(String moduleName)
 	{
-		try
+		if (jar != null || loader != null)
+			return compileInMemory(moduleName);
+
+		String fileName = moduleName + ".j";
+		boolean compiled = Jasmin.assemble(fileName);
+
+		if (!keepJFile)
 		{
-			BufferedWriter file = new BufferedWriter(new FileWriter(moduleName + ".j"));
+			File file = new File(fileName);
+			file.delete();
+		}
+		return compiled;
+	}
 
-			for (int i = 0; i < instructions.size(); i++)
+	/**
+	 * This method compiles the jasmin code kept in memory into byte code, and adds
+	 * the class to the JAR and to the classes to run. The jasmin code is written to
+	 * the .j file only if it is kept.
+	 * 
+	 * @param moduleName
+	 *            name of the module whose jasmin code is compiled
+	 * @return true if the class was added, false if jasmin found errors or the .j
+	 *         file could not be written
+	 */
+	private boolean compileInMemory(String moduleName)
+	{
+		String fileName = moduleName + ".j";
+		char[] code = jasminCode.toCharArray();
+		jasminCode = null;
+		if (keepJFile)
+		{
+			try (Writer file = new BufferedWriter(new FileWriter(fileName)))
+			{
+				file.write(code);
+			} catch (IOException e)
 			{
-				file.write(instructions.get(i));
-				file.write("\n");
+				e.printStackTrace();
+				return false;
 			}
+		}
 
-			file.close();
+		byte[] bytes = Jasmin.assemble(fileName, new CharArrayReader(code));
+		if (bytes == null)
+			return false;
+		if (jar != null && !jar.addClass(moduleName, bytes))
+			System.out.println("Warning: module " + moduleName + " was compiled before, its class in " + jarFile
+					+ " is replaced.\n");
+		if (loader != null && !loader.addClass(moduleName, bytes) && jar == null)
+			System.out.println("Warning: module " + moduleName + " was compiled before, its class is replaced.\n");
+		compiledModule = moduleName;
+		return true;
+	}
+
+	/**
+	 * This method runs the main function of a module compiled in memory, in the JVM
+	 * of the compiler. An exception thrown by the module is reported as the JVM
+	 * reports it when the module is run with java, without the frames of the
+	 * compiler below the main function.
+	 * 
+	 * @param moduleName
+	 *            name of the module to run
+	 * @return 0 if the module ran, 1 if it threw an exception, -7 if it has no main
+	 *         function
+	 */
+	private int runModule(String moduleName)
+	{
+		try
+		{
+			loader.runMain(moduleName);
+		} catch (InvocationTargetException e)
+		{
+			Throwable exception = e.getCause();
+			trimStackTraces(exception, moduleName, Collections.newSetFromMap(new IdentityHashMap<>()));
+			System.err.print("Exception in thread \"" + Thread.currentThread().getName() + "\" ");
+			exception.printStackTrace();
+			return 1;
+		} catch (ReflectiveOperationException e)
+		{
+			System.out.println("Error: module " + moduleName + " has no main function.\n");
+			return -7;
+		}
+		return 0;
+	}
+
+	/**
+	 * This method removes the frames of the compiler from the stack trace of an
+	 * exception thrown by a module that was run, and from the traces of its causes
+	 * and suppressed exceptions. Each trace is cut after the main function of the
+	 * module, and left as it is if it does not have it.
+	 * 
+	 * @param exception
+	 *            exception thrown by the module
+	 * @param moduleName
+	 *            name of the module that was run
+	 * @param trimmed
+	 *            exceptions already trimmed, as an exception can appear more than
+	 *            once among the causes
+	 */
+	private static void trimStackTraces(Throwable exception, String moduleName, Set<Throwable> trimmed)
+	{
+		if (exception == null || !trimmed.add(exception))
+			return;
+
+		StackTraceElement[] trace = exception.getStackTrace();
+		int length = trace.length;
+		while (length > 0 && !(trace[length - 1].getClassName().equals(moduleName)
+				&& trace[length - 1].getMethodName().equals("main")))
+			length--;
+		if (length > 0)
+			exception.setStackTrace(Arrays.copyOf(trace, length));
+
+		trimStackTraces(exception.getCause(), moduleName, trimmed);
+		for (Throwable suppressed : exception.getSuppressed())
+			trimStackTraces(suppressed, moduleName, trimmed);
+	}
+
+	/**
+	 * This method writes the JAR file with the classes of the modules compiled
+	 * 
+	 * @return true if the file was written, false otherwise
+	 */
+	private boolean writeJar()
+	{
+		try
+		{
+			jar.write(Paths.get(jarFile));
 		} catch (IOException e)
 		{
-			e.printStackTrace();
-			System.exit(-4);
+			System.out.println("Error: file " + jarFile + " could not be written: " + e.getMessage() + "\n");
+			return false;
 		}
+		System.out.println("Generated: " + jarFile);
+		return true;
 	}
 
 	/**
-	 * This method compile the jasmin code into byte code.
+	 * This method writes the files of the compilation from the cache, if the same
+	 * source was compiled before with the same options. The cache is not used when
+	 * the registers are reported, as only the compilation prints the report, nor
+	 * when the classes are written to a JAR file or run.
 	 * 
-	 * @param fileName
-	 *            name of the jasmin file to compile.
+	 * @param source
+	 *            contents of the file to be compiled
+	 * @return true if the files were written from the cache, false if the file must
+	 *         be compiled
 	 */
-	private void compileToBytecode(String fileName)
+	private boolean restoreFromCache(byte[] source)
 	{
-		Jasmin.main(new String[] { fileName });
+		if (cache == null || reportRegisters || jar != null || loader != null)
+			return false;
 
-		if (!keepJFile)
+		try
 		{
-			File file = new File(fileName);
-			file.delete();
+			cacheKey = CompilationCache.getKey(source, getOutputOptions());
+			ArrayList<String> files = cache.restore(cacheKey);
+			if (files == null)
+				return false;
+
+			for (String file : files)
+			{
+				if (file.endsWith(".class"))
+					System.out.println("Generated: " + file);
+			}
+			printCacheStatistics();
+			return true;
+		} catch (IOException e)
+		{
+			System.out.println("Warning: compilation cache could not be read: " + e.getMessage() + "\n");
+			cacheKey = null;
+			return false;
+		}
+	}
+
+	/**
+	 * This method adds the files written by the compilation, and the functions
+	 * compiled, to the cache
+	 * 
+	 * @param moduleName
+	 *            name of the module that was compiled
+	 */
+	private void storeInCache(String moduleName)
+	{
+		if (functionCache != null)
+			functionCache.save();
+		if (cacheKey == null)
+			return;
+
+		ArrayList<String> files = new ArrayList<>();
+		files.add(moduleName + ".class");
+		if (keepJFile)
+			files.add(moduleName + ".j");
+		try
+		{
+			cache.store(cacheKey, files);
+		} catch (IOException e)
+		{
+			System.out.println("Warning: compilation could not be stored in the cache: " + e.getMessage() + "\n");
 		}
+		printCacheStatistics();
+	}
+
+	/**
+	 * This method prints the statistics of the cache, if requested
+	 */
+	private void printCacheStatistics()
+	{
+		if (!printCacheStatistics)
+			return;
+
+		try
+		{
+			System.out.println(cache.getStatistics());
+		} catch (IOException e)
+		{
+			System.out.println("Warning: compilation cache statistics could not be read: " + e.getMessage() + "\n");
+		}
+	}
+
+	/**
+	 * This method describes the options that change the files written by the
+	 * compilation, which are part of the key of the compilation in the cache
+	 * 
+	 * @return description of the options
+	 */
+	private String getOutputOptions()
+	{
+		return "-r=" + localVars + " -o=" + optimize + " -O0=" + !allocateRegisters + " -stream=" + stream + " -S="
+				+ keepJFile;
+	}
+
+	/**
+	 * This method describes the options that change the instructions of a function,
+	 * which are part of the key of each function in the function cache
+	 * 
+	 * @return description of the options
+	 */
+	private String getFunctionOptions()
+	{
+		return "-r=" + localVars + " -o=" + optimize + " -O0=" + !allocateRegisters;
 	}
 
 	/**
@@ -19,6 +19,11 @@ public class ASTARGUMENT extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.stringArg + " " + this.intArg + " " + this.idArg;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
@@ -17,6 +17,11 @@ public class ASTARRAYACCESS extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.arrayID;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
@@ -17,6 +17,11 @@ public class ASTARRAYSIZE extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return String.valueOf(this.integer);
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
@@ -18,6 +18,11 @@ public class ASTCALL extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.module + " " + this.method;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
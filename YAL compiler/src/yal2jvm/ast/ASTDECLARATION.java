@@ -18,6 +18,11 @@ public class ASTDECLARATION extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.operator + " " + this.integer;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
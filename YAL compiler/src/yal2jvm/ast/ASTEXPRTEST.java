@@ -17,6 +17,11 @@ public class ASTEXPRTEST extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.operation;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
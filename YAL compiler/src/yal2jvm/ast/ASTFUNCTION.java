@@ -17,6 +17,11 @@ public class ASTFUNCTION extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.id;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
@@ -18,6 +18,11 @@ public class ASTINDEX extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.indexID + " " + this.indexValue;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
@@ -17,6 +17,11 @@ public class ASTMODULE extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.name;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
@@ -17,6 +17,11 @@ public class ASTRHS extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.operator;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
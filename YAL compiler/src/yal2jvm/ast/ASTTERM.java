@@ -18,6 +18,11 @@ public class ASTTERM extends SimpleNode
 		super(p, id);
 	}
 
+	public String jjtGetValue()
+	{
+		return this.integer + " " + this.operator;
+	}
+
 	public void dump(String prefix)
 	{
 		System.out.println(toString(prefix));
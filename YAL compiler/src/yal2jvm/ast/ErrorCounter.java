@@ -3,6 +3,8 @@ package yal2jvm.ast;
 public class ErrorCounter
 {
 
+	public static final int MAX_ERRORS = 10;
+
 	private int noErrors = 0;
 
 	public ErrorCounter()
@@ -14,7 +16,12 @@ public class ErrorCounter
 	{
 		noErrors++;
 
-		return noErrors == 10;
+		return noErrors == MAX_ERRORS;
+	}
+
+	public boolean reachedMaxErrors()
+	{
+		return noErrors >= MAX_ERRORS;
 	}
 
 	public int getNoErrors()
@@ -7,9 +7,8 @@ public class SimpleNode implements Node
 
 	private Node parent;
 	protected Node[] children;
+	protected int numChildren;
 	protected int id;
-	protected String value = "";
-	protected YalParser parser;
 	protected int beginLine = -1;
 
 	public SimpleNode(int i)
@@ -20,7 +19,6 @@ public class SimpleNode implements Node
 	public SimpleNode(YalParser p, int i)
 	{
 		this(i);
-		parser = p;
 	}
 
 	public void jjtOpen()
@@ -41,6 +39,11 @@ public class SimpleNode implements Node
 		return parent;
 	}
 
+	/*
+	 * JJTree adds the children from the last to the first, so the array is usually
+	 * created with its final size. When it has to grow, its size is at least
+	 * doubled, so adding children in order is amortized constant time.
+	 */
 	public void jjtAddChild(Node n, int i)
 	{
 		if (children == null)
@@ -48,11 +51,13 @@ public class SimpleNode implements Node
 			children = new Node[i + 1];
 		} else if (i >= children.length)
 		{
-			Node c[] = new Node[i + 1];
+			Node c[] = new Node[Math.max(i + 1, children.length * 2)];
 			System.arraycopy(children, 0, c, 0, children.length);
 			children = c;
 		}
 		children[i] = n;
+		if (i >= numChildren)
+			numChildren = i + 1;
 	}
 
 	public Node jjtGetChild(int i)
@@ -60,14 +65,24 @@ public class SimpleNode implements Node
 		return children[i];
 	}
 
+	public void jjtReleaseChild(int i)
+	{
+		children[i] = null;
+	}
+
 	public int jjtGetNumChildren()
 	{
-		return (children == null) ? 0 : children.length;
+		return numChildren;
 	}
 
+	/*
+	 * Nodes keep their values in the fields of each subclass, so there is no
+	 * generic value stored in every node. Subclasses with fields return them
+	 * here, separated by spaces.
+	 */
 	public String jjtGetValue()
 	{
-		return value;
+		return "";
 	}
 
 	/*
@@ -95,12 +110,10 @@ public class SimpleNode implements Node
 		System.out.println(toString(prefix));
 		if (children == null)
 		{
-			System.out.println(prefix + "\"" + this.value + "\"");
+			System.out.println(prefix + "\"\"");
 		}
 		if (children != null)
 		{
-			if (!this.value.equals(""))
-				System.out.println(prefix + "\"" + this.value + "\"");
 			for (Node aChildren : children)
 			{
 				SimpleNode n = (SimpleNode) aChildren;
@@ -0,0 +1,473 @@
+package yal2jvm.ast;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hand written token manager for YAL sources. It works directly on the bytes of
+ * the source file, as every token of the language is ASCII, and produces the same
+ * tokens, positions and lexical errors as the token manager JavaCC generates from
+ * the token definitions in YalParser.jjt. Each byte counts as one column.
+ */
+public class YalLexer implements TokenManager, YalParserConstants
+{
+	private static final int IDENTIFIER_START = 1;
+	private static final int IDENTIFIER_PART = 2;
+	private static final int STRING_PART = 4;
+	private static final int[] CHARACTER_CLASSES = new int[256];
+
+	static
+	{
+		for (int c = 'a'; c <= 'z'; c++)
+			CHARACTER_CLASSES[c] = IDENTIFIER_START | IDENTIFIER_PART | STRING_PART;
+		for (int c = 'A'; c <= 'Z'; c++)
+			CHARACTER_CLASSES[c] = IDENTIFIER_START | IDENTIFIER_PART | STRING_PART;
+		for (int c = '0'; c <= '9'; c++)
+			CHARACTER_CLASSES[c] = IDENTIFIER_PART | STRING_PART;
+		CHARACTER_CLASSES['$'] = IDENTIFIER_START | IDENTIFIER_PART;
+		CHARACTER_CLASSES['_'] = IDENTIFIER_START | IDENTIFIER_PART;
+		CHARACTER_CLASSES[':'] = STRING_PART;
+		CHARACTER_CLASSES[' '] = STRING_PART;
+		CHARACTER_CLASSES['='] = STRING_PART;
+	}
+
+	private final byte[] source;
+	private final int length;
+	private int pos = 0;
+
+	// the column of the character at index i of the current line is i - lineStart + 1
+	private int line = 1;
+	private int lineStart = 0;
+	private int previousLine = 0;
+	private int previousLineStart = 0;
+
+	/**
+	 * YalLexer constructor
+	 *
+	 * @param source
+	 *            bytes of the source file
+	 */
+	public YalLexer(byte[] source)
+	{
+		this.source = source;
+		this.length = source.length;
+	}
+
+	/**
+	 * YalLexer constructor for part of a source file, whose tokens are given the
+	 * lines and columns they have in the whole file
+	 *
+	 * @param source
+	 *            bytes of the source file
+	 * @param begin
+	 *            index of the first byte to read
+	 * @param end
+	 *            index after the last byte to read
+	 * @param line
+	 *            line of the byte at index begin
+	 */
+	public YalLexer(byte[] source, int begin, int end, int line)
+	{
+		this.source = source;
+		this.length = end;
+		this.pos = begin;
+		this.line = line;
+		this.lineStart = begin;
+		while (lineStart > 0 && source[lineStart - 1] != '\n' && source[lineStart - 1] != '\r')
+			lineStart--;
+	}
+
+	/**
+	 * Returns the index of the source after the last token returned
+	 *
+	 * @return index after the last token
+	 */
+	public int getOffset()
+	{
+		return pos;
+	}
+
+	/**
+	 * Counts the line terminators of part of a source file
+	 *
+	 * @param source
+	 *            bytes of the source file
+	 * @param begin
+	 *            index of the first byte to read
+	 * @param end
+	 *            index after the last byte to read
+	 * @return number of line terminators, counting \r\n as one
+	 */
+	public static int countLines(byte[] source, int begin, int end)
+	{
+		int lines = 0;
+		for (int i = begin; i < end; i++)
+		{
+			if (source[i] == '\n')
+				lines++;
+			else if (source[i] == '\r')
+			{
+				lines++;
+				if (i + 1 < end && source[i + 1] == '\n')
+					i++;
+			}
+		}
+
+		return lines;
+	}
+
+	/**
+	 * Returns the next token of the source, skipping white space and comments. A
+	 * token of kind EOF is returned at the end of the source, and on every call
+	 * after that.
+	 *
+	 * @return the next token
+	 */
+	public Token getNextToken()
+	{
+		while (pos < length)
+		{
+			int c = source[pos] & 0xff;
+			switch (c)
+			{
+			case ' ':
+			case '\t':
+				pos++;
+				break;
+			case '\n':
+				pos++;
+				newLine(pos);
+				break;
+			case '\r':
+				pos++;
+				if (pos < length && source[pos] == '\n')
+					pos++;
+				newLine(pos);
+				break;
+			case '/':
+				if (!skipComment())
+					return token(ARITH_OP, "/", 1);
+				break;
+			case '*':
+				return token(ARITH_OP, "*", 1);
+			case '<':
+				if (peek(1) == '<')
+					return token(ARITH_OP, "<<", 2);
+				if (peek(1) == '=')
+					return token(RELA_OP, "<=", 2);
+				return token(RELA_OP, "<", 1);
+			case '>':
+				if (peek(1) == '>')
+				{
+					if (peek(2) == '>')
+						return token(ARITH_OP, ">>>", 3);
+					return token(ARITH_OP, ">>", 2);
+				}
+				if (peek(1) == '=')
+					return token(RELA_OP, ">=", 2);
+				return token(RELA_OP, ">", 1);
+			case '=':
+				if (peek(1) == '=')
+					return token(RELA_OP, "==", 2);
+				return token(ASSIGN, "=", 1);
+			case '!':
+				if (peek(1) == '=')
+					return token(RELA_OP, "!=", 2);
+				return token(NOT_OP, "!", 1);
+			case '+':
+				return token(ADDSUB_OP, "+", 1);
+			case '-':
+				return token(ADDSUB_OP, "-", 1);
+			case '&':
+				return token(BITWISE_OP, "&", 1);
+			case '|':
+				return token(BITWISE_OP, "|", 1);
+			case '^':
+				return token(BITWISE_OP, "^", 1);
+			case '(':
+				return token(LPAR, "(", 1);
+			case ')':
+				return token(RPAR, ")", 1);
+			case ',':
+				return token(VIRG, ",", 1);
+			case ';':
+				return token(PVIRG, ";", 1);
+			case '{':
+				return token(LCHAVETA, "{", 1);
+			case '}':
+				return token(RCHAVETA, "}", 1);
+			case '[':
+				return token(LPARRETO, "[", 1);
+			case ']':
+				return token(RPARRETO, "]", 1);
+			case '.':
+				return token(PONTO, ".", 1);
+			case '"':
+				return stringToken();
+			default:
+				if (c >= '0' && c <= '9')
+					return integerToken();
+				if ((CHARACTER_CLASSES[c] & IDENTIFIER_START) != 0)
+					return identifierToken();
+				throw lexicalError(c);
+			}
+		}
+
+		return eofToken();
+	}
+
+	/**
+	 * Skips the comment that starts at the current position, if it is a complete
+	 * line or block comment. A line comment must end with a line terminator.
+	 *
+	 * @return true if a comment was skipped, false if the slash is a token
+	 */
+	private boolean skipComment()
+	{
+		if (peek(1) == '/')
+		{
+			for (int i = pos + 2; i < length; i++)
+			{
+				if (source[i] == '\n' || source[i] == '\r')
+				{
+					pos = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		if (peek(1) == '*')
+		{
+			int end = -1;
+			for (int i = pos + 2; i < length - 1; i++)
+			{
+				if (source[i] == '*' && source[i + 1] == '/')
+				{
+					end = i + 2;
+					break;
+				}
+			}
+			if (end == -1)
+				return false;
+
+			for (int i = pos + 2; i < end; i++)
+			{
+				if (source[i] == '\n')
+					newLine(i + 1);
+				else if (source[i] == '\r')
+				{
+					if (source[i + 1] == '\n')
+						i++;
+					newLine(i + 1);
+				}
+			}
+			pos = end;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Creates a token of the STRING kind if the quote at the current position
+	 * starts a string, otherwise a token of the ASPA kind
+	 *
+	 * @return the token
+	 */
+	private Token stringToken()
+	{
+		int end = pos + 1;
+		while (end < length && (CHARACTER_CLASSES[source[end] & 0xff] & STRING_PART) != 0)
+			end++;
+
+		if (end == pos + 1 || end == length || source[end] != '"')
+			return token(ASPA, "\"", 1);
+
+		return token(STRING, image(end + 1), end + 1 - pos);
+	}
+
+	/**
+	 * Creates a token of the INTEGER kind with the digits at the current position
+	 *
+	 * @return the token
+	 */
+	private Token integerToken()
+	{
+		int end = pos + 1;
+		while (end < length && source[end] >= '0' && source[end] <= '9')
+			end++;
+
+		return token(INTEGER, image(end), end - pos);
+	}
+
+	/**
+	 * Creates a token of the ID kind, or of a reserved word kind, with the
+	 * identifier at the current position
+	 *
+	 * @return the token
+	 */
+	private Token identifierToken()
+	{
+		int end = pos + 1;
+		while (end < length && (CHARACTER_CLASSES[source[end] & 0xff] & IDENTIFIER_PART) != 0)
+			end++;
+
+		int tokenLength = end - pos;
+		switch (tokenLength)
+		{
+		case 2:
+			if (matches("if"))
+				return token(IF, "if", 2);
+			break;
+		case 4:
+			if (matches("else"))
+				return token(ELSE, "else", 4);
+			if (matches("size"))
+				return token(SIZE, "size", 4);
+			break;
+		case 5:
+			if (matches("while"))
+				return token(WHILE, "while", 5);
+			break;
+		case 6:
+			if (matches("module"))
+				return token(MODULE, "module", 6);
+			break;
+		case 8:
+			if (matches("function"))
+				return token(FUNCTION, "function", 8);
+			break;
+		}
+
+		return token(ID, image(end), tokenLength);
+	}
+
+	/**
+	 * Checks whether the source at the current position starts with the given
+	 * reserved word
+	 *
+	 * @param word
+	 *            reserved word
+	 * @return true if the source matches the word, false otherwise
+	 */
+	private boolean matches(String word)
+	{
+		for (int i = 0; i < word.length(); i++)
+		{
+			if (source[pos + i] != word.charAt(i))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Creates a token that starts at the current position and advances past it
+	 *
+	 * @param kind
+	 *            kind of the token
+	 * @param image
+	 *            text of the token
+	 * @param tokenLength
+	 *            length of the token in bytes
+	 * @return the token
+	 */
+	private Token token(int kind, String image, int tokenLength)
+	{
+		Token token = Token.newToken(kind, image);
+		token.beginLine = line;
+		token.endLine = line;
+		token.beginColumn = pos - lineStart + 1;
+		token.endColumn = pos + tokenLength - lineStart;
+		pos += tokenLength;
+
+		return token;
+	}
+
+	/**
+	 * Creates the token of the EOF kind, placed at the last character of the
+	 * source
+	 *
+	 * @return the token
+	 */
+	private Token eofToken()
+	{
+		Token token = Token.newToken(EOF, "");
+		if (lineStart == length && previousLine == 0)
+			return token;
+
+		if (lineStart == length)
+		{
+			token.beginLine = previousLine;
+			token.beginColumn = length - previousLineStart;
+		} else
+		{
+			token.beginLine = line;
+			token.beginColumn = length - lineStart;
+		}
+		token.endLine = token.beginLine;
+		token.endColumn = token.beginColumn;
+
+		return token;
+	}
+
+	/**
+	 * Creates the error for a character that does not start any token. As in the
+	 * generated token manager, a character at the end of the source is reported as
+	 * the end of file, one column after it.
+	 *
+	 * @param c
+	 *            byte at the current position
+	 * @return the error
+	 */
+	private TokenMgrError lexicalError(int c)
+	{
+		int column = pos - lineStart + 1;
+		boolean eofSeen = pos + 1 == length;
+		if (eofSeen)
+			column++;
+
+		char character = c < 0x80 ? (char) c : '\uFFFD';
+		return new TokenMgrError(eofSeen, 0, line, column, "", character, TokenMgrError.LEXICAL_ERROR);
+	}
+
+	/**
+	 * Returns the text of the source from the current position up to the given
+	 * index
+	 *
+	 * @param end
+	 *            index after the last byte of the text
+	 * @return the text
+	 */
+	private String image(int end)
+	{
+		return new String(source, pos, end - pos, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Returns the byte at the given offset from the current position
+	 *
+	 * @param offset
+	 *            offset from the current position
+	 * @return the byte, or -1 past the end of the source
+	 */
+	private int peek(int offset)
+	{
+		int i = pos + offset;
+		return i < length ? source[i] : -1;
+	}
+
+	/**
+	 * Registers that a new line starts at the given index
+	 *
+	 * @param next
+	 *            index of the first byte of the new line
+	 */
+	private void newLine(int next)
+	{
+		previousLine = line;
+		previousLineStart = lineStart;
+		line++;
+		lineStart = next;
+	}
+}
@@ -0,0 +1,209 @@
+package yal2jvm.hlir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+import yal2jvm.CompilationCache;
+import yal2jvm.ast.*;
+
+/**
+ * Cache of the instructions selected for each function, so that the functions
+ * that did not change since a previous compilation of the module skip their
+ * liveness analysis, register allocation and instruction selection. A function is
+ * identified by a hash of its AST, of the signatures of the functions of the
+ * module it calls, of the globals it uses and of the options of the compilation.
+ * The instructions are kept in memory and, if there is one, in the compilation
+ * cache.
+ */
+public class FunctionCache
+{
+	private CompilationCache compilationCache;
+	private String options;
+	private HashMap<String, ArrayList<String>> functions = new HashMap<>();
+	private HashMap<String, ArrayList<String>> newFunctions = new HashMap<>();
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * FunctionCache constructor
+	 *
+	 * @param compilationCache
+	 *            compilation cache in which the functions are also kept, or null
+	 *            to keep them only in memory
+	 * @param options
+	 *            description of the options that change the instructions of a
+	 *            function
+	 */
+	public FunctionCache(CompilationCache compilationCache, String options)
+	{
+		this.compilationCache = compilationCache;
+		this.options = options;
+	}
+
+	/**
+	 * Returns the key of a function of the module
+	 *
+	 * @param astFunction
+	 *            ASTFUNCTION
+	 * @param module
+	 *            module of the function, with the signatures of all functions and
+	 *            all the globals already created
+	 * @return key of the function, or null if it cannot be computed
+	 */
+	String getKey(ASTFUNCTION astFunction, IRModule module)
+	{
+		StringBuilder description = new StringBuilder("module ").append(module.getName()).append('\n');
+		TreeSet<String> names = new TreeSet<>();
+		TreeSet<String> calls = new TreeSet<>();
+		describe(astFunction, module.getName(), description, names, calls);
+
+		for (String name : names)
+		{
+			IRGlobal global = module.getGlobal(name);
+			description.append("global ").append(name).append(' ').append(global == null ? "-" : global.getType())
+					.append('\n');
+		}
+
+		for (String call : calls)
+		{
+			description.append("call ").append(call);
+			IRMethod method = module.getChildMethod(call);
+			if (method == null)
+				description.append(" -");
+			else
+			{
+				description.append(' ').append(method.getReturnType());
+				for (Variable arg : method.getArgs())
+					description.append(' ').append(arg.getType());
+			}
+			description.append('\n');
+		}
+
+		try
+		{
+			return CompilationCache.getKey(description.toString().getBytes(StandardCharsets.UTF_8), options);
+		} catch (IOException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the instructions of a function, from memory or from the compilation
+	 * cache. The hit or miss is added to the statistics.
+	 *
+	 * @param key
+	 *            key of the function
+	 * @return instructions of the function, or null if it is not cached
+	 */
+	ArrayList<String> get(String key)
+	{
+		ArrayList<String> instructions = functions.get(key);
+		if (instructions == null && compilationCache != null)
+		{
+			try
+			{
+				instructions = compilationCache.restoreFunction(key);
+			} catch (IOException e)
+			{
+				System.out.println("Warning: function cache could not be read: " + e.getMessage() + "\n");
+				compilationCache = null;
+			}
+			if (instructions != null)
+				functions.put(key, instructions);
+		}
+
+		if (instructions == null)
+			misses++;
+		else
+			hits++;
+		return instructions;
+	}
+
+	/**
+	 * Adds the instructions of a function to the cache. They are only written to
+	 * the compilation cache by save.
+	 *
+	 * @param key
+	 *            key of the function
+	 * @param instructions
+	 *            instructions of the function
+	 */
+	void put(String key, ArrayList<String> instructions)
+	{
+		functions.put(key, instructions);
+		newFunctions.put(key, instructions);
+	}
+
+	/**
+	 * Writes the functions added since the last save, and the hits and misses, to
+	 * the compilation cache
+	 */
+	public void save()
+	{
+		if (compilationCache != null)
+		{
+			try
+			{
+				compilationCache.storeFunctions(newFunctions, hits, misses);
+			} catch (IOException e)
+			{
+				System.out.println("Warning: functions could not be stored in the cache: " + e.getMessage() + "\n");
+			}
+		}
+
+		newFunctions.clear();
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Appends the description of a node and of its descendants, and collects the
+	 * names of the variables and of the functions of the module they use
+	 *
+	 * @param node
+	 *            root of the subtree
+	 * @param moduleName
+	 *            name of the module
+	 * @param description
+	 *            receives one line per node
+	 * @param names
+	 *            receives the names of the variables
+	 * @param calls
+	 *            receives the names of the functions of the module called
+	 */
+	private static void describe(SimpleNode node, String moduleName, StringBuilder description,
+			TreeSet<String> names, TreeSet<String> calls)
+	{
+		description.append(node.getId()).append(' ').append(node.jjtGetValue()).append(' ')
+				.append(node.jjtGetNumChildren()).append('\n');
+
+		String name = null;
+		if (node instanceof ASTSCALARACCESS)
+			name = ((ASTSCALARACCESS) node).id;
+		else if (node instanceof ASTARRAYACCESS)
+			name = ((ASTARRAYACCESS) node).arrayID;
+		else if (node instanceof ASTSCALARELEMENT)
+			name = ((ASTSCALARELEMENT) node).id;
+		else if (node instanceof ASTARRAYELEMENT)
+			name = ((ASTARRAYELEMENT) node).id;
+		else if (node instanceof ASTINDEX)
+			name = ((ASTINDEX) node).indexID;
+		else if (node instanceof ASTARGUMENT)
+			name = ((ASTARGUMENT) node).idArg;
+		else if (node instanceof ASTCALL)
+		{
+			ASTCALL call = (ASTCALL) node;
+			if (call.method != null && (call.module == null || call.module.equals(moduleName)))
+				calls.add(call.method);
+		}
+		if (name != null)
+			names.add(name);
+
+		for (int i = 0; i < node.jjtGetNumChildren(); i++)
+			describe((SimpleNode) node.jjtGetChild(i), moduleName, description, names, calls);
+	}
+}
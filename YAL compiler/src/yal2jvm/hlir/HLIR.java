@@ -2,13 +2,22 @@ package yal2jvm.hlir;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import yal2jvm.Yal2jvm;
 import yal2jvm.ast.*;
 import yal2jvm.hlir.liveness_analysis.IntGraph;
 import yal2jvm.hlir.liveness_analysis.LivenessAnalyzer;
+import yal2jvm.hlir.liveness_analysis.MethodAnalyzer;
+import yal2jvm.hlir.liveness_analysis.SetBuilder;
 import yal2jvm.hlir.register_allocation.RegisterAllocator;
+import yal2jvm.utils.InternalCompilerError;
 import yal2jvm.utils.Utils;
 
 /**
@@ -18,6 +27,11 @@ public class HLIR
 {
 	private IRModule root;
 	private HashMap<String, IntGraph> intGraphs;
+	private ExecutorService pool;
+	private ASTMODULE astModule;
+	private boolean stream;
+	private FunctionCache functionCache;
+	private TreeMap<String, Integer> streamedMinimumRegisters;
 	public static boolean optimize;
 	public static HashMap<String, HashMap<String, Integer>> allocatedRegisterByMethodName;
 
@@ -28,7 +42,36 @@ public class HLIR
 	 */
 	public HLIR(SimpleNode ast)
 	{
-		ASTMODULE astModule = (ASTMODULE) ast;
+		this(ast, false);
+	}
+
+	/**
+	 * Creates a HLIR. In stream mode only the globals and the functions signatures
+	 * are created, the statements of each function are created one function at a
+	 * time by streamInstructions.
+	 * 
+	 * @param ast ASTMODULE
+	 * @param stream true to create the functions statements later, one at a time
+	 */
+	public HLIR(SimpleNode ast, boolean stream)
+	{
+		this(ast, stream, null);
+	}
+
+	/**
+	 * Creates a HLIR whose functions are looked up in a function cache. The
+	 * statements of a function found in the cache are not created, and its
+	 * instructions are taken from the cache.
+	 * 
+	 * @param ast ASTMODULE
+	 * @param stream true to create the functions statements later, one at a time
+	 * @param functionCache cache of the instructions of the functions, or null
+	 */
+	public HLIR(SimpleNode ast, boolean stream, FunctionCache functionCache)
+	{
+		this.astModule = (ASTMODULE) ast;
+		this.stream = stream;
+		this.functionCache = functionCache;
 		createModuleHHIR(astModule);
 	}
 
@@ -40,12 +83,26 @@ public class HLIR
 		HLIR.optimize = true;
 	}
 
+	/**
+	 * Sets the pool of the threads that do the liveness analysis, register
+	 * allocation and instruction selection of the methods. Without a pool, the
+	 * methods are processed one after another.
+	 * 
+	 * @param pool
+	 *            pool shared by the compilations of the compiler, or null
+	 */
+	public void setPool(ExecutorService pool)
+	{
+		this.pool = pool;
+		this.root.setPool(this.pool);
+	}
+
 	/**
 	 * Performs the dataflow analysis
 	 */
 	public void dataflowAnalysis()
 	{
-		LivenessAnalyzer analyzer = new LivenessAnalyzer(this.root);
+		LivenessAnalyzer analyzer = new LivenessAnalyzer(this.root, this.pool);
 		analyzer.analyze();
 		this.intGraphs = analyzer.getInterferenceGraphs();
 	}
@@ -59,7 +116,7 @@ public class HLIR
 	 */
 	public boolean allocateRegisters(int maxLocals)
 	{
-		RegisterAllocator allocator = new RegisterAllocator(this.intGraphs);
+		RegisterAllocator allocator = new RegisterAllocator(this.intGraphs, this.pool);
 		boolean allocateSuccessfully = allocator.allocate(maxLocals);
 
 		allocatedRegisterByMethodName = allocator.getAllocatedRegisterByMethodName();
@@ -70,6 +127,100 @@ public class HLIR
 		return allocateSuccessfully;
 	}
 
+	/**
+	 * Assigns one register per variable of each method, without liveness analysis
+	 * nor register allocation. Arguments keep their own registers and the other
+	 * variables take the following ones, in the order of their names.
+	 * 
+	 * @param maxLocals
+	 *            locals maximum
+	 * @return true if all methods fit in the locals maximum, false otherwise
+	 */
+	public boolean assignOneRegisterPerVariable(int maxLocals)
+	{
+		allocatedRegisterByMethodName = new HashMap<>();
+		for (IRNode child : this.root.getChildren())
+		{
+			if (!child.getNodeType().equals("Method"))
+				continue;
+
+			IRMethod method = (IRMethod) child;
+			if (method.hasInstructions())
+				continue;
+
+			HashMap<String, Integer> varNameToRegisterNumber = getOneRegisterPerVariable(method, maxLocals);
+			if (varNameToRegisterNumber == null)
+				return false;
+			allocatedRegisterByMethodName.put(method.getName(), varNameToRegisterNumber);
+		}
+
+		assignNewRegisters(allocatedRegisterByMethodName);
+		return true;
+	}
+
+	/**
+	 * Gives one register to each variable of a method. Outputs an error if the
+	 * method does not fit in the locals maximum.
+	 * 
+	 * @param method
+	 *            the method whose variables get the registers
+	 * @param maxLocals
+	 *            locals maximum
+	 * @return hashMap with the method's variables and corresponding registers, or
+	 *         null if the method does not fit in the locals maximum
+	 */
+	private HashMap<String, Integer> getOneRegisterPerVariable(IRMethod method, int maxLocals)
+	{
+		HashMap<String, Integer> varNameToRegisterNumber = new HashMap<>();
+		Variable[] args = method.getArgs();
+		for (int i = 0; i < args.length; i++)
+			varNameToRegisterNumber.put(args[i].getVar(), i);
+
+		int register = args.length;
+		for (String local : method.getLocals())
+		{
+			if (!varNameToRegisterNumber.containsKey(local))
+				varNameToRegisterNumber.put(local, register++);
+		}
+
+		if (varNameToRegisterNumber.size() > maxLocals)
+		{
+			System.out.println("Error allocating registers to method " + method.getName() + ".");
+			System.out.println("Number of registers must be equal or higher than " + varNameToRegisterNumber.size() + ".");
+			return null;
+		}
+
+		return varNameToRegisterNumber;
+	}
+
+	/**
+	 * Prints, for each method, the minimum number of registers with which the register allocation is possible
+	 */
+	public void reportMinimumRegisters()
+	{
+		RegisterAllocator allocator = new RegisterAllocator(this.intGraphs, this.pool);
+		printMinimumRegisters(allocator.findMinimumNumberOfRegisters());
+	}
+
+	/**
+	 * Prints the minimum number of registers of each method and of the module
+	 * 
+	 * @param minimumRegisters
+	 *            TreeMap with methods names and the respective minimum number of
+	 *            registers
+	 */
+	private void printMinimumRegisters(TreeMap<String, Integer> minimumRegisters)
+	{
+		int moduleMinimum = 0;
+		System.out.println("Minimum number of registers per method:");
+		for (Map.Entry<String, Integer> entry : minimumRegisters.entrySet())
+		{
+			System.out.println("Method " + entry.getKey() + " -> " + entry.getValue());
+			moduleMinimum = Math.max(moduleMinimum, entry.getValue());
+		}
+		System.out.println("Minimum -r for module " + getModuleName() + ": " + moduleMinimum);
+	}
+
 	/**
 	 * Prints the intermediate representation
 	 */
@@ -110,8 +261,15 @@ public class HLIR
 		if (Yal2jvm.VERBOSE)
 			System.out.println("\nRegisters assigned per method:");
 
+		ArrayList<Callable<Void>> tasks = new ArrayList<>();
 		for (String key : methods.keySet())
-			assignNewRegistersMethod(methods.get(key), key);
+		{
+			tasks.add(() -> {
+				assignNewRegistersMethod(methods.get(key), key);
+				return null;
+			});
+		}
+		Utils.invokeAll(pool, tasks);
 	}
 
 	/**
@@ -157,19 +315,297 @@ public class HLIR
 	}
 
 	/**
-	 * Gets the instructions from code generation
+	 * Gets the instructions from code generation. The methods whose code exceeds
+	 * the limit of the JVM are split by outlining regions of them to new methods,
+	 * which have their registers allocated as the registers of the other methods
+	 * were.
 	 * 
+	 * @param maxLocals
+	 *            locals maximum
+	 * @param allocateRegisters
+	 *            true if the registers were allocated after a liveness analysis,
+	 *            false if each variable was given one register
 	 * @return an arrayList with the instructions
 	 */
-	public ArrayList<String> selectInstructions()
+	public ArrayList<String> selectInstructions(int maxLocals, boolean allocateRegisters)
 	{
+		ArrayList<ArrayList<String>> childrenInstructions = root.getChildrenInstructions();
+		for (int i = 0; i < root.getChildren().size(); i++)
+		{
+			IRNode child = root.getChildren().get(i);
+			if (!child.getNodeType().equals("Method")
+					|| ((IRMethod) child).getCodeSize() <= MethodOutliner.MAX_CODE_SIZE)
+				continue;
+
+			IRMethod method = (IRMethod) child;
+			ArrayList<IRMethod> methods = outlineMethod(method, getASTFunction(method.getName()), maxLocals,
+					allocateRegisters);
+			if (methods == null)
+				continue;
+
+			childrenInstructions.remove(i);
+			for (IRMethod outlinedMethod : methods)
+				childrenInstructions.add(i++, outlinedMethod.getInstructions());
+			i--;
+		}
+
 		ArrayList<String> inst = new ArrayList<>();
-		inst.addAll(root.getInstructions());
+		inst.addAll(root.getInstructions(childrenInstructions));
 		inst.addAll(getMethodClInit());
 
+		if (functionCache != null)
+		{
+			for (IRNode child : root.getChildren())
+			{
+				if (child.getNodeType().equals("Method") && ((IRMethod) child).getCacheKey() != null)
+					functionCache.put(((IRMethod) child).getCacheKey(), child.getInstructions());
+			}
+		}
+
 		return inst;
 	}
 
+	/**
+	 * Creates, allocates and selects the instructions of one function at a time,
+	 * handing them to the output as soon as they are ready. The whole declaration of
+	 * each function is asked for only when the function is reached, so the AST of
+	 * the module may keep just the function headers, and the function's AST and
+	 * statements are released right after, so only one function body is kept in
+	 * memory. Only available for an HLIR created in stream mode.
+	 * 
+	 * @param functions
+	 *            gives the whole declaration of a function from its node in the
+	 *            AST of the module, or null to stop the stream
+	 * @param maxLocals
+	 *            locals maximum
+	 * @param allocateRegisters
+	 *            true to do liveness analysis and register allocation, false to
+	 *            give one register to each variable
+	 * @param reportRegisters
+	 *            true to find the minimum number of registers of each method,
+	 *            printed by reportStreamedMinimumRegisters
+	 * @param output
+	 *            receives the instructions, in the order they must be written
+	 * @return true if the registers of all methods could be allocated, false
+	 *         otherwise or if the stream was stopped
+	 */
+	public boolean streamInstructions(UnaryOperator<ASTFUNCTION> functions, int maxLocals,
+			boolean allocateRegisters, boolean reportRegisters, Consumer<ArrayList<String>> output)
+	{
+		assert stream;
+		allocatedRegisterByMethodName = new HashMap<>();
+		TreeMap<String, Integer> minimumRegisters = reportRegisters ? new TreeMap<>() : null;
+		streamedMinimumRegisters = minimumRegisters;
+		boolean allocateSuccessfully = true;
+
+		output.accept(root.getHeaderInstructions());
+
+		int astIndex = 0;
+		for (int c = 0; c < root.getChildren().size(); c++)
+		{
+			IRNode child = root.getChildren().get(c);
+			if (!child.getNodeType().equals("Method"))
+			{
+				output.accept(child.getInstructions());
+				continue;
+			}
+
+			IRMethod method = (IRMethod) child;
+			if (method.isOutlined()) // already written with the method it was outlined from
+				continue;
+
+			while (!(astModule.jjtGetChild(astIndex) instanceof ASTFUNCTION))
+				astIndex++;
+			ASTFUNCTION astFunction = functions.apply((ASTFUNCTION) astModule.jjtGetChild(astIndex));
+			if (astFunction == null)
+			{
+				allocateSuccessfully = false;
+				break;
+			}
+			String key = functionCache == null ? null : functionCache.getKey(astFunction, root);
+			ArrayList<String> cachedInstructions = key == null ? null : functionCache.get(key);
+			if (cachedInstructions != null)
+			{
+				astModule.jjtReleaseChild(astIndex);
+				ArrayList<String> inst = new ArrayList<>();
+				inst.add("\n");
+				inst.addAll(cachedInstructions);
+				output.accept(inst);
+				continue;
+			}
+			createFunctionBodyHHIR(astFunction, method);
+
+			HashMap<String, Integer> methodVars = allocateMethodRegisters(method, maxLocals, allocateRegisters,
+					minimumRegisters);
+			if (methodVars == null)
+			{
+				allocateSuccessfully = false;
+				break;
+			}
+			allocatedRegisterByMethodName.put(method.getName(), methodVars);
+			assignNewRegistersMethod(methodVars, method.getName());
+
+			ArrayList<String> methodInstructions = method.getInstructions();
+			ArrayList<IRMethod> methods = null;
+			if (method.getCodeSize() > MethodOutliner.MAX_CODE_SIZE)
+				methods = outlineMethod(method, astFunction, maxLocals, allocateRegisters);
+			astModule.jjtReleaseChild(astIndex);
+
+			ArrayList<String> inst = new ArrayList<>();
+			if (methods == null)
+			{
+				if (key != null)
+					functionCache.put(key, methodInstructions);
+				methods = new ArrayList<>();
+				methods.add(method);
+				inst.add("\n");
+				inst.addAll(methodInstructions);
+			} else
+			{
+				// the instructions of an outlined method depend on the methods outlined from it
+				for (IRMethod outlinedMethod : methods)
+				{
+					inst.add("\n");
+					inst.addAll(outlinedMethod.getInstructions());
+				}
+			}
+			output.accept(inst);
+
+			for (IRMethod outlinedMethod : methods)
+			{
+				outlinedMethod.getChildren().clear();
+				allocatedRegisterByMethodName.remove(outlinedMethod.getName());
+			}
+		}
+
+		if (allocateSuccessfully)
+			output.accept(getMethodClInit());
+		return allocateSuccessfully;
+	}
+
+	/**
+	 * Prints the minimum number of registers of each method found by
+	 * streamInstructions
+	 */
+	public void reportStreamedMinimumRegisters()
+	{
+		if (streamedMinimumRegisters != null)
+			printMinimumRegisters(streamedMinimumRegisters);
+	}
+
+	/**
+	 * Finds the registers of the variables of a single method, doing its liveness
+	 * analysis and register allocation, or giving one register to each variable
+	 * 
+	 * @param method
+	 *            the method whose registers are found
+	 * @param maxLocals
+	 *            locals maximum
+	 * @param allocateRegisters
+	 *            true to do liveness analysis and register allocation, false to
+	 *            give one register to each variable
+	 * @param minimumRegisters
+	 *            if not null, receives the minimum number of registers of the
+	 *            method
+	 * @return hashMap with the method's variables and corresponding registers, or
+	 *         null if they could not be allocated
+	 */
+	private HashMap<String, Integer> allocateMethodRegisters(IRMethod method, int maxLocals,
+			boolean allocateRegisters, TreeMap<String, Integer> minimumRegisters)
+	{
+		if (!allocateRegisters)
+			return getOneRegisterPerVariable(method, maxLocals);
+
+		MethodAnalyzer analyzer = new MethodAnalyzer(new SetBuilder(method));
+		analyzer.analyze();
+		HashMap<String, IntGraph> methodIntGraphs = new HashMap<>();
+		methodIntGraphs.put(method.getName(), analyzer.getGraph());
+
+		RegisterAllocator allocator = new RegisterAllocator(methodIntGraphs, null);
+		if (minimumRegisters != null)
+			minimumRegisters.putAll(allocator.findMinimumNumberOfRegisters());
+		if (!allocator.allocate(maxLocals))
+			return null;
+
+		return allocator.getAllocatedRegisterByMethodName().get(method.getName());
+	}
+
+	/**
+	 * Splits a method whose code exceeds the limit of the JVM. Its statements are
+	 * created again, as selecting the instructions of a method changes them, and
+	 * regions of them are outlined to new methods, added to the module after it.
+	 * The registers of the method and of the new methods are allocated again.
+	 * 
+	 * @param method
+	 *            the method, with its instructions selected
+	 * @param astFunction
+	 *            AST of the function of the method
+	 * @param maxLocals
+	 *            locals maximum
+	 * @param allocateRegisters
+	 *            true to do liveness analysis and register allocation, false to
+	 *            give one register to each variable
+	 * @return the method that replaces the given one followed by the new methods,
+	 *         or null if the method is kept as it was, because no region could be
+	 *         outlined or the registers could not be allocated
+	 */
+	private ArrayList<IRMethod> outlineMethod(IRMethod method, ASTFUNCTION astFunction, int maxLocals,
+			boolean allocateRegisters)
+	{
+		IRMethod function = getFunctionSignatureHHIR(astFunction);
+		function.setParent(root);
+		createFunctionBodyHHIR(astFunction, function);
+		ArrayList<IRMethod> methods = new MethodOutliner(function, method.getChildCodeSizes()).outline();
+		if (methods.isEmpty())
+			return null;
+		methods.add(0, function);
+
+		int index = root.getChildren().indexOf(method);
+		root.getChildren().set(index, function);
+		root.getChildren().addAll(index + 1, methods.subList(1, methods.size()));
+
+		HashMap<String, Integer> methodVars = allocatedRegisterByMethodName.get(method.getName());
+		for (IRMethod outlinedMethod : methods)
+		{
+			HashMap<String, Integer> outlinedMethodVars = allocateMethodRegisters(outlinedMethod, maxLocals,
+					allocateRegisters, null);
+			if (outlinedMethodVars == null)
+			{
+				for (int i = 1; i < methods.size(); i++)
+					allocatedRegisterByMethodName.remove(methods.get(i).getName());
+				allocatedRegisterByMethodName.put(method.getName(), methodVars);
+				root.getChildren().subList(index, index + methods.size()).clear();
+				root.getChildren().add(index, method);
+				return null;
+			}
+			allocatedRegisterByMethodName.put(outlinedMethod.getName(), outlinedMethodVars);
+			assignNewRegistersMethod(outlinedMethodVars, outlinedMethod.getName());
+		}
+
+		if (Yal2jvm.VERBOSE)
+			System.out.println("Outlined " + (methods.size() - 1) + " regions of method " + method.getName()
+					+ ", of " + method.getCodeSize() + " bytes of code.");
+		return methods;
+	}
+
+	/**
+	 * Finds the AST of a function of the module
+	 * 
+	 * @param name
+	 *            name of the function
+	 * @return the AST of the function, or null if there is none
+	 */
+	private ASTFUNCTION getASTFunction(String name)
+	{
+		for (int i = 0; i < astModule.jjtGetNumChildren(); i++)
+		{
+			Node child = astModule.jjtGetChild(i);
+			if (child instanceof ASTFUNCTION && ((ASTFUNCTION) child).id.equals(name))
+				return (ASTFUNCTION) child;
+		}
+		return null;
+	}
+
 	/**
 	 * Gets clInit method instructions
 	 * 
@@ -245,9 +681,44 @@ public class HLIR
 			Node child = astModule.jjtGetChild(i);
 			if (child instanceof ASTDECLARATION)
 				createDeclarationHHIR((ASTDECLARATION) child);
+			else if (stream || functionCache != null)
+				createFunctionSignatureHHIR((ASTFUNCTION) child);
 			else
 				createFunctionHHIR((ASTFUNCTION) child);
 		}
+
+		if (functionCache != null && !stream)
+			restoreOrCreateFunctionBodiesHHIR();
+	}
+
+	/**
+	 * Takes the instructions of each function from the function cache, or creates
+	 * the intermediate representation of its statements if it is not cached. The
+	 * key of a function depends on the globals and on the signatures of the other
+	 * functions, so it is only computed after all of them are created.
+	 */
+	private void restoreOrCreateFunctionBodiesHHIR()
+	{
+		int astIndex = 0;
+		for (IRNode child : root.getChildren())
+		{
+			if (!child.getNodeType().equals("Method"))
+				continue;
+
+			while (!(astModule.jjtGetChild(astIndex) instanceof ASTFUNCTION))
+				astIndex++;
+			ASTFUNCTION astFunction = (ASTFUNCTION) astModule.jjtGetChild(astIndex++);
+			IRMethod method = (IRMethod) child;
+			String key = functionCache.getKey(astFunction, root);
+			ArrayList<String> cachedInstructions = key == null ? null : functionCache.get(key);
+			if (cachedInstructions != null)
+				method.setInstructions(cachedInstructions);
+			else
+			{
+				method.setCacheKey(key);
+				createFunctionBodyHHIR(astFunction, method);
+			}
+		}
 	}
 
 	/**
@@ -257,35 +728,45 @@ public class HLIR
 	 *            ASTFUNCTION
 	 */
 	private void createFunctionHHIR(ASTFUNCTION astFunction)
+	{
+		IRMethod function = createFunctionSignatureHHIR(astFunction);
+		createFunctionBodyHHIR(astFunction, function);
+	}
+
+	/**
+	 * Creates the function intermediate representation without its statements,
+	 * and adds it to the module
+	 * 
+	 * @param astFunction
+	 *            ASTFUNCTION
+	 * @return the IRMethod created
+	 */
+	private IRMethod createFunctionSignatureHHIR(ASTFUNCTION astFunction)
+	{
+		IRMethod function = getFunctionSignatureHHIR(astFunction);
+		root.addChild(function);
+		return function;
+	}
+
+	/**
+	 * Creates the function intermediate representation without its statements
+	 * 
+	 * @param astFunction
+	 *            ASTFUNCTION
+	 * @return the IRMethod created, not added to the module
+	 */
+	private IRMethod getFunctionSignatureHHIR(ASTFUNCTION astFunction)
 	{
 		String functionId = astFunction.id;
-		Variable returnVar = new Variable(null, Type.VOID);
+		Variable returnVar = getFunctionReturnVar(astFunction);
 		Variable[] arguments = null;
 
 		// indicates the index(child num) of the arguments. 0 if no return value, or 1
 		// if has return value
-		int argumentsIndex = 0;
-
-		// get return value if existent
-		SimpleNode currNode = (SimpleNode) astFunction.jjtGetChild(0);
-		if (!(currNode instanceof ASTVARS) && !(currNode instanceof ASTSTATEMENTS)) // indicated that is the return
-																					// variable
-		{
-			argumentsIndex++;
-			if (currNode instanceof ASTSCALARELEMENT)
-			{
-				returnVar = new Variable(((ASTSCALARELEMENT) currNode).id, Type.INTEGER);
-			} else if (currNode instanceof ASTARRAYELEMENT)
-			{
-				returnVar = new Variable(((ASTARRAYELEMENT) currNode).id, Type.ARRAY);
-			} else
-			{
-				returnVar = new Variable(null, Type.VOID);
-			}
-		}
+		int argumentsIndex = returnVar.getVar() == null ? 0 : 1;
 
 		// get arguments if existent
-		currNode = (SimpleNode) astFunction.jjtGetChild(argumentsIndex);
+		SimpleNode currNode = (SimpleNode) astFunction.jjtGetChild(argumentsIndex);
 		if (currNode instanceof ASTVARS)
 		{
 			int numArguments = currNode.jjtGetNumChildren();
@@ -307,34 +788,43 @@ public class HLIR
 			}
 		}
 
-		IRMethod function = new IRMethod(functionId, returnVar.getType(), arguments);
-		root.addChild(function);
+		return new IRMethod(functionId, returnVar.getType(), arguments);
+	}
 
-		// parse statements
-		parseStatements(astFunction, returnVar, argumentsIndex, currNode, function);
+	/**
+	 * Gets the return variable of a function
+	 * 
+	 * @param astFunction
+	 *            ASTFUNCTION
+	 * @return the return variable, with null name and type VOID if the function
+	 *         has no return value
+	 */
+	private Variable getFunctionReturnVar(ASTFUNCTION astFunction)
+	{
+		SimpleNode currNode = (SimpleNode) astFunction.jjtGetChild(0);
+		if (currNode instanceof ASTSCALARELEMENT)
+			return new Variable(((ASTSCALARELEMENT) currNode).id, Type.INTEGER);
+		else if (currNode instanceof ASTARRAYELEMENT)
+			return new Variable(((ASTARRAYELEMENT) currNode).id, Type.ARRAY);
+		else
+			return new Variable(null, Type.VOID);
 	}
 
 	/**
-	 * Parses the function statements
+	 * Creates the intermediate representation of the function statements, followed
+	 * by its return
 	 * 
 	 * @param astFunction
 	 *            ASTFUNCTION
-	 * @param returnVar
-	 *            return variable
-	 * @param argumentsIndex
-	 *            arguments index
-	 * @param currNode
-	 *            current node
 	 * @param function
-	 *            IRMethod
+	 *            IRMethod of the function
 	 */
-	private void parseStatements(ASTFUNCTION astFunction, Variable returnVar, int argumentsIndex, SimpleNode currNode,
-			IRMethod function)
+	private void createFunctionBodyHHIR(ASTFUNCTION astFunction, IRMethod function)
 	{
-		if (!(currNode instanceof ASTSTATEMENTS))
-			currNode = (SimpleNode) astFunction.jjtGetChild(++argumentsIndex);
-		createStatementsHHIR((ASTSTATEMENTS) currNode, function);
-		IRReturn irReturn = new IRReturn(returnVar);
+		// the statements are always the last child of the function
+		SimpleNode statements = (SimpleNode) astFunction.jjtGetChild(astFunction.jjtGetNumChildren() - 1);
+		createStatementsHHIR((ASTSTATEMENTS) statements, function);
+		IRReturn irReturn = new IRReturn(getFunctionReturnVar(astFunction));
 		function.addChild(irReturn);
 	}
 
@@ -352,27 +842,26 @@ public class HLIR
 		{
 			SimpleNode child = (SimpleNode) aststatements.jjtGetChild(i);
 
-			switch (child.toString())
+			switch (child.getId())
 			{
-			case "ASSIGN":
+			case YalParserTreeConstants.JJTASSIGN:
 				createAssignHHIR(child, irmethod);
 				break;
 
-			case "CALL":
+			case YalParserTreeConstants.JJTCALL:
 				irmethod.addChild(getIRCall((ASTCALL) child, null));
 				break;
 
-			case "IF":
+			case YalParserTreeConstants.JJTIF:
 				createIfHHIR((ASTIF) child, irmethod);
 				break;
 
-			case "WHILE":
+			case YalParserTreeConstants.JJTWHILE:
 				createWhileHHIR((ASTWHILE) child, irmethod);
 				break;
 
 			default:
-				System.out.println("Undefined statement. The compiler will terminate.");
-				System.exit(-1);
+				throw new InternalCompilerError("undefined statement " + child);
 			}
 		}
 	}
@@ -394,7 +883,7 @@ public class HLIR
 		 * 
 		 */
 
-		int labelNumber = root.getAndIncrementCurrLabelNumber();
+		int labelNumber = irmethod.getAndIncrementCurrLabelNumber();
 
 		// test
 		String labelFalse = "if_false" + labelNumber;
@@ -557,7 +1046,7 @@ public class HLIR
 		 * 
 		 */
 
-		int labelNumber = root.getAndIncrementCurrLabelNumber();
+		int labelNumber = irmethod.getAndIncrementCurrLabelNumber();
 
 		// test
 		String labelEnd = "while_end" + labelNumber;
@@ -658,9 +1147,9 @@ public class HLIR
 	 */
 	private void createAssignRhsHHIR(IRAssign irAssign, SimpleNode rhchild)
 	{
-		switch (rhchild.toString())
+		switch (rhchild.getId())
 		{
-		case "TERM":
+		case YalParserTreeConstants.JJTTERM:
 			ASTTERM term = (ASTTERM) rhchild;
 
 			if (term.integer != null)
@@ -674,7 +1163,7 @@ public class HLIR
 				createAssignRhsVariableHHIR(irAssign, term, termChild);
 			}
 			break;
-		case "ARRAYSIZE":
+		case YalParserTreeConstants.JJTARRAYSIZE:
 			ASTARRAYSIZE astarraysize = (ASTARRAYSIZE) rhchild;
 
 			if (astarraysize.jjtGetNumChildren() == 0)
@@ -702,9 +1191,9 @@ public class HLIR
 	 */
 	private void createAssignRhsVariableHHIR(IRAssign irAssign, ASTTERM term, SimpleNode termChild)
 	{
-		switch (termChild.toString())
+		switch (termChild.getId())
 		{
-		case "CALL":
+		case YalParserTreeConstants.JJTCALL:
 
 			ASTCALL astcall = (ASTCALL) termChild;
 			IRCall irCall = getIRCall(astcall, irAssign.lhs.getVar());
@@ -712,7 +1201,7 @@ public class HLIR
 			irAssign.operands.add(new VariableCall(null, Type.CALL, irCall));
 			break;
 
-		case "ARRAYACCESS":
+		case YalParserTreeConstants.JJTARRAYACCESS:
 			ASTARRAYACCESS astarrayaccess = ((ASTARRAYACCESS) termChild);
 			ASTINDEX astindex = (ASTINDEX) termChild.jjtGetChild(0);
 			String arrayaccess = term.operator + astarrayaccess.arrayID;
@@ -723,7 +1212,7 @@ public class HLIR
 				irAssign.operands.add(
 						new VariableArray(arrayaccess, new Variable(astindex.indexValue.toString(), Type.INTEGER)));
 			break;
-		case "SCALARACCESS":
+		case YalParserTreeConstants.JJTSCALARACCESS:
 			String id = ((ASTSCALARACCESS) termChild).id;
 			irAssign.operands.add(new Variable(id, Type.VARIABLE));
 			break;
@@ -739,13 +1228,13 @@ public class HLIR
 	private void createAssignLhsHHIR(IRAssign irAssign)
 	{
 		SimpleNode lhchild = (SimpleNode) irAssign.astlhs.jjtGetChild(0);
-		switch (lhchild.toString())
+		switch (lhchild.getId())
 		{
-		case "ARRAYACCESS":
+		case YalParserTreeConstants.JJTARRAYACCESS:
 			irAssign.lhs = getArrayAccessIRNode((ASTARRAYACCESS) lhchild);
 			break;
 
-		case "SCALARACCESS":
+		case YalParserTreeConstants.JJTSCALARACCESS:
 			ASTSCALARACCESS astscalaraccess = (ASTSCALARACCESS) lhchild;
 
 			irAssign.lhs = new Variable(astscalaraccess.id, Type.VARIABLE);
@@ -1029,9 +1518,9 @@ public class HLIR
 		boolean arraySize = false;
 		boolean initialized = true;
 
-		switch (simpleNode.toString())
+		switch (simpleNode.getId())
 		{
-		case "SCALARELEMENT":
+		case YalParserTreeConstants.JJTSCALARELEMENT:
 			ASTSCALARELEMENT astscalarelement = (ASTSCALARELEMENT) simpleNode;
 			variable = new Variable(astscalarelement.id, Type.VARIABLE);
 
@@ -1058,7 +1547,7 @@ public class HLIR
 				variable.setType(Type.INTEGER);
 			}
 			break;
-		case "ARRAYELEMENT":
+		case YalParserTreeConstants.JJTARRAYELEMENT:
 			ASTARRAYELEMENT astarrayelement = (ASTARRAYELEMENT) simpleNode;
 			variable = new Variable(astarrayelement.id, Type.ARRAY);
 
@@ -2,6 +2,8 @@ package yal2jvm.hlir;
 
 import java.util.ArrayList;
 
+import yal2jvm.utils.InternalCompilerError;
+
 /**
  * IRAllocate class that extends the IRNode class
  */
@@ -134,6 +136,15 @@ public class IRAllocate extends IRNode
         return type;
     }
 
+    /**
+     * Returns the value of field lhsIndex
+     * @return value of field lhsIndex, null if no element of an array is set
+     */
+    public IRNode getLhsIndex()
+    {
+        return lhsIndex;
+    }
+
     /**
      * Returns the value of field rhs
      * @return value of field rhs
@@ -220,8 +231,7 @@ public class IRAllocate extends IRNode
      */
     private boolean isRhsArrayAndLhsInteger(IRMethod method)
     {
-        String varType = getVarType(method);
-        return varType.equals(Type.ARRAY.name()) && type == Type.INTEGER;
+        return getVarType(method) == Type.ARRAY && type == Type.INTEGER;
     }
 
     /**
@@ -233,17 +243,14 @@ public class IRAllocate extends IRNode
         ArrayList<String> inst = new ArrayList<>();
 		if (this.storeVarGlobal)
 		{
-		    String typeStr = type.name();
-            if(typeStr != null && (global.getType() == Type.VARIABLE || global.getType() == Type.INTEGER)) // i = 5;
+		    Type varType = type;
+            if(global.getType() == Type.VARIABLE || global.getType() == Type.INTEGER) // i = 5;
             {
                 inst.addAll(rhs.getInstructions());
                 inst.add(getInstructionToStoreGlobal(new Variable(name, type)));
                 return inst;
             }
 
-            if(typeStr == null)
-                typeStr = rhs.getNodeType();
-
             if(rhs.parent.getNodeType().equals("Allocate")) {
                 IRAllocate rhsParent = (IRAllocate) rhs.parent;
                 if(rhsParent.type == Type.ARRAYSIZE) {
@@ -255,9 +262,9 @@ public class IRAllocate extends IRNode
 
             Type prevType = global.getType();
             if(prevType == Type.ARRAY && type == Type.INTEGER)
-                typeStr = Type.ARRAY.name();
+                varType = Type.ARRAY;
 
-            if(typeStr.equals(Type.ARRAY.name()) && lhsIndex == null)
+            if(varType == Type.ARRAY && lhsIndex == null)
                 inst.addAll(setAllArrayElements()); // i = 5; com i array
             else
             {
@@ -269,9 +276,9 @@ public class IRAllocate extends IRNode
 		else
 		{
             IRMethod method = (IRMethod) findParent("Method");
-            String varType = getVarType(method);
+            Type varType = getVarType(method);
 
-            if(varType != null && varType.equals(Type.INTEGER.name())) // i = 5;
+            if(varType == Type.INTEGER) // i = 5;
             {
                 inst.addAll(rhs.getInstructions());
                 inst.add(getInstructionToStoreIntInRegister(this.register));
@@ -294,9 +301,6 @@ public class IRAllocate extends IRNode
                 return inst;
             }
 
-            if(varType == null)
-                varType = rhs.getNodeType();
-
             if(rhs.parent != null && rhs.parent.getNodeType().equals("Allocate"))
             {
                 IRAllocate rhsParent = (IRAllocate) rhs.parent;
@@ -308,7 +312,7 @@ public class IRAllocate extends IRNode
                 }
             }
 
-            if(varType.equals(Type.ARRAY.name()) && lhsIndex == null)
+            if(varType == Type.ARRAY && lhsIndex == null)
                 inst.addAll(setAllArrayElements()); // i = 5; com i array
             else
             {
@@ -323,18 +327,18 @@ public class IRAllocate extends IRNode
     /**
      * get var with name (attribute) type
      * @param method method of the var to check
-     * @return string with var type
+     * @return var type
      */
-    private String getVarType(IRMethod method)
+    private Type getVarType(IRMethod method)
     {
-        String varType;
+        Type varType;
         IRNode node = getVarIfExists(name);
         if(node instanceof IRAllocate)
-            varType = ((IRAllocate)node).getType().name();
+            varType = ((IRAllocate)node).getType();
         else if(node instanceof IRGlobal)
-            varType = ((IRGlobal)node).getType().name();
+            varType = ((IRGlobal)node).getType();
          else
-            varType = method.getArgumentType(name).name();
+            varType = method.getArgumentType(name);
 
         return varType;
     }
@@ -348,10 +352,7 @@ public class IRAllocate extends IRNode
         int reg = -1;
         IRNode node = getVarIfExists(name);
         if(node == null)
-        {
-            System.out.println("Internal error! The program will be closed.");
-            System.exit(-1);
-        }
+            throw new InternalCompilerError("variable " + name + " of an array assignment is not allocated");
         else if(node instanceof IRArgument)
             reg = ((IRArgument)node).getRegister();
         else if(node instanceof IRAllocate)
@@ -88,7 +88,7 @@ public class IRCall extends IRNode
 				case INTEGER:
 				{
 					IRNode var;
-					if (arg.getVar().matches("-?\\d+"))
+					if (isIntegerConstant(arg.getVar()))
 					{
 						var = new IRConstant(arg.getVar());
 					} else
@@ -153,6 +153,27 @@ public class IRCall extends IRNode
 			return ret_type;
 	}
 
+	/**
+	 * Checks if an argument is an integer constant, an optional minus sign followed
+	 * by decimal digits
+	 *
+	 * @param var
+	 *            the argument
+	 * @return true if the argument is an integer constant, false otherwise
+	 */
+	private static boolean isIntegerConstant(String var)
+	{
+		int start = var.startsWith("-") ? 1 : 0;
+		if (var.length() == start)
+			return false;
+		for (int i = start; i < var.length(); i++)
+		{
+			if (var.charAt(i) < '0' || var.charAt(i) > '9')
+				return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the value of the field type
 	 * 
@@ -302,6 +323,26 @@ public class IRCall extends IRNode
 		return callInst;
 	}
 
+	/**
+	 * Returns the value of the field method
+	 * 
+	 * @return the name of the method called
+	 */
+	public String getMethod()
+	{
+		return method;
+	}
+
+	/**
+	 * Returns the value of the field module
+	 * 
+	 * @return the module of the method called, null for a method of this module
+	 */
+	public String getModule()
+	{
+		return module;
+	}
+
 	/**
 	 * Returns the field arguments' value
 	 * 
@@ -2,6 +2,8 @@ package yal2jvm.hlir;
 
 import java.util.ArrayList;
 
+import yal2jvm.utils.InternalCompilerError;
+
 /**
  *	Class responsible for the intermediate representation for comparisons. Class that extend IRNode class.
  */
@@ -57,11 +59,8 @@ public class IRComparison extends IRNode
 			return Comparator.NEQ;
 
 		default:
-			System.out.println("Unrecognized relational operator " + operator + ". Compile program will terminate.");
-			System.exit(-1);
+			throw new InternalCompilerError("unrecognized relational operator " + operator);
 		}
-
-		return null; // unreachable
 	}
 
     /**
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * IRMethod
@@ -15,18 +16,22 @@ public class IRMethod extends IRNode
 	{
 		instructionToStackCountValue.put("getstatic", 1);
 		instructionToStackCountValue.put("iload", 1);
+		instructionToStackCountValue.put("iload_w", 1);
 		instructionToStackCountValue.put("aconst", 1);
 		instructionToStackCountValue.put("iconst", 1);
 		instructionToStackCountValue.put("dup", 1);
 		instructionToStackCountValue.put("aload", 1);
+		instructionToStackCountValue.put("aload_w", 1);
 		instructionToStackCountValue.put("ldc", 1);
 		instructionToStackCountValue.put("bipush", 1);
 		instructionToStackCountValue.put("sipush", 1);
 		instructionToStackCountValue.put("istore", -1);
+		instructionToStackCountValue.put("istore_w", -1);
 		instructionToStackCountValue.put("iaload", -1);
 		instructionToStackCountValue.put("pop", -1);
 		instructionToStackCountValue.put("iastore", -3);
 		instructionToStackCountValue.put("astore", -1);
+		instructionToStackCountValue.put("astore_w", -1);
 		instructionToStackCountValue.put("iadd", -1);
 		instructionToStackCountValue.put("isub", -1);
 		instructionToStackCountValue.put("idiv", -1);
@@ -54,6 +59,30 @@ public class IRMethod extends IRNode
 		instructionToStackCountValue.put("ifle", -1);
 	}
 
+	private static final Map<String, Integer> instructionToCodeSize = new HashMap<>();
+	static
+	{
+		instructionToCodeSize.put("bipush", 2);
+		instructionToCodeSize.put("newarray", 2);
+		instructionToCodeSize.put("iload", 2);
+		instructionToCodeSize.put("istore", 2);
+		instructionToCodeSize.put("aload", 2);
+		instructionToCodeSize.put("astore", 2);
+		instructionToCodeSize.put("ldc", 3); // ldc_w once the constant pool has more than 255 entries
+		instructionToCodeSize.put("sipush", 3);
+		instructionToCodeSize.put("iinc", 3);
+		instructionToCodeSize.put("getstatic", 3);
+		instructionToCodeSize.put("putstatic", 3);
+		instructionToCodeSize.put("invokestatic", 3);
+		instructionToCodeSize.put("iload_w", 4);
+		instructionToCodeSize.put("istore_w", 4);
+		instructionToCodeSize.put("aload_w", 4);
+		instructionToCodeSize.put("astore_w", 4);
+		instructionToCodeSize.put("iinc_w", 6);
+		instructionToCodeSize.put("goto", 5); // goto_w when the label is out of range
+	}
+	private static final int CONDITIONAL_BRANCH_CODE_SIZE = 8; // inverted branch over a goto_w
+
 	private String name;
 	private Type returnType;
 	private Variable[] args;
@@ -62,6 +91,11 @@ public class IRMethod extends IRNode
 	private boolean insideWhile = false;
 	private int regN;
 	private int registerCount;
+	private int currLabelNumber = 1;
+	private String cacheKey;
+	private ArrayList<String> instructions;
+	private int[] childCodeSizes;
+	private boolean outlined = false;
 
 	/**
 	 * IRMethod constructor
@@ -79,12 +113,17 @@ public class IRMethod extends IRNode
 	}
 
 	/**
-	 * Gets the instructions on code generation
+	 * Gets the instructions on code generation. The instructions of a method with
+	 * a cache key are kept after being selected, and the instructions of a method
+	 * restored from the function cache are returned without being selected.
 	 * @return instructions list
 	 */
 	@Override
 	public ArrayList<String> getInstructions()
 	{
+		if (instructions != null)
+			return new ArrayList<>(instructions);
+
 		ArrayList<String> inst = new ArrayList<>();
 
 		String methodDeclarationInst = getMethodDeclarationInstructions();
@@ -94,16 +133,115 @@ public class IRMethod extends IRNode
 		inst.add(methodDeclarationInst);
 		inst.addAll(methodBody);
 		inst.add(".end method");
+
+		if (cacheKey != null)
+			instructions = new ArrayList<>(inst);
 		return inst;
 	}
 
+	/**
+	 * Returns the value of the field currLabelNumber incremented by one. Labels are
+	 * numbered per method, so the instructions of a method do not depend on the
+	 * other methods of the module.
+	 * @return	the value of the field currLabelNumber plus one
+	 */
+	public int getAndIncrementCurrLabelNumber()
+	{
+		return currLabelNumber++;
+	}
+
+	/**
+	 * Checks if the instructions of the method are already known, either restored
+	 * from the function cache or kept after being selected
+	 * @return true if the instructions are known, false otherwise
+	 */
+	public boolean hasInstructions()
+	{
+		return instructions != null;
+	}
+
+	/**
+	 * Sets the instructions of the method, restored from the function cache. The
+	 * method has no statements, so it is skipped by the liveness analysis and by
+	 * the register allocation.
+	 * @param instructions instructions list
+	 */
+	void setInstructions(ArrayList<String> instructions)
+	{
+		this.instructions = instructions;
+	}
+
+	/**
+	 * Returns the code size of each child, recorded when the instructions of the
+	 * method were selected
+	 * @return the code size of each child, in bytes, or null if the instructions
+	 *         were not selected
+	 */
+	int[] getChildCodeSizes()
+	{
+		return childCodeSizes;
+	}
+
+	/**
+	 * Returns the size of the code of the method, as recorded when its instructions
+	 * were selected
+	 * @return size of the code, in bytes, 0 if the instructions were not selected
+	 */
+	public int getCodeSize()
+	{
+		int codeSize = 0;
+		if (childCodeSizes != null)
+		{
+			for (int childCodeSize : childCodeSizes)
+				codeSize += childCodeSize;
+		}
+		return codeSize;
+	}
+
+	/**
+	 * Checks if the method was created by outlining statements of another method
+	 * @return true if the method is outlined, false otherwise
+	 */
+	public boolean isOutlined()
+	{
+		return outlined;
+	}
+
+	/**
+	 * Marks the method as created by outlining statements of another method, which
+	 * makes it private
+	 */
+	void setOutlined()
+	{
+		this.outlined = true;
+	}
+
+	/**
+	 * Returns the value of the field cacheKey
+	 * @return value of the field cacheKey
+	 */
+	String getCacheKey()
+	{
+		return cacheKey;
+	}
+
+	/**
+	 * Sets the key of the method in the function cache, so that its instructions
+	 * are kept to be stored in the cache after being selected
+	 * @param cacheKey key of the method
+	 */
+	void setCacheKey(String cacheKey)
+	{
+		this.cacheKey = cacheKey;
+	}
+
 	/**
 	 * Gets the method declarations instructions
 	 * @return instruction
 	 */
 	private String getMethodDeclarationInstructions()
 	{
-		String methodDeclarationInst = ".method public static ";
+		String methodDeclarationInst = outlined ? ".method private static " : ".method public static ";
 
 		if (name.equals("main"))
 		{
@@ -162,10 +300,13 @@ public class IRMethod extends IRNode
 
 		ArrayList<String> childsInstructions = new ArrayList<>();
 		int numChilds = getChildren().size();
-		for (int i = 0; i < numChilds; i++)
+		childCodeSizes = new int[numChilds];
+		for (int i = 0, child = 0; i < numChilds; i++, child++)
 		{
 			IRNode node = getChildren().get(i);
-			childsInstructions.addAll(node.getInstructions());
+			ArrayList<String> nodeInstructions = node.getInstructions();
+			childCodeSizes[child] = codeSize(nodeInstructions);
+			childsInstructions.addAll(nodeInstructions);
 			if (getChildren().size() > numChilds)
 			{
 				i++;
@@ -173,6 +314,8 @@ public class IRMethod extends IRNode
 			}
 			if (node instanceof IRLabel || node instanceof IRComparison)
 				handleWhileOrIfConstantPropagationOptimization(node);
+			else if (isOutlinedCall(node)) // may have stored in any global
+				constVarNameToConstValue.clear();
 		}
 
 		inst.add(".limit locals " + registerCount);
@@ -184,6 +327,25 @@ public class IRMethod extends IRNode
 		return inst;
 	}
 
+	/**
+	 * Checks if a child is a call to a method outlined from this one
+	 * @param irNode child node
+	 * @return true if it calls an outlined method, false otherwise
+	 */
+	private boolean isOutlinedCall(IRNode irNode)
+	{
+		if (irNode instanceof IRStoreCall)
+			irNode = irNode.getChildren().get(0);
+		if (!(irNode instanceof IRCall))
+			return false;
+		String module = ((IRCall) irNode).getModule();
+		if (module != null && !module.equals(((IRModule) parent).getName()))
+			return false;
+
+		IRMethod method = ((IRModule) parent).getChildMethod(((IRCall) irNode).getMethod());
+		return method != null && method.isOutlined();
+	}
+
 	/**
 	 * handle While Or If Constant Propagation Optimization
 	 * @param irNode node
@@ -279,6 +441,37 @@ public class IRMethod extends IRNode
 		return maxStackCount;
 	}
 
+	/**
+	 * Gets an upper bound of the size of the bytecode of instructions, counting the
+	 * branches as if their labels were out of range
+	 * @param inst instructions from which count the code size
+	 * @return code size, in bytes
+	 */
+	static int codeSize(ArrayList<String> inst)
+	{
+		int codeSize = 0;
+		for (String currInstruction : inst)
+		{
+			currInstruction = currInstruction.trim();
+			if (currInstruction.isEmpty() || currInstruction.startsWith(".") || currInstruction.endsWith(":"))
+				continue;
+
+			int spaceIndex = currInstruction.indexOf(' ');
+			if (spaceIndex != -1)
+				currInstruction = currInstruction.substring(0, spaceIndex);
+
+			Integer instructionCodeSize = instructionToCodeSize.get(currInstruction);
+			if (instructionCodeSize != null)
+				codeSize += instructionCodeSize;
+			else if (currInstruction.startsWith("if"))
+				codeSize += CONDITIONAL_BRANCH_CODE_SIZE;
+			else
+				codeSize++;
+		}
+
+		return codeSize;
+	}
+
 	/**
 	 * calculate the impact of the instruction on stack
 	 * @param currInstruction instruction to calculate stack impact
@@ -406,6 +599,50 @@ public class IRMethod extends IRNode
 		return null;
 	}
 
+	/**
+	 * Finds all the local variables of the method, including arguments and excluding globals
+	 * @return set with the names of all the local variables
+	 */
+	public TreeSet<String> getLocals()
+	{
+		TreeSet<String> locals = new TreeSet<String>();
+
+		for (IRNode n : children)
+		{
+			switch (n.getNodeType())
+			{
+			case "Allocate":
+			{
+				IRAllocate alloc = (IRAllocate) n;
+				locals.add(alloc.getName());
+				if (alloc.getRhs().getNodeType().equals("Load"))
+				{
+					IRLoad load = (IRLoad) alloc.getRhs();
+					locals.add(load.getName());
+				}
+				break;
+			}
+			case "StoreArith":
+			{
+				IRStoreArith arith = (IRStoreArith) n;
+				locals.add(arith.getName());
+				break;
+			}
+			case "StoreCall":
+			{
+				IRStoreCall call = (IRStoreCall) n;
+				locals.add(call.getName());
+				break;
+			}
+			}
+		}
+		for (Variable arg : getArgs())
+			locals.add(arg.getVar());
+
+		locals.removeAll(((IRModule) parent).getAllGlobals());
+		return locals;
+	}
+
 	/**
 	 * get Var Register
 	 * @param name name of the var to get register
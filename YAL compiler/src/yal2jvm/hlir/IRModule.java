@@ -2,6 +2,10 @@ package yal2jvm.hlir;
 
 import java.util.ArrayList;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import yal2jvm.utils.Utils;
 
 /**
  * IRModule
@@ -9,7 +13,7 @@ import java.util.TreeSet;
 public class IRModule extends IRNode
 {
 	private String name;
-	private int currLabelNumber = 1;
+	private ExecutorService pool;
 
 	/**
 	 * IRModule constructor
@@ -23,11 +27,51 @@ public class IRModule extends IRNode
 	}
 
 	/**
-	 * Gets the instructions on code generation
+	 * Gets the instructions on code generation. The instructions of each child are
+	 * selected in the pool, if there is one, and kept in the children order.
 	 * @return instructions list
 	 */
 	@Override
 	public ArrayList<String> getInstructions()
+	{
+		return getInstructions(getChildrenInstructions());
+	}
+
+	/**
+	 * Selects the instructions of each child, in the pool if there is one
+	 * @return list with the instructions of each child, in the children order
+	 */
+	ArrayList<ArrayList<String>> getChildrenInstructions()
+	{
+		ArrayList<Callable<ArrayList<String>>> tasks = new ArrayList<>();
+		for (IRNode child : getChildren())
+			tasks.add(child::getInstructions);
+		return Utils.invokeAll(pool, tasks);
+	}
+
+	/**
+	 * Gets the instructions of the module from the instructions of its children
+	 * @param childrenInstructions instructions of each child, in the children order
+	 * @return instructions list
+	 */
+	ArrayList<String> getInstructions(ArrayList<ArrayList<String>> childrenInstructions)
+	{
+		ArrayList<String> inst = getHeaderInstructions();
+		for (int i = 0; i < getChildren().size(); i++)
+		{
+			if (getChildren().get(i).toString().equals("Method"))
+				inst.add("\n");
+			inst.addAll(childrenInstructions.get(i));
+		}
+
+		return inst;
+	}
+
+	/**
+	 * Gets the instructions that declare the class of the module
+	 * @return instructions list
+	 */
+	ArrayList<String> getHeaderInstructions()
 	{
 		ArrayList<String> inst = new ArrayList<>();
 
@@ -38,16 +82,18 @@ public class IRModule extends IRNode
 		inst.add(inst2);
 		inst.add("\n");
 
-		for (int i = 0; i < getChildren().size(); i++)
-		{
-			if (getChildren().get(i).toString().equals("Method"))
-				inst.add("\n");
-			inst.addAll(getChildren().get(i).getInstructions());
-		}
-
 		return inst;
 	}
 
+	/**
+	 * Sets the pool in which the instructions of the children are selected
+	 * @param pool pool to use, or null to select them one after another
+	 */
+	void setPool(ExecutorService pool)
+	{
+		this.pool = pool;
+	}
+
 	/**
 	 * Returns the value of the field name
 	 * @return	value of the field name
@@ -66,15 +112,6 @@ public class IRModule extends IRNode
 		this.name = name;
 	}
 
-	/**
-	 * Returns the value of the field currLabelNumber incremented by one
-	 * @return	the value of the field currLabelNumber plus one
-	 */
-	public int getAndIncrementCurrLabelNumber()
-	{
-		return currLabelNumber++;
-	}
-
 	/**
 	 * Gets global variable
 	 * @param name variable name
@@ -1,6 +1,7 @@
 package yal2jvm.hlir;
 
 import yal2jvm.Yal2jvm;
+import yal2jvm.utils.InternalCompilerError;
 
 import java.util.ArrayList;
 
@@ -9,6 +10,8 @@ import java.util.ArrayList;
  */
 public abstract class IRNode
 {
+	static final int MAX_NARROW_REGISTER = 255;
+
 	protected IRNode parent;
 	protected ArrayList<IRNode> children;
 	String nodeType;
@@ -85,7 +88,7 @@ public abstract class IRNode
 	public abstract ArrayList<String> getInstructions();
 
 	/**
-	 * Gets instructions for loading or storing more efficiently
+	 * Gets instructions for loading or storing more efficiently. Registers above 255 need the wide form.
 	 * @param instruction instruction
 	 * @param registerNumber register number
 	 * @return instruction string
@@ -94,8 +97,10 @@ public abstract class IRNode
 	{
 		if (registerNumber < 4)
 			return instruction + "_" + registerNumber;
-		else
+		else if (registerNumber <= MAX_NARROW_REGISTER)
 			return instruction + " " + registerNumber;
+		else
+			return instruction + "_w " + registerNumber;
 	}
 
 	/**
@@ -285,10 +290,7 @@ public abstract class IRNode
 	{
 		IRGlobal global = module.getGlobal(name);
 		if (global == null)
-		{
-			System.out.println("Internal error! The program will be closed.");
-			System.exit(-1);
-		}
+			throw new InternalCompilerError("global variable " + name + " is not declared");
 
 		String in = "getstatic " + module.getName() + "/" + global.getName() + " ";
 		in += global.getType() == Type.ARRAY ? "[I" : "I";
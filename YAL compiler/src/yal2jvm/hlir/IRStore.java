@@ -138,6 +138,24 @@ public abstract class IRStore extends IRNode
 		return name;
 	}
 
+	/**
+	 * Checks if the value is stored in an element of the variable, an array
+	 * @return true if it is an array access, false otherwise
+	 */
+	public boolean isArrayAccess()
+	{
+		return arrayAccess;
+	}
+
+	/**
+	 * Returns the value of the field index
+	 * @return value of the field index, null if it is not an array access
+	 */
+	public IRNode getIndex()
+	{
+		return index;
+	}
+
 	/**
 	 * Sets the name of the field name to the value of the parameter name
 	 * @param name new value for the field name
@@ -185,8 +185,6 @@ public class IRStoreArith extends IRStore
 	 */
 	private String getIincInstruction(IRConstant irConstant)
 	{
-		String instruction = "iinc ";
-
 		IRMethod method = (IRMethod) findParent("Method");
 		int register = method.getArgumentRegister(name);
 		if (register == -1)
@@ -196,7 +194,16 @@ public class IRStoreArith extends IRStore
 
 		addNewValueOfVariableNameToConstsHashMap(method, irConstant.getValue());
 
-		instruction += register + " " + (irArith.getOp().equals(Operation.SUB) ? "-" : "") + irConstant.getValue();
+		int increment = Integer.parseInt(irConstant.getValue());
+		if (irArith.getOp().equals(Operation.SUB))
+			increment = -increment;
+
+		// the wide form is needed for registers or increments that do not fit in a byte
+		String instruction = "iinc ";
+		if (register > MAX_NARROW_REGISTER || increment < Byte.MIN_VALUE || increment > Byte.MAX_VALUE)
+			instruction = "iinc_w ";
+
+		instruction += register + " " + increment;
 		return instruction;
 	}
 
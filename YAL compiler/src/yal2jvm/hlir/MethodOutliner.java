@@ -0,0 +1,490 @@
+package yal2jvm.hlir;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import yal2jvm.hlir.liveness_analysis.Line;
+import yal2jvm.hlir.liveness_analysis.SetBuilder;
+
+/**
+ * Splits a method whose code does not fit in the 64 KB the JVM allows for a
+ * method, outlining regions of its statements to new private static methods of
+ * the module. A region is a sequence of statements that holds every label and
+ * jump of each if and while it has a part of: a straight-line block, whole ifs
+ * and whiles, or the body of a while. So it is only entered at its first
+ * statement and only left after its last one, and is replaced by a call.
+ *
+ * The liveness analysis of the method gives the variables of a region that are
+ * live at its start, which are passed as arguments, and the variables it
+ * defines that are live after it, which are returned. More than one is
+ * returned in an int array, whose elements are stored back in the variables.
+ */
+public class MethodOutliner
+{
+	public static final int MAX_CODE_SIZE = 65535;
+	private static final String RESULTS_PREFIX = "0-"; // not the start of a valid yal variable name
+	private static final int RESULT_CODE_SIZE = 12; // load the array, an index and the value, store
+
+	private IRMethod method;
+	private IRModule module;
+	private ArrayList<Integer> codeSizes = new ArrayList<>();
+	private ArrayList<IRMethod> outlinedMethods = new ArrayList<>();
+	private ArrayList<String> vars;
+	private ArrayList<Line> lines;
+
+	/**
+	 * MethodOutliner constructor
+	 *
+	 * @param method
+	 *            method whose regions are outlined, with its statements as created
+	 *            from the AST
+	 * @param childCodeSizes
+	 *            code size of each statement of the method, as recorded when the
+	 *            instructions of the same statements were selected
+	 */
+	public MethodOutliner(IRMethod method, int[] childCodeSizes)
+	{
+		this.method = method;
+		this.module = (IRModule) method.getParent();
+		for (int childCodeSize : childCodeSizes)
+			codeSizes.add(childCodeSize);
+	}
+
+	/**
+	 * Gets a name for the next outlined method, the name of the method followed
+	 * by $ and a number, that no method of the module has yet
+	 *
+	 * @return the name of the next outlined method
+	 */
+	private String getOutlinedMethodName()
+	{
+		String name;
+		int number = outlinedMethods.size() + 1;
+		do
+			name = method.getName() + "$" + number++;
+		while (module.getChildMethod(name) != null);
+
+		return name;
+	}
+
+	/**
+	 * Outlines the largest regions that fit in a method, one at a time, until the
+	 * code of the method fits or there is no region left to outline. The new
+	 * methods are not added to the module.
+	 *
+	 * @return the new methods, in the order they were outlined
+	 */
+	public ArrayList<IRMethod> outline()
+	{
+		int codeSize = 0;
+		for (int childCodeSize : codeSizes)
+			codeSize += childCodeSize;
+
+		while (codeSize > MAX_CODE_SIZE)
+		{
+			int saved = outlineLargestRegion();
+			if (saved == 0)
+				break;
+			codeSize -= saved;
+		}
+
+		return outlinedMethods;
+	}
+
+	/**
+	 * Outlines the largest region that fits in a method and whose variables can be
+	 * passed and returned
+	 *
+	 * @return the code size saved in the method, 0 if no region was outlined
+	 */
+	private int outlineLargestRegion()
+	{
+		ArrayList<IRNode> children = method.getChildren();
+		int last = children.size() - 1; // the return is never outlined
+
+		// offsets[b] is the code size of the statements before boundary b
+		int[] offsets = new int[last + 1];
+		for (int b = 0; b < last; b++)
+			offsets[b + 1] = offsets[b] + codeSizes.get(b);
+
+		HashMap<String, ArrayList<Integer>> constructs = getConstructs(children, last);
+		long[] signatures = getBoundarySignatures(constructs, last);
+
+		// the statements between two boundaries with the same signature hold all or
+		// none of the labels and jumps of each if and while
+		HashMap<Long, ArrayList<Integer>> boundariesBySignature = new HashMap<>();
+		for (int b = 0; b <= last; b++)
+			boundariesBySignature.computeIfAbsent(signatures[b], k -> new ArrayList<>()).add(b);
+
+		ArrayList<int[]> regions = new ArrayList<>();
+		for (ArrayList<Integer> boundaries : boundariesBySignature.values())
+		{
+			int end = 0;
+			for (int start = 0; start < boundaries.size(); start++)
+			{
+				end = Math.max(end, start);
+				while (end + 1 < boundaries.size()
+						&& offsets[boundaries.get(end + 1)] - offsets[boundaries.get(start)] <= MAX_CODE_SIZE)
+					end++;
+				if (end > start)
+					regions.add(new int[] { boundaries.get(start), boundaries.get(end),
+							offsets[boundaries.get(end)] - offsets[boundaries.get(start)] });
+			}
+		}
+		regions.sort((a, b) -> a[2] != b[2] ? Integer.compare(b[2], a[2]) : Integer.compare(a[0], b[0]));
+
+		findLiveness();
+		for (int[] region : regions)
+		{
+			if (!isRegion(constructs, region[0], region[1]))
+				continue;
+
+			int saved = outlineRegion(region[0], region[1], region[2]);
+			if (saved > 0)
+				return saved;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Finds the labels, jumps and comparisons of each if and while of a method. The
+	 * labels of an if or a while, and so the jumps to them, end with the same
+	 * number.
+	 *
+	 * @param children
+	 *            statements of the method
+	 * @param last
+	 *            index of the return of the method
+	 * @return map from the number of each if and while to the indexes of its
+	 *         statements with labels, and from the array of results of each call
+	 *         of an outlined method to the indexes of the call and of the stores of
+	 *         the results
+	 */
+	private static HashMap<String, ArrayList<Integer>> getConstructs(ArrayList<IRNode> children, int last)
+	{
+		HashMap<String, ArrayList<Integer>> constructs = new HashMap<>();
+		for (int i = 0; i < last; i++)
+		{
+			// the call of a method outlined before and the stores of its results
+			if (children.get(i) instanceof IRStoreCall
+					&& ((IRStoreCall) children.get(i)).getName().startsWith(RESULTS_PREFIX))
+			{
+				String results = ((IRStoreCall) children.get(i)).getName();
+				ArrayList<Integer> statements = new ArrayList<>();
+				statements.add(i);
+				while (i + 1 < last && isResultStore(children.get(i + 1), results))
+					statements.add(++i);
+				constructs.put(results, statements);
+				continue;
+			}
+
+			String label = getLabel(children.get(i));
+			if (label == null)
+				continue;
+
+			int digits = label.length();
+			while (digits > 0 && Character.isDigit(label.charAt(digits - 1)))
+				digits--;
+			String number = digits < label.length() ? label.substring(digits) : label;
+			constructs.computeIfAbsent(number, k -> new ArrayList<>()).add(i);
+		}
+
+		return constructs;
+	}
+
+	/**
+	 * Checks if a statement stores a result of an outlined method, an element of
+	 * the array the method returns, back in its variable
+	 *
+	 * @param node
+	 *            the statement
+	 * @param results
+	 *            name of the array of results
+	 * @return true if the statement stores a result, false otherwise
+	 */
+	private static boolean isResultStore(IRNode node, String results)
+	{
+		if (!(node instanceof IRAllocate) || !(((IRAllocate) node).getRhs() instanceof IRLoad))
+			return false;
+		return results.equals(((IRLoad) ((IRAllocate) node).getRhs()).getName());
+	}
+
+	/**
+	 * Gets the label of a label, jump or comparison statement
+	 *
+	 * @param node
+	 *            the statement
+	 * @return the label, or null if the statement has none
+	 */
+	private static String getLabel(IRNode node)
+	{
+		if (node instanceof IRLabel)
+			return ((IRLabel) node).getLabel();
+		if (node instanceof IRJump)
+			return ((IRJump) node).getLabel();
+		if (node instanceof IRComparison)
+			return ((IRComparison) node).getLabel();
+		return null;
+	}
+
+	/**
+	 * Gets a signature of each boundary between statements, boundary b being the
+	 * one before statement b. Each statement with a label gets a pseudo-random
+	 * weight, chosen so that the weights of the statements of an if or a while add
+	 * up to 0, and the signature of a boundary is the sum of the weights before
+	 * it. So the statements between two boundaries have the same signature if they
+	 * hold all or none of the labels of each if and while, and almost never
+	 * otherwise.
+	 *
+	 * @param constructs
+	 *            statements with labels of each if and while
+	 * @param last
+	 *            index of the return of the method
+	 * @return the signature of each boundary
+	 */
+	private static long[] getBoundarySignatures(HashMap<String, ArrayList<Integer>> constructs, int last)
+	{
+		long[] weights = new long[last];
+		for (String number : constructs.keySet())
+		{
+			ArrayList<Integer> statements = constructs.get(number);
+			long sum = 0;
+			for (int i = 0; i < statements.size() - 1; i++)
+			{
+				long weight = (number.hashCode() * 31L + i) * 0x9E3779B97F4A7C15L;
+				weight ^= weight >>> 29;
+				weight *= 0xBF58476D1CE4E5B9L;
+				weight ^= weight >>> 32;
+				weights[statements.get(i)] = weight;
+				sum += weight;
+			}
+			weights[statements.get(statements.size() - 1)] = -sum;
+		}
+
+		long[] signatures = new long[last + 1];
+		for (int b = 1; b <= last; b++)
+			signatures[b] = signatures[b - 1] + weights[b - 1];
+		return signatures;
+	}
+
+	/**
+	 * Checks that statements start to end (exclusive) hold all or none of the
+	 * labels and jumps of each if and while
+	 *
+	 * @param constructs
+	 *            statements with labels of each if and while
+	 * @param start
+	 *            first statement of the region
+	 * @param end
+	 *            statement after the region
+	 * @return true if the statements are a region, false otherwise
+	 */
+	private static boolean isRegion(HashMap<String, ArrayList<Integer>> constructs, int start, int end)
+	{
+		for (ArrayList<Integer> statements : constructs.values())
+		{
+			boolean inside = statements.get(0) >= start && statements.get(0) < end;
+			for (int statement : statements)
+			{
+				if ((statement >= start && statement < end) != inside)
+					return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Does the liveness analysis of the method as it is now. Line 0 holds the
+	 * arguments, and line i + 1 statement i.
+	 */
+	private void findLiveness()
+	{
+		SetBuilder setBuilder = new SetBuilder(method);
+		vars = setBuilder.getAllVars();
+		setBuilder.buildAllLines();
+		setBuilder.calculateSets();
+		lines = setBuilder.getLines();
+	}
+
+	/**
+	 * Outlines the statements start to end (exclusive) of the method, if their
+	 * variables can be passed and returned and if that saves code
+	 *
+	 * @param start
+	 *            first statement of the region
+	 * @param end
+	 *            statement after the region
+	 * @param codeSize
+	 *            code size of the region
+	 * @return the code size saved in the method, 0 if the region was not outlined
+	 */
+	private int outlineRegion(int start, int end, int codeSize)
+	{
+		BitSet used = new BitSet(vars.size());
+		BitSet defined = new BitSet(vars.size());
+		for (int i = start; i < end; i++)
+		{
+			used.or(lines.get(i + 1).getUse());
+			defined.or(lines.get(i + 1).getDef());
+		}
+
+		BitSet liveIn = (BitSet) lines.get(start + 1).getIn().clone();
+		used.or(defined);
+		liveIn.and(used);
+		BitSet liveOut = (BitSet) lines.get(end + 1).getIn().clone();
+		liveOut.and(defined);
+
+		ArrayList<String> results = new ArrayList<>();
+		for (int v = liveOut.nextSetBit(0); v >= 0; v = liveOut.nextSetBit(v + 1))
+			results.add(vars.get(v));
+		Type returnType = getReturnType(results, start);
+		if (returnType == null)
+			return 0;
+
+		int callCodeSize = 4 * liveIn.cardinality() + 3 + 4;
+		int resultsCodeSize = results.size() > 1 ? RESULT_CODE_SIZE * results.size() : 0;
+		if (codeSize + resultsCodeSize + 8 > MAX_CODE_SIZE || callCodeSize + resultsCodeSize >= codeSize)
+			return 0;
+
+		ArrayList<IRNode> children = method.getChildren();
+		ArrayList<IRNode> region = new ArrayList<>(children.subList(start, end));
+		children.subList(start, end).clear();
+		codeSizes.subList(start, end).clear();
+
+		// the arguments take the types the caller finds for them
+		Variable[] args = new Variable[liveIn.cardinality()];
+		ArrayList<Variable> arguments = new ArrayList<>();
+		for (int v = liveIn.nextSetBit(0), i = 0; v >= 0; v = liveIn.nextSetBit(v + 1), i++)
+		{
+			args[i] = new Variable(vars.get(v), getVarType(vars.get(v)));
+			arguments.add(new Variable(vars.get(v), Type.INTEGER));
+		}
+
+		String name = getOutlinedMethodName();
+		IRMethod outlinedMethod = new IRMethod(name, returnType, args);
+		outlinedMethod.setOutlined();
+		outlinedMethod.setParent(module);
+		for (IRNode node : region)
+			outlinedMethod.addChild(node);
+		String resultsName = RESULTS_PREFIX + name;
+		addReturn(outlinedMethod, results, resultsName, returnType);
+		outlinedMethods.add(outlinedMethod);
+
+		ArrayList<IRNode> call = new ArrayList<>();
+		if (results.isEmpty())
+			call.add(new IRCall(name, module.getName(), arguments, null));
+		else
+		{
+			String result = results.size() == 1 ? results.get(0) : resultsName;
+			IRStoreCall irStoreCall = new IRStoreCall(result);
+			irStoreCall.addChild(new IRCall(name, module.getName(), arguments, result));
+			call.add(irStoreCall);
+			if (results.size() > 1)
+			{
+				for (int i = 0; i < results.size(); i++)
+					call.add(new IRAllocate(new Variable(results.get(i), Type.VARIABLE),
+							new VariableArray(resultsName, new Variable(String.valueOf(i), Type.INTEGER))));
+			}
+		}
+
+		for (int i = 0; i < call.size(); i++)
+		{
+			call.get(i).setParent(method);
+			children.add(start + i, call.get(i));
+			codeSizes.add(start + i, i == 0 ? callCodeSize : RESULT_CODE_SIZE);
+		}
+
+		return codeSize - callCodeSize - resultsCodeSize;
+	}
+
+	/**
+	 * Gets the return type of the method outlined from a region
+	 *
+	 * @param results
+	 *            variables defined in the region that are live after it
+	 * @param start
+	 *            first statement of the region
+	 * @return the return type, or null if the variables cannot be returned: more
+	 *         than one with an array among them, or an array that the caller does
+	 *         not declare before the region
+	 */
+	private Type getReturnType(ArrayList<String> results, int start)
+	{
+		if (results.isEmpty())
+			return Type.VOID;
+
+		boolean hasArray = false;
+		for (String result : results)
+			hasArray |= getVarType(result) == Type.ARRAY;
+		if (!hasArray)
+			return results.size() == 1 ? Type.INTEGER : Type.ARRAY;
+		if (results.size() > 1)
+			return null;
+
+		String result = results.get(0);
+		if (method.getArgumentType(result) != null)
+			return Type.ARRAY;
+		for (int i = 0; i < start; i++)
+		{
+			IRNode node = method.getChildren().get(i);
+			if (node instanceof IRAllocate && ((IRAllocate) node).getName().equals(result))
+				return Type.ARRAY;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the type of a local variable of the method, as calls find the type of
+	 * their arguments
+	 *
+	 * @param var
+	 *            the variable
+	 * @return ARRAY or INTEGER
+	 */
+	private Type getVarType(String var)
+	{
+		Type type = method.getArgumentType(var);
+		if (type == null)
+			type = method.getVarType(var);
+		return type == Type.ARRAY || type == Type.ARRAYSIZE ? Type.ARRAY : Type.INTEGER;
+	}
+
+	/**
+	 * Adds the return of an outlined method, storing the variables returned in an
+	 * int array first if there is more than one
+	 *
+	 * @param outlinedMethod
+	 *            the outlined method
+	 * @param results
+	 *            variables returned
+	 * @param resultsName
+	 *            name of the array the variables are returned in
+	 * @param returnType
+	 *            return type of the outlined method
+	 */
+	private static void addReturn(IRMethod outlinedMethod, ArrayList<String> results, String resultsName,
+			Type returnType)
+	{
+		if (results.isEmpty())
+		{
+			outlinedMethod.addChild(new IRReturn(new Variable(null, Type.VOID)));
+			return;
+		}
+		if (results.size() == 1)
+		{
+			outlinedMethod.addChild(new IRReturn(new Variable(results.get(0), returnType)));
+			return;
+		}
+
+		outlinedMethod.addChild(
+				new IRAllocate(resultsName, new Variable(String.valueOf(results.size()), Type.INTEGER), Type.ARRAYSIZE));
+		for (int i = 0; i < results.size(); i++)
+			outlinedMethod.addChild(new IRAllocate(
+					new VariableArray(resultsName, new Variable(String.valueOf(i), Type.INTEGER)),
+					new Variable(results.get(i), Type.VARIABLE)));
+		outlinedMethod.addChild(new IRReturn(new Variable(resultsName, Type.ARRAY)));
+	}
+}
@@ -23,7 +23,7 @@ public class Variable
 			if (var.contains(".size"))
 			{
 				sizeAccess = true;
-				this.var = var.split(".size")[0];
+				this.var = var.substring(0, var.indexOf(".size"));
 			} else
 			{
 				this.var = var;
@@ -1,7 +1,8 @@
 package yal2jvm.hlir.liveness_analysis;
 
-import java.io.*;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 
 /**
  * Class that represents an interference graph of the variables from a method.
@@ -16,9 +17,8 @@ public class IntGraph implements Serializable
 	/**
 	 * Copy constructor of the IntGraph, it creates a new IntGraph based on the
 	 * graph passed by argument. As the graph has a list of nodes (IntNode objects)
-	 * that have themselves a list of nodes (we had problems with recursivity in
-	 * constructors) and the only solution we found was to to make a copy using
-	 * serialization, method getGraphCopy.
+	 * that have themselves a list of nodes, the copy is made in two passes by
+	 * method getGraphCopy.
 	 * 
 	 * @param graph
 	 *            based on the new IntGraph will be created
@@ -173,46 +173,50 @@ public class IntGraph implements Serializable
 	}
 
 	/**
-	 * Uses serialization to create a deep copy of the graph. It saves the graph
-	 * object to a file tempdata.ser and read it again. This method a retry count,
-	 * in order to prevent common errors deleting temp file or with stream fail.
+	 * Creates a deep copy of the graph. Each node is copied first, and then the
+	 * interferences of each copy are set to the copies of the interferences of the
+	 * original, so the nodes and the interferences keep their order. It does not
+	 * use serialization, which would load the serialization classes of the JVM in
+	 * every compilation.
 	 * 
 	 * @param graph
 	 * @return a deep copy of the graph passed in by argument
 	 */
 	private IntGraph getGraphCopy(IntGraph graph)
 	{
-		int maxAttempts = 10;
-		int counter = 0;
-		boolean fileSuccessfullyDeleted = false;
-		while (counter < maxAttempts && fileSuccessfullyDeleted == false)
+		IdentityHashMap<IntNode, IntNode> copies = new IdentityHashMap<>();
+		IntGraph graphCopy = new IntGraph();
+		for (IntNode node : graph.getNodes())
+			graphCopy.nodes.add(getNodeCopy(node, copies));
+		for (IntNode node : graph.getNodes())
 		{
-			try
-			{
-				// write data
-				FileOutputStream fos = new FileOutputStream("tempdata.ser");
-				ObjectOutputStream oos = new ObjectOutputStream(fos);
-				oos.writeObject(graph);
-				oos.close();
-
-				// read data
-				FileInputStream fis = new FileInputStream("tempdata.ser");
-				ObjectInputStream ois = new ObjectInputStream(fis);
-				IntGraph graphRead = (IntGraph) ois.readObject();
-				ois.close();
-
-				// delete temp file
-				fileSuccessfullyDeleted = new File("tempdata.ser").delete();
-
-				return graphRead;
-			} catch (Exception ex)
-			{
-				counter++;
-			}
+			ArrayList<IntNode> interferences = copies.get(node).getInterferences();
+			for (IntNode interference : node.getInterferences())
+				interferences.add(getNodeCopy(interference, copies));
 		}
 
-		System.out.println("Exception thrown during IntGraph copy");
-		System.exit(-1);
-		return null;
+		return graphCopy;
+	}
+
+	/**
+	 * Gets the copy of a node, without its interferences, creating it if it was
+	 * not copied yet
+	 * 
+	 * @param node
+	 *            the node
+	 * @param copies
+	 *            copy of each node already copied
+	 * @return the copy of the node
+	 */
+	private static IntNode getNodeCopy(IntNode node, IdentityHashMap<IntNode, IntNode> copies)
+	{
+		IntNode copy = copies.get(node);
+		if (copy == null)
+		{
+			copy = new IntNode(node.getName());
+			copy.setRequiredRegister(node.getRequiredRegister());
+			copies.put(node, copy);
+		}
+		return copy;
 	}
 }
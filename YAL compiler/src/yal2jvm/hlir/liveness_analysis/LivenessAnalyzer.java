@@ -2,10 +2,13 @@ package yal2jvm.hlir.liveness_analysis;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import yal2jvm.hlir.IRMethod;
 import yal2jvm.hlir.IRModule;
 import yal2jvm.hlir.IRNode;
+import yal2jvm.utils.Utils;
 
 /**
  * Class to perform liveness analysis of an entire module, producing an
@@ -15,36 +18,51 @@ public class LivenessAnalyzer
 {
 	private IRModule ir;
 	private HashMap<String, IntGraph> intGraphs;
+	private ExecutorService pool;
 
 	/**
 	 * Constructor
 	 * 
 	 * @param ir
 	 *            root node of the HLIR
+	 * @param pool
+	 *            pool in which the methods are analyzed, or null to analyze them
+	 *            one after another
 	 */
-	public LivenessAnalyzer(IRModule ir)
+	public LivenessAnalyzer(IRModule ir, ExecutorService pool)
 	{
 		this.ir = ir;
 		this.intGraphs = new HashMap<>();
+		this.pool = pool;
 	}
 
 	/**
-	 * Performs a liveness analysis for each of the module's methods
+	 * Performs a liveness analysis for each of the module's methods, except the
+	 * ones whose instructions were restored from the function cache
 	 */
 	public void analyze()
 	{
+		ArrayList<IRMethod> methods = new ArrayList<>();
+		ArrayList<Callable<IntGraph>> tasks = new ArrayList<>();
 		ArrayList<IRNode> children = ir.getChildren();
 		for (IRNode n : children)
 		{
-			if (n.getNodeType().equals("Method"))
+			if (n.getNodeType().equals("Method") && !((IRMethod) n).hasInstructions())
 			{
 				IRMethod method = (IRMethod) n;
-				SetBuilder met = new SetBuilder(method);
-				MethodAnalyzer analyzer = new MethodAnalyzer(met);
-				analyzer.analyze();
-				this.intGraphs.put(method.getName(), analyzer.getGraph());
+				methods.add(method);
+				tasks.add(() -> {
+					SetBuilder met = new SetBuilder(method);
+					MethodAnalyzer analyzer = new MethodAnalyzer(met);
+					analyzer.analyze();
+					return analyzer.getGraph();
+				});
 			}
 		}
+
+		ArrayList<IntGraph> graphs = Utils.invokeAll(pool, tasks);
+		for (int i = 0; i < methods.size(); i++)
+			this.intGraphs.put(methods.get(i).getName(), graphs.get(i));
 	}
 
 	/**
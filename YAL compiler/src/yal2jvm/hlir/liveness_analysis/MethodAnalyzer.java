@@ -12,6 +12,7 @@ public class MethodAnalyzer
 {
 	private SetBuilder method;
 	private String methodName;
+	private IntGraph graph;
 
 	/**
 	 * Constructor
@@ -33,7 +34,7 @@ public class MethodAnalyzer
 		method.getAllVars();
 		method.buildAllLines();
 		method.calculateSets();
-		getGraph();
+		this.graph = buildGraph();
 		printResults();
 	}
 
@@ -55,11 +56,21 @@ public class MethodAnalyzer
 	}
 
 	/**
-	 * Gets the interference graph for this method
+	 * Gets the interference graph for this method, built by analyze()
 	 * 
 	 * @return the interference graph
 	 */
 	public IntGraph getGraph()
+	{
+		return graph;
+	}
+
+	/**
+	 * Builds the interference graph for this method from the liveness sets
+	 * 
+	 * @return the interference graph
+	 */
+	private IntGraph buildGraph()
 	{
 		ArrayList<IntPair> interferences = method.getAllPairs();
 
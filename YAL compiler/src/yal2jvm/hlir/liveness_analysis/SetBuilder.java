@@ -3,7 +3,6 @@ package yal2jvm.hlir.liveness_analysis;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
-import java.util.TreeSet;
 
 import yal2jvm.Yal2jvm;
 import yal2jvm.hlir.IRAllocate;
@@ -15,11 +14,11 @@ import yal2jvm.hlir.IRLabel;
 import yal2jvm.hlir.IRLoad;
 import yal2jvm.hlir.IRLoadArith;
 import yal2jvm.hlir.IRMethod;
-import yal2jvm.hlir.IRModule;
 import yal2jvm.hlir.IRNode;
 import yal2jvm.hlir.IRReturn;
 import yal2jvm.hlir.IRStoreArith;
 import yal2jvm.hlir.IRStoreCall;
+import yal2jvm.hlir.Type;
 import yal2jvm.hlir.Variable;
 import yal2jvm.utils.Utils;
 
@@ -58,11 +57,7 @@ public class SetBuilder
 	 */
 	public ArrayList<String> getAllVars()
 	{
-		IRModule module = (IRModule) this.node.findParent("Module");
-		TreeSet<String> globals = module.getAllGlobals();
-		TreeSet<String> locals = findLocals();
-		locals.removeAll(globals);
-		ArrayList<String> list = Utils.setToList(locals);
+		ArrayList<String> list = Utils.setToList(this.node.getLocals());
 
 		for (int i = 0; i < list.size(); i++)
 			varToBit.put(list.get(i), i);
@@ -71,51 +66,6 @@ public class SetBuilder
 		return list;
 	}
 
-	/**
-	 * Finds all the local variables of the method, including arguments
-	 * 
-	 * @return list with all the local variables
-	 */
-	private TreeSet<String> findLocals()
-	{
-		TreeSet<String> locals = new TreeSet<String>();
-
-		for (IRNode n : this.node.getChildren())
-		{
-			switch (n.getNodeType())
-			{
-			case "Allocate":
-			{
-				IRAllocate alloc = (IRAllocate) n;
-				locals.add(alloc.getName());
-				if (alloc.getRhs().getNodeType().equals("Load"))
-				{
-					IRLoad load = (IRLoad) alloc.getRhs();
-					locals.add(load.getName());
-				}
-				break;
-			}
-			case "StoreArith":
-			{
-				IRStoreArith arith = (IRStoreArith) n;
-				locals.add(arith.getName());
-				break;
-			}
-			case "StoreCall":
-			{
-				IRStoreCall call = (IRStoreCall) n;
-				locals.add(call.getName());
-				break;
-			}
-			}
-		}
-		Variable[] args = this.node.getArgs();
-		for (Variable arg : args)
-			locals.add(arg.getVar());
-
-		return locals;
-	}
-
 	/**
 	 * Gets a method line
 	 * 
@@ -307,45 +257,9 @@ public class SetBuilder
 		line.setJump(true);
 		line.setJumpLabel(node.getLabel());
 		line.setType("Comp");
-		
-		if (node.getRhs().getNodeType().equals("Load"))
-		{
-			IRLoad load = (IRLoad) node.getRhs();
-			if (isNotGlobal(load.getName()))
-			{
-				line.addUse(load.getName());
-			}
-		}
-		if (node.getLhs().getNodeType().equals("Load"))
-		{
-			IRLoad load = (IRLoad) node.getLhs();
 
-			if (isNotGlobal(load.getName()))
-			{
-				line.addUse(load.getName());
-			}
-		}
-		if (node.getRhs().getNodeType().equals("LoadArith"))
-		{
-			IRLoadArith arith = (IRLoadArith) node.getRhs();
-			
-			if (arith.getRhs().getNodeType().equals("Load"))
-			{
-				IRLoad load = (IRLoad) arith.getRhs();
-				if (isNotGlobal(load.getName()))
-				{
-					line.addUse(load.getName());
-				}
-			}
-			if (arith.getLhs().getNodeType().equals("Load"))
-			{
-				IRLoad load = (IRLoad) arith.getLhs();
-				if (isNotGlobal(load.getName()))
-				{
-					line.addUse(load.getName());
-				}
-			}
-		}
+		addUses(node.getRhs(), line);
+		addUses(node.getLhs(), line);
 	}
 
 	/**
@@ -376,10 +290,7 @@ public class SetBuilder
 	private void buildLineStoreCall(IRStoreCall node, Line line)
 	{
 		line.setType("StoreCall");
-		if (isNotGlobal(node.getName()))
-		{
-			line.addDef(node.getName());
-		}
+		addStore(node.getName(), node.isArrayAccess() ? node.getIndex() : null, line);
 		IRCall call = (IRCall) node.getChildren().get(0);
 		ArrayList<Variable> args = call.getArguments();
 		for (Variable arg : args)
@@ -401,26 +312,9 @@ public class SetBuilder
 	private void buildLineStoreArith(IRStoreArith node, Line line)
 	{
 		line.setType("StoreArith");
-		if (isNotGlobal(node.getName()))
-		{
-			line.addDef(node.getName());
-		}
-		if (node.getRhs().getNodeType().equals("Load"))
-		{
-			IRLoad load = (IRLoad) node.getRhs();
-			if (isNotGlobal(load.getName()))
-			{
-				line.addUse(load.getName());
-			}
-		}
-		if (node.getLhs().getNodeType().equals("Load"))
-		{
-			IRLoad load = (IRLoad) node.getLhs();
-			if (isNotGlobal(load.getName()))
-			{
-				line.addUse(load.getName());
-			}
-		}
+		addStore(node.getName(), node.isArrayAccess() ? node.getIndex() : null, line);
+		addUses(node.getRhs(), line);
+		addUses(node.getLhs(), line);
 	}
 
 	/**
@@ -435,20 +329,80 @@ public class SetBuilder
 	{
 		line.setType("Allocate");
 
-		if (isNotGlobal(node.getName()))
+		addStore(node.getName(), node.getLhsIndex(), line);
+		// a = 5 with an array a sets all its elements, the array itself is kept
+		if (node.getType() == Type.INTEGER && node.getLhsIndex() == null && isNotGlobal(node.getName())
+				&& isArray(node.getName()))
+			line.addUse(node.getName());
+		addUses(node.getRhs(), line);
+	}
+
+	/**
+	 * Adds the variable stored by a line to its DEF set. When the value is stored
+	 * in an element of an array the array is not defined again, so the array and
+	 * the index are added to the USE set instead.
+	 * 
+	 * @param var
+	 *            the variable stored
+	 * @param index
+	 *            the index of the element stored, or null
+	 * @param line
+	 *            the line to build
+	 */
+	private void addStore(String var, IRNode index, Line line)
+	{
+		if (!isNotGlobal(var))
+			return;
+
+		if (index == null)
+			line.addDef(var);
+		else
 		{
-			line.addDef(node.getName());
+			line.addUse(var);
+			addUses(index, line);
 		}
-		if (node.getRhs().getNodeType().equals("Load"))
+	}
+
+	/**
+	 * Adds the local variables read by a value to the USE set of a line, including
+	 * the arrays and the indexes of the elements read
+	 * 
+	 * @param value
+	 *            the value, a load, an arithmetic operation or a constant
+	 * @param line
+	 *            the line to build
+	 */
+	private void addUses(IRNode value, Line line)
+	{
+		if (value instanceof IRLoad)
 		{
-			IRLoad load = (IRLoad) node.getRhs();
+			IRLoad load = (IRLoad) value;
 			if (isNotGlobal(load.getName()))
-			{
 				line.addUse(load.getName());
-			}
+			if (load.getIndex() != null)
+				addUses(load.getIndex(), line);
+		} else if (value instanceof IRLoadArith)
+		{
+			addUses(((IRLoadArith) value).getLhs(), line);
+			addUses(((IRLoadArith) value).getRhs(), line);
 		}
 	}
 
+	/**
+	 * Checks if a local variable of the method is an array
+	 * 
+	 * @param var
+	 *            the variable to check
+	 * @return true if it is an array argument or is allocated as an array
+	 */
+	private boolean isArray(String var)
+	{
+		Type type = this.node.getArgumentType(var);
+		if (type == null)
+			type = this.node.getVarType(var);
+		return type == Type.ARRAY || type == Type.ARRAYSIZE;
+	}
+
 	/**
 	 * Checks if a variable is not a global variable
 	 * 
@@ -648,17 +602,21 @@ public class SetBuilder
 	}
 
 	/**
-	 * Gets all the interference pairs based on the IN and OUT sets
+	 * Gets all the interference pairs based on the IN and OUT sets. Each
+	 * interference is only listed once, the first time it is found
 	 * 
 	 * @return list with all the interference pairs
 	 */
 	public ArrayList<IntPair> getAllPairs()
 	{
 		ArrayList<IntPair> pairs = new ArrayList<>();
+		BitSet[] interferences = new BitSet[varToBit.size()];
+		for (int i = 0; i < interferences.length; i++)
+			interferences[i] = new BitSet(varToBit.size());
 
 		ArrayList<BitSet> ins = getAllInSets();
 		for (BitSet set : ins)
-			pairs.addAll(getInterferences(set));
+			pairs.addAll(getInterferences(set, interferences));
 
 		ArrayList<BitSet> outs = getAllOutSets();
 		ArrayList<BitSet> defs = getAllDefSets();
@@ -666,39 +624,55 @@ public class SetBuilder
 		for (int i = 0; i < outs.size(); i++)
 		{
 			outs.get(i).or(defs.get(i));
-			pairs.addAll(getInterferences(outs.get(i)));
+			pairs.addAll(getInterferences(outs.get(i), interferences));
 		}
 		return pairs;
 	}
 
 	/**
-	 * Calculates all interferences using the IN and OUT sets, with no regard for
-	 * duplicates
+	 * Calculates the interferences using the IN and OUT sets, skipping the ones
+	 * already found
 	 * 
 	 * @param set
 	 *            the set to use in order to find interferences
-	 * @return a list of interference pairs
+	 * @param interferences
+	 *            for each variable bit, the bits of the variables it is already
+	 *            known to interfere with. It is updated with the new interferences
+	 * @return a list of the new interference pairs
 	 */
-	private ArrayList<IntPair> getInterferences(BitSet set)
+	private ArrayList<IntPair> getInterferences(BitSet set, BitSet[] interferences)
 	{
 		ArrayList<String> varList = new ArrayList<>();
 		ArrayList<IntPair> pairs = new ArrayList<>();
 
+		if (set.cardinality() < 2)
+			return pairs;
+
 		for (String var : this.varToBit.keySet())
 		{
 			int i = this.varToBit.get(var);
 			if (set.get(i))
 				varList.add(var);
 		}
-		if (varList.size() < 2)
-			return pairs;
 
-		for (int i = 0; i < varList.size(); i++)
+		for (String var1 : varList)
 		{
-			for (int j = 0; j < varList.size(); j++)
+			int bit1 = this.varToBit.get(var1);
+			BitSet newInterferences = (BitSet) set.clone();
+			newInterferences.andNot(interferences[bit1]);
+			newInterferences.clear(bit1);
+			if (newInterferences.isEmpty())
+				continue;
+
+			for (String var2 : varList)
 			{
-				if (i != j)
-					pairs.add(new IntPair(varList.get(i), varList.get(j)));
+				int bit2 = this.varToBit.get(var2);
+				if (newInterferences.get(bit2))
+				{
+					pairs.add(new IntPair(var1, var2));
+					interferences[bit1].set(bit2);
+					interferences[bit2].set(bit1);
+				}
 			}
 		}
 		return pairs;
@@ -2,10 +2,9 @@ package yal2jvm.hlir.register_allocation;
 
 import yal2jvm.hlir.liveness_analysis.IntGraph;
 import yal2jvm.hlir.liveness_analysis.IntNode;
+import yal2jvm.utils.InternalCompilerError;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  *	Class responsible for graph coloring, allowing to allocate registers.
@@ -14,7 +13,6 @@ public class GraphColoring
 {
 	private IntGraph graph;
 	private int numRegisters;
-	private List<Integer> registers;
 	private Stack<IntNode> nodesToColorStack = new Stack<>();
 	private HashMap<String, Integer> varNameToRegisterNumber = new HashMap<>();
 
@@ -27,7 +25,6 @@ public class GraphColoring
 	{
 		this.graph = graph;
 		this.numRegisters = numRegisters;
-		this.registers = IntStream.rangeClosed(0, numRegisters - 1).boxed().collect(Collectors.toList());
 	}
 
 	/**
@@ -37,7 +34,6 @@ public class GraphColoring
 	public void setNumRegisters(int numRegisters)
 	{
 		this.numRegisters = numRegisters;
-		this.registers = IntStream.rangeClosed(0, numRegisters - 1).boxed().collect(Collectors.toList());
 	}
 
 	/**
@@ -107,21 +103,18 @@ public class GraphColoring
 		{
 			IntNode node = nodesToColorStack.pop();
 
-			ArrayList<Integer> usedRegisters = new ArrayList<>();
+			BitSet usedRegisters = new BitSet();
 			ArrayList<IntNode> nodeInterferences = node.getInterferences();
 			for (IntNode interference : nodeInterferences)
 			{
 				Integer registerNumber = varNameToRegisterNumber.get(interference.getName());
 				if (registerNumber != null)
-					usedRegisters.add(registerNumber);
+					usedRegisters.set(registerNumber);
 			}
 
 			Integer register = findFirstUnusedRegisterThatMatchesRequired(usedRegisters, node.getRequiredRegister());
 			if (register == null)
-			{
-				System.out.println("Internal error coloring graph - colorGraph of class GraphColoring.");
-				System.exit(-1);
-			}
+				throw new InternalCompilerError("no register left to color " + node.getName());
 
 			varNameToRegisterNumber.put(node.getName(), register);
 		}
@@ -131,22 +124,18 @@ public class GraphColoring
 
 	/**
 	 * find first unused register that matches the required register (for arguments), or that has not a specific requirement
-	 * @param usedRegisters
+	 * @param usedRegisters registers already given to the interferences of the node
 	 * @return
 	 */
-	private Integer findFirstUnusedRegisterThatMatchesRequired(ArrayList<Integer> usedRegisters, int requiredRegister)
+	private Integer findFirstUnusedRegisterThatMatchesRequired(BitSet usedRegisters, int requiredRegister)
 	{
-		for (Integer register : registers)
-		{
-			// if the register is not occupied and this variable does not require a specific
-			// register (requiredRegister == -1)
-			// or the specific register that requires is the one being given
-			if (usedRegisters.contains(register) == false
-					&& (requiredRegister == -1 || register.intValue() == requiredRegister))
-				return register;
-		}
+		// if this variable does not require a specific register (requiredRegister == -1)
+		// the first register not occupied is given, otherwise only the required one can be
+		int register = requiredRegister == -1 ? usedRegisters.nextClearBit(0) : requiredRegister;
+		if (register >= numRegisters || usedRegisters.get(register))
+			return null;
 
-		return null;
+		return register;
 	}
 
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package yal2jvm.hlir.register_allocation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import yal2jvm.Yal2jvm;
 import yal2jvm.hlir.liveness_analysis.IntGraph;
+import yal2jvm.hlir.liveness_analysis.IntNode;
+import yal2jvm.utils.Utils;
 
 /**
  * Class responsible for register allocation, receiving the hashMap with functions names and the respective interferences graphs.
@@ -15,14 +22,17 @@ public class RegisterAllocator
 {
 	private HashMap<String, IntGraph> intGraphs;
 	private HashMap<String, HashMap<String, Integer>> allocatedRegisterByMethodName = new HashMap<>();
+	private ExecutorService pool;
 
 	/**
 	 * Constructor to RegisterAllocator
 	 * @param intGraphs hashMap with functions names and the respective interferences graphs
+	 * @param pool pool in which the graphs are colored, or null to color them one after another
 	 */
-	public RegisterAllocator(HashMap<String, IntGraph> intGraphs)
+	public RegisterAllocator(HashMap<String, IntGraph> intGraphs, ExecutorService pool)
 	{
 		this.intGraphs = intGraphs;
+		this.pool = pool;
 	}
 
 	/**
@@ -39,16 +49,27 @@ public class RegisterAllocator
 			System.out.println("Doing register allocation for each method\n");
 		}
 
+		ArrayList<Callable<GraphColoring>> tasks = new ArrayList<>();
+		for (IntGraph graph : intGraphs.values())
+		{
+			tasks.add(() -> {
+				GraphColoring graphColoring = new GraphColoring(graph, numberRegisters);
+				return graphColoring.colorGraph() ? graphColoring : null;
+			});
+		}
+		ArrayList<GraphColoring> graphColorings = Utils.invokeAll(pool, tasks);
+
 		Iterator it = intGraphs.entrySet().iterator();
+		Iterator<GraphColoring> graphColoringIt = graphColorings.iterator();
 		while (it.hasNext())
 		{
 			Map.Entry pair = (Map.Entry) it.next();
 			String methodName = (String) pair.getKey();
-			GraphColoring graphColoring = new GraphColoring((IntGraph) pair.getValue(), numberRegisters);
-			if (graphColoring.colorGraph() == false)
+			GraphColoring graphColoring = graphColoringIt.next();
+			if (graphColoring == null)
 			{
 				System.out.println("Error allocating registers to method " + methodName + ".");
-				int numRegisterThatAllowToAllocate = findNumberOfRegisterThatAllowToAllocate(graphColoring,
+				int numRegisterThatAllowToAllocate = findNumberOfRegisterThatAllowToAllocate((IntGraph) pair.getValue(),
 						numberRegisters);
 				System.out.println(
 						"Number of registers must be equal or higher than " + numRegisterThatAllowToAllocate + ".");
@@ -66,20 +87,120 @@ public class RegisterAllocator
 	}
 
 	/**
-	 * finds the less number of registers with which an allocate with the used algorithm in GraphColoring is possible
-	 * @param graphColoring the GraphColoring object used to find the suitable registers
-	 * @param currNumberOfRegisters curr number of registers, the number of registers specified in class constructor
+	 * Finds the minimum number of registers with which each method can be allocated, without changing the
+	 * registers already allocated. Methods are ordered by name.
+	 * @return TreeMap with functions names and the respective minimum number of registers
+	 */
+	public TreeMap<String, Integer> findMinimumNumberOfRegisters()
+	{
+		ArrayList<Callable<Integer>> tasks = new ArrayList<>();
+		for (IntGraph graph : intGraphs.values())
+			tasks.add(() -> findNumberOfRegisterThatAllowToAllocate(graph, 0));
+		ArrayList<Integer> minimumRegisters = Utils.invokeAll(pool, tasks);
+
+		TreeMap<String, Integer> minimumRegistersByMethodName = new TreeMap<>();
+		int i = 0;
+		for (String methodName : intGraphs.keySet())
+			minimumRegistersByMethodName.put(methodName, minimumRegisters.get(i++));
+
+		return minimumRegistersByMethodName;
+	}
+
+	/**
+	 * finds the less number of registers with which an allocate with the used algorithm in GraphColoring is possible.
+	 * The search starts at a lower bound given by the largest clique found in the graph, gallops up doubling the step
+	 * until the allocation succeeds and then does a binary search between the last failure and that success.
+	 * The coloring heuristic only gets easier with more registers, so the first success found is the minimum.
+	 * @param graph interferences graph of the method
+	 * @param currNumberOfRegisters curr number of registers, known to be insufficient
 	 * @return the number of registers with which the allocation was possible
 	 */
-	private int findNumberOfRegisterThatAllowToAllocate(GraphColoring graphColoring, int currNumberOfRegisters)
+	private int findNumberOfRegisterThatAllowToAllocate(IntGraph graph, int currNumberOfRegisters)
 	{
+		int numNodes = graph.getNodes().size();
+		if (numNodes == 0)
+			return 0;
+
+		int lowerBound = Math.max(currNumberOfRegisters + 1, getRegistersLowerBound(graph));
+		if (canAllocate(graph, lowerBound))
+			return lowerBound;
+
+		// galloping search for a number of registers that allows the allocation
+		int upperBound = lowerBound;
+		int step = 1;
 		do
 		{
-			currNumberOfRegisters++;
-			graphColoring.setNumRegisters(currNumberOfRegisters);
-		} while (graphColoring.colorGraph() == false);
+			lowerBound = upperBound + 1;
+			upperBound += step;
+			step *= 2;
+			if (upperBound >= numNodes)
+			{
+				upperBound = Math.max(numNodes, lowerBound);
+				break;
+			}
+		} while (canAllocate(graph, upperBound) == false);
+
+		// binary search between the last failure and the first success
+		while (lowerBound < upperBound)
+		{
+			int middle = (lowerBound + upperBound) / 2;
+			if (canAllocate(graph, middle))
+				upperBound = middle;
+			else
+				lowerBound = middle + 1;
+		}
+
+		return upperBound;
+	}
+
+	/**
+	 * checks if the graph can be colored with a given number of registers
+	 * @param graph interferences graph
+	 * @param numberRegisters number of registers to try
+	 * @return true if the graph was colored, false otherwise
+	 */
+	private boolean canAllocate(IntGraph graph, int numberRegisters)
+	{
+		return new GraphColoring(graph, numberRegisters).colorGraph();
+	}
+
+	/**
+	 * Gets a lower bound for the number of registers needed to color the graph. It is the highest of the size of a
+	 * clique found greedily, starting from each node, and the number of registers required by the arguments.
+	 * @param graph interferences graph
+	 * @return lower bound for the number of registers
+	 */
+	private int getRegistersLowerBound(IntGraph graph)
+	{
+		ArrayList<IntNode> nodes = graph.getNodes();
+		HashMap<String, HashSet<String>> neighboursByName = new HashMap<>();
+		int lowerBound = 0;
+		for (IntNode node : nodes)
+		{
+			HashSet<String> neighbours = new HashSet<>();
+			for (IntNode interference : node.getInterferences())
+				neighbours.add(interference.getName());
+			neighboursByName.put(node.getName(), neighbours);
+			lowerBound = Math.max(lowerBound, node.getRequiredRegister() + 1);
+		}
+
+		for (IntNode node : nodes)
+		{
+			if (node.indegree() < lowerBound) // can not be part of a clique bigger than the one found
+				continue;
+
+			ArrayList<String> clique = new ArrayList<>();
+			clique.add(node.getName());
+			for (IntNode candidate : node.getInterferences())
+			{
+				HashSet<String> candidateNeighbours = neighboursByName.get(candidate.getName());
+				if (candidateNeighbours.containsAll(clique))
+					clique.add(candidate.getName());
+			}
+			lowerBound = Math.max(lowerBound, clique.size());
+		}
 
-		return currNumberOfRegisters;
+		return Math.max(lowerBound, 1);
 	}
 
 	/**
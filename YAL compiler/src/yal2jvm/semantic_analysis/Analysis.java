@@ -2,7 +2,6 @@ package yal2jvm.semantic_analysis;
 
 import yal2jvm.Yal2jvm;
 import yal2jvm.ast.*;
-import yal2jvm.hlir.Type;
 import yal2jvm.symbol_tables.*;
 
 import java.util.ArrayList;
@@ -17,6 +16,7 @@ public abstract class Analysis
 
     HashMap<String, Symbol> mySymbols;
     HashMap<String, Symbol> inheritedSymbols;
+    Analysis enclosingScope;
     HashMap<String, Symbol> functionNameToFunctionSymbol;
     protected SimpleNode ast;
 
@@ -36,6 +36,22 @@ public abstract class Analysis
         this.functionNameToFunctionSymbol = functionNameToFunctionSymbol;
     }
 
+    /**
+     * Constructor for the analysis of a scope nested in another one, like an if or a while.
+     * The symbols of the enclosing scopes are not copied upfront: each one is copied to
+     * inheritedSymbols the first time it is accessed, so changes made inside the nested
+     * scope never reach the enclosing ones.
+     *
+     * @param ast analysis tree
+     * @param enclosingScope analysis of the enclosing scope
+     * @param functionNameToFunctionSymbol methods of the module, names to FunctionSymbol Object
+     */
+    Analysis(SimpleNode ast, Analysis enclosingScope, HashMap<String, Symbol> functionNameToFunctionSymbol)
+    {
+        this(ast, new HashMap<>(), functionNameToFunctionSymbol);
+        this.enclosingScope = enclosingScope;
+    }
+
     /**
      * Abstract function that will be used by the analysis classes
      * that extend this class
@@ -72,6 +88,8 @@ public abstract class Analysis
      * If false, checks if the hashMap inheritedSymbols has a key with the parameter's
      * value.
      * If true, the value mapped to that key is stored in the new Symbol variable.
+     * If not, and this is a nested scope, the symbol is looked up in the enclosing scopes
+     * and a copy of it is added to inheritedSymbols.
      * If all checks fail, the new variable is returned with a null value.
      *
      * @param symbolId  id of the symbol that will be used to check if it is contained
@@ -81,7 +99,7 @@ public abstract class Analysis
      *                  that key value doesn't exit. Return value is null when the key
      *                  doesn't exist in any of the two hashMaps
      */
-    private Symbol hasAccessToSymbol(String symbolId)
+    Symbol hasAccessToSymbol(String symbolId)
     {
         Symbol symbol = null;
         if (mySymbols != null)
@@ -92,11 +110,51 @@ public abstract class Analysis
         }
 
         if (inheritedSymbols != null)
+        {
             symbol = inheritedSymbols.get(symbolId);
+            if (symbol != null)
+                return symbol;
+        }
+
+        if (enclosingScope != null)
+        {
+            symbol = enclosingScope.lookupSymbol(symbolId);
+            if (symbol != null)
+            {
+                symbol = symbol.getCopy();
+                inheritedSymbols.put(symbolId, symbol);
+            }
+        }
 
         return symbol;
     }
 
+    /**
+     * Looks up a symbol in this scope and in the enclosing ones, without copying it.
+     * The returned symbol must not be changed.
+     *
+     * @param symbolId  id of the symbol
+     * @return          the symbol visible with that id in this scope, null if there is none
+     */
+    private Symbol lookupSymbol(String symbolId)
+    {
+        Symbol symbol = mySymbols.get(symbolId);
+        if (symbol != null)
+            return symbol;
+
+        if (inheritedSymbols != null)
+        {
+            symbol = inheritedSymbols.get(symbolId);
+            if (symbol != null)
+                return symbol;
+        }
+
+        if (enclosingScope != null)
+            return enclosingScope.lookupSymbol(symbolId);
+
+        return null;
+    }
+
     /**
      * Checks the type of the lhsTree first child.
      * If the child node is an array access the function parseArrayAccess is returned.
@@ -110,11 +168,11 @@ public abstract class Analysis
     private VarSymbol parseLhs(SimpleNode lhsTree)
     {
         Node child = lhsTree.jjtGetChild(0);
-        switch (child.toString())
+        switch (child.getId())
         {
-            case "ARRAYACCESS":
+            case YalParserTreeConstants.JJTARRAYACCESS:
                 return parseArrayAccess((ASTARRAYACCESS) child);
-            case "SCALARACCESS":
+            case YalParserTreeConstants.JJTSCALARACCESS:
                 return parseScalarAccess((ASTSCALARACCESS) child);
         }
 
@@ -140,7 +198,7 @@ public abstract class Analysis
     private VarSymbol parseRhs(SimpleNode rhsTree)
     {
         Node firstChild = rhsTree.jjtGetChild(0);
-        if (firstChild.toString().equals("ARRAYSIZE"))
+        if (firstChild.getId() == YalParserTreeConstants.JJTARRAYSIZE)
         {
             ASTARRAYSIZE astArraySize = (ASTARRAYSIZE) firstChild;
             VarSymbol retVal = parseArraySize(astArraySize);
@@ -148,12 +206,12 @@ public abstract class Analysis
                 return null;
 
             retVal = retVal.getCopy();
-            retVal.setType("ARRAYSIZE");
+            retVal.setType(SymbolType.ARRAYSIZE);
             return retVal;
         }
 
         VarSymbol symbol = null;
-        String previousType = null;
+        SymbolType previousType = null;
         int numChildren = rhsTree.jjtGetNumChildren();
         for (int i = 0; i < numChildren; i++)
         {
@@ -162,21 +220,19 @@ public abstract class Analysis
             symbol = parseTerm(child);
             if (symbol == null)
                 return null;
-            String symbolType = symbol.getType();
+            SymbolType symbolType = symbol.getType();
             if (previousType == null)
                 previousType = symbolType;
-            else if (!previousType.equals(symbolType))
+            else if (previousType != symbolType)
             {
-                System.out.println("Line " + child.getBeginLine() + ": Variables dont match! Variable "
+                Diagnostics.error(child.getBeginLine(), "Variables dont match! Variable "
                         + previousSymbol.getId() + " has type " + previousSymbol.getType()
                         + " and " + symbol.getId() + " has type " + symbol.getType() + ".");
-                ModuleAnalysis.hasErrors = true;
                 return null;
             }
-            else if (previousType.equals(Type.ARRAY.toString()) && symbolType.equals(Type.ARRAY.toString()))
+            else if (previousType == SymbolType.ARRAY && symbolType == SymbolType.ARRAY)
             {
-                System.out.println("Line " + child.getBeginLine() + ": Cannot make operations between arrays.");
-                ModuleAnalysis.hasErrors = true;
+                Diagnostics.error(child.getBeginLine(), "Cannot make operations between arrays.");
                 return null;
             }
 
@@ -228,23 +284,22 @@ public abstract class Analysis
             return new ImmediateSymbol("[" + termTree.integer + "]");
 
         Node child = termTree.jjtGetChild(0);
-        switch (child.toString())
+        switch (child.getId())
         {
-            case "CALL":
+            case YalParserTreeConstants.JJTCALL:
 
                 ASTCALL astCall = (ASTCALL) child;
                 VarSymbol callRet = parseCall(astCall);
                 if(callRet == null)
                 {
-                    System.out.println("Line " + astCall.getBeginLine() + ": Method " + astCall.method + " is void. Expected return value.");
-                    ModuleAnalysis.hasErrors = true;
+                    Diagnostics.error(astCall.getBeginLine(), "Method " + astCall.method + " is void. Expected return value.");
                 }
                 return callRet;
 
-            case "ARRAYACCESS":
+            case YalParserTreeConstants.JJTARRAYACCESS:
                 return parseArrayAccess((ASTARRAYACCESS) child);
 
-            case "SCALARACCESS":
+            case YalParserTreeConstants.JJTSCALARACCESS:
                 return parseScalarAccess((ASTSCALARACCESS) child);
 
         }
@@ -268,15 +323,14 @@ public abstract class Analysis
                     return null;
             }
 
-            return new VarSymbol("", SymbolType.UNDEFINED.toString(), true);
+            return new VarSymbol("", SymbolType.UNDEFINED, true);
         }
 
         String method = callTree.method;
         FunctionSymbol functionSymbol = (FunctionSymbol) functionNameToFunctionSymbol.get(method);
         if (functionSymbol == null)
         {
-            System.out.println("Line " + callTree.getBeginLine() + ": Method " + method + " can't be found.");
-            ModuleAnalysis.hasErrors = true;
+            Diagnostics.error(callTree.getBeginLine(), "Method " + method + " can't be found.");
             return null;
         }
 
@@ -287,23 +341,21 @@ public abstract class Analysis
         {
             if (callTree.jjtGetNumChildren() != functionArguments.size())
             {
-                System.out.println("Line " + callTree.getBeginLine() + ": Method " + method + " arguments number(0)"
+                Diagnostics.error(callTree.getBeginLine(), "Method " + method + " arguments number(0)"
                         + "does not match expected number(" + functionArguments.size() + ") of arguments");
-                ModuleAnalysis.hasErrors = true;
                 return null;
             }
         } else
         {
             ASTARGUMENTS astarguments = (ASTARGUMENTS) callTree.jjtGetChild(0);
-            ArrayList<String> argumentsTypes = parseArgumentList(astarguments);
+            ArrayList<SymbolType> argumentsTypes = parseArgumentList(astarguments);
             if (argumentsTypes == null)
                 return null;
 
             if (functionArguments.size() != argumentsTypes.size())
             {
-                System.out.println("Line " + astarguments.getBeginLine() + ": Method " + method + " arguments number("
+                Diagnostics.error(astarguments.getBeginLine(), "Method " + method + " arguments number("
                         + argumentsTypes.size() + ") does not match expected number(" + functionArguments.size() + ") of arguments");
-                ModuleAnalysis.hasErrors = true;
                 return null;
             }
 
@@ -328,17 +380,16 @@ public abstract class Analysis
      * @param argumentsTypes list of argumentTypes
      * @return returnSymbol
      */
-    private VarSymbol parseCallArguments(String method, ArrayList<VarSymbol> functionArguments, VarSymbol returnSymbol, ASTARGUMENTS astarguments, ArrayList<String> argumentsTypes) {
+    private VarSymbol parseCallArguments(String method, ArrayList<VarSymbol> functionArguments, VarSymbol returnSymbol, ASTARGUMENTS astarguments, ArrayList<SymbolType> argumentsTypes) {
         for (int i = 0; i < functionArguments.size(); i++)
         {
-            String argumentType = argumentsTypes.get(i);
-            String expectedArgumentType = functionArguments.get(i).getType();
-            if (!argumentType.equals(expectedArgumentType))
+            SymbolType argumentType = argumentsTypes.get(i);
+            SymbolType expectedArgumentType = functionArguments.get(i).getType();
+            if (argumentType != expectedArgumentType)
             {
-                System.out.println("Line " + astarguments.getBeginLine() + ": Type " + argumentType
+                Diagnostics.error(astarguments.getBeginLine(), "Type " + argumentType
                         + " of argument " + i + 1 + " of method " + method
                         + " call does not match expected type " + expectedArgumentType + ".");
-                ModuleAnalysis.hasErrors = true;
                 returnSymbol = null;
             }
         }
@@ -350,10 +401,10 @@ public abstract class Analysis
      * @param astarguments ASTARGUMENTS
      * @return list of arguments types
      */
-    private ArrayList<String> parseArgumentList(ASTARGUMENTS astarguments)
+    private ArrayList<SymbolType> parseArgumentList(ASTARGUMENTS astarguments)
     {
         Integer childrenLength = astarguments.jjtGetNumChildren();
-        ArrayList<String> argumentsTypes = new ArrayList<>();
+        ArrayList<SymbolType> argumentsTypes = new ArrayList<>();
         boolean haveFailed = false;
         for (int i = 0; i < childrenLength; i++)
         {
@@ -364,9 +415,8 @@ public abstract class Analysis
 
             if (idArg == null && intArg == null && stringArg == null)
             {
-                System.out.println("Line " + astargument.getBeginLine() + ": Argument " + i + " is neither a variable,"
+                Diagnostics.error(astargument.getBeginLine(), "Argument " + i + " is neither a variable,"
                         + "a string or an integer.");
-                ModuleAnalysis.hasErrors = true;
                 return null;
             }
 
@@ -380,9 +430,9 @@ public abstract class Analysis
                 }
                 argumentsTypes.add(varSymbol.getType());
             } else if (intArg != null)
-                argumentsTypes.add(SymbolType.INTEGER.toString());
+                argumentsTypes.add(SymbolType.INTEGER);
             else
-                argumentsTypes.add("STRING");
+                argumentsTypes.add(SymbolType.STRING);
         }
 
         if (haveFailed)
@@ -404,11 +454,10 @@ public abstract class Analysis
         if (arraySymbol == null)
             return null;
 
-        if (!arraySymbol.getType().equals(SymbolType.ARRAY.toString()))
+        if (arraySymbol.getType() != SymbolType.ARRAY)
         {
-            System.out.println("Line " + arrayAccessTree.getBeginLine() + ": Access to index of variable " + arrayId
+            Diagnostics.error(arrayAccessTree.getBeginLine(), "Access to index of variable " + arrayId
                     + " that is not an array.");
-            ModuleAnalysis.hasErrors = true;
             return null;
         }
 
@@ -428,7 +477,7 @@ public abstract class Analysis
         }
 
         arraySymbol = arraySymbol.getCopy();
-        arraySymbol.setType(SymbolType.INTEGER.toString());
+        arraySymbol.setType(SymbolType.INTEGER);
         arraySymbol.setId(arraySymbol.getId() + "[" + indexValue + "]");
 
         return arraySymbol;
@@ -445,15 +494,13 @@ public abstract class Analysis
         VarSymbol indexSymbol = (VarSymbol) hasAccessToSymbol(symbolId);
         if (indexSymbol == null)
         {
-            System.out.println("Line " + ast.getBeginLine() + ": Variable " + symbolId + " might not have been declared.");
-            ModuleAnalysis.hasErrors = true;
+            Diagnostics.error(ast.getBeginLine(), "Variable " + symbolId + " might not have been declared.");
             return null;
         }
 
         if (!indexSymbol.isInitialized())
         {
-            System.out.println("Line " + ast.getBeginLine() + ": Variable " + symbolId + " might not have been initialized.");
-            ModuleAnalysis.hasErrors = true;
+            Diagnostics.error(ast.getBeginLine(), "Variable " + symbolId + " might not have been initialized.");
             return null;
         }
 
@@ -482,21 +529,19 @@ public abstract class Analysis
             VarSymbol varSymbol = (VarSymbol) hasAccessToSymbol(id);
             if(varSymbol == null)
             {
-                System.out.println("Line " + scalarAccessTree.getBeginLine() + ": Variable " + id + " might not have been declared.");
-                ModuleAnalysis.hasErrors = true;
+                Diagnostics.error(scalarAccessTree.getBeginLine(), "Variable " + id + " might not have been declared.");
                 return null;
             }
 
-            if (varSymbol.getType().equals("INTEGER"))
+            if (varSymbol.getType() == SymbolType.INTEGER)
             {
-                System.out.println("Line " + scalarAccessTree.getBeginLine() + ": Access to size of variable " + id
+                Diagnostics.error(scalarAccessTree.getBeginLine(), "Access to size of variable " + id
                         + " that is not an array.");
-                ModuleAnalysis.hasErrors = true;
                 return null;
             }
 
             varSymbol = varSymbol.getCopy();
-            varSymbol.setType(SymbolType.INTEGER.toString());
+            varSymbol.setType(SymbolType.INTEGER);
             return varSymbol;
         }
 
@@ -555,7 +600,7 @@ public abstract class Analysis
         if (declarationTree.integer != null) //if is from type a=CONST;
             initialized = true;
 
-        VarSymbol varSymbol = new VarSymbol(astscalarelement.id, SymbolType.INTEGER.toString(), initialized);
+        VarSymbol varSymbol = new VarSymbol(astscalarelement.id, SymbolType.INTEGER, initialized);
 
         if (declarationTree.jjtGetNumChildren() > 1) //if is from type a=[CONST];
         {
@@ -570,7 +615,7 @@ public abstract class Analysis
                     return null;
             }
 
-            varSymbol.setType(SymbolType.ARRAY.toString());
+            varSymbol.setType(SymbolType.ARRAY);
             varSymbol.setInitialized(true);
         }
 
@@ -624,10 +669,9 @@ public abstract class Analysis
             //if from type a[] = CONST; and variable array has no size set (its not declared even)
             if (declarationTree.integer != null)
             {
-                System.out.println("Line " + declarationTree.getBeginLine() + ": Variable "
+                Diagnostics.error(declarationTree.getBeginLine(), "Variable "
                         + astarrayelement.id + " has the size not defined." + " Error assigning "
                         + declarationTree.integer + " to all elements of " + astarrayelement.id + ".");
-                ModuleAnalysis.hasErrors = true;
                 return null;
             }
 
@@ -635,7 +679,7 @@ public abstract class Analysis
             initialized = false;
         }
 
-        return new VarSymbol(astarrayelement.id, SymbolType.ARRAY.toString(), initialized);
+        return new VarSymbol(astarrayelement.id, SymbolType.ARRAY, initialized);
     }
 
     /**
@@ -648,29 +692,26 @@ public abstract class Analysis
         //if it has already been declared and its not just a initialization
         if (declarationTree.integer == null)
         {
-            System.out.println("Line " + declarationTree.getBeginLine() + ": Variable " + symbol.getId()
+            Diagnostics.error(declarationTree.getBeginLine(), "Variable " + symbol.getId()
                     + " already declared.");
-            ModuleAnalysis.hasErrors = true;
             return;
         }
 
-        if (symbol.getType().equals(Type.INTEGER.toString()) && symbol.isInitialized())
+        if (symbol.getType() == SymbolType.INTEGER && symbol.isInitialized())
         {
-            System.out.println("Line " + declarationTree.getBeginLine() + ": Variable "
+            Diagnostics.error(declarationTree.getBeginLine(), "Variable "
                     + symbol.getId() + " was already initialized." + " Error assigning "
                     + declarationTree.integer + " to the variable " + symbol.getId() + ".");
-            ModuleAnalysis.hasErrors = true;
             return;
         }
 
         symbol.setInitialized(true);
 
-        if (symbol.getType().equals(Type.ARRAY.toString()) && !symbol.isInitialized())
+        if (symbol.getType() == SymbolType.ARRAY && !symbol.isInitialized())
         {
-            System.out.println("Line " + declarationTree.getBeginLine() + ": Variable "
+            Diagnostics.error(declarationTree.getBeginLine(), "Variable "
                     + symbol.getId() + " has the size not defined." + " Error assigning "
                     + declarationTree.integer + " to all elements of " + symbol.getId() + ".");
-            ModuleAnalysis.hasErrors = true;
         }
 
     }
@@ -696,26 +737,25 @@ public abstract class Analysis
         if (lhsSymbol.getId().contains(".size"))
         {
             assert rhsTree != null;
-            System.out.println("Line " + rhsTree.getBeginLine() + ": Impossible to set a variable size.");
-            ModuleAnalysis.hasErrors = true;
+            Diagnostics.error(rhsTree.getBeginLine(), "Impossible to set a variable size.");
             return;
         }
 
         assert rhsSymbol != null;
         if (parseArraySizeAssign(rhsSymbol, lhsSymbol)) return;
 
-        if (lhsSymbol.getType().equals(SymbolType.UNDEFINED.toString()))
+        if (lhsSymbol.getType() == SymbolType.UNDEFINED)
         {
-            if (rhsSymbol.getType().equals(SymbolType.UNDEFINED.toString()))
-                lhsSymbol.setType(SymbolType.INTEGER.toString());
+            if (rhsSymbol.getType() == SymbolType.UNDEFINED)
+                lhsSymbol.setType(SymbolType.INTEGER);
             else
                 lhsSymbol.setType(rhsSymbol.getType());
         }
 
-        String lhsSymbolType = lhsSymbol.getType();
-        String rhsSymbolType = rhsSymbol.getType();
+        SymbolType lhsSymbolType = lhsSymbol.getType();
+        SymbolType rhsSymbolType = rhsSymbol.getType();
 
-        if (lhsSymbolType.equals(rhsSymbolType) && !lhsSymbol.isArrayAccess() && !(rhsSymbol instanceof ImmediateSymbol)) //if both lhs and rhs have same type
+        if (lhsSymbolType == rhsSymbolType && !lhsSymbol.isArrayAccess() && !(rhsSymbol instanceof ImmediateSymbol)) //if both lhs and rhs have same type
         {
             lhsSymbol.setInitialized(rhsSymbol.isInitialized());
             addToSymbolTable(lhsSymbol);
@@ -725,7 +765,7 @@ public abstract class Analysis
         if (errorArrayLhsIntegerRhsSizeNotDefined(lhsTree, lhsSymbol, lhsSymbolType, rhsSymbolType)) return;
 
         //for A=[N] in which N is an integer. Used when assigning size to an array
-        if (lhsSymbolType.equals(SymbolType.ARRAY.toString()) && rhsSymbolType.equals("ARRAYSIZE"))
+        if (lhsSymbolType == SymbolType.ARRAY && rhsSymbolType == SymbolType.ARRAYSIZE)
         {
             lhsSymbol.setInitialized(true);
             addToSymbolTable(lhsSymbol);
@@ -747,12 +787,11 @@ public abstract class Analysis
      * @param rhsSymbolType rhs symbol type
      * @return true if there was an error, false otherwise
      */
-    private boolean errorArrayLhsIntegerRhsSizeNotDefined(SimpleNode lhsTree, VarSymbol lhsSymbol, String lhsSymbolType, String rhsSymbolType) {
-        if (lhsSymbolType.equals(SymbolType.ARRAY.toString()) && rhsSymbolType.equals("INTEGER") && !lhsSymbol.isInitialized())
+    private boolean errorArrayLhsIntegerRhsSizeNotDefined(SimpleNode lhsTree, VarSymbol lhsSymbol, SymbolType lhsSymbolType, SymbolType rhsSymbolType) {
+        if (lhsSymbolType == SymbolType.ARRAY && rhsSymbolType == SymbolType.INTEGER && !lhsSymbol.isInitialized())
         {
-            System.out.println("Line " + lhsTree.getBeginLine() + ": Variable " + lhsSymbol.getId()
+            Diagnostics.error(lhsTree.getBeginLine(), "Variable " + lhsSymbol.getId()
                     + " has the size not defined." + " Error assigning right hand side to all elements of " + lhsSymbol.getId() + ".");
-            ModuleAnalysis.hasErrors = true;
             return true;
         }
         return false;
@@ -782,23 +821,22 @@ public abstract class Analysis
      * @param rhsSymbolType rhs symbol type
      * @return true if they don't match, false otherwise
      */
-    private boolean checkMatchingTypesAssign(SimpleNode lhsTree, VarSymbol lhsSymbol, String lhsSymbolType, String rhsSymbolType) {
-        if (!(lhsSymbolType.equals(SymbolType.ARRAY.toString()) && rhsSymbolType.equals(SymbolType.INTEGER.toString()))) //for A=5; in which A is an array and all its elements are set to 5
-            if (!rhsSymbolType.equals(SymbolType.UNDEFINED.toString())) //for A=m.f(); in which m.f() function is from another module that we not know the return value, so it can be INTEGER or ARRAY
-                if (!lhsSymbolType.equals(rhsSymbolType) || (rhsSymbolType.equals(SymbolType.ARRAY.name()) && lhsSymbol.isArrayAccess())) //checks both have types that match
+    private boolean checkMatchingTypesAssign(SimpleNode lhsTree, VarSymbol lhsSymbol, SymbolType lhsSymbolType, SymbolType rhsSymbolType) {
+        if (!(lhsSymbolType == SymbolType.ARRAY && rhsSymbolType == SymbolType.INTEGER)) //for A=5; in which A is an array and all its elements are set to 5
+            if (rhsSymbolType != SymbolType.UNDEFINED) //for A=m.f(); in which m.f() function is from another module that we not know the return value, so it can be INTEGER or ARRAY
+                if (lhsSymbolType != rhsSymbolType || (rhsSymbolType == SymbolType.ARRAY && lhsSymbol.isArrayAccess())) //checks both have types that match
                 {
                     if(lhsSymbol.isArrayAccess())
                     {
-                        System.out.println("Line " + lhsTree.getBeginLine() + ": Variable " + lhsSymbol.getId()
+                        Diagnostics.error(lhsTree.getBeginLine(), "Variable " + lhsSymbol.getId()
                                 + " of type ARRAY of INTEGERS, accessed at an index, so type INTEGER. " +
                                 "Cannot redeclare it as " + rhsSymbolType + ".");
                     }
                     else
                     {
-                        System.out.println("Line " + lhsTree.getBeginLine() + ": Variable " + lhsSymbol.getId()
+                        Diagnostics.error(lhsTree.getBeginLine(), "Variable " + lhsSymbol.getId()
                                 + " has been declared as " + lhsSymbolType + ". Cannot redeclare it as " + rhsSymbolType + ".");
                     }
-                    ModuleAnalysis.hasErrors = true;
                     return true;
                 }
         return false;
@@ -811,11 +849,11 @@ public abstract class Analysis
      * @return true if is from type A = [VALUE] with A already declared as array or still not declared
      */
     private boolean parseArraySizeAssign(VarSymbol rhsSymbol, VarSymbol lhsSymbol) {
-        if (rhsSymbol.getType().equals("ARRAYSIZE"))
+        if (rhsSymbol.getType() == SymbolType.ARRAYSIZE)
         {
-            if(lhsSymbol.getType().equals(SymbolType.ARRAY.toString()) || lhsSymbol.getType().equals(SymbolType.UNDEFINED.toString()))
+            if(lhsSymbol.getType() == SymbolType.ARRAY || lhsSymbol.getType() == SymbolType.UNDEFINED)
             {
-                lhsSymbol.setType(SymbolType.ARRAY.toString());
+                lhsSymbol.setType(SymbolType.ARRAY);
                 lhsSymbol.setInitialized(true);
                 addToSymbolTable(lhsSymbol);
                 return true;
@@ -830,7 +868,7 @@ public abstract class Analysis
      */
     private void addToSymbolTable(VarSymbol lhsSymbol)
     {
-        if ((inheritedSymbols.get(lhsSymbol.getId()) == null) && (mySymbols.get(lhsSymbol.getId()) == null))
+        if (lookupSymbol(lhsSymbol.getId()) == null)
         {
             mySymbols.put(lhsSymbol.getId(), lhsSymbol);
         }
@@ -847,21 +885,21 @@ public abstract class Analysis
         VarSymbol symbol = null;
         String id;
         Node child = lhsTree.jjtGetChild(0);
-        switch (child.toString())
+        switch (child.getId())
         {
-            case "ARRAYACCESS":
+            case YalParserTreeConstants.JJTARRAYACCESS:
                 ASTARRAYACCESS astArrayAccess = (ASTARRAYACCESS) child;
                 id = astArrayAccess.arrayID;
                 symbol = (VarSymbol) hasAccessToSymbol(id);
                 if (symbol == null)
                 {
-                    System.out.println("Line " + astArrayAccess.getBeginLine() + ": Variable " + id + " might not have been declared.");
+                    Diagnostics.report(astArrayAccess.getBeginLine(), "Variable " + id + " might not have been declared.");
                     return null;
                 }
 
-                if (!symbol.getType().equals(Type.ARRAY.toString()))
+                if (symbol.getType() != SymbolType.ARRAY)
                 {
-                    System.out.println("Line " + astArrayAccess.getBeginLine() + ": Cannot access to an index of variable "
+                    Diagnostics.report(astArrayAccess.getBeginLine(), "Cannot access to an index of variable "
                             + symbol.getId() + " because it has type " + symbol.getType() + ".");
                     return null;
                 }
@@ -878,12 +916,12 @@ public abstract class Analysis
                 }
                 break;
 
-            case "SCALARACCESS":
+            case YalParserTreeConstants.JJTSCALARACCESS:
                 id = ((ASTSCALARACCESS) child).id;
                 symbol = (VarSymbol) hasAccessToSymbol(id);
 
                 if (symbol == null)
-                    symbol = new VarSymbol(id, SymbolType.UNDEFINED.toString(), false);
+                    symbol = new VarSymbol(id, SymbolType.UNDEFINED, false);
 
                 break;
         }
@@ -905,7 +943,7 @@ public abstract class Analysis
         }
         else if(astIndex.indexValue != null)
         {
-            VarSymbol symbol = new VarSymbol(astIndex.indexValue.toString(), Type.ARRAY.name(), true);
+            VarSymbol symbol = new VarSymbol(astIndex.indexValue.toString(), SymbolType.ARRAY, true);
             symbol.setArrayAccess(true);
             return symbol;
 
@@ -930,24 +968,22 @@ public abstract class Analysis
         if (rhsSymbol == null)
             return;
 
-        if (!lhsSymbol.getType().equals(rhsSymbol.getType()))
+        if (lhsSymbol.getType() != rhsSymbol.getType())
         {
-            System.out.println("Line " + astLhs.getBeginLine() + ": Variables must have same type to be compared."
+            Diagnostics.error(astLhs.getBeginLine(), "Variables must have same type to be compared."
                     + "Variable " + lhsSymbol.getId() + " has type " + lhsSymbol.getType() + " and variable "
                     + rhsSymbol.getId() + " has type " + rhsSymbol.getType() + ".");
-            ModuleAnalysis.hasErrors = true;
             return;
         }
 
         //if operands being tested are both array type and the comparison operator is not == or !=, semantic error.
-        if (lhsSymbol.getType().equals(SymbolType.ARRAY.toString()))
+        if (lhsSymbol.getType() == SymbolType.ARRAY)
         {
             if(!astExprtest.operation.equals("==") && !astExprtest.operation.equals("!="))
             {
-                System.out.println("Line " + astLhs.getBeginLine() + ": Variables must be INTEGER to be compared. Variable "
+                Diagnostics.error(astLhs.getBeginLine(), "Variables must be INTEGER to be compared. Variable "
                         + lhsSymbol.getId() + " has type " + lhsSymbol.getType() + " and variable " + rhsSymbol.getId()
                         + " has type " + rhsSymbol.getType() + ".");
-                ModuleAnalysis.hasErrors = true;
             }
         }
 
@@ -963,26 +999,25 @@ public abstract class Analysis
         for (int i = 0; i < statementsNumChilds; i++)
         {
             SimpleNode node = (SimpleNode) astStatements.jjtGetChild(i);
-            String nodeId = node.toString();
-            switch (nodeId)
+            switch (node.getId())
             {
-                case "WHILE":
-                    WhileAnalysis whileAnalysis = new WhileAnalysis(node, getUnifiedSymbolTable(), functionNameToFunctionSymbol);
+                case YalParserTreeConstants.JJTWHILE:
+                    WhileAnalysis whileAnalysis = new WhileAnalysis(node, this, functionNameToFunctionSymbol);
                     whileAnalysis.parse();
                     mySymbols.putAll(whileAnalysis.mySymbols);
                     break;
 
-                case "IF":
-                    IfAnalysis ifAnalysis = new IfAnalysis(node, getUnifiedSymbolTable(), functionNameToFunctionSymbol);
+                case YalParserTreeConstants.JJTIF:
+                    IfAnalysis ifAnalysis = new IfAnalysis(node, this, functionNameToFunctionSymbol);
                     ifAnalysis.parse();
                     mySymbols.putAll(ifAnalysis.mySymbols);
                     break;
 
-                case "CALL":
+                case YalParserTreeConstants.JJTCALL:
                     parseCall((ASTCALL) node);
                     break;
 
-                case "ASSIGN":
+                case YalParserTreeConstants.JJTASSIGN:
                     parseAssign((ASTASSIGN) node);
                     break;
             }
@@ -0,0 +1,136 @@
+package yal2jvm.semantic_analysis;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Collects the messages of the semantic analysis. Functions may be analysed in
+ * parallel, so the messages are kept until the analysis ends and are then printed
+ * sorted by line.
+ */
+public class Diagnostics
+{
+	private static final ArrayList<Diagnostic> diagnostics = new ArrayList<>();
+
+	// messages of the function being analysed by each thread, kept apart so that
+	// they can be reused while the function does not change
+	private static final ThreadLocal<ArrayList<Diagnostic>> functionDiagnostics = new ThreadLocal<>();
+
+	/**
+	 * Adds a message about the given line
+	 *
+	 * @param line
+	 *            line of the source file the message refers to
+	 * @param message
+	 *            message text
+	 */
+	public static void report(int line, String message)
+	{
+		add(new Diagnostic(line, message, false));
+	}
+
+	/**
+	 * Adds an error message about the given line. The compilation stops after the
+	 * semantic analysis if any error is reported.
+	 *
+	 * @param line
+	 *            line of the source file the message refers to
+	 * @param message
+	 *            message text
+	 */
+	public static void error(int line, String message)
+	{
+		add(new Diagnostic(line, message, true));
+	}
+
+	/**
+	 * Runs the analysis of a function, returning the messages it reports instead of
+	 * adding them to the messages of the module
+	 *
+	 * @param analysis
+	 *            analysis of a function
+	 * @return messages reported by the analysis
+	 */
+	static ArrayList<Diagnostic> collect(Runnable analysis)
+	{
+		ArrayList<Diagnostic> messages = new ArrayList<>();
+		functionDiagnostics.set(messages);
+		try
+		{
+			analysis.run();
+		} finally
+		{
+			functionDiagnostics.remove();
+		}
+
+		return messages;
+	}
+
+	/**
+	 * Adds messages collected from the analysis of a function, moving them by the
+	 * number of lines the function moved since it was analysed
+	 *
+	 * @param messages
+	 *            messages collected from the analysis of a function
+	 * @param lineShift
+	 *            number of lines to add to the line of each message
+	 */
+	static void add(ArrayList<Diagnostic> messages, int lineShift)
+	{
+		for (Diagnostic diagnostic : messages)
+			add(new Diagnostic(diagnostic.line + lineShift, diagnostic.message, diagnostic.error));
+	}
+
+	/**
+	 * Prints the messages collected so far sorted by line, keeping the order in
+	 * which messages about the same line were reported, and discards them
+	 */
+	public static synchronized void print()
+	{
+		diagnostics.sort(Comparator.comparingInt(diagnostic -> diagnostic.line));
+		for (Diagnostic diagnostic : diagnostics)
+			System.out.println("Line " + diagnostic.line + ": " + diagnostic.message);
+		diagnostics.clear();
+	}
+
+	/**
+	 * Adds a message to the messages of the function being analysed by the current
+	 * thread, if any, or else to the messages of the module
+	 *
+	 * @param diagnostic
+	 *            message to add
+	 */
+	private static void add(Diagnostic diagnostic)
+	{
+		ArrayList<Diagnostic> messages = functionDiagnostics.get();
+		if (messages != null)
+		{
+			messages.add(diagnostic);
+			return;
+		}
+
+		synchronized (Diagnostics.class)
+		{
+			diagnostics.add(diagnostic);
+		}
+		if (diagnostic.error)
+			ModuleAnalysis.hasErrors = true;
+	}
+
+	/**
+	 * Message about a line of the source file
+	 */
+	static class Diagnostic
+	{
+		private final int line;
+		private final String message;
+		private final boolean error;
+
+		private Diagnostic(int line, String message, boolean error)
+		{
+			this.line = line;
+			this.message = message;
+			this.error = error;
+		}
+	}
+}
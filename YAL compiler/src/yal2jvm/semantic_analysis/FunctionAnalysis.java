@@ -18,13 +18,14 @@ public class FunctionAnalysis extends Analysis
 	/**
 	 * FunctionAnalysis constructor
 	 * @param ast function tree node
-	 * @param inheritedSymbols symbols from module or function
+	 * @param enclosingScope analysis of the module, whose global symbols are copied when accessed, so
+	 *                       that functions analysed in parallel do not change them
 	 * @param functionNameToFunctionSymbolOfModule methods of the module, names to FunctionSymbol Object
 	 */
-	FunctionAnalysis(SimpleNode ast, HashMap<String, Symbol> inheritedSymbols,
+	FunctionAnalysis(SimpleNode ast, Analysis enclosingScope,
 			HashMap<String, Symbol> functionNameToFunctionSymbolOfModule)
 	{
-		super(ast, inheritedSymbols, functionNameToFunctionSymbolOfModule);
+		super(ast, enclosingScope, functionNameToFunctionSymbolOfModule);
 	}
 
 	/**
@@ -48,10 +49,9 @@ public class FunctionAnalysis extends Analysis
 		{
 			if (!returnValue.isInitialized())
 			{
-				System.out.println("Line " + astFunction.getFunctionAST().getBeginLine() + ": Return variable "
+				Diagnostics.error(astFunction.getFunctionAST().getBeginLine(), "Return variable "
 						+ returnValue.getId() + " might not have been initialized. Function " + astFunction.getId()
 						+ " must have return variable initialized.");
-				ModuleAnalysis.hasErrors = true;
 			}
 		}
 	}
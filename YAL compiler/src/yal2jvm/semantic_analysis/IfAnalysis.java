@@ -4,7 +4,6 @@ import yal2jvm.ast.*;
 import yal2jvm.symbol_tables.Symbol;
 import yal2jvm.symbol_tables.SymbolType;
 import yal2jvm.symbol_tables.VarSymbol;
-import yal2jvm.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -17,13 +16,13 @@ public class IfAnalysis extends Analysis
 	/**
 	 * IfAnalysis constructor
 	 * @param ast if tree node
-	 * @param inheritedSymbols inherited symbols from previous scope, method, while or another if
+	 * @param enclosingScope analysis of the enclosing scope, method, while or another if
 	 * @param functionNameToFunctionSymbolOfModule methods of the module, names to FunctionSymbol Object
 	 */
-	public IfAnalysis(SimpleNode ast, HashMap<String, Symbol> inheritedSymbols,
+	IfAnalysis(SimpleNode ast, Analysis enclosingScope,
 			   HashMap<String, Symbol> functionNameToFunctionSymbolOfModule)
 	{
-		super(ast, inheritedSymbols, functionNameToFunctionSymbolOfModule);
+		super(ast, enclosingScope, functionNameToFunctionSymbolOfModule);
 	}
 
 	/**
@@ -34,14 +33,11 @@ public class IfAnalysis extends Analysis
 	public void parse()
 	{
 		ASTEXPRTEST astExprtest = (ASTEXPRTEST) ast.jjtGetChild(0);
-		parseExprTest(astExprtest);
-
-		// get inherited symbols States Before If
-		HashMap<String, Symbol> inheritedSymbolsHashMapBeforeIfCopy1 = Utils.copyHashMap(inheritedSymbols);
-		HashMap<String, Symbol> inheritedSymbolsHashMapBeforeIfCopy2 = Utils.copyHashMap(inheritedSymbols);
-		HashMap<String, Symbol> originalInheritedSymbols = inheritedSymbols;
-		inheritedSymbols = inheritedSymbolsHashMapBeforeIfCopy1;
+		// the condition is evaluated in the enclosing scope, before entering any of the bodies
+		enclosingScope.parseExprTest(astExprtest);
 
+		// inheritedSymbols only holds copies of the symbols of the enclosing scopes
+		// accessed inside the if, so the enclosing scopes are not changed
 		ASTSTATEMENTS astStatements = (ASTSTATEMENTS) ast.jjtGetChild(1);
 		parseStmtLst(astStatements);
 
@@ -49,32 +45,26 @@ public class IfAnalysis extends Analysis
 		{
 			ASTELSE astElse = (ASTELSE) ast.jjtGetChild(2);
 
-			// get inherited symbols States after If
-			ArrayList<Symbol> inheritedSymbolsStatesAfterIf = new ArrayList<>(
-					Utils.copyHashMap(inheritedSymbols).values());
-			// get my symbols States after If
-			ArrayList<Symbol> mySymbolsStatesAfterIf = new ArrayList<>(Utils.copyHashMap(mySymbols).values());
+			// get inherited and my symbols States after If
+			HashMap<String, Symbol> inheritedSymbolsStatesAfterIf = inheritedSymbols;
+			ArrayList<Symbol> mySymbolsStatesAfterIf = new ArrayList<>(mySymbols.values());
 
 			// clear mySymbols and inherited symbols for else parse
 			mySymbols = new HashMap<>();
-			inheritedSymbols = inheritedSymbolsHashMapBeforeIfCopy2;
+			inheritedSymbols = new HashMap<>();
 
 			ASTSTATEMENTS astElseStatements = (ASTSTATEMENTS) astElse.jjtGetChild(0);
 			parseStmtLst(astElseStatements);
 
-			// get inherited symbols States after else
-			ArrayList<Symbol> inheritedSymbolsStatesAfterElse = new ArrayList<>(
-					Utils.copyHashMap(inheritedSymbols).values());
 			// get my symbols States after else
-			ArrayList<Symbol> mySymbolsStatesAfterElse = new ArrayList<>(Utils.copyHashMap(mySymbols).values());
+			ArrayList<Symbol> mySymbolsStatesAfterElse = new ArrayList<>(mySymbols.values());
 
-			ArrayList<Symbol> commonInitializedSymbols = getCommonInitializedSymbols(inheritedSymbolsStatesAfterIf,
-					inheritedSymbolsStatesAfterElse);
-			for (HashMap.Entry<String, Symbol> o : originalInheritedSymbols.entrySet())
+			// a symbol not accessed in one of the bodies keeps the state it had before the if, so it
+			// can only become initialized if it was accessed in both bodies
+			for (String symbolId : getCommonInitializedSymbols(inheritedSymbolsStatesAfterIf, inheritedSymbols))
 			{
-				VarSymbol symbol = (VarSymbol) o.getValue();
-				if (commonInitializedSymbols.contains(symbol))
-					symbol.setInitialized(true);
+				VarSymbol symbol = (VarSymbol) enclosingScope.hasAccessToSymbol(symbolId);
+				symbol.setInitialized(true);
 			}
 
 			// set mySymbols as the symbols declared in if and else
@@ -145,21 +135,20 @@ public class IfAnalysis extends Analysis
 
 	/**
 	 * Gets the common initialized symbols
-	 * @param inheritedSymbolsStatesAfterIf list of symbols declared before if but altered inside true body of the if statement
-	 * @param inheritedSymbolsStatesAfterElse list of symbols declared before if but altered inside false body of the if statement
-	 * @return common initialized symbols, both in true and false bodies
+	 * @param inheritedSymbolsStatesAfterIf symbols declared before if and accessed inside true body of the if statement
+	 * @param inheritedSymbolsStatesAfterElse symbols declared before if and accessed inside false body of the if statement
+	 * @return ids of the common initialized symbols, both in true and false bodies
 	 */
-	private ArrayList<Symbol> getCommonInitializedSymbols(ArrayList<Symbol> inheritedSymbolsStatesAfterIf,
-			ArrayList<Symbol> inheritedSymbolsStatesAfterElse)
+	private ArrayList<String> getCommonInitializedSymbols(HashMap<String, Symbol> inheritedSymbolsStatesAfterIf,
+			HashMap<String, Symbol> inheritedSymbolsStatesAfterElse)
 	{
-		assert inheritedSymbolsStatesAfterIf.size() == inheritedSymbolsStatesAfterElse.size();
-		ArrayList<Symbol> commonInitializedSymbols = new ArrayList<>();
-		for (int i = 0; i < inheritedSymbolsStatesAfterIf.size(); i++)
+		ArrayList<String> commonInitializedSymbols = new ArrayList<>();
+		for (HashMap.Entry<String, Symbol> o : inheritedSymbolsStatesAfterElse.entrySet())
 		{
-			VarSymbol symbolAfterIf = (VarSymbol) inheritedSymbolsStatesAfterIf.get(i);
-			VarSymbol symbolAfterElse = (VarSymbol) inheritedSymbolsStatesAfterElse.get(i);
-			if (symbolAfterIf.isInitialized() && symbolAfterElse.isInitialized())
-				commonInitializedSymbols.add(symbolAfterElse);
+			VarSymbol symbolAfterIf = (VarSymbol) inheritedSymbolsStatesAfterIf.get(o.getKey());
+			VarSymbol symbolAfterElse = (VarSymbol) o.getValue();
+			if (symbolAfterIf != null && symbolAfterIf.isInitialized() && symbolAfterElse.isInitialized())
+				commonInitializedSymbols.add(o.getKey());
 		}
 
 		return commonInitializedSymbols;
@@ -194,8 +183,8 @@ public class IfAnalysis extends Analysis
 			if (symbolIndex != -1)
 			{
 				VarSymbol symbolChecked = (VarSymbol) symbolsBeingChecked.get(symbolIndex);
-				if (!symbolChecked.getType().equals(symbolIterated.getType()))
-					symbolIterated.setType(SymbolType.UNDEFINED.toString());
+				if (symbolChecked.getType() != symbolIterated.getType())
+					symbolIterated.setType(SymbolType.UNDEFINED);
 
 				commons.add(symbolIterated);
 			}
@@ -5,15 +5,23 @@ import yal2jvm.ast.*;
 import yal2jvm.symbol_tables.FunctionSymbol;
 import yal2jvm.symbol_tables.Symbol;
 import yal2jvm.symbol_tables.VarSymbol;
+import yal2jvm.utils.InternalCompilerError;
+import yal2jvm.utils.Utils;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Responsible for the Module semantic analysis
  */
 public class ModuleAnalysis extends Analysis
 {
-	public static boolean hasErrors;
+	public static volatile boolean hasErrors;
+
+	private ExecutorService pool;
+	private ModuleAnalysis previousAnalysis;
+	private HashMap<SimpleNode, FunctionResult> functionResults = new HashMap<>();
 
 	/**
 	 * ModuleAnalysis constructor
@@ -21,28 +29,143 @@ public class ModuleAnalysis extends Analysis
 	 */
 	public ModuleAnalysis(SimpleNode ast)
 	{
-		super(ast, null, new HashMap<>());
+		super(ast, new HashMap<>(), new HashMap<>());
 		Yal2jvm.moduleName = ((ASTMODULE) ast).name;
 	}
 
 	/**
-	 * Parses the ast
+	 * Sets the pool of the threads that analyse the functions. Without a pool, the
+	 * functions are analysed one after another.
+	 *
+	 * @param pool
+	 *            pool shared by the compilations of the compiler, or null
+	 */
+	public void setPool(ExecutorService pool)
+	{
+		this.pool = pool;
+	}
+
+	/**
+	 * Reuses the results of a previous analysis of the module for the functions
+	 * whose subtrees are still in the ast. The global declarations must not have
+	 * changed since then. If the header of any function changed, all functions are
+	 * analysed again.
+	 *
+	 * @param previousAnalysis
+	 *            analysis of a previous version of the module
+	 */
+	public void reuse(ModuleAnalysis previousAnalysis)
+	{
+		this.previousAnalysis = previousAnalysis;
+	}
+
+	/**
+	 * Parses the ast. The global symbols and the function headers are parsed first,
+	 * then the function bodies, which only read them, are analysed in parallel,
+	 * except those whose results are reused from a previous analysis. The messages
+	 * found are printed at the end, sorted by line.
 	 */
 	public void parse()
 	{
+		hasErrors = false;
 		initiateGlobalSymbolTable();
 		setGlobalVariablesAsInitialized();
 
-		HashMap<String, Symbol> unifiedSymbolTable = getUnifiedSymbolTable();
+		boolean reuseFunctions = previousAnalysis != null && hasSameFunctionHeaders(previousAnalysis);
+		ArrayList<SimpleNode> analysedFunctions = new ArrayList<>();
+		ArrayList<Callable<FunctionResult>> tasks = new ArrayList<>();
 		for (HashMap.Entry<String, Symbol> o : functionNameToFunctionSymbol.entrySet())
 		{
 			FunctionSymbol functionSymbol = (FunctionSymbol) o.getValue();
 
 			SimpleNode functionAST = functionSymbol.getFunctionAST();
-			FunctionAnalysis functionAnalysis = new FunctionAnalysis(functionAST, unifiedSymbolTable,
+			if (reuseFunctions && previousAnalysis.functionResults.containsKey(functionAST))
+			{
+				functionResults.put(functionAST, previousAnalysis.functionResults.get(functionAST));
+				continue;
+			}
+
+			FunctionAnalysis functionAnalysis = new FunctionAnalysis(functionAST, this,
 					functionNameToFunctionSymbol);
-			functionAnalysis.parse();
+			analysedFunctions.add(functionAST);
+			tasks.add(() -> new FunctionResult(functionAST.getBeginLine(),
+					Diagnostics.collect(functionAnalysis::parse)));
+		}
+		ArrayList<FunctionResult> results = Utils.invokeAll(pool, tasks);
+		for (int i = 0; i < results.size(); i++)
+			functionResults.put(analysedFunctions.get(i), results.get(i));
+		previousAnalysis = null;
+
+		for (HashMap.Entry<String, Symbol> o : functionNameToFunctionSymbol.entrySet())
+		{
+			SimpleNode functionAST = ((FunctionSymbol) o.getValue()).getFunctionAST();
+			FunctionResult result = functionResults.get(functionAST);
+			Diagnostics.add(result.diagnostics, functionAST.getBeginLine() - result.line);
+		}
+		Diagnostics.print();
+	}
+
+	/**
+	 * Parses the global symbols and the function headers only, for a module whose
+	 * functions are analysed one at a time with analyseFunction. The messages found
+	 * are kept until printDiagnostics.
+	 */
+	public void parseHeaders()
+	{
+		hasErrors = false;
+		initiateGlobalSymbolTable();
+		setGlobalVariablesAsInitialized();
+	}
+
+	/**
+	 * Analyses the body of one function, after parseHeaders. A function declared
+	 * with the name of a previous one is not analysed, as parse does not analyse
+	 * it either.
+	 *
+	 * @param header
+	 *            node of the function in the ast, whose header was parsed
+	 * @param function
+	 *            node of the whole declaration of the function, with its statements
+	 */
+	public void analyseFunction(SimpleNode header, SimpleNode function)
+	{
+		FunctionSymbol functionSymbol = (FunctionSymbol) functionNameToFunctionSymbol.get(((ASTFUNCTION) header).id);
+		if (functionSymbol == null || functionSymbol.getFunctionAST() != header)
+			return;
+
+		new FunctionAnalysis(function, this, functionNameToFunctionSymbol).parse();
+	}
+
+	/**
+	 * Prints the messages found by parseHeaders and analyseFunction, sorted by line
+	 */
+	public void printDiagnostics()
+	{
+		Diagnostics.print();
+	}
+
+	/**
+	 * Checks if the module has the same functions, with the same headers, as a
+	 * previous analysis of it
+	 *
+	 * @param previousAnalysis
+	 *            analysis of a previous version of the module
+	 * @return true if the function headers did not change, false otherwise
+	 */
+	private boolean hasSameFunctionHeaders(ModuleAnalysis previousAnalysis)
+	{
+		HashMap<String, Symbol> previousFunctions = previousAnalysis.functionNameToFunctionSymbol;
+		if (functionNameToFunctionSymbol.size() != previousFunctions.size())
+			return false;
+
+		for (HashMap.Entry<String, Symbol> o : functionNameToFunctionSymbol.entrySet())
+		{
+			FunctionSymbol previousFunction = (FunctionSymbol) previousFunctions.get(o.getKey());
+			if (previousFunction == null || !((FunctionSymbol) o.getValue()).hasSameHeader(previousFunction))
+				return false;
 		}
+
+		return true;
 	}
 
 	/**
@@ -76,11 +199,9 @@ public class ModuleAnalysis extends Analysis
 	 */
 	private void addSymbolToSymbolTable(SimpleNode child)
 	{
-		String type = child.toString();
-
-		switch (type)
+		switch (child.getId())
 		{
-		case "FUNCTION":
+		case YalParserTreeConstants.JJTFUNCTION:
 			ASTFUNCTION astfunctionNode = (ASTFUNCTION) child;
 			String functionId = astfunctionNode.id;
 			FunctionSymbol functionSymbol = new FunctionSymbol(astfunctionNode, functionId);
@@ -88,14 +209,13 @@ public class ModuleAnalysis extends Analysis
 			addFunctionToHashMap(astfunctionNode, functionSymbol);
 			break;
 
-		case "DECLARATION":
+		case YalParserTreeConstants.JJTDECLARATION:
 			parseDeclaration((ASTDECLARATION) child);
 			break;
 
 		default:
-			System.out.println("Line " + child.getBeginLine() + ": Unexpected node" + child.toString());
-			System.exit(-1);
-			break;
+			Diagnostics.print();
+			throw new InternalCompilerError("line " + child.getBeginLine() + ": unexpected node " + child);
 		}
 	}
 
@@ -111,10 +231,25 @@ public class ModuleAnalysis extends Analysis
 		if (retValue != null)
 		{
 			functionNameToFunctionSymbol.put(retValue.getId(), retValue);
-			System.out.println("Line " + astfunctionNode.getBeginLine() + ": Function " + functionSymbol.getId()
+			Diagnostics.error(astfunctionNode.getBeginLine(), "Function " + functionSymbol.getId()
 					+ " already declared.");
-			ModuleAnalysis.hasErrors = true;
 		}
 
 	}
+
+	/**
+	 * Messages reported by the analysis of a function, and the line the function
+	 * started at when it was analysed
+	 */
+	private static class FunctionResult
+	{
+		private final int line;
+		private final ArrayList<Diagnostics.Diagnostic> diagnostics;
+
+		private FunctionResult(int line, ArrayList<Diagnostics.Diagnostic> diagnostics)
+		{
+			this.line = line;
+			this.diagnostics = diagnostics;
+		}
+	}
 }
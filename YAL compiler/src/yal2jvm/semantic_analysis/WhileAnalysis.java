@@ -4,7 +4,6 @@ import yal2jvm.ast.ASTEXPRTEST;
 import yal2jvm.ast.ASTSTATEMENTS;
 import yal2jvm.ast.SimpleNode;
 import yal2jvm.symbol_tables.Symbol;
-import yal2jvm.utils.Utils;
 
 import java.util.HashMap;
 
@@ -16,13 +15,13 @@ public class WhileAnalysis extends Analysis
 	/**
 	 * WhileAnalysis constructor
 	 * @param ast while tree node
-	 * @param inheritedSymbols symbols from module or function
+	 * @param enclosingScope analysis of the enclosing scope, method, if or another while
 	 * @param functionNameToFunctionSymbolOfModule methods of the module, names to FunctionSymbol Object
 	 */
-	WhileAnalysis(SimpleNode ast, HashMap<String, Symbol> inheritedSymbols,
+	WhileAnalysis(SimpleNode ast, Analysis enclosingScope,
 				  HashMap<String, Symbol> functionNameToFunctionSymbolOfModule)
 	{
-		super(ast, inheritedSymbols, functionNameToFunctionSymbolOfModule);
+		super(ast, enclosingScope, functionNameToFunctionSymbolOfModule);
 	}
 
 	/**
@@ -32,13 +31,12 @@ public class WhileAnalysis extends Analysis
 	public void parse()
 	{
 		ASTEXPRTEST exprTest = ((ASTEXPRTEST) ast.jjtGetChild(0));
-		parseExprTest(exprTest);
+		// the condition is evaluated in the enclosing scope, before entering the body
+		enclosingScope.parseExprTest(exprTest);
 
-		// get inherited symbols States before while, in order to not change original
-		// values.
-		// Changes made inside while mus not be visible outside, because while can not
-		// be executed
-		inheritedSymbols = Utils.copyHashMap(inheritedSymbols);
+		// Changes made inside while must not be visible outside, because while can not
+		// be executed. inheritedSymbols only holds copies of the symbols of the
+		// enclosing scopes accessed inside the while, so the originals are not changed
 
 		ASTSTATEMENTS stmtlst = ((ASTSTATEMENTS) ast.jjtGetChild(1));
 		parseStmtLst(stmtlst);
@@ -1,7 +1,7 @@
 package yal2jvm.symbol_tables;
 
 import yal2jvm.ast.*;
-import yal2jvm.semantic_analysis.ModuleAnalysis;
+import yal2jvm.semantic_analysis.Diagnostics;
 
 import java.util.ArrayList;
 
@@ -71,6 +71,46 @@ public class FunctionSymbol extends Symbol
 		return statementsChildNumber;
 	}
 
+	/**
+	 * Checks if this function has the same return value and arguments as another
+	 * function, so that calls to either are analysed the same way
+	 * 
+	 * @param other
+	 *            function to compare to, with its header already parsed
+	 * @return true if the headers match, false otherwise
+	 */
+	public boolean hasSameHeader(FunctionSymbol other)
+	{
+		if (!hasSameVariable(returnValue, other.returnValue) || arguments.size() != other.arguments.size())
+			return false;
+
+		for (int i = 0; i < arguments.size(); i++)
+		{
+			if (!hasSameVariable(arguments.get(i), other.arguments.get(i)))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if two variables of function headers, which may be missing, have the
+	 * same id and type
+	 * 
+	 * @param variable
+	 *            variable of this function, or null
+	 * @param other
+	 *            variable of the other function, or null
+	 * @return true if both are missing or have the same id and type
+	 */
+	private static boolean hasSameVariable(VarSymbol variable, VarSymbol other)
+	{
+		if (variable == null || other == null)
+			return variable == other;
+
+		return variable.getId().equals(other.getId()) && variable.getType() == other.getType();
+	}
+
 	/**
 	 * Calls functions that process the arguments and return value of a function
 	 */
@@ -144,9 +184,7 @@ public class FunctionSymbol extends Symbol
 		{
 			if (argument.getId().equals(varSymbol.getId()))
 			{
-				System.out.println(
-						"Line " + child.getBeginLine() + ": Argument " + varSymbol.getId() + " already declared.");
-				ModuleAnalysis.hasErrors = true;
+				Diagnostics.error(child.getBeginLine(), "Argument " + varSymbol.getId() + " already declared.");
 			}
 		}
 	}
@@ -159,12 +197,12 @@ public class FunctionSymbol extends Symbol
 	private VarSymbol parseArrayElementArgument(ASTARRAYELEMENT child)
 	{
 		String astArrayElementId = child.id;
-		String astArrayElementType = SymbolType.ARRAY.toString();
+		SymbolType astArrayElementType = SymbolType.ARRAY;
 		if (returnValue != null && returnValue.getId().equals(astArrayElementId))
 		{
-			if (!returnValue.getType().equals(astArrayElementType))
+			if (returnValue.getType() != astArrayElementType)
 			{
-				System.out.println("Line " + child.getBeginLine() + ": Argument " + child.id
+				Diagnostics.report(child.getBeginLine(), "Argument " + child.id
 						+ " already declared as " + returnValue.getType() + ".");
 				return null;
 			} else
@@ -184,12 +222,12 @@ public class FunctionSymbol extends Symbol
 	private VarSymbol parseScalarElementArgument(ASTSCALARELEMENT child)
 	{
 		String astScalarElementId = child.id;
-		String astScalarElementType = SymbolType.INTEGER.toString();
+		SymbolType astScalarElementType = SymbolType.INTEGER;
 		if (returnValue != null && returnValue.getId().equals(astScalarElementId))
 		{
-			if (!returnValue.getType().equals(astScalarElementType))
+			if (returnValue.getType() != astScalarElementType)
 			{
-				System.out.println("Line " + child.getBeginLine() + ": Argument " + child.id
+				Diagnostics.report(child.getBeginLine(), "Argument " + child.id
 						+ " already declared as " + returnValue.getType() + ".");
 				return null;
 			} else
@@ -209,12 +247,12 @@ public class FunctionSymbol extends Symbol
 		{
 			ASTSCALARELEMENT astscalarelement = (ASTSCALARELEMENT) returnValueNode;
 			String returnValueId = astscalarelement.id;
-			returnValue = new VarSymbol(returnValueId, SymbolType.INTEGER.toString(), false);
+			returnValue = new VarSymbol(returnValueId, SymbolType.INTEGER, false);
 		} else
 		{
 			ASTARRAYELEMENT astarrayelement = (ASTARRAYELEMENT) returnValueNode;
 			String returnValueId = astarrayelement.id;
-			returnValue = new VarSymbol(returnValueId, SymbolType.ARRAY.toString(), false);
+			returnValue = new VarSymbol(returnValueId, SymbolType.ARRAY, false);
 		}
 	}
 }
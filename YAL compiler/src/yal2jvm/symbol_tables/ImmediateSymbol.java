@@ -13,7 +13,7 @@ public class ImmediateSymbol extends VarSymbol
 	 */
 	public ImmediateSymbol(String id)
 	{
-		super(id, SymbolType.INTEGER.toString(), true);
+		super(id, SymbolType.INTEGER, true);
 	}
 
 }
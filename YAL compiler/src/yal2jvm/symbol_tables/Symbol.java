@@ -62,7 +62,7 @@ public class Symbol
 	 */
 	public Symbol getCopy()
 	{
-		return new Symbol(new String(id));
+		return new Symbol(id);
 	}
 
 	/**
@@ -2,5 +2,5 @@ package yal2jvm.symbol_tables;
 
 public enum SymbolType
 {
-	INTEGER, ARRAY, UNDEFINED
+	INTEGER, ARRAY, ARRAYSIZE, STRING, UNDEFINED
 }
@@ -6,7 +6,7 @@ package yal2jvm.symbol_tables;
 public class VarSymbol extends Symbol
 {
 
-	private String type;
+	private SymbolType type;
 	private boolean initialized;
 	private boolean arrayAccess;
 
@@ -20,7 +20,7 @@ public class VarSymbol extends Symbol
 	 * @param initialized
 	 *            sets the initialized field to true or false
 	 */
-	public VarSymbol(String id, String type, boolean initialized)
+	public VarSymbol(String id, SymbolType type, boolean initialized)
 	{
 		super(id);
 		this.type = type;
@@ -32,7 +32,7 @@ public class VarSymbol extends Symbol
 	 * 
 	 * @return value of field type
 	 */
-	public String getType()
+	public SymbolType getType()
 	{
 		return type;
 	}
@@ -43,7 +43,7 @@ public class VarSymbol extends Symbol
 	 * @param type
 	 *            new value for the field type
 	 */
-	public void setType(String type)
+	public void setType(SymbolType type)
 	{
 		this.type = type;
 	}
@@ -121,7 +121,7 @@ public class VarSymbol extends Symbol
 	 */
 	public VarSymbol getCopy()
 	{
-		return new VarSymbol(new String(id), new String(type), new Boolean(initialized));
+		return new VarSymbol(id, type, initialized);
 	}
 
 	/**
@@ -4,6 +4,9 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 import org.junit.Test;
@@ -116,4 +119,42 @@ public class AutomatedTests
 		for (int i = 0; i < log.size(); i++)
 			assertEquals(true, log.get(i).contains("successful compilation and execution"));
 	}
+
+	@Test
+	public void watchSurvivesSyntaxErrors() throws IOException, InterruptedException
+	{
+		Path directory = Files.createTempDirectory("watch");
+		Path badFile = directory.resolve("watchBad.yal");
+		Path goodFile = directory.resolve("watchGood.yal");
+		File classFile = new File("watchGood.class");
+		Process watcher = new ProcessBuilder("java", "-cp", "./bin", "yal2jvm.Yal2jvm", "-watch=" + directory)
+				.redirectErrorStream(true).redirectOutput(Redirect.DISCARD).start();
+		try
+		{
+			Thread.sleep(1000);
+
+			// more syntax errors than the parser reports before it stops
+			StringBuilder bad = new StringBuilder("module watchBad {\n\tfunction main() {\n");
+			for (int i = 0; i < 20; i++)
+				bad.append("\t\ta = ;\n");
+			bad.append("\t}\n}\n");
+			Files.write(badFile, bad.toString().getBytes());
+			Thread.sleep(1000);
+			assertTrue(watcher.isAlive());
+
+			Files.write(goodFile, "module watchGood {\n\tfunction main() {\n\t\ta = 1;\n\t}\n}\n".getBytes());
+			for (int i = 0; i < 100 && !classFile.exists(); i++)
+				Thread.sleep(100);
+			assertTrue(watcher.isAlive());
+			assertTrue(classFile.exists());
+		} finally
+		{
+			watcher.destroy();
+			watcher.waitFor();
+			classFile.delete();
+			Files.deleteIfExists(badFile);
+			Files.deleteIfExists(goodFile);
+			Files.deleteIfExists(directory);
+		}
+	}
 }
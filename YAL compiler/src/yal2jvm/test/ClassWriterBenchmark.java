@@ -0,0 +1,47 @@
+package yal2jvm.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayReader;
+
+import jasmin.ClassFile;
+
+/**
+ * Measures the time jas takes to write assembled classes (constant pool, code
+ * and attributes) to bytes, on synthetic classes with large methods and
+ * with many small ones.
+ * Usage: java yal2jvm.test.ClassWriterBenchmark [iterations]
+ */
+public class ClassWriterBenchmark
+{
+	public static void main(String[] args) throws Throwable
+	{
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		run("500 methods of 120 statements", JasminScannerBenchmark.createClass(500, 120).toCharArray(), iterations);
+		run("4000 methods of 10 statements", JasminScannerBenchmark.createClass(4000, 10).toCharArray(), iterations);
+	}
+
+	private static void run(String name, char[] source, int iterations) throws Throwable
+	{
+		long bestWrite = Long.MAX_VALUE;
+		int size = 0;
+		for (int i = 0; i < iterations; i++)
+		{
+			ClassFile classFile = new ClassFile();
+			classFile.readJasmin(new CharArrayReader(source), "Bench.j", false);
+			if (classFile.errorCount() > 0)
+			{
+				System.out.println(name + " has errors.");
+				System.exit(-2);
+			}
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+			long start = System.nanoTime();
+			classFile.write(bytes);
+			bestWrite = Math.min(bestWrite, System.nanoTime() - start);
+			size = bytes.size();
+		}
+
+		System.out.println(name + " (" + size / 1024 + " KB of class): write " + bestWrite / 1000000 + " ms, "
+				+ String.format("%.1f", size / (bestWrite / 1e9) / (1024 * 1024)) + " MB/s");
+	}
+}
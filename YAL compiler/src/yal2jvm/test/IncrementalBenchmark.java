@@ -0,0 +1,61 @@
+package yal2jvm.test;
+
+import java.nio.charset.StandardCharsets;
+
+import yal2jvm.FrontEnd;
+
+/**
+ * Measures the time FrontEnd takes to parse and analyse a large synthetic module
+ * from scratch, and again after an edit inside one of its functions.
+ * Usage: java yal2jvm.test.IncrementalBenchmark [number_of_functions] [statements_per_function] [iterations]
+ */
+public class IncrementalBenchmark
+{
+	public static void main(String[] args)
+	{
+		int functions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int statements = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		String module = ParserBenchmark.createModule(functions, statements);
+		byte[] source = module.getBytes(StandardCharsets.UTF_8);
+		String function = "function r = f" + functions / 2 + "(a, b) {\n";
+		int edit = module.indexOf(function) + function.length();
+		byte[] editedSource = (module.substring(0, edit) + "\t\tr = b;\n" + module.substring(edit))
+				.getBytes(StandardCharsets.UTF_8);
+		System.out.println("Module with " + functions + " functions of " + statements + " statements ("
+				+ source.length / 1024 + " KB)");
+
+		long bestFull = Long.MAX_VALUE;
+		long bestIncremental = Long.MAX_VALUE;
+		for (int i = 0; i < iterations; i++)
+		{
+			FrontEnd frontEnd = new FrontEnd(null);
+			long start = System.nanoTime();
+			compile(frontEnd, source);
+			long full = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			compile(frontEnd, editedSource);
+			compile(frontEnd, source);
+			long incremental = (System.nanoTime() - start) / 2;
+
+			bestFull = Math.min(bestFull, full);
+			bestIncremental = Math.min(bestIncremental, incremental);
+			System.out.println("Iteration " + (i + 1) + ": full " + full / 1000000 + " ms, after an edit "
+					+ incremental / 1000 + " us");
+		}
+
+		System.out.println("Best: full " + bestFull / 1000000 + " ms, after an edit " + bestIncremental / 1000
+				+ " us");
+	}
+
+	private static void compile(FrontEnd frontEnd, byte[] source)
+	{
+		if (frontEnd.parse(source) == null || !frontEnd.analyse())
+		{
+			System.out.println("Synthetic module has errors.");
+			System.exit(-3);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package yal2jvm.test;
+
+import java.io.CharArrayReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import jasmin.ClassFile;
+
+/**
+ * Measures the time the CUP generated Jasmin parser takes on large .j inputs,
+ * as the time to read the class (scanner and parser) less the time to scan it
+ * alone. The inputs are the given .j files, or synthetic classes of increasing
+ * size.
+ * Usage: java yal2jvm.test.JasminParserBenchmark [iterations] [file.j ...]
+ */
+public class JasminParserBenchmark
+{
+	public static void main(String[] args) throws Throwable
+	{
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		if (args.length > 1)
+		{
+			for (int i = 1; i < args.length; i++)
+			{
+				String source = new String(Files.readAllBytes(Paths.get(args[i])), StandardCharsets.ISO_8859_1);
+				run(args[i], source.toCharArray(), iterations);
+			}
+		}
+		else
+		{
+			for (int methods = 250; methods <= 2000; methods *= 2)
+				run(methods + " methods", JasminScannerBenchmark.createClass(methods, 50).toCharArray(), iterations);
+		}
+	}
+
+	private static void run(String name, char[] source, int iterations) throws Throwable
+	{
+		long bestScan = Long.MAX_VALUE;
+		long bestRead = Long.MAX_VALUE;
+		int tokens = 0;
+		for (int i = 0; i < iterations; i++)
+		{
+			long start = System.nanoTime();
+			tokens = JasminScannerBenchmark.countTokens(source);
+			bestScan = Math.min(bestScan, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			ClassFile classFile = new ClassFile();
+			classFile.readJasmin(new CharArrayReader(source), "Bench.j", false);
+			bestRead = Math.min(bestRead, System.nanoTime() - start);
+			if (classFile.errorCount() > 0)
+			{
+				System.out.println(name + " has errors.");
+				System.exit(-2);
+			}
+		}
+
+		long parse = Math.max(bestRead - bestScan, 1);
+		System.out.println(name + " (" + source.length / 1024 + " KB, " + tokens + " tokens): read "
+				+ bestRead / 1000000 + " ms, scanner " + bestScan / 1000000 + " ms, parser " + parse / 1000000
+				+ " ms, " + String.format("%.0f", tokens / (parse / 1e9)) + " tokens/s");
+	}
+}
@@ -0,0 +1,137 @@
+package yal2jvm.test;
+
+import java.io.CharArrayReader;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import jasmin.ClassFile;
+import java_cup.runtime.token;
+
+/**
+ * Measures the throughput of the Jasmin scanner, and of the scanner and parser
+ * together, on a large synthetic class, or on the given .j file. The scanner is
+ * not public, so it is called through method handles, which lets the benchmark
+ * also run against the classes of older versions of the assembler.
+ * Usage: java yal2jvm.test.JasminScannerBenchmark [file.j] [iterations]
+ */
+public class JasminScannerBenchmark
+{
+	private static final int EOF = 0; // jasmin.sym.EOF, which is not public
+	private static final MethodHandle newScanner;
+	private static final MethodHandle nextToken;
+
+	static
+	{
+		try
+		{
+			Class<?> scanner = Class.forName("jasmin.Scanner");
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(scanner, MethodHandles.lookup());
+			newScanner = lookup.findConstructor(scanner, MethodType.methodType(void.class, Reader.class))
+					.asType(MethodType.methodType(Object.class, Reader.class));
+			nextToken = lookup.findVirtual(scanner, "next_token", MethodType.methodType(token.class))
+					.asType(MethodType.methodType(token.class, Object.class));
+		} catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	public static void main(String[] args) throws Throwable
+	{
+		char[] source;
+		if (args.length > 0)
+			source = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.ISO_8859_1).toCharArray();
+		else
+			source = createClass(1000, 50).toCharArray();
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		System.out.println("Source of " + source.length / 1024 + " KB");
+
+		long bestScan = Long.MAX_VALUE;
+		long bestRead = Long.MAX_VALUE;
+		int tokens = 0;
+		for (int i = 0; i < iterations; i++)
+		{
+			long start = System.nanoTime();
+			tokens = countTokens(source);
+			long scan = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			ClassFile classFile = new ClassFile();
+			classFile.readJasmin(new CharArrayReader(source), "Bench.j", false);
+			long read = System.nanoTime() - start;
+			if (classFile.errorCount() > 0)
+			{
+				System.out.println("Source has errors.");
+				System.exit(-2);
+			}
+
+			bestScan = Math.min(bestScan, scan);
+			bestRead = Math.min(bestRead, read);
+			System.out.println("Iteration " + (i + 1) + ": scanner " + scan / 1000000 + " ms, scanner and parser "
+					+ read / 1000000 + " ms");
+		}
+
+		double seconds = bestScan / 1e9;
+		System.out.println("Best scanner: " + bestScan / 1000000 + " ms, " + tokens + " tokens, "
+				+ String.format("%.1f", source.length / seconds / (1024 * 1024)) + " MB/s, "
+				+ String.format("%.0f", tokens / seconds) + " tokens/s");
+		System.out.println("Best scanner and parser: " + bestRead / 1000000 + " ms, "
+				+ String.format("%.1f", source.length / (bestRead / 1e9) / (1024 * 1024)) + " MB/s");
+	}
+
+	static int countTokens(char[] source) throws Throwable
+	{
+		Object scanner = newScanner.invokeExact((Reader) new CharArrayReader(source));
+		int count = 0;
+		while (((token) nextToken.invokeExact(scanner)).sym != EOF)
+			count++;
+
+		return count;
+	}
+
+	/**
+	 * Creates a class with the instructions yal2jvm generates for functions with
+	 * arithmetic, branches, loops and accesses to global arrays
+	 */
+	static String createClass(int methods, int statements)
+	{
+		StringBuilder jasmin = new StringBuilder(".class public Bench\n.super java/lang/Object\n\n");
+		jasmin.append(".field public static g I = 0\n.field public static arr [I\n\n");
+		for (int m = 0; m < methods; m++)
+		{
+			jasmin.append(".method public static f").append(m).append("(II)I\n.limit locals 3\n.limit stack 3\n");
+			jasmin.append("iconst_0\nistore_2\n");
+			for (int s = 0; s < statements; s++)
+			{
+				switch (s % 4)
+				{
+				case 0:
+					jasmin.append("iload_0\nsipush ").append(100 + s).append("\nimul\nistore_2\n");
+					break;
+				case 1:
+					jasmin.append("iload_2\niload_1\nif_icmple if_false").append(s).append("\niload_2\niload_1\nisub\n");
+					jasmin.append("istore_2\ngoto if_end").append(s).append("\nif_false").append(s).append(":\n");
+					jasmin.append("getstatic Bench/g I\niconst_1\niadd\nputstatic Bench/g I\nif_end").append(s)
+							.append(":\n");
+					break;
+				case 2:
+					jasmin.append("while_init").append(s).append(":\niload_0\nbipush ").append(s).append("\nif_icmpge while_end")
+							.append(s).append("\niinc 0 1\ngoto while_init").append(s).append("\nwhile_end").append(s)
+							.append(":\n");
+					break;
+				default:
+					jasmin.append("getstatic Bench/arr [I\nldc ").append(s % 10).append("\niload_2\niastore\n");
+					break;
+				}
+			}
+			jasmin.append("iload_2\nireturn\n.end method\n\n");
+		}
+
+		return jasmin.toString();
+	}
+}
@@ -0,0 +1,53 @@
+package yal2jvm.test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import yal2jvm.ast.YalLexer;
+import yal2jvm.ast.YalParserConstants;
+
+/**
+ * Measures the throughput of YalLexer on a large synthetic module, or on the
+ * given file.
+ * Usage: java yal2jvm.test.LexerBenchmark [file.yal] [iterations]
+ */
+public class LexerBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		byte[] source;
+		if (args.length > 0)
+			source = Files.readAllBytes(Paths.get(args[0]));
+		else
+			source = ParserBenchmark.createModule(20000, 50).getBytes(StandardCharsets.UTF_8);
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		System.out.println("Source of " + source.length / 1024 + " KB");
+
+		long best = Long.MAX_VALUE;
+		int tokens = 0;
+		for (int i = 0; i < iterations; i++)
+		{
+			long start = System.nanoTime();
+			tokens = countTokens(source);
+			long time = System.nanoTime() - start;
+			best = Math.min(best, time);
+			System.out.println("Iteration " + (i + 1) + ": " + time / 1000000 + " ms");
+		}
+
+		double seconds = best / 1e9;
+		System.out.println("Best: " + best / 1000000 + " ms, " + tokens + " tokens, "
+				+ String.format("%.1f", source.length / seconds / (1024 * 1024)) + " MB/s, "
+				+ String.format("%.0f", tokens / seconds) + " tokens/s");
+	}
+
+	private static int countTokens(byte[] source)
+	{
+		YalLexer lexer = new YalLexer(source);
+		int count = 0;
+		while (lexer.getNextToken().kind != YalParserConstants.EOF)
+			count++;
+
+		return count;
+	}
+}
@@ -0,0 +1,90 @@
+package yal2jvm.test;
+
+import java.nio.charset.StandardCharsets;
+
+import yal2jvm.ast.SimpleNode;
+import yal2jvm.ast.YalLexer;
+import yal2jvm.ast.YalParser;
+
+/**
+ * Measures the time YalParser takes to build the AST of large synthetic modules.
+ * Usage: java yal2jvm.test.ParserBenchmark [number_of_functions] [statements_per_function] [iterations]
+ */
+public class ParserBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		int functions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int statements = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		byte[] source = createModule(functions, statements).getBytes(StandardCharsets.UTF_8);
+		System.out.println("Module with " + functions + " functions of " + statements + " statements ("
+				+ source.length / 1024 + " KB)");
+
+		YalParser parser = new YalParser(new YalLexer(new byte[0]));
+		long best = Long.MAX_VALUE;
+		int nodes = 0;
+		for (int i = 0; i < iterations; i++)
+		{
+			long start = System.nanoTime();
+			parser.ReInit(new YalLexer(source));
+			SimpleNode root = YalParser.Module();
+			long time = System.nanoTime() - start;
+			if (YalParser.errorCounter.getNoErrors() > 0)
+			{
+				System.out.println("Synthetic module has syntax errors.");
+				System.exit(-2);
+			}
+
+			nodes = countNodes(root);
+			best = Math.min(best, time);
+			System.out.println("Iteration " + (i + 1) + ": " + time / 1000000 + " ms");
+		}
+
+		double seconds = best / 1e9;
+		System.out.println("Best: " + best / 1000000 + " ms, " + nodes + " nodes, "
+				+ String.format("%.1f", source.length / seconds / (1024 * 1024)) + " MB/s, "
+				+ String.format("%.0f", nodes / seconds) + " nodes/s");
+	}
+
+	private static int countNodes(SimpleNode node)
+	{
+		int count = 1;
+		for (int i = 0; i < node.jjtGetNumChildren(); i++)
+			count += countNodes((SimpleNode) node.jjtGetChild(i));
+
+		return count;
+	}
+
+	static String createModule(int functions, int statements)
+	{
+		StringBuilder module = new StringBuilder("module Bench {\n\tg = 0;\n\tarr = [10];\n");
+		for (int f = 0; f < functions; f++)
+		{
+			module.append("\tfunction r = f").append(f).append("(a, b) {\n\t\tr = 0;\n");
+			for (int s = 0; s < statements; s++)
+			{
+				switch (s % 4)
+				{
+				case 0:
+					module.append("\t\tr = a * ").append(s).append(";\n");
+					break;
+				case 1:
+					module.append("\t\tif (r > b) {\n\t\t\tr = r - b;\n\t\t} else {\n\t\t\tg = g + 1;\n\t\t}\n");
+					break;
+				case 2:
+					module.append("\t\twhile (a < ").append(s).append(") {\n\t\t\ta = a + 1;\n\t\t}\n");
+					break;
+				default:
+					module.append("\t\tarr[").append(s % 10).append("] = r;\n");
+					break;
+				}
+			}
+			module.append("\t}\n");
+		}
+		module.append("\tfunction main() {\n\t\tio.println(\"done\");\n\t}\n}\n");
+
+		return module.toString();
+	}
+}
@@ -0,0 +1,81 @@
+package yal2jvm.test;
+
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the time from starting the compiler in a new JVM until it writes the
+ * class file of a tiny module, which is mostly the start of the JVM and the
+ * loading of the classes of the compiler. It is measured with the default JVM
+ * options and then with the given ones, such as
+ * -XX:SharedArchiveFile=yal2jvm.jsa to use the archive made by
+ * testsuite/no_errors/create_cds_archive.cmd. The compiler runs in the current
+ * directory with the class path of the benchmark, which must be the one the
+ * archive was made with.
+ * Usage: java yal2jvm.test.StartupBenchmark [iterations] [jvm_option ...]
+ */
+public class StartupBenchmark
+{
+	private static final String MODULE = "startup_benchmark";
+
+	public static void main(String[] args) throws Exception
+	{
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		List<String> options = Arrays.asList(args).subList(Math.min(args.length, 1), args.length);
+
+		Path source = Files.createTempFile(MODULE, ".yal");
+		Path classFile = Paths.get(MODULE + ".class");
+		Files.write(source, ("module " + MODULE + " {\n\tfunction main() {\n\t\ta = 1;\n\t\tio.println(a);\n\t}\n}\n")
+				.getBytes(StandardCharsets.UTF_8));
+		try
+		{
+			run("default options", Collections.emptyList(), source, classFile, iterations);
+			if (!options.isEmpty())
+				run(String.join(" ", options), options, source, classFile, iterations);
+		} finally
+		{
+			Files.deleteIfExists(source);
+			Files.deleteIfExists(classFile);
+		}
+	}
+
+	private static void run(String name, List<String> options, Path source, Path classFile, int iterations)
+			throws Exception
+	{
+		ArrayList<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(options);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add("yal2jvm.Yal2jvm");
+		command.add(source.toString());
+
+		long[] times = new long[iterations];
+		for (int i = 0; i < iterations; i++)
+		{
+			Files.deleteIfExists(classFile);
+			long start = System.nanoTime();
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(Redirect.DISCARD)
+					.start();
+			while (!Files.exists(classFile) && process.isAlive())
+				Thread.sleep(1);
+			times[i] = System.nanoTime() - start;
+			if (process.waitFor() != 0 || !Files.exists(classFile))
+			{
+				System.out.println("The compiler failed with " + name + ".");
+				System.exit(-1);
+			}
+		}
+
+		Arrays.sort(times);
+		System.out.println("Time to first class file with " + name + ": best " + times[0] / 1000000 + " ms, median "
+				+ times[iterations / 2] / 1000000 + " ms");
+	}
+}
@@ -0,0 +1,22 @@
+package yal2jvm.utils;
+
+/**
+ * Thrown when the compiler reaches a state that valid input cannot produce. It
+ * stops the compilation of the module, which fails with its own error code,
+ * instead of the JVM, so a compiler that watches a directory keeps running.
+ */
+public class InternalCompilerError extends RuntimeException
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * InternalCompilerError constructor
+	 *
+	 * @param message
+	 *            description of the error
+	 */
+	public InternalCompilerError(String message)
+	{
+		super(message);
+	}
+}
@@ -1,34 +1,20 @@
 package yal2jvm.utils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import yal2jvm.hlir.Operation;
-import yal2jvm.symbol_tables.Symbol;
 
 /**
  * Class containing useful functions
  */
 public class Utils
 {
-	/**
-	 * Receives an HashMap of key String and value Symbol and returns a copy of it
-	 *
-	 * @param original
-	 *            original HashMap to be copied
-	 * @return HashMap that is a copy of the parameter
-	 */
-	public static HashMap<String, Symbol> copyHashMap(HashMap<String, Symbol> original)
-	{
-		HashMap<String, Symbol> copy = new HashMap<>();
-		for (Map.Entry<String, Symbol> entry : original.entrySet())
-			copy.put(entry.getKey(), entry.getValue().getCopy());
-
-		return copy;
-	}
-
 	/**
 	 * Checks whether or not the character parameter is the last character of the
 	 * String string
@@ -109,6 +95,37 @@ public class Utils
 		return -1;
 	}
 
+	/**
+	 * Gets the value of an option made of a prefix and a number, without a regex
+	 * expression
+	 * 
+	 * @param string
+	 *            the string that may be the option
+	 * @param prefix
+	 *            the prefix of the option, such as "-j="
+	 * @param maxDigits
+	 *            maximum number of decimal digits of the number
+	 * @return the number. -1 if the string is not the prefix followed by 1 to
+	 *         maxDigits decimal digits.
+	 */
+	public static int getNumberOption(String string, String prefix, int maxDigits)
+	{
+		int digits = string.length() - prefix.length();
+		if (!string.startsWith(prefix) || digits < 1 || digits > maxDigits)
+			return -1;
+
+		int value = 0;
+		for (int i = prefix.length(); i < string.length(); i++)
+		{
+			char c = string.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			value = value * 10 + c - '0';
+		}
+
+		return value;
+	}
+
 	/**
 	 * Receives two string variables and the operator between them and checks which
 	 * operator the string is. After finding out which operator it is, it is
@@ -188,4 +205,47 @@ public class Utils
 	{
 		return new ArrayList<>(set);
 	}
+
+	/**
+	 * Runs all the tasks and returns their results in the same order as the tasks.
+	 * The tasks run in the pool if there is one, otherwise one after another in the
+	 * calling thread.
+	 *
+	 * @param pool
+	 *            the pool in which to run the tasks, or null
+	 * @param tasks
+	 *            the tasks to run
+	 * @param <T>
+	 *            type of the result of each task
+	 * @return list with the result of each task
+	 */
+	public static <T> ArrayList<T> invokeAll(ExecutorService pool, List<Callable<T>> tasks)
+	{
+		ArrayList<T> results = new ArrayList<>();
+		try
+		{
+			if (pool == null)
+			{
+				for (Callable<T> task : tasks)
+					results.add(task.call());
+			} else
+			{
+				for (Future<T> future : pool.invokeAll(tasks))
+					results.add(future.get());
+			}
+		} catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		} catch (RuntimeException e)
+		{
+			throw e;
+		} catch (Exception e)
+		{
+			throw new RuntimeException(e);
+		}
+
+		return results;
+	}
 }
@@ -0,0 +1,7 @@
+@echo off
+rem Creates yal2jvm.jsa, a dynamic CDS archive (JDK 13 or later) of the classes the
+rem compiler loads, from one run that compiles all the modules of this directory.
+rem The compiler then starts faster with
+rem     java -XX:SharedArchiveFile=yal2jvm.jsa -jar yal2jvm.jar ...
+rem yal2jvm.jar must be given by the same path when the archive is created and used.
+java -XX:ArchiveClassesAtExit=yal2jvm.jsa -jar yal2jvm.jar -o -r=7 all.yal array1.yal array2.yal arraytest.yal aval1.yal aval3.yal aval5.yal aval6.yal aval7.yal aval8.yal call-main.yal constant-ranges.yal input-as-output.yal library1.yal lsp.yal max.yal max1.yal maxmin.yal max_array.yal miniArithTest.yal nested-branch.yal programa1.yal programa2.yal programa3.yal register-test.yal sqrt.yal stack-size.yal testGlobals.yal testLocalArrays.yal testModule1.yal